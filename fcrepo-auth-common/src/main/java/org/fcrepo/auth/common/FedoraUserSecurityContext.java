@@ -17,6 +17,9 @@
  */
 package org.fcrepo.auth.common;
 
+import static java.lang.System.nanoTime;
+import static org.fcrepo.metrics.RequestTimings.AUTHORIZATION;
+import static org.fcrepo.metrics.RequestTimings.record;
 import static org.modeshape.jcr.ModeShapePermissions.READ;
 import static org.modeshape.jcr.ModeShapePermissions.REGISTER_NAMESPACE;
 import static org.modeshape.jcr.ModeShapePermissions.REGISTER_TYPE;
@@ -174,7 +177,12 @@ public class FedoraUserSecurityContext implements SecurityContext,
 
         // delegate
         if (fad != null) {
-            return fad.hasPermission(context.getSession(), path, actions);
+            final long start = nanoTime();
+            try {
+                return fad.hasPermission(context.getSession(), path, actions);
+            } finally {
+                record(AUTHORIZATION, start);
+            }
         }
         return false;
     }
@@ -24,12 +24,12 @@ import java.security.Principal;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
-import javax.jcr.Item;
-import javax.jcr.Node;
-import javax.jcr.NodeIterator;
 import javax.jcr.RepositoryException;
 import javax.jcr.Session;
 
@@ -41,6 +41,8 @@ import org.modeshape.jcr.value.Path;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.eventbus.EventBus;
+
 /**
  * Policy enforcement point for roles-based authentication
  * @author Gregory Jansen
@@ -61,6 +63,27 @@ public abstract class AbstractRolesAuthorizationDelegate implements FedoraAuthor
     @Inject
     private SessionFactory sessionFactory = null;
 
+    @Inject
+    private Optional<EventBus> eventBus = Optional.empty();
+
+    private final RolesCache rolesCache = new RolesCache();
+
+    /**
+     * Listen for repository changes that may invalidate cached roles
+     */
+    @PostConstruct
+    public void registerRolesCache() {
+        eventBus.ifPresent(bus -> bus.register(rolesCache));
+    }
+
+    /**
+     * Stop listening for repository changes
+     */
+    @PreDestroy
+    public void unregisterRolesCache() {
+        eventBus.ifPresent(bus -> bus.unregister(rolesCache));
+    }
+
     /**
      * Gather effectives roles
      *
@@ -101,10 +124,8 @@ public abstract class AbstractRolesAuthorizationDelegate implements FedoraAuthor
 
         try {
             final FedoraSession internalSession = sessionFactory.getInternalSession();
-            final Map<String, Collection<String>> acl =
-                    accessRolesProvider.findRolesForPath(absPath,
-                            getJcrSession(internalSession));
-            roles = resolveUserRoles(acl, allPrincipals);
+            roles = rolesCache.getRoles(session, absPath, allPrincipals, accessRolesProvider,
+                    getJcrSession(internalSession));
             LOGGER.debug("roles for this request: {}", roles);
         } catch (final RepositoryException e) {
             throw new RepositoryRuntimeException("Cannot look up node information on " + absPath +
@@ -133,8 +154,7 @@ public abstract class AbstractRolesAuthorizationDelegate implements FedoraAuthor
         if (actions.length == 1 && "remove".equals(actions[0])) {
             // you must be able to delete all the children
             // TODO make recursive/ACL-query-based check configurable
-            return canRemoveChildrenRecursive(session, absPath.toString(),
-                    allPrincipals, roles);
+            return canRemoveChildrenRecursive(session, absPath.toString(), allPrincipals);
         }
         return true;
     }
@@ -160,57 +180,16 @@ public abstract class AbstractRolesAuthorizationDelegate implements FedoraAuthor
      * @param userSession the user session
      * @param parentPath the parent path
      * @param allPrincipals all principals
-     * @param parentRoles the roles on the parent
      * @return true if permitted
      */
     private boolean canRemoveChildrenRecursive(final Session userSession,
                                                final String parentPath,
-                                               final Set<Principal> allPrincipals,
-                                               final Set<String> parentRoles) {
-        try {
-            final FedoraSession internalSession = sessionFactory.getInternalSession();
-            LOGGER.debug("Recursive child remove permission checks for: {}",
-                    parentPath);
-            final Item item = getJcrSession(internalSession).getItem(parentPath);
-            if (!item.isNode()) {
-                // this is a property and has no children...
-                return true;
-            }
-            final Node parent = (Node) item;
-            if (!parent.hasNodes()) {
-                return true;
-            }
-            final NodeIterator ni = parent.getNodes();
-            while (ni.hasNext()) {
-                final Node n = ni.nextNode();
-                // are there unique roles?
-                final Set<String> roles;
-                final Map<String, Collection<String>> acl = accessRolesProvider.getRoles(n, false);
-
-                if (acl != null) {
-                    roles = resolveUserRoles(acl, allPrincipals);
-                } else {
-                    roles = parentRoles;
-                }
-                if (rolesHavePermission(userSession, n.getPath(),
-                        REMOVE_ACTIONS,
-                        roles)) {
-
-                    if (!canRemoveChildrenRecursive(userSession, n.getPath(),
-                            allPrincipals, roles)) {
-                        return false;
-                    }
-                } else {
-                    LOGGER.info("Remove permission denied at {} with roles {}", n.getPath(), roles);
-                    return false;
-                }
-            }
-            return true;
-        } catch (final RepositoryException e) {
-            throw new RepositoryRuntimeException(
-                    "Cannot lookup child permission check information for " +
-                            parentPath, e);
-        }
+                                               final Set<Principal> allPrincipals) {
+        LOGGER.debug("Recursive child remove permission checks for: {}", parentPath);
+        return new SubtreePermissionEvaluator(accessRolesProvider,
+                () -> getJcrSession(sessionFactory.getInternalSession()), allPrincipals,
+                (path, roles) -> rolesHavePermission(userSession, path, REMOVE_ACTIONS, roles))
+                .permitsDescendants(parentPath);
     }
 
     /**
@@ -48,6 +48,30 @@ public interface AccessRolesProvider {
      */
     public Map<String, Collection<String>> getRoles(final Node node, final boolean effective);
 
+    /**
+     * Get the effective roles of this Node, together with whether they are shared by every resource governed by the
+     * same ACL.
+     *
+     * @param node the subject Node
+     * @return the roles assigned to each principal
+     */
+    public default EffectiveRoles getEffectiveRoles(final Node node) {
+        return new EffectiveRoles(getRoles(node, true), null);
+    }
+
+    /**
+     * Whether this Node certainly has the effective roles of its parent when those roles are shared by every
+     * resource governed by the parent's ACL, i.e. it carries no ACL of its own and finds its ACL as other
+     * resources do.
+     *
+     * @param node the subject Node
+     * @return true if the Node's roles need not be resolved when its parent's are shared
+     * @throws RepositoryException if repository exception occurred
+     */
+    public default boolean sharesParentRoles(final Node node) throws RepositoryException {
+        return false;
+    }
+
     /**
      * Assigns the given set of roles to each principal.
      *
@@ -77,4 +101,32 @@ public interface AccessRolesProvider {
     public Map<String, Collection<String>> findRolesForPath(final Path absPath,
             final Session session) throws RepositoryException;
 
+    /**
+     * Finds the node a path resolves to and, if its roles may be shared, the resource whose ACL governs it. Any
+     * two paths with the same non-null ACL path have the same effective roles whenever that ACL's authorizations
+     * apply alike to every resource it governs (see {@link EffectiveRoles#inheritedFrom}).
+     *
+     * @param absPath the real or potential node path
+     * @param session session
+     * @return the scope of the path's roles
+     * @throws RepositoryException if repository exception occurred
+     */
+    public default RoleScope findRoleScope(final Path absPath, final Session session) throws RepositoryException {
+        return new RoleScope(absPath.toString(), null);
+    }
+
+    /**
+     * Finds effective roles assigned to a path, as {@link #findRolesForPath}, together with whether they are
+     * shared by every resource governed by the same ACL.
+     *
+     * @param absPath the real or potential node path
+     * @param session session
+     * @return the roles assigned to each principal
+     * @throws RepositoryException if repository exception occurred
+     */
+    public default EffectiveRoles findEffectiveRoles(final Path absPath, final Session session)
+            throws RepositoryException {
+        return new EffectiveRoles(findRolesForPath(absPath, session), null);
+    }
+
 }
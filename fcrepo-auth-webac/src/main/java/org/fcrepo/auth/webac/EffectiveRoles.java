@@ -0,0 +1,48 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.auth.webac;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The effective roles of a resource, along with the resource whose ACL grants the same roles to every resource
+ * it governs, if there is one.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class EffectiveRoles {
+
+    public final Map<String, Collection<String>> roles;
+
+    public final String inheritedFrom;
+
+    /**
+     * Default constructor.
+     *
+     * @param roles the roles assigned to each principal
+     * @param inheritedFrom the path of the resource carrying an ACL whose authorizations apply alike to every
+     *        resource it governs, the empty string for such a default authorization, or null
+     */
+    public EffectiveRoles(final Map<String, Collection<String>> roles, final String inheritedFrom) {
+        this.roles = roles;
+        this.inheritedFrom = inheritedFrom;
+    }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.auth.webac;
+
+/**
+ * Identifies where the effective roles of a path come from: the node the path resolves to and, when the roles of
+ * that node may be shared with others, the resource carrying the ACL that governs it.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class RoleScope {
+
+    public final String nodePath;
+
+    public final String aclPath;
+
+    /**
+     * Default constructor.
+     *
+     * @param nodePath the path of the nearest existing node
+     * @param aclPath the path of the resource carrying the governing ACL, the empty string when the default
+     *        authorization governs the node, or null if the node's roles must not be shared
+     */
+    public RoleScope(final String nodePath, final String aclPath) {
+        this.nodePath = nodePath;
+        this.aclPath = aclPath;
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.auth.webac;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static org.fcrepo.auth.webac.AbstractRolesAuthorizationDelegate.resolveUserRoles;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+
+import org.fcrepo.kernel.api.observer.FedoraEvent;
+import org.fcrepo.metrics.RegistryService;
+import org.modeshape.jcr.value.Path;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Remembers the roles resolved for each user session, so that the permission checks ModeShape makes for every node
+ * and property a request touches do not each resolve the effective ACL again.
+ *
+ * Roles are kept for the node a path resolves to and, when the governing ACL grants the same roles to every
+ * resource it covers, for the resource carrying that ACL, so that all of its descendants without an ACL of their
+ * own share a single resolution. Sessions are held weakly. Events do not say which properties changed, so any
+ * repository event discards the roles cached for every session.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class RolesCache {
+
+    private static final MetricRegistry METRICS = RegistryService.getInstance().getMetrics();
+
+    private final Counter computed = METRICS.counter(name(RolesCache.class, "computed"));
+
+    private final Counter served = METRICS.counter(name(RolesCache.class, "served"));
+
+    private final Cache<Session, SessionRoles> sessions = CacheBuilder.newBuilder().weakKeys().build();
+
+    // Incremented by every event, so that roles cached before a change are not used after it
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Get a user's roles on a path, resolving them only if they have not yet been resolved for the session.
+     *
+     * @param userSession the user session
+     * @param absPath the real or potential node path
+     * @param principals the principals of the user session
+     * @param accessRolesProvider the provider of effective roles
+     * @param internalSession the session used to resolve effective roles
+     * @return the user's roles on the path
+     * @throws RepositoryException if repository exception occurred
+     */
+    public Set<String> getRoles(final Session userSession, final Path absPath, final Set<Principal> principals,
+            final AccessRolesProvider accessRolesProvider, final Session internalSession)
+            throws RepositoryException {
+        final long current = generation.get();
+        final SessionRoles cached = sessions.asMap().computeIfAbsent(userSession, s -> new SessionRoles());
+        if (cached.generation != current) {
+            cached.clear(current);
+        }
+
+        final RoleScope scope = accessRolesProvider.findRoleScope(absPath, internalSession);
+        final Set<String> found = scope.aclPath == null ? cached.byNode.get(scope.nodePath) :
+                cached.byAcl.getOrDefault(scope.aclPath, cached.byNode.get(scope.nodePath));
+        if (found != null) {
+            served.inc();
+            return found;
+        }
+
+        computed.inc();
+        final EffectiveRoles effective = accessRolesProvider.findEffectiveRoles(absPath, internalSession);
+        final Set<String> roles = resolveUserRoles(effective.roles, principals);
+        if (generation.get() == current) {
+            if (scope.aclPath != null && scope.aclPath.equals(effective.inheritedFrom)) {
+                cached.byAcl.put(scope.aclPath, roles);
+            } else {
+                cached.byNode.put(scope.nodePath, roles);
+            }
+        }
+        return roles;
+    }
+
+    /**
+     * Discard all cached roles
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Discard all cached roles when the repository changes
+     *
+     * @param event the event
+     */
+    @Subscribe
+    public void onEvent(final FedoraEvent event) {
+        invalidate();
+    }
+
+    @VisibleForTesting
+    long computed() {
+        return computed.getCount();
+    }
+
+    @VisibleForTesting
+    long served() {
+        return served.getCount();
+    }
+
+    /**
+     * The roles cached for one session, by the path of the resource carrying a shared ACL and by node path
+     */
+    private static class SessionRoles {
+
+        private final Map<String, Set<String>> byAcl = new ConcurrentHashMap<>();
+
+        private final Map<String, Set<String>> byNode = new ConcurrentHashMap<>();
+
+        private volatile long generation;
+
+        private void clear(final long current) {
+            byAcl.clear();
+            byNode.clear();
+            generation = current;
+        }
+    }
+}
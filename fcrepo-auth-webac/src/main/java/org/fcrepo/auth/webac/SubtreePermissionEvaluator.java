@@ -0,0 +1,187 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.auth.webac;
+
+import static java.lang.Integer.getInteger;
+import static java.lang.Runtime.getRuntime;
+import static org.fcrepo.auth.webac.AbstractRolesAuthorizationDelegate.resolveUserRoles;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+
+import javax.jcr.Item;
+import javax.jcr.Node;
+import javax.jcr.NodeIterator;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+
+import org.fcrepo.kernel.api.exception.RepositoryRuntimeException;
+import org.slf4j.Logger;
+
+/**
+ * Decides whether a permission holds on every descendant of a node, as needed before a recursive delete.
+ *
+ * Effective roles are resolved only where they may differ from the parent's: on descendants carrying an ACL of
+ * their own, and on every descendant governed by an ACL whose authorizations do not apply alike to all the
+ * resources it covers. All other descendants take their parent's decision after a cheap property check. Branches
+ * are walked in parallel on a shared pool, each forked branch with its own internal session, and the walk stops as
+ * soon as any branch is denied.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class SubtreePermissionEvaluator {
+
+    private static final Logger LOGGER = getLogger(SubtreePermissionEvaluator.class);
+
+    public static final String THREADS_PROPERTY = "fcrepo.auth.webac.subtreeCheckThreads";
+
+    private static final ForkJoinPool POOL =
+            new ForkJoinPool(getInteger(THREADS_PROPERTY, getRuntime().availableProcessors()));
+
+    private final AccessRolesProvider accessRolesProvider;
+
+    private final Supplier<Session> internalSessions;
+
+    private final Set<Principal> principals;
+
+    private final BiPredicate<String, Set<String>> permission;
+
+    private final AtomicBoolean denied = new AtomicBoolean();
+
+    /**
+     * Default constructor.
+     *
+     * @param accessRolesProvider the provider of effective roles
+     * @param internalSessions opens a new session used to resolve effective roles; it is logged out when done
+     * @param principals the principals of the user
+     * @param permission whether roles give the permission on a path
+     */
+    public SubtreePermissionEvaluator(final AccessRolesProvider accessRolesProvider,
+            final Supplier<Session> internalSessions, final Set<Principal> principals,
+            final BiPredicate<String, Set<String>> permission) {
+        this.accessRolesProvider = accessRolesProvider;
+        this.internalSessions = internalSessions;
+        this.principals = principals;
+        this.permission = permission;
+    }
+
+    /**
+     * Decide whether the permission holds on every descendant of a path
+     *
+     * @param path the path
+     * @return true if permitted
+     */
+    public boolean permitsDescendants(final String path) {
+        return POOL.invoke(new Branch(path, null, false));
+    }
+
+    /**
+     * Checks the descendants of one node; the roles given are those of the node, and are shared by its
+     * descendants if they need not be resolved again.
+     */
+    private class Branch extends RecursiveTask<Boolean> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String path;
+
+        private final Set<String> roles;
+
+        private final boolean shared;
+
+        private Branch(final String path, final Set<String> roles, final boolean shared) {
+            this.path = path;
+            this.roles = roles;
+            this.shared = shared;
+        }
+
+        @Override
+        protected Boolean compute() {
+            final Session session = internalSessions.get();
+            try {
+                final Item item = session.getItem(path);
+                if (!item.isNode()) {
+                    // this is a property and has no children...
+                    return true;
+                }
+                final Node node = (Node) item;
+                if (roles == null) {
+                    final EffectiveRoles effective = accessRolesProvider.getEffectiveRoles(node);
+                    return check(node, resolveUserRoles(effective.roles, principals),
+                            effective.inheritedFrom != null);
+                }
+                return check(node, roles, shared);
+            } catch (final RepositoryException e) {
+                throw new RepositoryRuntimeException(
+                        "Cannot lookup child permission check information for " + path, e);
+            } finally {
+                session.logout();
+            }
+        }
+
+        private boolean check(final Node parent, final Set<String> parentRoles, final boolean parentShared)
+                throws RepositoryException {
+            final List<Branch> forked = new ArrayList<>();
+            for (final NodeIterator children = parent.getNodes(); children.hasNext(); ) {
+                if (denied.get()) {
+                    return false;
+                }
+                final Node child = children.nextNode();
+                final Set<String> childRoles;
+                final boolean childShared;
+                if (parentShared && accessRolesProvider.sharesParentRoles(child)) {
+                    childRoles = parentRoles;
+                    childShared = true;
+                } else {
+                    final EffectiveRoles effective = accessRolesProvider.getEffectiveRoles(child);
+                    childRoles = resolveUserRoles(effective.roles, principals);
+                    childShared = effective.inheritedFrom != null;
+                    if (!permission.test(child.getPath(), childRoles)) {
+                        LOGGER.info("Permission denied at {} with roles {}", child.getPath(), childRoles);
+                        denied.set(true);
+                        return false;
+                    }
+                }
+
+                if (child.hasNodes()) {
+                    if (getSurplusQueuedTaskCount() < 2) {
+                        final Branch branch = new Branch(child.getPath(), childRoles, childShared);
+                        branch.fork();
+                        forked.add(branch);
+                    } else if (!check(child, childRoles, childShared)) {
+                        return false;
+                    }
+                }
+            }
+            boolean permitted = !denied.get();
+            for (final Branch branch : forked) {
+                permitted &= branch.join();
+            }
+            return permitted;
+        }
+    }
+}
@@ -44,8 +44,10 @@ import static org.fcrepo.kernel.api.RequiredRdfContext.PROPERTIES;
 import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.getJcrSession;
 import static org.fcrepo.kernel.modeshape.identifiers.NodeResourceConverter.nodeConverter;
 import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.getJcrNode;
+import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.getReferencePropertyName;
 import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.isNonRdfSourceDescription;
 import static org.fcrepo.kernel.modeshape.utils.FedoraSessionUserUtil.USER_AGENT_BASE_URI_PROPERTY;
+import static org.fcrepo.kernel.modeshape.utils.NamespaceTools.getNamespacePrefix;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.io.File;
@@ -127,7 +129,70 @@ public class WebACRolesProvider implements AccessRolesProvider {
     @Override
     public Map<String, Collection<String>> findRolesForPath(final Path absPath, final Session session)
             throws RepositoryException {
-        return getAgentRoles(locateResource(absPath, new FedoraSessionImpl(session)));
+        return findEffectiveRoles(absPath, session).roles;
+    }
+
+    @Override
+    public EffectiveRoles findEffectiveRoles(final Path absPath, final Session session)
+            throws RepositoryException {
+        return getEffectiveRoles(locateResource(absPath, new FedoraSessionImpl(session)));
+    }
+
+    /**
+     * The nearest existing node is found as in {@link #locateResource}; the resource governing it is then found by
+     * looking for the acl:accessControl property directly on the node and its ancestors, which is far cheaper than
+     * building their triples. Versions, binaries and their descriptions find their ACLs differently, so their roles
+     * are not shared.
+     */
+    @Override
+    public RoleScope findRoleScope(final Path absPath, final Session session) throws RepositoryException {
+        Path path = absPath;
+        while (!path.isRoot() && !session.nodeExists(path.toString())) {
+            path = path.getParent();
+        }
+        final Node node = session.getNode(path.toString());
+        if (!isShareable(node)) {
+            return new RoleScope(node.getPath(), null);
+        }
+
+        final String property = accessControlProperty(session);
+        if (property != null) {
+            for (Node n = node; ; n = n.getParent()) {
+                if (hasAccessControl(n, property)) {
+                    return new RoleScope(node.getPath(), n.getPath());
+                }
+                if (n.getDepth() == 0) {
+                    break;
+                }
+            }
+        }
+        return new RoleScope(node.getPath(), "");
+    }
+
+    @Override
+    public boolean sharesParentRoles(final Node node) throws RepositoryException {
+        final String property = accessControlProperty(node.getSession());
+        return isShareable(node) && (property == null || !hasAccessControl(node, property));
+    }
+
+    /**
+     * Versions, binaries and binary descriptions find their ACLs differently from other resources.
+     */
+    private static boolean isShareable(final Node node) throws RepositoryException {
+        return !node.getPath().contains("/jcr:") && !isNonRdfSourceDescription.test(node);
+    }
+
+    /**
+     * The JCR name of the acl:accessControl property, or null if no resource can have one
+     */
+    private static String accessControlProperty(final Session session) throws RepositoryException {
+        final String prefix = getNamespacePrefix(session, WEBAC_NAMESPACE_VALUE);
+        return prefix == null ? null :
+                prefix + ":" + WEBAC_ACCESS_CONTROL_VALUE.substring(WEBAC_NAMESPACE_VALUE.length());
+    }
+
+    private static boolean hasAccessControl(final Node node, final String property) throws RepositoryException {
+        return node.hasProperty(property) || node.hasProperty(getReferencePropertyName(property));
     }
 
     private FedoraResource locateResource(final Path path, final FedoraSession session) {
@@ -176,8 +241,13 @@ public class WebACRolesProvider implements AccessRolesProvider {
 
     @Override
     public Map<String, Collection<String>> getRoles(final Node node, final boolean effective) {
+        return getEffectiveRoles(node).roles;
+    }
+
+    @Override
+    public EffectiveRoles getEffectiveRoles(final Node node) {
         try {
-            return getAgentRoles(nodeService.find(new FedoraSessionImpl(node.getSession()), node.getPath()));
+            return getEffectiveRoles(nodeService.find(new FedoraSessionImpl(node.getSession()), node.getPath()));
         } catch (final RepositoryException ex) {
             throw new RepositoryRuntimeException(ex);
         }
@@ -186,7 +256,7 @@ public class WebACRolesProvider implements AccessRolesProvider {
     /**
      *  For a given FedoraResource, get a mapping of acl:agent values to acl:mode values.
      */
-    private Map<String, Collection<String>> getAgentRoles(final FedoraResource resource) {
+    private EffectiveRoles getEffectiveRoles(final FedoraResource resource) {
         LOGGER.debug("Getting agent roles for: {}", resource.getPath());
 
         // Get the effective ACL by searching the target node and any ancestors.
@@ -252,7 +322,14 @@ public class WebACRolesProvider implements AccessRolesProvider {
 
         LOGGER.debug("Unfiltered ACL: {}", effectiveRoles);
 
-        return effectiveRoles;
+        // The roles apply alike to every resource governed by the effective ACL if none of its authorizations
+        // depends on rdf:types or names a resource other than the one carrying the ACL.
+        final String aclPath = effectiveAcl.map(aclHandle -> aclHandle.resource.getPath()).orElse("");
+        final boolean inherited = authorizations.stream().allMatch(auth -> auth.getAccessToClassURIs().isEmpty() &&
+                auth.getAccessToURIs().stream().allMatch(uri -> effectiveAcl.isPresent() &&
+                        uri.equals(FEDORA_INTERNAL_PREFIX + aclPath)));
+
+        return new EffectiveRoles(effectiveRoles, inherited ? aclPath : null);
     }
 
     /**
@@ -0,0 +1,137 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.auth.webac;
+
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonMap;
+import static org.fcrepo.auth.webac.URIConstants.WEBAC_MODE_READ_VALUE;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.security.Principal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+
+import org.fcrepo.kernel.api.observer.FedoraEvent;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.modeshape.jcr.value.Path;
+
+/**
+ * @author agent
+ * @since Oct 19, 2026
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RolesCacheTest {
+
+    private static final String USER = "user01";
+
+    private static final Map<String, Collection<String>> ACL = singletonMap(USER, singleton(WEBAC_MODE_READ_VALUE));
+
+    private RolesCache rolesCache;
+
+    @Mock
+    private AccessRolesProvider mockProvider;
+
+    @Mock
+    private Session mockUserSession, mockOtherSession, mockInternalSession;
+
+    @Mock
+    private Path mockPath1, mockPath2;
+
+    @Mock
+    private Principal mockPrincipal;
+
+    private Set<Principal> principals;
+
+    @Before
+    public void setUp() throws RepositoryException {
+        rolesCache = new RolesCache();
+        when(mockPrincipal.getName()).thenReturn(USER);
+        principals = singleton(mockPrincipal);
+        when(mockProvider.findRoleScope(mockPath1, mockInternalSession)).thenReturn(new RoleScope("/box/a", "/box"));
+        when(mockProvider.findRoleScope(mockPath2, mockInternalSession)).thenReturn(new RoleScope("/box/b", "/box"));
+    }
+
+    @Test
+    public void testSharedByDescendants() throws RepositoryException {
+        when(mockProvider.findEffectiveRoles(any(Path.class), any(Session.class)))
+                .thenReturn(new EffectiveRoles(ACL, "/box"));
+        final long computed = rolesCache.computed();
+        final long served = rolesCache.served();
+
+        assertEquals(singleton(WEBAC_MODE_READ_VALUE), getRoles(mockUserSession, mockPath1));
+        assertEquals(singleton(WEBAC_MODE_READ_VALUE), getRoles(mockUserSession, mockPath2));
+        assertEquals(singleton(WEBAC_MODE_READ_VALUE), getRoles(mockUserSession, mockPath1));
+
+        verify(mockProvider, times(1)).findEffectiveRoles(any(Path.class), any(Session.class));
+        assertEquals(1, rolesCache.computed() - computed);
+        assertEquals(2, rolesCache.served() - served);
+    }
+
+    @Test
+    public void testNotInherited() throws RepositoryException {
+        when(mockProvider.findEffectiveRoles(any(Path.class), any(Session.class)))
+                .thenReturn(new EffectiveRoles(ACL, null));
+
+        getRoles(mockUserSession, mockPath1);
+        getRoles(mockUserSession, mockPath2);
+        getRoles(mockUserSession, mockPath1);
+
+        verify(mockProvider).findEffectiveRoles(mockPath1, mockInternalSession);
+        verify(mockProvider).findEffectiveRoles(mockPath2, mockInternalSession);
+    }
+
+    @Test
+    public void testScopedToSession() throws RepositoryException {
+        when(mockProvider.findEffectiveRoles(any(Path.class), any(Session.class)))
+                .thenReturn(new EffectiveRoles(ACL, "/box"));
+
+        getRoles(mockUserSession, mockPath1);
+        getRoles(mockOtherSession, mockPath1);
+
+        verify(mockProvider, times(2)).findEffectiveRoles(mockPath1, mockInternalSession);
+    }
+
+    @Test
+    public void testInvalidatedByEvent() throws RepositoryException {
+        when(mockProvider.findEffectiveRoles(any(Path.class), any(Session.class)))
+                .thenReturn(new EffectiveRoles(ACL, "/box"));
+
+        getRoles(mockUserSession, mockPath1);
+        rolesCache.onEvent(mock(FedoraEvent.class));
+        getRoles(mockUserSession, mockPath1);
+
+        verify(mockProvider, times(2)).findEffectiveRoles(mockPath1, mockInternalSession);
+    }
+
+    private Set<String> getRoles(final Session session, final Path path) throws RepositoryException {
+        return rolesCache.getRoles(session, path, principals, mockProvider, mockInternalSession);
+    }
+}
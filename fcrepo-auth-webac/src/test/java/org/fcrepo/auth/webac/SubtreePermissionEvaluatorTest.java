@@ -0,0 +1,124 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.auth.webac;
+
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonMap;
+import static org.fcrepo.auth.webac.URIConstants.WEBAC_MODE_READ_VALUE;
+import static org.fcrepo.auth.webac.URIConstants.WEBAC_MODE_WRITE_VALUE;
+import static org.fcrepo.kernel.modeshape.testutilities.TestNodeIterator.nodeIterator;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.security.Principal;
+import java.util.Collection;
+import java.util.Map;
+
+import javax.jcr.Node;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/**
+ * @author agent
+ * @since Oct 19, 2026
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SubtreePermissionEvaluatorTest {
+
+    private static final String USER = "user01";
+
+    private static final Map<String, Collection<String>> WRITE = singletonMap(USER, singleton(WEBAC_MODE_WRITE_VALUE));
+
+    private static final Map<String, Collection<String>> READ = singletonMap(USER, singleton(WEBAC_MODE_READ_VALUE));
+
+    @Mock
+    private AccessRolesProvider mockProvider;
+
+    @Mock
+    private Session mockSession;
+
+    @Mock
+    private Node mockParent, mockChild, mockGrandchild;
+
+    @Mock
+    private Principal mockPrincipal;
+
+    private SubtreePermissionEvaluator evaluator;
+
+    @Before
+    public void setUp() throws RepositoryException {
+        when(mockPrincipal.getName()).thenReturn(USER);
+        evaluator = new SubtreePermissionEvaluator(mockProvider, () -> mockSession, singleton(mockPrincipal),
+                (path, roles) -> roles.contains(WEBAC_MODE_WRITE_VALUE));
+
+        when(mockSession.getItem("/parent")).thenReturn(mockParent);
+        when(mockSession.getItem("/parent/child")).thenReturn(mockChild);
+        when(mockParent.isNode()).thenReturn(true);
+        when(mockChild.isNode()).thenReturn(true);
+        when(mockParent.getPath()).thenReturn("/parent");
+        when(mockChild.getPath()).thenReturn("/parent/child");
+        when(mockGrandchild.getPath()).thenReturn("/parent/child/grandchild");
+        when(mockParent.hasNodes()).thenReturn(true);
+        when(mockChild.hasNodes()).thenReturn(true);
+        when(mockParent.getNodes()).thenReturn(nodeIterator(mockChild));
+        when(mockChild.getNodes()).thenReturn(nodeIterator(mockGrandchild));
+        when(mockChild.getSession()).thenReturn(mockSession);
+        when(mockGrandchild.getSession()).thenReturn(mockSession);
+    }
+
+    @Test
+    public void testSharedRolesNotResolvedAgain() throws RepositoryException {
+        when(mockProvider.getEffectiveRoles(mockParent)).thenReturn(new EffectiveRoles(WRITE, "/parent"));
+        when(mockProvider.sharesParentRoles(mockChild)).thenReturn(true);
+        when(mockProvider.sharesParentRoles(mockGrandchild)).thenReturn(true);
+
+        assertTrue(evaluator.permitsDescendants("/parent"));
+        verify(mockProvider, never()).getEffectiveRoles(mockChild);
+        verify(mockProvider, never()).getEffectiveRoles(mockGrandchild);
+    }
+
+    @Test
+    public void testOwnAclDenies() throws RepositoryException {
+        when(mockProvider.getEffectiveRoles(mockParent)).thenReturn(new EffectiveRoles(WRITE, "/parent"));
+        when(mockProvider.sharesParentRoles(mockChild)).thenReturn(true);
+        when(mockProvider.getEffectiveRoles(mockGrandchild)).thenReturn(new EffectiveRoles(READ, null));
+
+        assertFalse(evaluator.permitsDescendants("/parent"));
+        verify(mockProvider, never()).getEffectiveRoles(mockChild);
+    }
+
+    @Test
+    public void testUnsharedRolesResolvedPerNode() throws RepositoryException {
+        when(mockProvider.getEffectiveRoles(mockParent)).thenReturn(new EffectiveRoles(WRITE, null));
+        when(mockProvider.sharesParentRoles(mockChild)).thenReturn(true);
+        when(mockProvider.getEffectiveRoles(mockChild)).thenReturn(new EffectiveRoles(WRITE, null));
+        when(mockProvider.getEffectiveRoles(mockGrandchild)).thenReturn(new EffectiveRoles(READ, null));
+
+        assertFalse(evaluator.permitsDescendants("/parent"));
+        verify(mockProvider).getEffectiveRoles(mockChild);
+    }
+}
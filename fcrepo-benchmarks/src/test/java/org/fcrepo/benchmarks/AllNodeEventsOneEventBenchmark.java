@@ -0,0 +1,160 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.benchmarks;
+
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static javax.jcr.observation.Event.NODE_ADDED;
+import static javax.jcr.observation.Event.PROPERTY_ADDED;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.jcr.observation.Event;
+
+import org.fcrepo.kernel.modeshape.observer.eventmappings.AllNodeEventsOneEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Measures how fast {@link AllNodeEventsOneEvent} collapses the events of one save, as produced by a SPARQL
+ * update changing many properties of a few resources.
+ *
+ * The benchmark is not run by the test suite; build the test classes with the benchmarks
+ * profile and run its main method from the test classpath.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AllNodeEventsOneEventBenchmark {
+
+    private static final String USER_DATA = "{\"baseUrl\":\"http://localhost:8080/rest/\",\"userAgent\":\"bench\"}";
+
+    /**
+     * The number of property changes in the save
+     */
+    @Param({"10", "500", "5000"})
+    public int properties;
+
+    /**
+     * The number of resources the properties are spread over
+     */
+    @Param({"1", "10"})
+    public int resources;
+
+    private final AllNodeEventsOneEvent mapping = new AllNodeEventsOneEvent();
+
+    private List<Event> events;
+
+    /**
+     * Build the events of the save
+     */
+    @Setup
+    public void setUp() {
+        events = new ArrayList<>(properties + resources);
+        for (int r = 0; r < resources; r++) {
+            events.add(new TestEvent(NODE_ADDED, "/benchmark/resource" + r));
+        }
+        for (int p = 0; p < properties; p++) {
+            events.add(new TestEvent(PROPERTY_ADDED, "/benchmark/resource" + (p % resources) + "/ns001:p" + p));
+        }
+    }
+
+    /**
+     * Collapse the events into FedoraEvents
+     *
+     * @return the number of FedoraEvents
+     */
+    @Benchmark
+    public long apply() {
+        return mapping.apply(events.stream()).count();
+    }
+
+    /**
+     * Run the benchmarks in this class
+     *
+     * @param args ignored
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        Benchmarks.run(AllNodeEventsOneEventBenchmark.class);
+    }
+
+    private static class TestEvent implements Event {
+
+        private final int type;
+
+        private final String path;
+
+        private TestEvent(final int type, final String path) {
+            this.type = type;
+            this.path = path;
+        }
+
+        @Override
+        public int getType() {
+            return type;
+        }
+
+        @Override
+        public String getPath() {
+            return path;
+        }
+
+        @Override
+        public String getUserID() {
+            return "bench";
+        }
+
+        @Override
+        public String getIdentifier() {
+            return path;
+        }
+
+        @Override
+        public Map<?, ?> getInfo() {
+            return emptyMap();
+        }
+
+        @Override
+        public String getUserData() {
+            return USER_DATA;
+        }
+
+        @Override
+        public long getDate() {
+            return 0L;
+        }
+    }
+}
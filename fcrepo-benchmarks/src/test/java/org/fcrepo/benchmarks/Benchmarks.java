@@ -0,0 +1,84 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.benchmarks;
+
+import static org.openjdk.jmh.results.format.ResultFormatType.JSON;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks of this module, writing their results as JSON to {@link #RESULT} so that runs of different
+ * commits can be compared.
+ *
+ * Any JMH command line options may be given, e.g. a pattern selecting the benchmarks to run, {@code -p} to
+ * override their parameters or {@code -rf}/{@code -rff} to write the results elsewhere.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public final class Benchmarks {
+
+    /**
+     * The file the results are written to by default
+     */
+    public static final String RESULT = "target/jmh-result.json";
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Run the benchmarks of one class, writing the results as JSON
+     *
+     * @param benchmark the benchmark class
+     * @throws RunnerException if the benchmark fails
+     */
+    static void run(final Class<?> benchmark) throws RunnerException {
+        new Runner(json(new OptionsBuilder().include(benchmark.getSimpleName())).build()).run();
+    }
+
+    private static ChainedOptionsBuilder json(final ChainedOptionsBuilder options) {
+        return options.resultFormat(JSON).result(RESULT);
+    }
+
+    /**
+     * Run the benchmarks
+     *
+     * @param args JMH command line options
+     * @throws RunnerException if the benchmark fails
+     * @throws CommandLineOptionException if the options are invalid
+     */
+    public static void main(final String[] args) throws RunnerException, CommandLineOptionException {
+        final CommandLineOptions commandLine = new CommandLineOptions(args);
+        final ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include(Benchmarks.class.getPackage().getName() + ".*Benchmark");
+        }
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.result(RESULT);
+        }
+        new Runner(options.build()).run();
+    }
+}
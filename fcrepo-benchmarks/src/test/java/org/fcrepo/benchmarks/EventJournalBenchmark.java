@@ -0,0 +1,138 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.benchmarks;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.commons.io.FileUtils;
+import org.fcrepo.http.api.journal.EventJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+
+import com.google.common.eventbus.EventBus;
+
+/**
+ * Measures the append and replay throughput of the {@link EventJournal}, in events per second, for events of the
+ * size of a typical JSON-LD event message.
+ *
+ * The benchmark is not run by the test suite; build the test classes with the benchmarks
+ * profile and run its main method from the test classpath.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventJournalBenchmark {
+
+    private static final int EVENTS = 1000000;
+
+    private static final int BATCH = 10000;
+
+    private final byte[] event = new byte[600];
+
+    private Path directory;
+
+    private EventJournal journal;
+
+    private long from = 1;
+
+    /**
+     * Fill a journal with events
+     *
+     * @throws IOException if the journal cannot be opened
+     */
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal");
+        journal = new EventJournal();
+        setField(journal, "segmentBytes", 67108864);
+        setField(journal, "maxBytes", 0L);
+        setField(journal, "maxAgeHours", 0L);
+        setField(journal, "directory", directory.toString());
+        setField(journal, "eventBus", Optional.of(new EventBus()));
+        journal.start();
+        for (int i = 0; i < EVENTS; i++) {
+            journal.append("/event", event);
+        }
+    }
+
+    /**
+     * Delete the journal
+     *
+     * @throws IOException if the journal cannot be deleted
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(directory.toFile());
+    }
+
+    /**
+     * Append an event
+     *
+     * @return its sequence number
+     */
+    @Benchmark
+    public long append() {
+        return journal.append("/event", event);
+    }
+
+    /**
+     * Replay a batch of events, cycling through the first million
+     *
+     * @return the events
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<EventJournal.Entry> replay() {
+        final List<EventJournal.Entry> entries = journal.read(from, BATCH);
+        from = from + BATCH > EVENTS ? 1 : from + BATCH;
+        return entries;
+    }
+
+    /**
+     * Run the benchmarks in this class
+     *
+     * @param args ignored
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        Benchmarks.run(EventJournalBenchmark.class);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.benchmarks;
+
+import static java.time.Instant.now;
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.fcrepo.kernel.api.RdfLexicon.REPOSITORY_NAMESPACE;
+import static org.fcrepo.kernel.api.observer.EventType.RESOURCE_MODIFICATION;
+import static org.fcrepo.kernel.api.observer.OptionalValues.BASE_URL;
+import static org.fcrepo.kernel.api.observer.OptionalValues.USER_AGENT;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.fcrepo.event.serialization.EventSerializer;
+import org.fcrepo.event.serialization.JsonLDSerializer;
+import org.fcrepo.event.serialization.TurtleSerializer;
+import org.fcrepo.kernel.api.observer.FedoraEvent;
+import org.fcrepo.kernel.modeshape.observer.FedoraEventImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Measures serializing a repository event for publication, as done for every message sent to JMS. The Turtle
+ * serialization goes through the Activity Streams JSON-LD context, which is read from a copy on the test classpath
+ * (see jarcache.json) rather than from the network, and loaded before measuring starts.
+ *
+ * The benchmark is not run by the test suite; build the test classes with the benchmarks
+ * profile and run its main method from the test classpath.
+ *
+ * @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    /**
+     * The serialization: "json-ld" or "turtle"
+     */
+    @Param({"json-ld", "turtle"})
+    public String format;
+
+    private EventSerializer serializer;
+
+    private FedoraEvent event;
+
+    /**
+     * Create the serializer and the event
+     */
+    @Setup
+    public void setUp() {
+        serializer = format.equals("turtle") ? new TurtleSerializer() : new JsonLDSerializer();
+        final Map<String, String> info = new HashMap<>();
+        info.put(BASE_URL, "http://localhost:8080/rest");
+        info.put(USER_AGENT, "fcrepo-java-client");
+        event = new FedoraEventImpl(RESOURCE_MODIFICATION, "/path/to/resource",
+                new HashSet<>(asList(REPOSITORY_NAMESPACE + "Resource", REPOSITORY_NAMESPACE + "Container",
+                        "http://example.org/SampleType")),
+                "fedoraAdmin", URI.create("http://example.org/agents/fedoraAdmin"), now(), info);
+        // load and cache the JSON-LD context
+        serializer.serialize(event);
+    }
+
+    /**
+     * Serialize the event
+     *
+     * @return the serialized event
+     */
+    @Benchmark
+    public String serialize() {
+        return serializer.serialize(event);
+    }
+
+    /**
+     * Run the benchmarks in this class
+     *
+     * @param args ignored
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        Benchmarks.run(EventSerializationBenchmark.class);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.benchmarks;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.apache.jena.graph.NodeFactory.createLiteral;
+import static org.apache.jena.graph.NodeFactory.createURI;
+import static org.apache.jena.rdf.model.ModelFactory.createDefaultModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.Model;
+import org.fcrepo.kernel.api.utils.GraphDifferencer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Measures {@link GraphDifferencer} diffing a replacement graph against the triples it replaces, as done when a
+ * resource's properties are replaced by a PUT.
+ *
+ * The benchmark is not run by the test suite; build the test classes with the benchmarks
+ * profile and run its main method from the test classpath.
+ *
+ * @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphDifferencerBenchmark {
+
+    private static final Node SUBJECT = createURI("info:fedora/benchmark");
+
+    /**
+     * The number of triples in each graph
+     */
+    @Param({"100", "10000"})
+    public int triples;
+
+    /**
+     * The percentage of the triples that differ between the graphs
+     */
+    @Param({"10"})
+    public int changed;
+
+    private final List<Triple> original = new ArrayList<>();
+
+    private final List<Triple> replacement = new ArrayList<>();
+
+    /**
+     * Create the graphs
+     */
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < triples; i++) {
+            final Node predicate = createURI("http://example.org/benchmark/p" + (i % 20));
+            final Triple triple = new Triple(SUBJECT, predicate, createLiteral("value " + i));
+            original.add(triple);
+            replacement.add(i % 100 < changed ? new Triple(SUBJECT, predicate, createLiteral("changed " + i)) : triple);
+        }
+    }
+
+    /**
+     * Diff the graphs
+     *
+     * @param bh the blackhole
+     */
+    @Benchmark
+    public void difference(final Blackhole bh) {
+        final Model model = createDefaultModel();
+        final Graph graph = model.getGraph();
+        replacement.forEach(graph::add);
+        final GraphDifferencer differencer = new GraphDifferencer(model, original.stream());
+        bh.consume(differencer.difference().count());
+        bh.consume(differencer.notCommon().count());
+    }
+
+    /**
+     * Run the benchmarks in this class
+     *
+     * @param args ignored
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        Benchmarks.run(GraphDifferencerBenchmark.class);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.benchmarks;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.jena.rdf.model.ResourceFactory.createResource;
+import static org.mockito.Mockito.mock;
+
+import javax.jcr.Session;
+import javax.ws.rs.core.UriBuilder;
+
+import org.apache.jena.rdf.model.Resource;
+import org.fcrepo.http.commons.api.rdf.HttpResourceConverter;
+import org.fcrepo.http.commons.session.HttpSession;
+import org.fcrepo.kernel.modeshape.FedoraSessionImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Measures identifier translation throughput of {@link HttpResourceConverter} over a set of
+ * subjects and objects resembling a large container response.
+ *
+ * The benchmark is not run by the test suite; build the test classes with the benchmarks
+ * profile and run its main method from the test classpath.
+ *
+ * @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HttpResourceConverterBenchmark {
+
+    private static final String BASE = "http://localhost:8080/rest/";
+
+    /**
+     * The number of distinct resources translated in each invocation; values above
+     * the translation cache size exercise the uncached path.
+     */
+    @Param({"100", "5000"})
+    public int distinct;
+
+    private Resource[] resources;
+
+    private String[] paths;
+
+    private HttpResourceConverter converter;
+
+    /**
+     * Create the converter and the resources to translate
+     */
+    @Setup
+    public void setUp() {
+        final HttpSession session = new HttpSession(new FedoraSessionImpl(mock(Session.class)));
+        converter = new HttpResourceConverter(session, UriBuilder.fromUri(BASE + "{path: .*}"));
+        resources = new Resource[distinct];
+        paths = new String[distinct];
+        for (int i = 0; i < distinct; i++) {
+            paths[i] = "/container/child-" + i;
+            resources[i] = createResource(BASE + "container/child-" + i + (i % 10 == 0 ? "#hash" : ""));
+        }
+    }
+
+    /**
+     * Translate URIs into repository paths
+     *
+     * @param bh the blackhole
+     */
+    @Benchmark
+    public void asString(final Blackhole bh) {
+        for (final Resource r : resources) {
+            bh.consume(converter.asString(r));
+        }
+    }
+
+    /**
+     * Check whether URIs are in the repository's domain
+     *
+     * @param bh the blackhole
+     */
+    @Benchmark
+    public void inDomain(final Blackhole bh) {
+        for (final Resource r : resources) {
+            bh.consume(converter.inDomain(r));
+        }
+    }
+
+    /**
+     * Translate repository paths into URIs
+     *
+     * @param bh the blackhole
+     */
+    @Benchmark
+    public void toDomain(final Blackhole bh) {
+        for (final String p : paths) {
+            bh.consume(converter.toDomain(p));
+        }
+    }
+
+    /**
+     * Run the benchmarks in this class
+     *
+     * @param args ignored
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        Benchmarks.run(HttpResourceConverterBenchmark.class);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.benchmarks;
+
+import static java.time.Instant.now;
+import static java.util.Collections.emptySet;
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.fcrepo.kernel.api.observer.EventType.RESOURCE_CREATION;
+import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.getJcrSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javax.jcr.RepositoryException;
+
+import org.fcrepo.kernel.api.FedoraRepository;
+import org.fcrepo.kernel.api.FedoraSession;
+import org.fcrepo.kernel.api.services.ContainerService;
+import org.fcrepo.kernel.api.services.functions.HierarchicalIdentifierSupplier;
+import org.fcrepo.kernel.modeshape.observer.FedoraEventImpl;
+import org.fcrepo.kernel.modeshape.services.PairtreeServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+/**
+ * Measures listing, lookup and placement in a container as its number of children grows, with children placed
+ * in a fixed four-level pairtree or by {@link PairtreeServiceImpl}.
+ *
+ * The benchmark is not run by the test suite; build the test classes with the benchmarks
+ * profile and run its main method from the test classpath. Larger containers may be measured by passing e.g.
+ * {@code -p children=50000} to the JMH runner; filling them takes most of the run. Sizes beyond 50000 have
+ * not been measured.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PairtreeBenchmark {
+
+    private static final String PARENT = "/benchmark";
+
+    private static final int SAVE_EVERY = 1000;
+
+    private static final int SAMPLES = 1000;
+
+    /**
+     * How children are placed: "static" or "adaptive"
+     */
+    @Param({"static", "adaptive"})
+    public String mode;
+
+    /**
+     * The number of children in the container
+     */
+    @Param({"1000", "10000"})
+    public int children;
+
+    /**
+     * The number of children a bucket may hold before it is split, in the adaptive mode
+     */
+    @Param({"1000"})
+    public int threshold;
+
+    private ClassPathXmlApplicationContext context;
+
+    private FedoraRepository repository;
+
+    private FedoraSession session;
+
+    private ContainerService containerService;
+
+    private PairtreeServiceImpl pairtreeService;
+
+    private final HierarchicalIdentifierSupplier fixed = new HierarchicalIdentifierSupplier() { };
+
+    private final List<String> samples = new ArrayList<>();
+
+    private final Random random = new Random(0);
+
+    /**
+     * Start a repository and fill the container
+     *
+     * @throws RepositoryException if repository exception occurred
+     */
+    @Setup
+    public void setUp() throws RepositoryException {
+        context = new ClassPathXmlApplicationContext("/spring-benchmarks/repo.xml");
+        repository = context.getBean(FedoraRepository.class);
+        containerService = context.getBean(ContainerService.class);
+        pairtreeService = new PairtreeServiceImpl(threshold);
+
+        session = repository.login();
+        containerService.findOrCreate(session, PARENT);
+        for (int i = 0; i < children; i++) {
+            final String path = PARENT + "/" + place();
+            containerService.findOrCreate(session, path);
+            // stand in for the event stream, which counts the children of the buckets
+            pairtreeService.onEvent(new FedoraEventImpl(RESOURCE_CREATION, path, emptySet(), null, null, now(), null));
+            if (i % (children / SAMPLES + 1) == 0) {
+                samples.add(path);
+            }
+            if (i % SAVE_EVERY == 0) {
+                session.commit();
+            }
+        }
+        session.commit();
+    }
+
+    /**
+     * Stop the repository
+     */
+    @TearDown
+    public void tearDown() {
+        session.expire();
+        context.close();
+    }
+
+    /**
+     * List the children of the container
+     *
+     * @return the number of children
+     */
+    @Benchmark
+    public long list() {
+        return containerService.find(session, PARENT).getChildren().count();
+    }
+
+    /**
+     * Look up a child of the container
+     *
+     * @return whether the child exists
+     * @throws RepositoryException if repository exception occurred
+     */
+    @Benchmark
+    public boolean lookup() throws RepositoryException {
+        return getJcrSession(session).nodeExists(samples.get(random.nextInt(samples.size())));
+    }
+
+    /**
+     * Find where to create a new child of the container
+     *
+     * @return the path of the child
+     */
+    @Benchmark
+    public String place() {
+        return mode.equals("adaptive") ? pairtreeService.place(session, PARENT, randomUUID().toString())
+                : fixed.get();
+    }
+
+    /**
+     * Run the benchmarks in this class
+     *
+     * @param args ignored
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        Benchmarks.run(PairtreeBenchmark.class);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.benchmarks;
+
+import static java.lang.Boolean.TRUE;
+import static java.lang.reflect.Proxy.newProxyInstance;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.fcrepo.http.api.DefaultPathLockManager;
+import org.fcrepo.http.api.PathLockManager;
+import org.fcrepo.kernel.api.services.NodeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Measures acquiring and releasing locks from {@link DefaultPathLockManager} by concurrent requests, either all
+ * on the same resource or each on its own.
+ *
+ * The benchmark is not run by the test suite; build the test classes with the benchmarks
+ * profile and run its main method from the test classpath.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class PathLockBenchmark {
+
+    /**
+     * Whether the threads lock the "same" path or "distinct" ones
+     */
+    @Param({"same", "distinct"})
+    public String paths;
+
+    private final PathLockManager lockManager = new DefaultPathLockManager();
+
+    // all ancestors exist, as for an update of an existing resource
+    private final NodeService nodeService = (NodeService) newProxyInstance(NodeService.class.getClassLoader(),
+            new Class<?>[] {NodeService.class}, (proxy, method, args) -> TRUE);
+
+    private final AtomicInteger threads = new AtomicInteger();
+
+    /**
+     * The path locked by a thread
+     */
+    @State(Scope.Thread)
+    public static class ThreadPath {
+
+        private String path;
+
+        /**
+         * Choose the path
+         *
+         * @param benchmark the benchmark state
+         */
+        @Setup
+        public void setUp(final PathLockBenchmark benchmark) {
+            path = "/benchmark/" + (benchmark.paths.equals("same") ? "resource" :
+                    "resource-" + benchmark.threads.getAndIncrement());
+        }
+    }
+
+    /**
+     * Lock a path for reading
+     *
+     * @param thread the path of this thread
+     */
+    @Benchmark
+    public void read(final ThreadPath thread) {
+        lockManager.lockForRead(thread.path).release();
+    }
+
+    /**
+     * Lock a path for writing
+     *
+     * @param thread the path of this thread
+     */
+    @Benchmark
+    public void write(final ThreadPath thread) {
+        lockManager.lockForWrite(thread.path, null, nodeService).release();
+    }
+
+    /**
+     * Run the benchmarks in this class
+     *
+     * @param args ignored
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        Benchmarks.run(PathLockBenchmark.class);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.benchmarks;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static javax.ws.rs.core.MediaType.valueOf;
+import static org.apache.commons.io.output.NullOutputStream.NULL_OUTPUT_STREAM;
+import static org.apache.jena.graph.NodeFactory.createLiteral;
+import static org.apache.jena.graph.NodeFactory.createURI;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.core.MediaType;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.fcrepo.http.commons.responses.RdfStreamStreamingOutput;
+import org.fcrepo.kernel.api.rdf.DefaultRdfStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Measures {@link RdfStreamStreamingOutput} writing the triples of a container with many children in each RDF
+ * serialization offered by the HTTP API.
+ *
+ * The benchmark is not run by the test suite; build the test classes with the benchmarks
+ * profile and run its main method from the test classpath.
+ *
+ * @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RdfSerializationBenchmark {
+
+    private static final String BASE = "http://localhost:8080/rest/benchmark";
+
+    private static final Node SUBJECT = createURI(BASE);
+
+    /**
+     * The media type written
+     */
+    @Param({"text/turtle", "application/ld+json", "application/n-triples", "application/rdf+xml"})
+    public String format;
+
+    /**
+     * The number of triples written
+     */
+    @Param({"1000", "100000"})
+    public int triples;
+
+    private final List<Triple> stream = new ArrayList<>();
+
+    private final Map<String, String> namespaces = new HashMap<>();
+
+    private MediaType mediaType;
+
+    /**
+     * Create the triples
+     */
+    @Setup
+    public void setUp() {
+        mediaType = valueOf(format);
+        namespaces.put("ldp", "http://www.w3.org/ns/ldp#");
+        namespaces.put("dc", "http://purl.org/dc/elements/1.1/");
+        final Node contains = createURI("http://www.w3.org/ns/ldp#contains");
+        final Node title = createURI("http://purl.org/dc/elements/1.1/title");
+        for (int i = 0; i < triples; i++) {
+            stream.add(i % 2 == 0 ? new Triple(SUBJECT, contains, createURI(BASE + "/child-" + i))
+                    : new Triple(createURI(BASE + "/child-" + (i - 1)), title, createLiteral("Child " + i)));
+        }
+    }
+
+    /**
+     * Write the triples
+     */
+    @Benchmark
+    public void write() {
+        new RdfStreamStreamingOutput(new DefaultRdfStream(SUBJECT, stream.stream()), namespaces, mediaType)
+                .write(NULL_OUTPUT_STREAM);
+    }
+
+    /**
+     * Run the benchmarks in this class
+     *
+     * @param args ignored
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        Benchmarks.run(RdfSerializationBenchmark.class);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.benchmarks;
+
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.jena.rdf.model.ResourceFactory.createResource;
+import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.RDF_TYPE_STORAGE_MODE;
+import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.getJcrSession;
+
+import javax.jcr.RepositoryException;
+
+import org.fcrepo.kernel.api.FedoraRepository;
+import org.fcrepo.kernel.api.FedoraSession;
+import org.fcrepo.kernel.api.models.FedoraResource;
+import org.fcrepo.kernel.api.services.ContainerService;
+import org.fcrepo.kernel.modeshape.rdf.JcrRdfTools;
+import org.fcrepo.kernel.modeshape.rdf.impl.DefaultIdentifierTranslator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+/**
+ * Measures ingest throughput of resources carrying user-supplied rdf:types under both rdf:type storage modes.
+ *
+ * The benchmark is not run by the test suite; build the test classes with the benchmarks
+ * profile and run its main method from the test classpath.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RdfTypeStorageBenchmark {
+
+    private static final String NAMESPACE = "http://example.org/benchmark/types/";
+
+    /**
+     * The rdf:type storage mode
+     */
+    @Param({"mixin", "property"})
+    public String mode;
+
+    /**
+     * The number of distinct types cycled through; a large vocabulary means almost every resource
+     * introduces types the repository has not seen before.
+     */
+    @Param({"10", "1000000"})
+    public int vocabulary;
+
+    /**
+     * The number of types asserted on each resource
+     */
+    @Param({"3"})
+    public int typesPerResource;
+
+    private ClassPathXmlApplicationContext context;
+
+    private FedoraRepository repository;
+
+    private ContainerService containerService;
+
+    private long counter = 0;
+
+    /**
+     * Start a repository in the requested mode
+     */
+    @Setup
+    public void setUp() {
+        System.setProperty(RDF_TYPE_STORAGE_MODE, mode);
+        context = new ClassPathXmlApplicationContext("/spring-benchmarks/repo.xml");
+        repository = context.getBean(FedoraRepository.class);
+        containerService = context.getBean(ContainerService.class);
+    }
+
+    /**
+     * Stop the repository
+     */
+    @TearDown
+    public void tearDown() {
+        context.close();
+        System.clearProperty(RDF_TYPE_STORAGE_MODE);
+    }
+
+    /**
+     * Create a resource with its types and commit it
+     *
+     * @throws RepositoryException if repository exception occurred
+     */
+    @Benchmark
+    public void ingest() throws RepositoryException {
+        final FedoraSession session = repository.login();
+        try {
+            final JcrRdfTools tools = new JcrRdfTools(new DefaultIdentifierTranslator(getJcrSession(session)),
+                    getJcrSession(session));
+            final FedoraResource resource = containerService.findOrCreate(session, "/benchmark/" + counter);
+            for (int i = 0; i < typesPerResource; i++) {
+                tools.addMixin(resource, createResource(NAMESPACE + "Type" + ((counter + i) % vocabulary)),
+                        emptyMap());
+            }
+            counter += typesPerResource;
+            session.commit();
+        } finally {
+            session.expire();
+        }
+    }
+
+    /**
+     * Run the benchmarks in this class
+     *
+     * @param args ignored
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        Benchmarks.run(RdfTypeStorageBenchmark.class);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.benchmarks;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.http.util.EntityUtils.consume;
+
+import java.io.IOException;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+/**
+ * Measures requests per second for GETs of a container's Turtle representation, with and without
+ * the representation cache.
+ *
+ * The benchmark is not run by the test suite; build the test classes with the benchmarks
+ * profile and run its main method from the test classpath.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RepresentationCacheBenchmark {
+
+    private static final String MAX_BYTES = "fcrepo.http.representationCache.maxBytes";
+
+    private static final String PORT = "fcrepo.dynamic.test.port";
+
+    /**
+     * The size of the representation cache in bytes; 0 disables it
+     */
+    @Param({"0", "67108864"})
+    public String cacheBytes;
+
+    /**
+     * The number of children of the requested container
+     */
+    @Param({"50"})
+    public int children;
+
+    private ClassPathXmlApplicationContext context;
+
+    private CloseableHttpClient client;
+
+    private String container;
+
+    /**
+     * Start the HTTP API and create a container with its children
+     *
+     * @throws IOException if an I/O error occurred
+     */
+    @Setup
+    public void setUp() throws IOException {
+        System.setProperty(MAX_BYTES, cacheBytes);
+        System.setProperty(PORT, System.getProperty(PORT, "8080"));
+        context = new ClassPathXmlApplicationContext("/spring-test/test-container.xml");
+        client = HttpClientBuilder.create().setMaxConnPerRoute(4).build();
+
+        container = "http://localhost:" + System.getProperty(PORT) + "/benchmark-" + System.nanoTime();
+        execute(new HttpPut(container));
+        for (int i = 0; i < children; i++) {
+            execute(new HttpPut(container + "/child-" + i));
+        }
+    }
+
+    /**
+     * Stop the HTTP API
+     *
+     * @throws IOException if an I/O error occurred
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        client.close();
+        context.close();
+        System.clearProperty(MAX_BYTES);
+    }
+
+    /**
+     * Retrieve the container as Turtle
+     *
+     * @return the status code
+     * @throws IOException if an I/O error occurred
+     */
+    @Benchmark
+    public int get() throws IOException {
+        final HttpGet get = new HttpGet(container);
+        get.setHeader("Accept", "text/turtle");
+        return execute(get);
+    }
+
+    private int execute(final HttpUriRequest request) throws IOException {
+        final HttpResponse response = client.execute(request);
+        consume(response.getEntity());
+        return response.getStatusLine().getStatusCode();
+    }
+
+    /**
+     * Run the benchmarks in this class
+     *
+     * @param args ignored
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        Benchmarks.run(RepresentationCacheBenchmark.class);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.benchmarks;
+
+import static java.time.Instant.now;
+import static java.util.Optional.of;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.fcrepo.kernel.api.FedoraSession;
+import org.fcrepo.kernel.api.services.BatchService;
+import org.fcrepo.kernel.modeshape.services.BatchServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Measures the cost of a pass of the transaction reaper over many open transactions, none of which has expired.
+ *
+ * The benchmark is not run by the test suite; build the test classes with the benchmarks
+ * profile and run its main method from the test classpath.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionReaperBenchmark {
+
+    /**
+     * The number of open transactions
+     */
+    @Param({"100", "10000"})
+    public int open;
+
+    private BatchService service;
+
+    private FedoraSession[] transactions;
+
+    /**
+     * Begin the transactions
+     */
+    @Setup
+    public void setUp() {
+        service = new BatchServiceImpl();
+        transactions = new FedoraSession[open];
+        for (int i = 0; i < open; i++) {
+            transactions[i] = mock(FedoraSession.class);
+            when(transactions[i].getId()).thenReturn("benchmark-" + i);
+            when(transactions[i].getExpires()).thenReturn(of(now().plusSeconds(3600)));
+            service.begin(transactions[i]);
+        }
+    }
+
+    /**
+     * Roll back the transactions
+     */
+    @TearDown
+    public void tearDown() {
+        for (final FedoraSession tx : transactions) {
+            service.abort(tx.getId());
+        }
+    }
+
+    /**
+     * Look for expired transactions
+     */
+    @Benchmark
+    public void removeExpired() {
+        service.removeExpired();
+    }
+
+    /**
+     * Run the benchmarks in this class
+     *
+     * @param args ignored
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        Benchmarks.run(TransactionReaperBenchmark.class);
+    }
+}
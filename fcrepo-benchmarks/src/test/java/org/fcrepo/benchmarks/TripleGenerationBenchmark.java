@@ -0,0 +1,141 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.benchmarks;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.fcrepo.kernel.api.RequiredRdfContext.PROPERTIES;
+import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.getJcrSession;
+
+import org.apache.jena.rdf.model.Resource;
+import org.fcrepo.kernel.api.FedoraRepository;
+import org.fcrepo.kernel.api.FedoraSession;
+import org.fcrepo.kernel.api.RequiredRdfContext;
+import org.fcrepo.kernel.api.identifiers.IdentifierConverter;
+import org.fcrepo.kernel.api.models.FedoraResource;
+import org.fcrepo.kernel.api.services.ContainerService;
+import org.fcrepo.kernel.modeshape.rdf.impl.DefaultIdentifierTranslator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+/**
+ * Measures {@link FedoraResource#getTriples} for each category of triples, on a container with properties,
+ * children and children referring back to it.
+ *
+ * The benchmark is not run by the test suite; build the test classes with the benchmarks
+ * profile and run its main method from the test classpath.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TripleGenerationBenchmark {
+
+    private static final String PARENT = "/benchmark";
+
+    /**
+     * The category of triples generated
+     */
+    @Param({"PROPERTIES", "SERVER_MANAGED", "LDP_CONTAINMENT", "LDP_MEMBERSHIP", "INBOUND_REFERENCES",
+            "EMBED_RESOURCES"})
+    public String category;
+
+    /**
+     * The number of children of the container, each referring back to it
+     */
+    @Param({"100"})
+    public int children;
+
+    private ClassPathXmlApplicationContext context;
+
+    private FedoraSession session;
+
+    private IdentifierConverter<Resource, FedoraResource> translator;
+
+    private FedoraResource resource;
+
+    private RequiredRdfContext tripleCategory;
+
+    /**
+     * Start a repository and create the container
+     */
+    @Setup
+    public void setUp() {
+        tripleCategory = RequiredRdfContext.valueOf(category);
+        context = new ClassPathXmlApplicationContext("/spring-benchmarks/repo.xml");
+        final ContainerService containerService = context.getBean(ContainerService.class);
+        session = context.getBean(FedoraRepository.class).login();
+        translator = new DefaultIdentifierTranslator(getJcrSession(session));
+
+        resource = containerService.findOrCreate(session, PARENT);
+        final String uri = translator.reverse().convert(resource).getURI();
+        resource.updateProperties(translator, "PREFIX dc: <http://purl.org/dc/elements/1.1/> " +
+                "INSERT DATA { <" + uri + "> dc:title \"A container\" ; dc:subject \"benchmarks\", " +
+                "\"triples\" ; dc:creator \"fcrepo\" }", resource.getTriples(translator, PROPERTIES));
+        for (int i = 0; i < children; i++) {
+            final FedoraResource child = containerService.findOrCreate(session, PARENT + "/child-" + i);
+            child.updateProperties(translator, "INSERT DATA { <" + translator.reverse().convert(child).getURI() +
+                    "> <http://purl.org/dc/terms/isPartOf> <" + uri + "> }", child.getTriples(translator, PROPERTIES));
+        }
+        session.commit();
+    }
+
+    /**
+     * Stop the repository
+     */
+    @TearDown
+    public void tearDown() {
+        session.expire();
+        context.close();
+    }
+
+    /**
+     * Generate the triples of the category
+     *
+     * @return the number of triples
+     */
+    @Benchmark
+    public long getTriples() {
+        return resource.getTriples(translator, tripleCategory).count();
+    }
+
+    /**
+     * Run the benchmarks in this class
+     *
+     * @param args ignored
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        Benchmarks.run(TripleGenerationBenchmark.class);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.benchmarks;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.fcrepo.kernel.api.RequiredRdfContext.PROPERTIES;
+import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.getJcrSession;
+import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.getJcrNode;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.Random;
+
+import javax.jcr.Node;
+import javax.jcr.NodeIterator;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import javax.jcr.version.VersionHistory;
+import javax.jcr.version.VersionIterator;
+
+import org.fcrepo.kernel.api.FedoraRepository;
+import org.fcrepo.kernel.api.FedoraSession;
+import org.fcrepo.kernel.api.models.FedoraResource;
+import org.fcrepo.kernel.api.services.ContainerService;
+import org.fcrepo.kernel.api.services.VersionService;
+import org.fcrepo.kernel.modeshape.rdf.impl.DefaultIdentifierTranslator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.RunnerException;
+import org.slf4j.Logger;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+/**
+ * Replays a synthetic edit history against a versioned container, reports the size of the resulting version storage
+ * and measures the latency of reading a version back. The size of the version
+ * storage is logged once the history has been replayed.
+ *
+ * The benchmark is not run by the test suite; build the test classes with the benchmarks
+ * profile and run its main method from the test classpath.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class VersionStorageBenchmark {
+
+    private static final Logger LOGGER = getLogger(VersionStorageBenchmark.class);
+
+    private static final String PATH = "/benchmark";
+
+    /**
+     * The number of children of the versioned container
+     */
+    @Param({"0", "50"})
+    public int children;
+
+    /**
+     * The share of checkpoints preceded by an actual edit; the rest follow a no-op save
+     */
+    @Param({"1.0", "0.2"})
+    public double changeRate;
+
+    /**
+     * The number of checkpoints in the edit history
+     */
+    @Param({"200"})
+    public int checkpoints;
+
+    private ClassPathXmlApplicationContext context;
+
+    private FedoraSession session;
+
+    private FedoraResource resource;
+
+    private DefaultIdentifierTranslator translator;
+
+    private int counter = 0;
+
+    /**
+     * Start a repository and replay the edit history
+     *
+     * @throws RepositoryException if repository exception occurred
+     */
+    @Setup
+    public void setUp() throws RepositoryException {
+        context = new ClassPathXmlApplicationContext("/spring-benchmarks/repo.xml");
+        final ContainerService containerService = context.getBean(ContainerService.class);
+        final VersionService versionService = context.getBean(VersionService.class);
+        session = context.getBean(FedoraRepository.class).login();
+        translator = new DefaultIdentifierTranslator(getJcrSession(session));
+
+        resource = containerService.findOrCreate(session, PATH);
+        for (int i = 0; i < children; i++) {
+            containerService.findOrCreate(session, PATH + "/child-" + i);
+        }
+        session.commit();
+
+        final Random random = new Random(42);
+        for (int i = 0; i < checkpoints; i++) {
+            if (random.nextDouble() < changeRate) {
+                final Node edited = children == 0 || random.nextBoolean() ? getJcrNode(resource)
+                        : getJcrSession(session).getNode(PATH + "/child-" + random.nextInt(children));
+                edited.setProperty("dc:title", "edit " + i);
+            }
+            session.commit();
+            versionService.createVersion(session, PATH, "v" + i);
+            session.commit();
+        }
+        report();
+    }
+
+    /**
+     * Stop the repository
+     */
+    @TearDown
+    public void tearDown() {
+        session.expire();
+        context.close();
+    }
+
+    /**
+     * Read a version of the container and its properties
+     *
+     * @param bh the blackhole
+     */
+    @Benchmark
+    public void readVersion(final Blackhole bh) {
+        final FedoraResource version = resource.getVersion("v" + (counter++ % checkpoints));
+        version.getTriples(translator, PROPERTIES).forEach(bh::consume);
+    }
+
+    private void report() throws RepositoryException {
+        final Session jcrSession = getJcrSession(session);
+        final VersionHistory history = jcrSession.getWorkspace().getVersionManager().getVersionHistory(PATH);
+        long versions = 0;
+        final long[] storage = new long[2];
+        for (final VersionIterator iterator = history.getAllVersions(); iterator.hasNext(); ) {
+            count(iterator.nextVersion().getFrozenNode(), storage);
+            versions++;
+        }
+        LOGGER.info("Version storage after {} checkpoints ({} children, change rate {}): {} versions, "
+                + "{} frozen nodes, {} properties", checkpoints, children, changeRate, versions, storage[0],
+                storage[1]);
+    }
+
+    private static void count(final Node frozen, final long[] storage) throws RepositoryException {
+        storage[0]++;
+        storage[1] += frozen.getProperties().getSize();
+        for (final NodeIterator nodes = frozen.getNodes(); nodes.hasNext(); ) {
+            count(nodes.nextNode(), storage);
+        }
+    }
+
+    /**
+     * Run the benchmarks in this class
+     *
+     * @param args ignored
+     * @throws RunnerException if the benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        Benchmarks.run(VersionStorageBenchmark.class);
+    }
+}
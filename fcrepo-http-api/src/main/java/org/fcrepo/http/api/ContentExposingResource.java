@@ -26,11 +26,18 @@ import static javax.ws.rs.core.HttpHeaders.CONTENT_DISPOSITION;
 import static javax.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
 import static javax.ws.rs.core.HttpHeaders.CONTENT_LOCATION;
 import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
+import static javax.ws.rs.core.HttpHeaders.IF_MATCH;
+import static javax.ws.rs.core.HttpHeaders.IF_MODIFIED_SINCE;
+import static javax.ws.rs.core.HttpHeaders.IF_NONE_MATCH;
+import static javax.ws.rs.core.HttpHeaders.IF_UNMODIFIED_SINCE;
 import static javax.ws.rs.core.HttpHeaders.LINK;
 import static javax.ws.rs.core.MediaType.APPLICATION_OCTET_STREAM_TYPE;
 import static javax.ws.rs.core.Response.ok;
 import static javax.ws.rs.core.Response.status;
 import static javax.ws.rs.core.Response.temporaryRedirect;
+import static javax.ws.rs.core.Response.Status.BAD_GATEWAY;
+import static javax.ws.rs.core.Response.Status.FORBIDDEN;
+import static javax.ws.rs.core.Response.Status.NOT_MODIFIED;
 import static javax.ws.rs.core.Response.Status.PARTIAL_CONTENT;
 import static javax.ws.rs.core.Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE;
 import static org.apache.commons.lang3.StringUtils.isBlank;
@@ -38,6 +45,7 @@ import static org.apache.jena.rdf.model.ModelFactory.createDefaultModel;
 import static org.apache.jena.rdf.model.ResourceFactory.createProperty;
 import static org.apache.jena.riot.RDFLanguages.contentTypeToLang;
 import static org.apache.jena.vocabulary.RDF.type;
+import static org.fcrepo.kernel.api.FedoraTypes.FCR_METADATA;
 import static org.fcrepo.kernel.api.FedoraTypes.LDP_BASIC_CONTAINER;
 import static org.fcrepo.kernel.api.FedoraTypes.LDP_DIRECT_CONTAINER;
 import static org.fcrepo.kernel.api.FedoraTypes.LDP_INDIRECT_CONTAINER;
@@ -57,6 +65,7 @@ import static org.fcrepo.kernel.api.RequiredRdfContext.LDP_MEMBERSHIP;
 import static org.fcrepo.kernel.api.RequiredRdfContext.MINIMAL;
 import static org.fcrepo.kernel.api.RequiredRdfContext.PROPERTIES;
 import static org.fcrepo.kernel.api.RequiredRdfContext.SERVER_MANAGED;
+import static org.fcrepo.kernel.api.models.ResourceValidator.Kind.NON_RDF_SOURCE;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.io.IOException;
@@ -68,8 +77,10 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -80,6 +91,8 @@ import javax.servlet.http.HttpServletResponse;
 import javax.servlet.ServletContext;
 import javax.ws.rs.BadRequestException;
 import javax.ws.rs.BeanParam;
+import javax.ws.rs.ClientErrorException;
+import javax.ws.rs.ServerErrorException;
 import javax.ws.rs.core.CacheControl;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.EntityTag;
@@ -89,6 +102,7 @@ import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 
+import org.fcrepo.http.api.responses.CacheableRdfNamespacedStream;
 import org.fcrepo.http.commons.api.HttpHeaderInjector;
 import org.fcrepo.http.commons.api.rdf.HttpTripleUtil;
 import org.fcrepo.http.commons.domain.MultiPrefer;
@@ -110,8 +124,11 @@ import org.fcrepo.kernel.api.models.Container;
 import org.fcrepo.kernel.api.models.FedoraBinary;
 import org.fcrepo.kernel.api.models.FedoraResource;
 import org.fcrepo.kernel.api.models.NonRdfSourceDescription;
+import org.fcrepo.kernel.api.models.ResourceValidator;
 import org.fcrepo.kernel.api.rdf.DefaultRdfStream;
+import org.fcrepo.kernel.api.services.ExternalContentService;
 import org.fcrepo.kernel.api.services.policy.StoragePolicyDecisionPoint;
+import org.fcrepo.kernel.api.utils.ExternalContent;
 import org.fcrepo.kernel.api.utils.MessageExternalBodyContentType;
 
 import org.apache.jena.atlas.RuntimeIOException;
@@ -160,11 +177,25 @@ public abstract class ContentExposingResource extends FedoraBaseResource {
     @Optional
     StoragePolicyDecisionPoint storagePolicyDecisionPoint;
 
+    @Inject
+    @Optional
+    private ExternalContentService externalContentService;
+
+    @Inject
+    protected FedoraHttpConfiguration httpConfiguration;
+
+    // whether the triples produced for this request included membership triples
+    private boolean membershipTriples = false;
+
     protected FedoraResource resource;
 
     @Inject
     protected  PathLockManager lockManager;
 
+    // the request headers passed on when proxying external content
+    private static final String[] PROXIED_REQUEST_HEADERS = {"Range", "If-Range", IF_MATCH, IF_NONE_MATCH,
+        IF_MODIFIED_SINCE, IF_UNMODIFIED_SINCE};
+
     private static final Predicate<Triple> IS_MANAGED_TYPE = t -> t.getPredicate().equals(type.asNode()) &&
             isManagedNamespace.test(t.getObject().getNameSpace());
     private static final Predicate<Triple> IS_MANAGED_TRIPLE = IS_MANAGED_TYPE
@@ -197,15 +228,28 @@ public abstract class ContentExposingResource extends FedoraBaseResource {
             final MediaType mediaType = MediaType.valueOf(((FedoraBinary) resource()).getMimeType());
 
             if (isExternalBody(mediaType)) {
-                return externalBodyRedirect(getExternalResourceLocation(mediaType)).build();
+                final URI resourceLocation = getExternalResourceLocation(mediaType);
+                return isProxiedExternalBody(resource()) ? proxyExternalBody(resourceLocation, false).build()
+                        : externalBodyRedirect(resourceLocation).build();
             }
 
             return getBinaryContent(rangeValue);
         } else {
-            outputStream = new RdfNamespacedStream(
-                    new DefaultRdfStream(rdfStream.topic(), concat(rdfStream,
-                        getResourceTriples(limit))),
-                    session.getFedoraSession().getNamespaces());
+            final long generation = representationCache == null ? 0 : representationCache.generation();
+            final RepresentationCache.Key key = representationKey(limit);
+            if (key == null) {
+                outputStream = new RdfNamespacedStream(
+                        new DefaultRdfStream(rdfStream.topic(), concat(rdfStream,
+                            getResourceTriples(limit))),
+                        session.getFedoraSession().getNamespaces());
+            } else {
+                // the triples are only selected if the representation turns out not to be cached
+                outputStream = new CacheableRdfNamespacedStream(
+                        new DefaultRdfStream(rdfStream.topic(), concat(rdfStream,
+                            Stream.of(limit).flatMap(this::getResourceTriples))),
+                        session.getFedoraSession().getNamespaces(), representationCache, key, generation,
+                        () -> membershipTriples);
+            }
             if (prefer != null) {
                 prefer.getReturn().addResponseHeaders(servletResponse);
             }
@@ -234,6 +278,63 @@ public abstract class ContentExposingResource extends FedoraBaseResource {
         return temporaryRedirect(resourceLocation).header(CONTENT_LOCATION, resourceLocation);
     }
 
+    /**
+     * Checks if a resource is a message/external-body binary whose content is streamed through the repository
+     * @param resource the resource
+     * @return true if its content is proxied
+     */
+    protected boolean isProxiedExternalBody(final FedoraResource resource) {
+        return proxiesExternalBodies() && resource instanceof FedoraBinary
+                && isExternalBody(MediaType.valueOf(((FedoraBinary) resource).getMimeType()));
+    }
+
+    private boolean proxiesExternalBodies() {
+        return externalContentService != null && httpConfiguration != null && httpConfiguration.proxyExternalBody();
+    }
+
+    /**
+     * Stream external content through the repository. The range and conditional headers of the request are
+     * answered from the external content, not from the binary that refers to it. Content on a host that is not
+     * allowed by {@link FedoraHttpConfiguration#mayProxy(URI)} is refused.
+     * @param resourceLocation the location of the external content
+     * @param head whether only the headers of the external content are wanted
+     * @return the response builder
+     * @throws IOException if IO exception occurred
+     */
+    protected ResponseBuilder proxyExternalBody(final URI resourceLocation, final boolean head) throws IOException {
+        if (!httpConfiguration.mayProxy(resourceLocation)) {
+            throw new ClientErrorException("External content at " + resourceLocation + " may not be proxied",
+                    FORBIDDEN);
+        }
+        final Map<String, String> requestHeaders = new HashMap<>();
+        for (final String name : PROXIED_REQUEST_HEADERS) {
+            final String value = headers.getHeaderString(name);
+            if (value != null) {
+                requestHeaders.put(name, value);
+            }
+        }
+
+        final ExternalContent content;
+        try {
+            content = externalContentService.proxyExternalContent(resourceLocation, head, requestHeaders);
+        } catch (final IOException e) {
+            throw new ServerErrorException("Unable to retrieve external content from " + resourceLocation,
+                    BAD_GATEWAY, e);
+        }
+        LOGGER.debug("Proxied {} with status {}", resourceLocation, content.getStatus());
+
+        final ResponseBuilder builder = status(content.getStatus()).header(CONTENT_LOCATION, resourceLocation);
+        content.getHeaders().forEach(builder::header);
+        if (!content.getHeaders().containsKey(CONTENT_TYPE)) {
+            // we set the content-type explicitly to avoid content-negotiation from getting in the way
+            builder.type(APPLICATION_OCTET_STREAM_TYPE);
+        }
+        if (content.getContent() != null) {
+            builder.entity(content.getContent());
+        }
+        return builder;
+    }
+
     protected RdfStream getResourceTriples() {
         return getResourceTriples(-1);
     }
@@ -249,16 +350,7 @@ public abstract class ContentExposingResource extends FedoraBaseResource {
         if (resource() instanceof NonRdfSourceDescription) {
             resource = resource().getDescribedResource();
         }
-        final PreferTag returnPreference;
-
-        if (prefer != null && prefer.hasReturn()) {
-            returnPreference = prefer.getReturn();
-        } else if (prefer != null && prefer.hasHandling()) {
-            returnPreference = prefer.getHandling();
-        } else {
-            returnPreference = PreferTag.emptyTag();
-        }
-
+        final PreferTag returnPreference = returnPreference();
         final LdpPreferTag ldpPreferences = new LdpPreferTag(returnPreference);
 
         final Predicate<Triple> tripleFilter = ldpPreferences.prefersServerManaged() ? x -> true :
@@ -292,7 +384,7 @@ public abstract class ContentExposingResource extends FedoraBaseResource {
 
             // LDP container membership triples for this resource
             if (ldpPreferences.prefersMembership()) {
-                streams.add(getTriples(LDP_MEMBERSHIP));
+                streams.add(getTriples(LDP_MEMBERSHIP).peek(t -> membershipTriples = true));
             }
 
             // Include inbound references to this object
@@ -317,6 +409,48 @@ public abstract class ContentExposingResource extends FedoraBaseResource {
         return rdfStream;
     }
 
+    private PreferTag returnPreference() {
+        if (prefer != null && prefer.hasReturn()) {
+            return prefer.getReturn();
+        } else if (prefer != null && prefer.hasHandling()) {
+            return prefer.getHandling();
+        }
+        return PreferTag.emptyTag();
+    }
+
+    /**
+     * Identify the RDF representation about to be produced for the representation cache
+     *
+     * @param limit the number of child resources included, -1 for all
+     * @return the key of the representation, without its media type, or null if it should not be cached
+     */
+    private RepresentationCache.Key representationKey(final int limit) {
+        if (representationCache == null || !representationCache.isEnabled() || session.isBatchSession()
+                || resource().isFrozenResource()) {
+            return null;
+        }
+        final PreferTag returnPreference = returnPreference();
+        final LdpPreferTag ldpPreferences = new LdpPreferTag(returnPreference);
+        if (ldpPreferences.prefersReferences()) {
+            // inbound references may change with any other resource
+            return null;
+        }
+
+        final FedoraResource described = resource().getDescribedResource();
+        final String etag = described.equals(resource()) ? resource().getEtagValue()
+                : resource().getEtagValue() + "/" + described.getEtagValue();
+        final String variant = String.join(";",
+                "minimal=" + returnPreference.getValue().equals("minimal"),
+                "managed=" + ldpPreferences.prefersServerManaged(),
+                "containment=" + ldpPreferences.prefersContainment(),
+                "membership=" + ldpPreferences.prefersMembership(),
+                "embed=" + ldpPreferences.prefersEmbed(),
+                "limit=" + limit,
+                "base=" + uriInfo.getBaseUri(),
+                "user=" + session.getFedoraSession().getUserURI());
+        return new RepresentationCache.Key(resource().getPath(), etag, variant, null);
+    }
+
     /**
      * Get the binary content of a datastream
      *
@@ -449,7 +583,8 @@ public abstract class ContentExposingResource extends FedoraBaseResource {
      * @param resource the resource
      */
     protected void addResourceHttpHeaders(final FedoraResource resource) {
-        if (resource instanceof FedoraBinary) {
+        // the content headers of proxied external content are those of the external content
+        if (resource instanceof FedoraBinary && !isProxiedExternalBody(resource)) {
             final FedoraBinary binary = (FedoraBinary)resource;
             final Date createdDate = binary.getCreatedDate() != null ? Date.from(binary.getCreatedDate()) : null;
             final Date modDate = binary.getLastModifiedDate() != null ? Date.from(binary.getLastModifiedDate()) : null;
@@ -586,7 +721,6 @@ public abstract class ContentExposingResource extends FedoraBaseResource {
 
         final EntityTag etag;
         final Instant date;
-        Instant roundedDate = Instant.now();
 
         // See the related note about the next block of code in the
         // ContentExposingResource::addCacheControlHeaders method
@@ -600,6 +734,77 @@ public abstract class ContentExposingResource extends FedoraBaseResource {
             date = resource.getDescribedResource().getLastModifiedDate();
         }
 
+        final Response response = evaluatePreconditions(request, etag, date, cacheControl);
+        if (response != null) {
+            throw preconditionException(response);
+        }
+    }
+
+    /**
+     * Answer a conditional GET or HEAD with a 304 from the validator of the requested resource, before the
+     * resource itself is loaded. Requests the validator cannot answer are left to the usual evaluation.
+     *
+     * @param request the request
+     * @param session the session
+     * @param externalPath the external path of the request
+     */
+    protected void evaluateCachedValidator(final Request request, final HttpSession session,
+                                           final String externalPath) {
+        if (validatorService == null || session == null || session.isBatchSession()
+                || (headers.getHeaderString(IF_NONE_MATCH) == null
+                    && headers.getHeaderString(IF_MODIFIED_SINCE) == null)) {
+            return;
+        }
+
+        final boolean metadata = externalPath != null && externalPath.endsWith(FCR_METADATA);
+        final String resourcePath = metadata
+                ? externalPath.substring(0, externalPath.length() - FCR_METADATA.length()) : externalPath;
+        if (resourcePath != null && resourcePath.contains("fcr:")) {
+            return;
+        }
+
+        final ResourceValidator validator = validatorService.getValidator(session.getFedoraSession(),
+                toPath(translator(), externalPath));
+        if (validator == null) {
+            return;
+        }
+
+        // The validators of proxied external content are those of the external content, not of the binary
+        // referring to it, so its conditional requests are left to the external source
+        if (!metadata && validator.getKind() == NON_RDF_SOURCE && proxiesExternalBodies()
+                && isProxiedExternalBody(resource())) {
+            return;
+        }
+
+        // The same stamps as evaluateRequestPreconditions: only the description of a binary reports the binary's
+        final boolean binaryStamps = metadata && validator.getKind() == NON_RDF_SOURCE;
+        final EntityTag etag = new EntityTag(binaryStamps ? validator.getBinaryEtagValue()
+                : validator.getEtagValue());
+        final Instant date = binaryStamps ? validator.getBinaryLastModifiedDate() : validator.getLastModifiedDate();
+
+        final Response response = evaluatePreconditions(request, etag, date, true);
+        if (response != null && response.getStatus() == NOT_MODIFIED.getStatusCode()) {
+            LOGGER.debug("Answering conditional request for {} from its validator", externalPath);
+            throw preconditionException(response);
+        }
+    }
+
+    /**
+     * @param resource a resource
+     * @return whether changes to the resource may alter the membership triples of another resource
+     */
+    protected static boolean isMembershipSource(final FedoraResource resource) {
+        final FedoraResource container = resource.getContainer();
+        return isMembershipContainer(resource) || (container != null && isMembershipContainer(container));
+    }
+
+    private static boolean isMembershipContainer(final FedoraResource resource) {
+        return resource.hasType(LDP_DIRECT_CONTAINER) || resource.hasType(LDP_INDIRECT_CONTAINER);
+    }
+
+    private static Response evaluatePreconditions(final Request request, final EntityTag etag, final Instant date,
+                                                  final boolean cacheControl) {
+        Instant roundedDate = Instant.now();
         if (date != null) {
             roundedDate = date.minusMillis(date.toEpochMilli() % 1000);
         }
@@ -619,12 +824,13 @@ public abstract class ContentExposingResource extends FedoraBaseResource {
             builder = builder.cacheControl(cc).lastModified(Date.from(roundedDate)).tag(etag);
         }
 
-        if (builder != null) {
-            final Response response = builder.build();
-            final Object message = response.getEntity();
-            throw new PreconditionException(message != null ? message.toString()
-                    : "Request failed due to unspecified failed precondition.", response.getStatus());
-        }
+        return builder == null ? null : builder.build();
+    }
+
+    private static PreconditionException preconditionException(final Response response) {
+        final Object message = response.getEntity();
+        return new PreconditionException(message != null ? message.toString()
+                : "Request failed due to unspecified failed precondition.", response.getStatus());
     }
 
     protected static MediaType getSimpleContentType(final MediaType requestContentType) {
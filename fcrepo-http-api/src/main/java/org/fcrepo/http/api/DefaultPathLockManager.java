@@ -18,6 +18,9 @@
 
 package org.fcrepo.http.api;
 
+import static java.lang.System.nanoTime;
+import static org.fcrepo.metrics.RequestTimings.LOCK;
+import static org.fcrepo.metrics.RequestTimings.record;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.util.ArrayList;
@@ -47,6 +50,7 @@ import com.google.common.annotations.VisibleForTesting;
  * the TRACE level.
  *
  * @author Mike Durbin
+ * @author agent
  */
 
 @Component
@@ -75,6 +79,15 @@ public class DefaultPathLockManager implements PathLockManager {
     @VisibleForTesting
     List<String> activeDeletePaths = new ArrayList<>();
 
+    /**
+     * A list of paths beneath which resources are being written under a subtree
+     * write lock.  Attempts to acquire write or delete locks on those paths or
+     * their descendants will block until the subtree write lock is released, while
+     * read locks are granted as usual.
+     */
+    @VisibleForTesting
+    List<String> activeSubtreeWritePaths = new ArrayList<>();
+
     /**
      * A class that represents a path that can be locked for reading or writing
      * and is the subject of a currently active lock request (though locks may
@@ -104,13 +117,13 @@ public class DefaultPathLockManager implements PathLockManager {
         public PathScopedLock getReadLock() {
             threads.add(Thread.currentThread());
             LOGGER.trace("Thread {} requesting read lock on {}.", Thread.currentThread().getId(), path);
-            return new PathScopedLock(rwLock.readLock());
+            return new PathScopedLock(rwLock.readLock(), false);
         }
 
         public PathScopedLock getWriteLock() {
             threads.add(Thread.currentThread());
             LOGGER.trace("Thread {} requesting write lock on {}.", Thread.currentThread().getId(), path);
-            return new PathScopedLock(rwLock.writeLock());
+            return new PathScopedLock(rwLock.writeLock(), true);
         }
 
         /**
@@ -122,8 +135,11 @@ public class DefaultPathLockManager implements PathLockManager {
 
             final private Lock lock;
 
-            public PathScopedLock(final Lock l) {
+            final private boolean write;
+
+            public PathScopedLock(final Lock l, final boolean write) {
                 lock = l;
+                this.write = write;
             }
 
             public ActivePath getPath() {
@@ -138,6 +154,11 @@ public class DefaultPathLockManager implements PathLockManager {
                         return false;
                     }
                 }
+                if (write && isWithinSubtreeWrite(path)) {
+                    LOGGER.trace("Thread {} could not be granted write lock on {} because that path is being written.",
+                            Thread.currentThread().getId(), path);
+                    return false;
+                }
                 return lock.tryLock();
             }
 
@@ -163,6 +184,8 @@ public class DefaultPathLockManager implements PathLockManager {
 
         private String deletePath;
 
+        private String subtreeWritePath;
+
         private List<ActivePath.PathScopedLock> locks;
 
         /**
@@ -217,7 +240,7 @@ public class DefaultPathLockManager implements PathLockManager {
                         }
                         });
 
-                    success = tryAcquireAll();
+                    success = !overlapsSubtreeWrite(deletePath) && tryAcquireAll();
                     if (!success) {
                         LOGGER.debug("Failed to acquire all necessary path locks: waiting.  (Thread {})",
                                 Thread.currentThread().getId());
@@ -241,6 +264,51 @@ public class DefaultPathLockManager implements PathLockManager {
 
         }
 
+        /**
+         * Instantiates and initializes an AcquiredMultiPathLock that holds a read
+         * lock on the given path and on all active paths that are its descendants,
+         * so that writes already underway beneath it are complete and the path
+         * itself cannot be deleted, and that keeps any other write or delete lock
+         * from being granted on the path or beneath it.  This constructor blocks
+         * until all of the necessary locks have been acquired, but to avoid possible
+         * deadlocks releases all acquired locks when it fails to acquire even one of
+         * them.
+         * @param subtreeWritePath the path beneath which resources will be written
+         * @param pathLock the read lock on the path itself
+         * @throws InterruptedException
+         */
+        private AcquiredMultiPathLock(final String subtreeWritePath, final ActivePath.PathScopedLock pathLock)
+                throws InterruptedException {
+            this.subtreeWritePath = subtreeWritePath;
+
+            boolean success = false;
+            while (!success) {
+                synchronized (DefaultPathLockManager.this) {
+                    this.locks = new ArrayList<>();
+                    locks.add(pathLock);
+                    activePaths.forEach((path, lock) -> {
+                        if (!path.equals(subtreeWritePath) && isOrIsDescendantOf(path, subtreeWritePath)) {
+                            locks.add(lock.getReadLock());
+                        }
+                    });
+
+                    success = !overlapsSubtreeWrite(subtreeWritePath)
+                            && activeDeletePaths.stream().noneMatch(p -> isOrIsDescendantOf(p, subtreeWritePath))
+                            && tryAcquireAll();
+                    if (!success) {
+                        LOGGER.debug("Failed to acquire all necessary path locks: waiting.  (Thread {})",
+                                Thread.currentThread().getId());
+                        DefaultPathLockManager.this.wait();
+                    } else {
+                        LOGGER.trace("Thread {} acquired subtree write lock on path {}.",
+                                Thread.currentThread().getId(), subtreeWritePath);
+                        activeSubtreeWritePaths.add(subtreeWritePath);
+                    }
+                }
+            }
+            LOGGER.debug("Acquired all necessary path locks  (Thread {})", Thread.currentThread().getId());
+        }
+
         private boolean tryAcquireAll() {
             final List<ActivePath.PathScopedLock> acquired = new ArrayList<>();
             for (final ActivePath.PathScopedLock lock : locks) {
@@ -274,6 +342,11 @@ public class DefaultPathLockManager implements PathLockManager {
                             Thread.currentThread().getId(), deletePath);
                     activeDeletePaths.remove(deletePath);
                 }
+                if (subtreeWritePath != null) {
+                    LOGGER.trace("Thread {} releasing subtree write lock on path {}.",
+                            Thread.currentThread().getId(), subtreeWritePath);
+                    activeSubtreeWritePaths.remove(subtreeWritePath);
+                }
                 LOGGER.trace("Thread {} released locks.", Thread.currentThread().getId());
                 DefaultPathLockManager.this.notify();
             }
@@ -294,6 +367,15 @@ public class DefaultPathLockManager implements PathLockManager {
         return activePath;
     }
 
+    private boolean isWithinSubtreeWrite(final String path) {
+        return activeSubtreeWritePaths.stream().anyMatch(p -> isOrIsDescendantOf(path, p));
+    }
+
+    private boolean overlapsSubtreeWrite(final String path) {
+        return activeSubtreeWritePaths.stream().anyMatch(p -> isOrIsDescendantOf(path, p)
+                || isOrIsDescendantOf(p, path));
+    }
+
     private boolean isOrIsDescendantOf(final String possibleDescendant, final String path) {
         return path.equals(possibleDescendant) || possibleDescendant.startsWith(path + "/");
     }
@@ -316,6 +398,7 @@ public class DefaultPathLockManager implements PathLockManager {
 
     @Override
     public AcquiredLock lockForRead(final String path) {
+        final long start = nanoTime();
         final List<ActivePath.PathScopedLock> locks = new ArrayList<>();
 
         synchronized (this) {
@@ -326,11 +409,14 @@ public class DefaultPathLockManager implements PathLockManager {
             return new AcquiredMultiPathLock(locks);
         } catch (InterruptedException e) {
             throw new InterruptedRuntimeException(e);
+        } finally {
+            record(LOCK, start);
         }
     }
 
     @Override
     public AcquiredLock lockForWrite(final String path, final FedoraSession session, final NodeService nodeService) {
+        final long start = nanoTime();
         final List<ActivePath.PathScopedLock> locks = new ArrayList<>();
 
         synchronized (this) {
@@ -354,15 +440,38 @@ public class DefaultPathLockManager implements PathLockManager {
             return new AcquiredMultiPathLock(locks);
         } catch (InterruptedException e) {
             throw new InterruptedRuntimeException(e);
+        } finally {
+            record(LOCK, start);
         }
     }
 
     @Override
     public AcquiredLock lockForDelete(final String path) {
+        final long start = nanoTime();
         try {
             return new AcquiredMultiPathLock(normalizePath(path));
         } catch (InterruptedException e) {
             throw new InterruptedRuntimeException(e);
+        } finally {
+            record(LOCK, start);
+        }
+    }
+
+    @Override
+    public AcquiredLock lockForSubtreeWrite(final String path) {
+        final long start = nanoTime();
+        final ActivePath.PathScopedLock pathLock;
+
+        synchronized (this) {
+            pathLock = getActivePath(normalizePath(path)).getReadLock();
+        }
+
+        try {
+            return new AcquiredMultiPathLock(normalizePath(path), pathLock);
+        } catch (InterruptedException e) {
+            throw new InterruptedRuntimeException(e);
+        } finally {
+            record(LOCK, start);
         }
     }
 }
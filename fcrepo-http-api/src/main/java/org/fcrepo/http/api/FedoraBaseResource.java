@@ -29,6 +29,8 @@ import org.fcrepo.kernel.api.exception.TombstoneException;
 import org.fcrepo.kernel.api.identifiers.IdentifierConverter;
 import org.fcrepo.kernel.api.models.FedoraResource;
 import org.fcrepo.kernel.api.models.Tombstone;
+import org.fcrepo.kernel.api.services.ValidatorService;
+import org.jvnet.hk2.annotations.Optional;
 import org.slf4j.Logger;
 
 import java.net.URI;
@@ -56,6 +58,14 @@ abstract public class FedoraBaseResource extends AbstractResource {
     @Inject
     protected HttpSession session;
 
+    @Inject
+    @Optional
+    protected ValidatorService validatorService;
+
+    @Inject
+    @Optional
+    protected RepresentationCache representationCache;
+
     @Context
     protected SecurityContext securityContext;
 
@@ -97,6 +107,35 @@ abstract public class FedoraBaseResource extends AbstractResource {
         return fedoraResource;
     }
 
+    /**
+     * Discard any remembered validators and representations of a resource after a change to it has been
+     * committed, rather than waiting for the change's event to arrive.
+     *
+     * @param path the path of the changed resource
+     * @param membershipSource whether the change may alter the membership triples of another resource
+     */
+    protected void invalidateCaches(final String path, final boolean membershipSource) {
+        if (validatorService != null) {
+            validatorService.invalidate(path);
+        }
+        if (representationCache != null) {
+            representationCache.invalidate(path, membershipSource);
+        }
+    }
+
+    /**
+     * Discard every remembered validator and representation after a change whose extent is not known here, e.g.
+     * a transaction, a move or the revert of a subtree, has been committed.
+     */
+    protected void invalidateAllCaches() {
+        if (validatorService != null) {
+            validatorService.invalidateAll();
+        }
+        if (representationCache != null) {
+            representationCache.invalidateAll();
+        }
+    }
+
     /**
      * Set the baseURL for JMS events.
      * @param uriInfo the uri info
@@ -0,0 +1,500 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.http.api;
+
+import static com.fasterxml.jackson.core.JsonToken.FIELD_NAME;
+import static com.fasterxml.jackson.core.JsonToken.START_OBJECT;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.newInputStream;
+import static java.nio.file.Files.newOutputStream;
+import static java.util.Collections.singletonList;
+import static javax.ws.rs.core.MediaType.valueOf;
+import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
+import static javax.ws.rs.core.Response.Status.CONFLICT;
+import static javax.ws.rs.core.Response.Status.CREATED;
+import static javax.ws.rs.core.Response.Status.FORBIDDEN;
+import static javax.ws.rs.core.Response.Status.INTERNAL_SERVER_ERROR;
+import static javax.ws.rs.core.Response.Status.NO_CONTENT;
+import static javax.ws.rs.core.Response.ok;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+import static org.fcrepo.kernel.api.FedoraTypes.FEDORA_PAIRTREE;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.ClientErrorException;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.Providers;
+
+import org.fcrepo.http.api.PathLockManager.AcquiredLock;
+import org.fcrepo.kernel.api.FedoraSession;
+import org.fcrepo.kernel.api.exception.InvalidChecksumException;
+import org.fcrepo.kernel.api.exception.InvalidResourceIdentifierException;
+import org.fcrepo.kernel.api.exception.UnsupportedAlgorithmException;
+import org.fcrepo.kernel.api.models.Container;
+import org.fcrepo.kernel.api.models.FedoraBinary;
+import org.fcrepo.kernel.api.models.FedoraResource;
+import org.fcrepo.kernel.api.rdf.DefaultRdfStream;
+import org.fcrepo.kernel.api.RdfStream;
+import org.glassfish.jersey.media.multipart.ContentDisposition;
+import org.slf4j.Logger;
+import org.springframework.context.annotation.Scope;
+
+import com.codahale.metrics.annotation.Timed;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Ingest many resources beneath a container in one request. The request body holds one JSON object per line,
+ * each describing an RDF source or a binary to create or replace, and the resources are saved in chunks, one save
+ * per chunk, while writes to the container and everything beneath it are locked out. The outcome of each line is
+ * streamed back as a JSON object per line once its chunk has been saved. The content of binaries is decoded into
+ * temporary files as it is read, so that a chunk holds no more than the RDF bodies of its items in memory.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+@Scope("request")
+@Path("/{path: .*}/fcr:ingest")
+public class FedoraBulkIngest extends ContentExposingResource {
+
+    private static final Logger LOGGER = getLogger(FedoraBulkIngest.class);
+
+    /**
+     * The media type of newline-delimited JSON, used for both the items and their outcomes
+     */
+    public static final String NDJSON = "application/x-ndjson";
+
+    /**
+     * System property with the default number of resources saved together
+     */
+    public static final String CHUNK_SIZE = "fcrepo.ingest.chunkSize";
+
+    private static final int DEFAULT_CHUNK_SIZE = 100;
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @PathParam("path") protected String externalPath;
+
+    @Context protected Providers providers;
+
+    /**
+     * Default JAX-RS entry point
+     */
+    public FedoraBulkIngest() {
+        super();
+    }
+
+    /**
+     * Create a new FedoraBulkIngest instance for a given path
+     * @param externalPath the external path
+     */
+    @VisibleForTesting
+    public FedoraBulkIngest(final String externalPath) {
+        this.externalPath = externalPath;
+    }
+
+    /**
+     * Create or replace the resources described by the lines of the request body. Each line is a JSON object
+     * with the path of the resource relative to this container and either an RDF "body" in the given
+     * "contentType" (text/turtle by default), or the "base64" encoded content of a binary with its "contentType"
+     * and optionally its "digest" (as in the Digest header) and "filename".
+     *
+     * The container is checked again once its lock has been granted. Should it have been deleted or replaced in
+     * the meantime, the only outcome is that of line 0, the request itself, and nothing is ingested.
+     *
+     * POST /path/to/container/fcr:ingest?chunkSize=500
+     *
+     * @param chunkSize the number of resources saved together
+     * @param requestBodyStream the items
+     * @return the outcome of each item, with its line number, path, status and location or error
+     */
+    @POST
+    @Timed
+    @Consumes({NDJSON})
+    @Produces({NDJSON})
+    public Response ingest(@QueryParam("chunkSize") final Integer chunkSize, final InputStream requestBodyStream) {
+        final FedoraResource container = resource();
+        checkContainer(container);
+        if (session().isBatchSession()) {
+            throw new ClientErrorException("A bulk ingest saves its own chunks and cannot join a transaction",
+                    CONFLICT);
+        }
+        final int size = chunkSize == null ? Integer.getInteger(CHUNK_SIZE, DEFAULT_CHUNK_SIZE) : chunkSize;
+        if (size < 1) {
+            throw new BadRequestException("Invalid chunk size: " + chunkSize);
+        }
+
+        final String path = container.getPath();
+        return ok((StreamingOutput) output -> {
+            final AcquiredLock lock = lockManager.lockForSubtreeWrite(path);
+            try {
+                ingest(path, size, requestBodyStream, output);
+            } finally {
+                lock.release();
+            }
+        }).type(NDJSON).build();
+    }
+
+    private static void checkContainer(final FedoraResource container) {
+        if (!(container instanceof Container)) {
+            throw new ClientErrorException("Object cannot have child nodes", CONFLICT);
+        } else if (container.hasType(FEDORA_PAIRTREE)) {
+            throw new ClientErrorException("Objects cannot be created under pairtree nodes", FORBIDDEN);
+        }
+    }
+
+    private void ingest(final String path, final int size, final InputStream requestBodyStream,
+            final OutputStream output) throws IOException {
+        try {
+            // the container may have changed while its lock was awaited
+            resource = null;
+            checkContainer(resource());
+        } catch (final RuntimeException e) {
+            final Item request = new Item(0);
+            request.path = path;
+            request.fail(statusOf(e), e);
+            save(singletonList(request), output);
+            return;
+        }
+
+        final String basePath = path.equals("/") ? "" : path;
+        final List<Item> chunk = new ArrayList<>(size);
+        try (final LineInputStream lines = new LineInputStream(new BufferedInputStream(requestBodyStream))) {
+            int line = 0;
+            do {
+                final Item item = parse(++line, lines, basePath);
+                if (item != null) {
+                    chunk.add(item);
+                }
+                if (chunk.size() >= size) {
+                    save(chunk, output);
+                    chunk.clear();
+                }
+            } while (lines.nextLine());
+            save(chunk, output);
+        } finally {
+            chunk.forEach(Item::discard);
+        }
+    }
+
+    /**
+     * Apply and save a chunk of items. An item that fails is dropped and the rest of the chunk is applied again,
+     * so that each item is ingested entirely or not at all.
+     */
+    private void save(final List<Item> chunk, final OutputStream output) throws IOException {
+        final FedoraSession fedoraSession = session().getFedoraSession();
+        final List<Item> pending = new ArrayList<>(chunk);
+        pending.removeIf(item -> item.status != 0);
+        boolean applied = false;
+        while (!applied && !pending.isEmpty()) {
+            applied = true;
+            for (final Item item : pending) {
+                try {
+                    apply(item);
+                } catch (final Exception e) {
+                    LOGGER.debug("Could not ingest {}: {}", item.path, e.getMessage());
+                    item.fail(statusOf(e), e);
+                    applied = false;
+                }
+            }
+            if (!applied) {
+                fedoraSession.rollback();
+                pending.removeIf(item -> item.error != null);
+            }
+        }
+        if (!pending.isEmpty()) {
+            try {
+                session().commit();
+                pending.forEach(item -> invalidateCaches(item.path, item.membershipSource));
+                LOGGER.info("Ingested {} resources", pending.size());
+            } catch (final RuntimeException e) {
+                fedoraSession.rollback();
+                pending.forEach(item -> item.fail(statusOf(e), e));
+            }
+        }
+        for (final Item item : chunk) {
+            item.discard();
+            output.write(mapper.writeValueAsBytes(item.outcome()));
+            output.write('\n');
+        }
+        output.flush();
+    }
+
+    private void apply(final Item item) throws InvalidChecksumException, IOException {
+        final FedoraSession fedoraSession = session().getFedoraSession();
+        resource = item.binary ? binaryService.findOrCreate(fedoraSession, item.path)
+                : containerService.findOrCreate(fedoraSession, item.path);
+        item.status = resource.isNew() ? CREATED.getStatusCode() : NO_CONTENT.getStatusCode();
+        item.location = getUri(resource).toString();
+        item.membershipSource = isMembershipSource(resource);
+
+        try (final InputStream content = item.content()) {
+            if (resource instanceof FedoraBinary) {
+                final ContentDisposition disposition = item.filename == null ? null
+                        : ContentDisposition.type("attachment").fileName(item.filename).build();
+                replaceResourceBinaryWithStream((FedoraBinary) resource, content, disposition, item.contentType,
+                        item.checksums);
+            } else {
+                try (final RdfStream resourceTriples =
+                        resource.isNew() ? new DefaultRdfStream(asNode(resource)) : getResourceTriples()) {
+                    replaceResourceWithStream(resource, content, item.contentType, resourceTriples);
+                }
+            }
+        }
+    }
+
+    /**
+     * Parse the JSON object on a line, decoding the content of a binary into a temporary file as it is read
+     *
+     * @return the item, or null for a blank line
+     */
+    private Item parse(final int line, final InputStream json, final String basePath) throws IOException {
+        final Item item = new Item(line);
+        try (final JsonParser parser = mapper.getFactory().createParser(json)) {
+            if (parser.nextToken() == null) {
+                return null;
+            } else if (parser.getCurrentToken() != START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a JSON object");
+            }
+            String path = "";
+            String contentType = "text/turtle";
+            String digest = null;
+            while (parser.nextToken() == FIELD_NAME) {
+                final String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "path":
+                        path = parser.getValueAsString("");
+                        break;
+                    case "contentType":
+                        contentType = parser.getValueAsString(contentType);
+                        break;
+                    case "body":
+                        item.content = parser.getValueAsString("").getBytes(UTF_8);
+                        break;
+                    case "base64":
+                        item.file = File.createTempFile("fcrepo-ingest", null);
+                        try (final OutputStream out = newOutputStream(item.file.toPath())) {
+                            parser.readBinaryValue(out);
+                        }
+                        break;
+                    case "digest":
+                        digest = parser.getValueAsString();
+                        break;
+                    case "filename":
+                        item.filename = parser.getValueAsString();
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+            item.path = basePath + "/" + checkPath(path);
+            item.contentType = valueOf(contentType);
+            item.binary = item.file != null || !isRdfContentType(getSimpleContentType(item.contentType).toString());
+            item.checksums = FedoraLdp.parseDigestHeader(digest);
+        } catch (final JsonProcessingException | IllegalArgumentException e) {
+            item.fail(BAD_REQUEST.getStatusCode(), e);
+        } catch (final UnsupportedAlgorithmException | RuntimeException e) {
+            item.fail(statusOf(e), e);
+        }
+        return item;
+    }
+
+    private static String checkPath(final String path) {
+        if (isBlank(path) || path.startsWith("/") || path.endsWith("/")) {
+            throw new InvalidResourceIdentifierException("Invalid path: " + path);
+        }
+        for (final String segment : path.split("/")) {
+            if (segment.isEmpty() || segment.equals(".") || segment.equals("..") || segment.startsWith("fcr:")
+                    || segment.startsWith("jcr:")) {
+                throw new InvalidResourceIdentifierException("Invalid path: " + path);
+            }
+        }
+        return path;
+    }
+
+    /**
+     * The status the exception would have been answered with, had the item been requested on its own
+     */
+    @SuppressWarnings("unchecked")
+    private int statusOf(final Exception e) {
+        final ExceptionMapper<Exception> exceptionMapper = providers == null ? null
+                : (ExceptionMapper<Exception>) providers.getExceptionMapper(e.getClass());
+        return exceptionMapper == null ? INTERNAL_SERVER_ERROR.getStatusCode()
+                : exceptionMapper.toResponse(e).getStatus();
+    }
+
+    private static class Item {
+
+        private final int line;
+
+        private String path;
+
+        private MediaType contentType;
+
+        private byte[] content = new byte[0];
+
+        private File file;
+
+        private boolean binary;
+
+        private Collection<String> checksums;
+
+        private String filename;
+
+        private int status;
+
+        private String location;
+
+        private boolean membershipSource;
+
+        private Exception error;
+
+        private Item(final int line) {
+            this.line = line;
+        }
+
+        private void fail(final int status, final Exception error) {
+            this.status = status;
+            this.error = error;
+            this.location = null;
+            discard();
+        }
+
+        private InputStream content() throws IOException {
+            return file == null ? new ByteArrayInputStream(content) : newInputStream(file.toPath());
+        }
+
+        private void discard() {
+            if (file != null) {
+                try {
+                    deleteIfExists(file.toPath());
+                } catch (final IOException e) {
+                    LOGGER.warn("Could not delete {}: {}", file, e.getMessage());
+                }
+                file = null;
+            }
+        }
+
+        private ObjectNode outcome() {
+            final ObjectNode outcome = mapper.createObjectNode();
+            outcome.put("line", line);
+            if (path != null) {
+                outcome.put("path", path);
+            }
+            outcome.put("status", status);
+            if (error != null) {
+                outcome.put("error", String.valueOf(error.getMessage()));
+            } else {
+                outcome.put("location", location);
+            }
+            return outcome;
+        }
+    }
+
+    /**
+     * One line of an input stream, ending at a newline or at the end of the input, so that a line that is not
+     * valid JSON only fails its own item. Closing it leaves the input open.
+     */
+    private static class LineInputStream extends InputStream {
+
+        private final InputStream in;
+
+        private boolean endOfLine = false;
+
+        private boolean endOfInput = false;
+
+        private LineInputStream(final InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (endOfLine) {
+                return -1;
+            }
+            final int b = in.read();
+            if (b == -1 || b == '\n') {
+                endOfLine = true;
+                endOfInput = b == -1;
+                return -1;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            int n = 0;
+            for (int c = read(); c != -1; c = n < len ? read() : -1) {
+                b[off + n++] = (byte) c;
+            }
+            return n == 0 ? -1 : n;
+        }
+
+        /**
+         * Skip the rest of the current line
+         *
+         * @return whether there is another line
+         */
+        private boolean nextLine() throws IOException {
+            while (read() != -1) {
+                // skipped
+            }
+            endOfLine = false;
+            return !endOfInput;
+        }
+
+        @Override
+        public void close() {
+            // the input is closed by its owner
+        }
+    }
+
+    @Override
+    protected String externalPath() {
+        return externalPath;
+    }
+}
@@ -17,6 +17,14 @@
  */
 package org.fcrepo.http.api;
 
+import static java.util.Arrays.stream;
+import static java.util.Collections.emptySet;
+import static java.util.stream.Collectors.toSet;
+
+import java.net.URI;
+import java.util.Locale;
+import java.util.Set;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -30,6 +38,11 @@ public class FedoraHttpConfiguration {
     @Value("${fcrepo.http.ldp.putRequiresIfMatch:false}")
     private boolean putRequiresIfMatch;
 
+    @Value("${fcrepo.http.externalBody.proxy:false}")
+    private boolean proxyExternalBody;
+
+    private Set<String> proxyHosts = emptySet();
+
     /**
      * Should PUT requests require an If-Match header?
      * @return put request if match
@@ -37,4 +50,36 @@ public class FedoraHttpConfiguration {
     public boolean putRequiresIfMatch() {
         return putRequiresIfMatch;
     }
+
+    /**
+     * Should the content of message/external-body binaries be streamed through the repository, instead of
+     * redirecting clients to it?
+     * @return proxy external body
+     */
+    public boolean proxyExternalBody() {
+        return proxyExternalBody;
+    }
+
+    /**
+     * Set the hosts whose content may be streamed through the repository
+     * @param hosts the host names, separated by commas
+     */
+    @Value("${fcrepo.http.externalBody.proxyHosts:}")
+    public void setProxyHosts(final String hosts) {
+        this.proxyHosts = stream(hosts.split(",")).map(String::trim).filter(host -> !host.isEmpty())
+                .map(host -> host.toLowerCase(Locale.ROOT)).collect(toSet());
+    }
+
+    /**
+     * May the content at a location be streamed through the repository? Only http and https locations on one of
+     * the hosts listed in fcrepo.http.externalBody.proxyHosts may be, so that a binary cannot make the repository
+     * fetch from any host it can reach, such as those of its own network.
+     * @param location the location of the content
+     * @return whether the content may be proxied
+     */
+    public boolean mayProxy(final URI location) {
+        final String scheme = location.getScheme();
+        return ("http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme)) && location.getHost() != null
+                && proxyHosts.contains(location.getHost().toLowerCase(Locale.ROOT));
+    }
 }
@@ -21,6 +21,7 @@ package org.fcrepo.http.api;
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.base.Strings.nullToEmpty;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.UUID.randomUUID;
 import static javax.ws.rs.core.HttpHeaders.ACCEPT;
 import static javax.ws.rs.core.HttpHeaders.CONTENT_DISPOSITION;
 import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
@@ -123,10 +124,13 @@ import org.fcrepo.kernel.api.models.FedoraBinary;
 import org.fcrepo.kernel.api.models.FedoraResource;
 import org.fcrepo.kernel.api.models.NonRdfSourceDescription;
 import org.fcrepo.kernel.api.rdf.DefaultRdfStream;
+import org.fcrepo.kernel.api.services.DigestService;
+import org.fcrepo.kernel.api.services.PairtreeService;
 import org.fcrepo.kernel.api.utils.ContentDigest;
 import org.fcrepo.kernel.api.utils.MessageExternalBodyContentType;
 
 import org.glassfish.jersey.media.multipart.ContentDisposition;
+import org.jvnet.hk2.annotations.Optional;
 import org.slf4j.Logger;
 import org.springframework.context.annotation.Scope;
 
@@ -138,6 +142,7 @@ import com.google.common.collect.ImmutableList;
 /**
  * @author cabeer
  * @author ajs6f
+ * @author agent
  * @since 9/25/14
  */
 
@@ -161,7 +166,13 @@ public class FedoraLdp extends ContentExposingResource {
 
     @PathParam("path") protected String externalPath;
 
-    @Inject private FedoraHttpConfiguration httpConfiguration;
+    @Inject
+    @Optional
+    private DigestService digestService;
+
+    @Inject
+    @Optional
+    private PairtreeService pairtreeService;
 
     /**
      * Default JAX-RS entry point
@@ -199,10 +210,15 @@ public class FedoraLdp extends ContentExposingResource {
     @Produces({ TURTLE_WITH_CHARSET + ";qs=1.0", JSON_LD + ";qs=0.8",
         N3_WITH_CHARSET, N3_ALT2_WITH_CHARSET, RDF_XML, NTRIPLES, TEXT_PLAIN_WITH_CHARSET,
         TURTLE_X, TEXT_HTML_WITH_CHARSET })
-    public Response head() throws UnsupportedAlgorithmException, UnsupportedAccessTypeException {
+    public Response head() throws IOException, UnsupportedAlgorithmException, UnsupportedAccessTypeException {
         LOGGER.info("HEAD for: {}", externalPath);
 
-        checkCacheControlHeaders(request, servletResponse, resource(), session);
+        evaluateCachedValidator(request, session, externalPath);
+        // the validators of proxied external content are those of the external content
+        final boolean proxied = isProxiedExternalBody(resource());
+        if (!proxied) {
+            checkCacheControlHeaders(request, servletResponse, resource(), session);
+        }
 
         addResourceHttpHeaders(resource());
 
@@ -211,12 +227,16 @@ public class FedoraLdp extends ContentExposingResource {
         if (resource() instanceof FedoraBinary) {
             final MediaType mediaType = MediaType.valueOf(((FedoraBinary) resource()).getMimeType());
 
-            if (isExternalBody(mediaType)) {
-                builder = externalBodyRedirect(getExternalResourceLocation(mediaType));
-            }
+            if (proxied) {
+                builder = proxyExternalBody(getExternalResourceLocation(mediaType), true);
+            } else {
+                if (isExternalBody(mediaType)) {
+                    builder = externalBodyRedirect(getExternalResourceLocation(mediaType));
+                }
 
-            // we set the content-type explicitly to avoid content-negotiation from getting in the way
-            builder.type(mediaType.toString());
+                // we set the content-type explicitly to avoid content-negotiation from getting in the way
+                builder.type(mediaType.toString());
+            }
 
             // Respect the Want-Digest header with fixity check
             final String wantDigest = headers.getHeaderString(WANT_DIGEST);
@@ -261,7 +281,11 @@ public class FedoraLdp extends ContentExposingResource {
             TURTLE_X, TEXT_HTML_WITH_CHARSET})
     public Response getResource(@HeaderParam("Range") final String rangeValue)
             throws IOException, UnsupportedAlgorithmException, UnsupportedAccessTypeException {
-        checkCacheControlHeaders(request, servletResponse, resource(), session);
+        evaluateCachedValidator(request, session, externalPath);
+        // the validators of proxied external content are those of the external content
+        if (!isProxiedExternalBody(resource())) {
+            checkCacheControlHeaders(request, servletResponse, resource(), session);
+        }
 
         LOGGER.info("GET resource '{}'", externalPath);
         final AcquiredLock readLock = lockManager.lockForRead(resource().getPath());
@@ -338,11 +362,17 @@ public class FedoraLdp extends ContentExposingResource {
 
         LOGGER.info("Delete resource '{}'", externalPath);
 
-        final AcquiredLock lock = lockManager.lockForDelete(resource().getPath());
+        final String path = resource().getPath();
+        final boolean membershipSource = isMembershipSource(resource());
+        final AcquiredLock lock = lockManager.lockForDelete(path);
 
         try {
             resource().delete();
             session.commit();
+            invalidateCaches(path, membershipSource);
+            if (pairtreeService != null) {
+                pairtreeService.invalidate(path);
+            }
             return noContent().build();
         } finally {
             lock.release();
@@ -440,6 +470,7 @@ public class FedoraLdp extends ContentExposingResource {
                     (requestBodyStream == null || requestContentType == null));
 
             session.commit();
+            invalidateCaches(resource.getPath(), isMembershipSource(resource));
             return createUpdateResponse(resource, created);
 
         } finally {
@@ -503,6 +534,7 @@ public class FedoraLdp extends ContentExposingResource {
                 patchResourcewithSparql(resource(), requestBody, resourceTriples);
             }
             session.commit();
+            invalidateCaches(resource().getPath(), isMembershipSource(resource()));
 
             addCacheControlHeaders(servletResponse, resource().getDescription(), session);
 
@@ -621,6 +653,7 @@ public class FedoraLdp extends ContentExposingResource {
                         (requestBodyStream == null || requestContentType == null));
 
                 session.commit();
+                invalidateCaches(resource.getPath(), isMembershipSource(resource));
             } catch (final Exception e) {
                 checkForInsufficientStorageException(e, e);
             }
@@ -807,6 +840,10 @@ public class FedoraLdp extends ContentExposingResource {
 
         if (slug != null && !slug.isEmpty()) {
             pid = slug;
+        } else if (pairtreeService != null && pairtreeService.isEnabled()) {
+            // the service provides the hierarchy, so the default minter's own is left out
+            final String id = pidMinter != null ? pidMinter.get() : randomUUID().toString();
+            pid = pairtreeService.place(session.getFedoraSession(), resource().getPath(), id);
         } else if (pidMinter != null) {
             pid = pidMinter.get();
         } else {
@@ -846,7 +883,9 @@ public class FedoraLdp extends ContentExposingResource {
                     "Unsupported digest algorithm provided in 'Want-Digest' header: " + wantDigest);
         }
 
-        final Collection<URI> checksumResults = binary.checkFixity(idTranslator, preferredDigests);
+        final Collection<URI> checksumResults = digestService == null ?
+                binary.checkFixity(idTranslator, preferredDigests) :
+                digestService.getDigests(idTranslator, binary, preferredDigests);
         final String digestValue = checksumResults.stream().map(uri -> uri.toString().replaceFirst("urn:", "")
                 .replaceFirst(":", "=")).collect(Collectors.joining(","));
         return digestValue;
@@ -889,7 +928,7 @@ public class FedoraLdp extends ContentExposingResource {
      * @return the sha1 checksum value
      * @throws UnsupportedAlgorithmException if an unsupported digest is used
      */
-    private static Collection<String> parseDigestHeader(final String digest) throws UnsupportedAlgorithmException {
+    static Collection<String> parseDigestHeader(final String digest) throws UnsupportedAlgorithmException {
         try {
             final Map<String,String> digestPairs = RFC3230_SPLITTER.split(nullToEmpty(digest));
             final boolean allSupportedAlgorithms = digestPairs.keySet().stream().allMatch(
@@ -126,6 +126,8 @@ public class FedoraNodes extends ContentExposingResource {
             LOGGER.info("Copy from '{}' to '{}'", source, destination);
             nodeService.copyObject(session.getFedoraSession(), source, destination);
             session.commit();
+            // the copy may add membership triples to the resources of any container it lands in
+            invalidateCaches(destination, true);
 
             return created(new URI(destinationUri)).build();
         } catch (final RepositoryRuntimeException e) {
@@ -181,6 +183,7 @@ public class FedoraNodes extends ContentExposingResource {
             LOGGER.info("Move from '{}' to '{}'", source, destination);
             nodeService.moveObject(session.getFedoraSession(), source, destination);
             session.commit();
+            invalidateAllCaches();
             return created(new URI(destinationUri)).build();
         } catch (final RepositoryRuntimeException e) {
             final Throwable cause = e.getCause();
@@ -19,9 +19,12 @@ package org.fcrepo.http.api;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.fcrepo.kernel.api.models.FedoraResource;
+import org.fcrepo.kernel.api.services.PairtreeService;
+import org.jvnet.hk2.annotations.Optional;
 import org.slf4j.Logger;
 import org.springframework.context.annotation.Scope;
 
+import javax.inject.Inject;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
@@ -43,6 +46,10 @@ public class FedoraTombstones extends FedoraBaseResource {
 
     @PathParam("path") protected String externalPath;
 
+    @Inject
+    @Optional
+    private PairtreeService pairtreeService;
+
     /**
      * Default JAX-RS entry point
      */
@@ -67,8 +74,13 @@ public class FedoraTombstones extends FedoraBaseResource {
     @DELETE
     public Response delete() {
         LOGGER.info("Delete tombstone: {}", resource());
+        final String path = resource().getPath();
         resource().delete();
         session.commit();
+        if (pairtreeService != null) {
+            // the container of the tombstone may take new children again
+            pairtreeService.invalidate(path);
+        }
         return noContent().build();
     }
 
@@ -131,6 +131,7 @@ public class FedoraTransactions extends FedoraBaseResource {
         if (commit) {
             LOGGER.debug("commiting transaction {} at path {}", session.getId(), path);
             batchService.commit(session.getId(), username);
+            invalidateAllCaches();
 
         } else {
             LOGGER.debug("rolling back transaction {} at path {}", session.getId(), path);
@@ -111,6 +111,7 @@ public class FedoraVersions extends ContentExposingResource {
         LOGGER.info("Reverting {} to version {}.", path,
                 label);
         versionService.revertToVersion(session.getFedoraSession(), unversionedResourcePath(), label);
+        invalidateAllCaches();
         return noContent().build();
     }
 
@@ -143,7 +144,9 @@ public class FedoraVersions extends ContentExposingResource {
             UnsupportedAccessTypeException {
         LOGGER.trace("Getting version profile for: {} at version: {}", path,
                 label);
-        checkCacheControlHeaders(request, servletResponse, resource(), session);
+        if (!isProxiedExternalBody(resource())) {
+            checkCacheControlHeaders(request, servletResponse, resource(), session);
+        }
         final RdfStream rdfStream = new DefaultRdfStream(asNode(resource()));
         addResourceHttpHeaders(resource());
 
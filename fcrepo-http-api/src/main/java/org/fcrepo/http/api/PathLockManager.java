@@ -27,6 +27,7 @@ import org.fcrepo.kernel.api.services.NodeService;
  * represented by paths (as in URIs or filesystems).
  *
  * @author Mike Durbin
+ * @author agent
  */
 public interface PathLockManager {
 
@@ -84,4 +85,17 @@ public interface PathLockManager {
      */
     public AcquiredLock lockForDelete(String path);
 
+    /**
+     * Locks a resource and all of its descendants in order to safely write any
+     * number of resources beneath it.  A successful return from this method should
+     * guarantee that until release() is invoked on the returned Lock that no other
+     * callers may be granted locks necessary to modify or delete the resource at
+     * the provided path or any child path.  Resources beneath the path may still be
+     * read, and show the writes saved so far.
+     *
+     * @param path the path to an existing resource under which resources will be written
+     * @return an acquired Lock on the relevant resources
+     */
+    public AcquiredLock lockForSubtreeWrite(String path);
+
 }
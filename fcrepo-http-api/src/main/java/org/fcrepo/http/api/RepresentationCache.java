@@ -0,0 +1,388 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.http.api;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.Collections.newSetFromMap;
+import static org.fcrepo.kernel.api.FedoraTypes.LDP_DIRECT_CONTAINER;
+import static org.fcrepo.kernel.api.FedoraTypes.LDP_INDIRECT_CONTAINER;
+import static org.fcrepo.kernel.api.RdfLexicon.DIRECT_CONTAINER;
+import static org.fcrepo.kernel.api.RdfLexicon.INDIRECT_CONTAINER;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.fcrepo.kernel.api.observer.FedoraEvent;
+import org.fcrepo.metrics.RegistryService;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * A node-local cache of serialized RDF representations, so that hot resources need not have their triples
+ * rebuilt and re-serialized on every GET.
+ *
+ * Representations are keyed by resource path, ETag, the triples selected by the request's preferences, media
+ * type, base URI and user, and are held in direct (off-heap) buffers, evicted by W-TinyLFU once their total size
+ * exceeds fcrepo.http.representationCache.maxBytes. The cache is disabled unless that property is positive and
+ * an internal event bus is available to invalidate it: an event for a resource discards the representations of
+ * the resource, of its parent (containment) and of its children (membership via the parent), and an event for a
+ * direct or indirect container discards every representation that carried membership triples.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+@Component
+public class RepresentationCache {
+
+    private static final Logger LOGGER = getLogger(RepresentationCache.class);
+
+    private static final MetricRegistry METRICS = RegistryService.getInstance().getMetrics();
+
+    private final Counter hits = METRICS.counter(name(RepresentationCache.class, "hits"));
+
+    private final Counter misses = METRICS.counter(name(RepresentationCache.class, "misses"));
+
+    private final Counter stores = METRICS.counter(name(RepresentationCache.class, "stores"));
+
+    private final Counter invalidations = METRICS.counter(name(RepresentationCache.class, "invalidations"));
+
+    @Value("${fcrepo.http.representationCache.maxBytes:0}")
+    private long maxBytes;
+
+    @Value("${fcrepo.http.representationCache.maxEntryBytes:1048576}")
+    private int maxEntryBytes;
+
+    @Inject
+    private Optional<EventBus> eventBus;
+
+    private Cache<Key, ByteBuffer> representations;
+
+    // Keys by the path of the resource they represent, by the path of that resource's parent, and those whose
+    // representation included membership triples
+    private final ConcurrentMap<String, Set<Key>> byPath = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Set<Key>> byParent = new ConcurrentHashMap<>();
+
+    private final Set<Key> withMembership = newSetFromMap(new ConcurrentHashMap<>());
+
+    // Incremented by every invalidation, so that a representation serialized across a change is not stored
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Create the cache and start listening for changes, if caching is configured
+     */
+    @PostConstruct
+    public void start() {
+        if (maxBytes <= 0) {
+            LOGGER.debug("Representation caching is disabled");
+            return;
+        }
+        if (eventBus == null || !eventBus.isPresent()) {
+            LOGGER.warn("Representation caching is disabled: no event bus is available to invalidate it");
+            return;
+        }
+        representations = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((final Key k, final ByteBuffer v) -> v.capacity())
+                .removalListener((final Key key, final ByteBuffer value, final RemovalCause cause) ->
+                        unindexIfAbsent(key))
+                .recordStats()
+                .build();
+        eventBus.get().register(this);
+        registerGauges();
+        LOGGER.info("Caching up to {} bytes of RDF representations", maxBytes);
+    }
+
+    /**
+     * Stop listening for changes and release the cached representations
+     */
+    @PreDestroy
+    public void stop() {
+        if (representations != null) {
+            eventBus.get().unregister(this);
+            representations = null;
+            byPath.clear();
+            byParent.clear();
+            withMembership.clear();
+        }
+    }
+
+    /**
+     * @return whether representations are being cached
+     */
+    public boolean isEnabled() {
+        return representations != null;
+    }
+
+    /**
+     * @return the current generation, to be passed back to {@link #put} for a representation serialized now
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * @return the largest representation that will be stored, in bytes
+     */
+    public int maxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    /**
+     * Write a cached representation, if there is one
+     *
+     * @param key the key of the representation
+     * @param out the stream to write it to
+     * @return whether the representation was cached and written
+     * @throws IOException if the representation could not be written
+     */
+    public boolean writeTo(final Key key, final OutputStream out) throws IOException {
+        final ByteBuffer bytes = representations == null ? null : representations.getIfPresent(key);
+        if (bytes == null) {
+            misses.inc();
+            return false;
+        }
+        hits.inc();
+        Channels.newChannel(out).write(bytes.duplicate());
+        return true;
+    }
+
+    /**
+     * Store a serialized representation
+     *
+     * @param key the key of the representation
+     * @param bytes the serialized representation
+     * @param length the number of bytes used
+     * @param readGeneration the {@link #generation} when the representation was selected
+     * @param membership whether the representation included membership triples
+     */
+    public void put(final Key key, final byte[] bytes, final int length, final long readGeneration,
+                    final boolean membership) {
+        if (representations == null || length > maxEntryBytes) {
+            return;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(length);
+        buffer.put(bytes, 0, length).flip();
+
+        // an invalidation that raced with the serialization, or with the store below, wins
+        if (generation.get() == readGeneration) {
+            representations.asMap().compute(key, (k, old) -> {
+                index(byPath, k.path, k);
+                index(byParent, parentOf(k.path), k);
+                if (membership) {
+                    withMembership.add(k);
+                }
+                return buffer;
+            });
+            stores.inc();
+            if (generation.get() != readGeneration) {
+                representations.invalidate(key);
+            }
+        }
+    }
+
+    /**
+     * Discard the representations affected by an event
+     *
+     * @param event the event
+     */
+    @Subscribe
+    public void onEvent(final FedoraEvent event) {
+        final boolean membershipContainer = event.getResourceTypes().stream().anyMatch(type ->
+                type.equals(LDP_DIRECT_CONTAINER) || type.equals(LDP_INDIRECT_CONTAINER) ||
+                type.equals(DIRECT_CONTAINER.getURI()) || type.equals(INDIRECT_CONTAINER.getURI()));
+        invalidate(event.getPath(), membershipContainer);
+    }
+
+    /**
+     * Discard the representations of a changed resource, its parent and its children
+     *
+     * @param path the path of the resource
+     * @param membershipContainer whether the resource may provide membership triples to other resources
+     */
+    public void invalidate(final String path, final boolean membershipContainer) {
+        generation.incrementAndGet();
+        if (representations == null || path == null) {
+            return;
+        }
+        invalidations.inc();
+        final int hash = path.indexOf('#');
+        final String resourcePath = hash < 0 ? path : path.substring(0, hash);
+        invalidateAll(byPath.get(resourcePath));
+        invalidateAll(byParent.get(resourcePath));
+        invalidateAll(byPath.get(parentOf(resourcePath)));
+        if (membershipContainer) {
+            invalidateAll(withMembership);
+        }
+    }
+
+    /**
+     * Discard every representation, e.g. after a change whose extent is not known
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        if (representations == null) {
+            return;
+        }
+        invalidations.inc();
+        representations.invalidateAll();
+    }
+
+    private void invalidateAll(final Collection<Key> keys) {
+        if (keys != null && !keys.isEmpty()) {
+            representations.invalidateAll(keys);
+        }
+    }
+
+    private static void index(final ConcurrentMap<String, Set<Key>> index, final String path, final Key key) {
+        index.computeIfAbsent(path, p -> newSetFromMap(new ConcurrentHashMap<>())).add(key);
+    }
+
+    /**
+     * Drop a removed representation from the indexes, unless it has been stored again since. Removal listeners run
+     * after the removal, so the check is made under the lock of the key that put() also indexes under.
+     */
+    private void unindexIfAbsent(final Key key) {
+        final Cache<Key, ByteBuffer> cache = representations;
+        if (cache == null) {
+            return;
+        }
+        cache.asMap().compute(key, (k, current) -> {
+            if (current == null) {
+                byPath.computeIfPresent(k.path, (p, keys) -> keys.remove(k) && keys.isEmpty() ? null : keys);
+                byParent.computeIfPresent(parentOf(k.path), (p, keys) -> keys.remove(k) && keys.isEmpty() ? null
+                        : keys);
+                withMembership.remove(k);
+            }
+            return current;
+        });
+    }
+
+    private static String parentOf(final String path) {
+        final int slash = path.lastIndexOf('/');
+        return slash <= 0 ? "/" : path.substring(0, slash);
+    }
+
+    private void registerGauges() {
+        register("bytes", () -> representations == null ? 0L
+                : representations.policy().eviction().get().weightedSize().orElse(0L));
+        register("entries", () -> representations == null ? 0L : representations.estimatedSize());
+        register("hit-rate", () -> representations == null ? 0.0 : representations.stats().hitRate());
+        register("evictions", () -> representations == null ? 0L : representations.stats().evictionCount());
+    }
+
+    private static <T> void register(final String metric, final Gauge<T> gauge) {
+        // replace the gauges of any earlier instance, e.g. in a redeployed or test application
+        METRICS.remove(name(RepresentationCache.class, metric));
+        METRICS.register(name(RepresentationCache.class, metric), gauge);
+    }
+
+    @VisibleForTesting
+    long size() {
+        return representations == null ? 0 : representations.estimatedSize();
+    }
+
+    /**
+     * Identifies one serialized representation of a resource.
+     */
+    public static class Key {
+
+        private final String path;
+
+        private final String etag;
+
+        private final String variant;
+
+        private final String mediaType;
+
+        /**
+         * Create a key
+         *
+         * @param path the path of the resource
+         * @param etag the validator of the resource
+         * @param variant everything else that selects the triples and their URIs, e.g. preferences and base URI
+         * @param mediaType the media type of the serialization, or null until it has been negotiated
+         */
+        public Key(final String path, final String etag, final String variant, final String mediaType) {
+            this.path = path;
+            this.etag = etag;
+            this.variant = variant;
+            this.mediaType = mediaType;
+        }
+
+        /**
+         * @param type the negotiated media type
+         * @return this key, for a serialization in the given media type
+         */
+        public Key withMediaType(final String type) {
+            return new Key(path, etag, variant, type);
+        }
+
+        /**
+         * @return the path of the resource
+         */
+        public String getPath() {
+            return path;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return path.equals(other.path) && etag.equals(other.etag) && variant.equals(other.variant)
+                    && Objects.equals(mediaType, other.mediaType);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, etag, variant, mediaType);
+        }
+
+        @Override
+        public String toString() {
+            return path + " " + etag + " " + variant + " " + mediaType;
+        }
+    }
+}
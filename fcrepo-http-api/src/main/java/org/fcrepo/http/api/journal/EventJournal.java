@@ -0,0 +1,335 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.http.api.journal;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.fcrepo.event.serialization.EventSerializer;
+import org.fcrepo.event.serialization.JsonLDSerializer;
+import org.fcrepo.kernel.api.exception.RepositoryRuntimeException;
+import org.fcrepo.kernel.api.observer.FedoraEvent;
+import org.fcrepo.metrics.RegistryService;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.codahale.metrics.Counter;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * An append-only, node-local journal of the events posted to the internal event bus, so that consumers who
+ * missed events (a broker outage, a restart) can replay them instead of reindexing the repository.
+ *
+ * Each event is stored as the JSON-LD message published over JMS, under a sequence number, in a directory of
+ * memory-mapped segment files of fcrepo.event.journal.segmentBytes each. Whole segments are dropped, oldest
+ * first, once the journal exceeds fcrepo.event.journal.maxBytes or their newest event is older than
+ * fcrepo.event.journal.maxAgeHours; a limit of zero disables that kind of retention. Appended events survive a
+ * restart of the JVM; a segment is forced to disk when it is full and when the journal is closed. The journal is
+ * disabled unless fcrepo.event.journal.directory is set and an internal event bus is available.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+@Component
+public class EventJournal {
+
+    private static final Logger LOGGER = getLogger(EventJournal.class);
+
+    private final Counter appended =
+            RegistryService.getInstance().getMetrics().counter(name(EventJournal.class, "appended"));
+
+    private final Counter replayed =
+            RegistryService.getInstance().getMetrics().counter(name(EventJournal.class, "replayed"));
+
+    private final EventSerializer serializer = new JsonLDSerializer();
+
+    @Value("${fcrepo.event.journal.directory:}")
+    private String directory;
+
+    @Value("${fcrepo.event.journal.segmentBytes:67108864}")
+    private int segmentBytes;
+
+    @Value("${fcrepo.event.journal.maxBytes:1073741824}")
+    private long maxBytes;
+
+    @Value("${fcrepo.event.journal.maxAgeHours:168}")
+    private long maxAgeHours;
+
+    @Inject
+    private Optional<EventBus> eventBus;
+
+    private Path root;
+
+    // ordered by sequence number; the last one is appended to
+    private final List<JournalSegment> segments = new CopyOnWriteArrayList<>();
+
+    private volatile long lastSequence = 0;
+
+    private long lastTimestamp = 0;
+
+    /**
+     * A journaled event
+     */
+    public static class Entry {
+
+        public final long sequence;
+
+        public final long timestamp;
+
+        public final String path;
+
+        public final byte[] body;
+
+        /**
+         * @param sequence the sequence number of the event
+         * @param timestamp the time the event was journaled, in epoch milliseconds
+         * @param path the path of the resource the event concerns
+         * @param body the serialized event
+         */
+        public Entry(final long sequence, final long timestamp, final String path, final byte[] body) {
+            this.sequence = sequence;
+            this.timestamp = timestamp;
+            this.path = path;
+            this.body = body;
+        }
+    }
+
+    /**
+     * Open the journal and start recording events, if the journal is configured
+     *
+     * @throws IOException if the journal cannot be opened
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        if (directory == null || directory.isEmpty()) {
+            LOGGER.debug("The event journal is disabled");
+            return;
+        }
+        if (eventBus == null || !eventBus.isPresent()) {
+            LOGGER.warn("The event journal is disabled: no event bus is available");
+            return;
+        }
+        open(Paths.get(directory));
+        eventBus.get().register(this);
+    }
+
+    /**
+     * Stop recording events and write the journal to disk
+     */
+    @PreDestroy
+    public void stop() {
+        if (isEnabled()) {
+            eventBus.get().unregister(this);
+            synchronized (this) {
+                active().force();
+            }
+        }
+    }
+
+    /**
+     * Open the segments of a journal directory, creating the directory and its first segment if needed
+     *
+     * @param journalDirectory the directory
+     * @throws IOException if the journal cannot be opened
+     */
+    synchronized void open(final Path journalDirectory) throws IOException {
+        root = Files.createDirectories(journalDirectory);
+        final List<Path> files = new ArrayList<>();
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(root, "*" + JournalSegment.SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        for (final Path file : files) {
+            segments.add(new JournalSegment(file, JournalSegment.firstSequenceOf(file), segmentBytes));
+        }
+        if (segments.isEmpty()) {
+            segments.add(new JournalSegment(JournalSegment.fileOf(root, 1), 1, segmentBytes));
+        }
+        lastSequence = active().nextSequence() - 1;
+        lastTimestamp = Math.max(0, active().lastTimestamp());
+        LOGGER.info("Opened the event journal in {} at sequence number {}", root, lastSequence);
+        enforceRetention();
+    }
+
+    /**
+     * @return whether events are being journaled
+     */
+    public boolean isEnabled() {
+        return root != null;
+    }
+
+    /**
+     * Journal an event
+     *
+     * @param event the event
+     */
+    @Subscribe
+    public void onEvent(final FedoraEvent event) {
+        final String body = serializer.serialize(event);
+        if (body == null) {
+            LOGGER.warn("Could not journal the event {} on {}", event.getEventID(), event.getPath());
+            return;
+        }
+        append(event.getPath(), body.getBytes(UTF_8));
+    }
+
+    /**
+     * Append a serialized event to the journal
+     *
+     * @param path the path of the resource the event concerns
+     * @param body the serialized event
+     * @return its sequence number
+     */
+    public synchronized long append(final String path, final byte[] body) {
+        final byte[] pathBytes = path.getBytes(UTF_8);
+        // timestamps never go backwards, so that they can be searched
+        lastTimestamp = Math.max(lastTimestamp, System.currentTimeMillis());
+        if (!active().append(lastTimestamp, pathBytes, body)) {
+            roll(pathBytes.length + body.length);
+            active().append(lastTimestamp, pathBytes, body);
+        }
+        appended.inc();
+        return ++lastSequence;
+    }
+
+    private void roll(final int recordLength) {
+        final JournalSegment full = active();
+        full.force();
+        final long first = full.nextSequence();
+        try {
+            segments.add(new JournalSegment(JournalSegment.fileOf(root, first), first,
+                    Math.max(segmentBytes, JournalSegment.HEADER_BYTES + recordLength)));
+        } catch (final IOException e) {
+            throw new RepositoryRuntimeException("Could not add a segment to the event journal", e);
+        }
+        LOGGER.debug("Started event journal segment at sequence number {}", first);
+        enforceRetention();
+    }
+
+    private void enforceRetention() {
+        final long oldest = System.currentTimeMillis() - HOURS.toMillis(maxAgeHours);
+        long bytes = segments.stream().mapToLong(JournalSegment::capacity).sum();
+        while (segments.size() > 1) {
+            final JournalSegment segment = segments.get(0);
+            if (!((maxBytes > 0 && bytes > maxBytes) || (maxAgeHours > 0 && segment.lastTimestamp() < oldest))) {
+                break;
+            }
+            segments.remove(0);
+            bytes -= segment.capacity();
+            try {
+                segment.delete();
+            } catch (final IOException e) {
+                LOGGER.warn("Could not delete event journal segment {}: {}", segment.firstSequence(),
+                        e.getMessage());
+            }
+            LOGGER.info("Dropped events {} to {} from the event journal", segment.firstSequence(),
+                    segment.nextSequence() - 1);
+        }
+    }
+
+    private JournalSegment active() {
+        return segments.get(segments.size() - 1);
+    }
+
+    /**
+     * @return the sequence number of the oldest event still in the journal
+     */
+    public long firstSequence() {
+        return segments.get(0).firstSequence();
+    }
+
+    /**
+     * @return the sequence number of the newest event in the journal, or zero if it has none
+     */
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Find the oldest event journaled at or after a point in time
+     *
+     * @param since the point in time
+     * @return the sequence number of that event, or the next sequence number if there is none
+     */
+    public long sequenceAt(final Instant since) {
+        final long last = lastSequence;
+        final long timestamp = since.toEpochMilli();
+        final JournalSegment[] snapshot = segments.toArray(new JournalSegment[0]);
+        int low = 0;
+        int high = snapshot.length - 1;
+        // find the last segment starting before the point in time; its tail or the next segments hold the event
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            final long first = snapshot[mid].firstTimestamp();
+            if (first >= 0 && first < timestamp) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        for (int i = low; i < snapshot.length; i++) {
+            final long sequence = snapshot[i].sequenceAt(timestamp, Math.min(last, snapshot[i].nextSequence() - 1));
+            if (sequence <= Math.min(last, snapshot[i].nextSequence() - 1)) {
+                return sequence;
+            }
+        }
+        return last + 1;
+    }
+
+    /**
+     * Read a batch of journaled events
+     *
+     * @param from the sequence number of the first event to read
+     * @param limit the maximum number of events to read
+     * @return the events, in order
+     */
+    public List<Entry> read(final long from, final int limit) {
+        final long last = lastSequence;
+        final List<Entry> entries = new ArrayList<>(Math.max(0, (int) Math.min(limit, last - from + 1)));
+        for (final JournalSegment segment : segments) {
+            if (entries.size() >= limit) {
+                break;
+            }
+            final long next = entries.isEmpty() ? from : entries.get(entries.size() - 1).sequence + 1;
+            if (segment.nextSequence() > next) {
+                segment.read(next, last, limit, entries);
+            }
+        }
+        replayed.inc(entries.size());
+        return entries;
+    }
+}
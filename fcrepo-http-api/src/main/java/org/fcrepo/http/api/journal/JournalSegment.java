@@ -0,0 +1,250 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.http.api.journal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One memory-mapped file of the event journal, holding the events of a contiguous range of sequence numbers.
+ *
+ * Each record is an int length of its path and body, the long sequence number, the long timestamp in epoch
+ * milliseconds, the int length of the path, the UTF-8 path of the resource of the event and the body. The first
+ * length is written last, so a record whose length is still zero has not been appended yet; the zeroes
+ * of a freshly mapped file therefore mark the end of the segment.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+class JournalSegment {
+
+    static final String SUFFIX = ".journal";
+
+    static final int HEADER_BYTES = 4 + 8 + 8 + 4;
+
+    // the position of every CHECKPOINT_INTERVALth record is remembered, to seek without scanning the segment
+    private static final int CHECKPOINT_INTERVAL = 1024;
+
+    private final Path file;
+
+    private final long firstSequence;
+
+    private final MappedByteBuffer buffer;
+
+    private volatile int[] checkpoints = new int[16];
+
+    private int records = 0;
+
+    private int end = 0;
+
+    private volatile long firstTimestamp = -1;
+
+    private volatile long lastTimestamp = -1;
+
+    /**
+     * Map a segment file, creating it with the given capacity if it does not exist, and find its end
+     *
+     * @param file the segment file
+     * @param firstSequence the sequence number of its first record
+     * @param capacity the size of a new file
+     * @throws IOException if the file cannot be mapped
+     */
+    JournalSegment(final Path file, final long firstSequence, final int capacity) throws IOException {
+        this.file = file;
+        this.firstSequence = firstSequence;
+        try (final FileChannel channel = FileChannel.open(file, CREATE, READ, WRITE)) {
+            buffer = channel.map(READ_WRITE, 0, Math.max(channel.size(), capacity));
+        }
+        while (end + HEADER_BYTES <= buffer.capacity()) {
+            final int length = buffer.getInt(end);
+            if (length <= 0 || end + HEADER_BYTES + length > buffer.capacity()
+                    || buffer.getLong(end + 4) != firstSequence + records) {
+                break;
+            }
+            recordAppended(buffer.getLong(end + 12), HEADER_BYTES + length);
+        }
+    }
+
+    /**
+     * @param file a segment file
+     * @return the sequence number of its first record, encoded in its name
+     */
+    static long firstSequenceOf(final Path file) {
+        final String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    /**
+     * @param directory the journal directory
+     * @param firstSequence the sequence number of the first record of a segment
+     * @return the file of that segment
+     */
+    static Path fileOf(final Path directory, final long firstSequence) {
+        return directory.resolve(String.format("%020d", firstSequence) + SUFFIX);
+    }
+
+    /**
+     * Append a record, if it fits
+     *
+     * @param timestamp the timestamp of the record
+     * @param path the path of the record, in UTF-8
+     * @param body the body of the record
+     * @return whether the record was appended
+     */
+    boolean append(final long timestamp, final byte[] path, final byte[] body) {
+        final int length = path.length + body.length;
+        if (end + HEADER_BYTES + length > buffer.capacity()) {
+            return false;
+        }
+        final ByteBuffer target = buffer.duplicate();
+        target.position(end + HEADER_BYTES);
+        target.put(path);
+        target.put(body);
+        buffer.putLong(end + 4, nextSequence());
+        buffer.putLong(end + 12, timestamp);
+        buffer.putInt(end + 20, path.length);
+        buffer.putInt(end, length);
+        recordAppended(timestamp, HEADER_BYTES + length);
+        return true;
+    }
+
+    private void recordAppended(final long timestamp, final int bytes) {
+        if (records % CHECKPOINT_INTERVAL == 0) {
+            final int[] positions = records / CHECKPOINT_INTERVAL == checkpoints.length ?
+                    Arrays.copyOf(checkpoints, checkpoints.length * 2) : checkpoints;
+            positions[records / CHECKPOINT_INTERVAL] = end;
+            checkpoints = positions;
+        }
+        if (firstTimestamp < 0) {
+            firstTimestamp = timestamp;
+        }
+        lastTimestamp = timestamp;
+        end += bytes;
+        records++;
+    }
+
+    /**
+     * Read records into a list
+     *
+     * @param from the sequence number of the first record to read
+     * @param last the sequence number of the last record that may be read
+     * @param limit the maximum size of the list
+     * @param entries the list to add to
+     */
+    void read(final long from, final long last, final int limit, final List<EventJournal.Entry> entries) {
+        final long start = Math.max(from, firstSequence);
+        if (start > last) {
+            return;
+        }
+        final int checkpoint = (int) ((start - firstSequence) / CHECKPOINT_INTERVAL);
+        final ByteBuffer source = buffer.duplicate();
+        int position = checkpoints[checkpoint];
+        for (long sequence = firstSequence + (long) checkpoint * CHECKPOINT_INTERVAL;
+                sequence <= last && entries.size() < limit; sequence++) {
+            final int length = source.getInt(position);
+            if (length <= 0) {
+                return;
+            }
+            if (sequence >= start) {
+                final byte[] path = new byte[source.getInt(position + 20)];
+                final byte[] body = new byte[length - path.length];
+                source.position(position + HEADER_BYTES);
+                source.get(path);
+                source.get(body);
+                entries.add(new EventJournal.Entry(sequence, source.getLong(position + 12), new String(path, UTF_8),
+                        body));
+            }
+            position += HEADER_BYTES + length;
+        }
+    }
+
+    /**
+     * Find the first record at or after a point in time
+     *
+     * @param timestamp the point in time, in epoch milliseconds
+     * @param last the sequence number of the last record that may be read
+     * @return its sequence number, or the sequence number after last if there is none here
+     */
+    long sequenceAt(final long timestamp, final long last) {
+        if (last < firstSequence) {
+            return last + 1;
+        }
+        final int[] positions = checkpoints;
+        final int checkpointCount = (int) ((last - firstSequence) / CHECKPOINT_INTERVAL) + 1;
+        int checkpoint = 0;
+        while (checkpoint + 1 < checkpointCount && buffer.getLong(positions[checkpoint + 1] + 12) < timestamp) {
+            checkpoint++;
+        }
+        int position = positions[checkpoint];
+        for (long sequence = firstSequence + (long) checkpoint * CHECKPOINT_INTERVAL; sequence <= last; sequence++) {
+            if (buffer.getLong(position + 12) >= timestamp) {
+                return sequence;
+            }
+            position += HEADER_BYTES + buffer.getInt(position);
+        }
+        return last + 1;
+    }
+
+    /**
+     * Write the appended records to the file
+     */
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Delete the file of this segment
+     *
+     * @throws IOException if the file cannot be deleted
+     */
+    void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    long firstSequence() {
+        return firstSequence;
+    }
+
+    long nextSequence() {
+        return firstSequence + records;
+    }
+
+    long firstTimestamp() {
+        return firstTimestamp;
+    }
+
+    long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+}
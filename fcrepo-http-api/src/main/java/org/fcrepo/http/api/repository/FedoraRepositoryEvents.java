@@ -0,0 +1,163 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.http.api.repository;
+
+import static javax.ws.rs.core.HttpHeaders.LINK;
+import static javax.ws.rs.core.Response.Status.GONE;
+import static javax.ws.rs.core.Response.ok;
+import static javax.ws.rs.core.Response.status;
+import static java.util.stream.Collectors.toList;
+import static org.fcrepo.http.commons.domain.RDFMediaType.JSON_LD;
+import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.getJcrSession;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Link;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.fcrepo.http.api.journal.EventJournal;
+import org.fcrepo.http.commons.AbstractResource;
+import org.fcrepo.http.commons.session.HttpSession;
+import org.fcrepo.kernel.api.exception.RepositoryRuntimeException;
+import org.slf4j.Logger;
+import org.springframework.context.annotation.Scope;
+
+import com.codahale.metrics.annotation.Timed;
+
+/**
+ * Repository-wide endpoint replaying the events of the event journal
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+@Scope("prototype")
+@Path("/fcr:events")
+public class FedoraRepositoryEvents extends AbstractResource {
+
+    private static final Logger LOGGER = getLogger(FedoraRepositoryEvents.class);
+
+    static final int MAX_LIMIT = 10000;
+
+    @Inject
+    protected EventJournal journal;
+
+    @Inject
+    protected HttpSession session;
+
+    /**
+     * Get a batch of journaled events as a JSON-LD array of event messages, starting either at a sequence number
+     * or at the first event journaled at or after a point in time, or else at the oldest event in the journal.
+     * Only the events on resources the caller may read are returned; the "next" link of the response continues
+     * after the last event of the batch, whether it was returned or not.
+     *
+     * GET /fcr:events?from=1234&amp;limit=1000
+     * GET /fcr:events?since=2026-10-19T00:00:00Z
+     *
+     * @param from the sequence number of the first event
+     * @param since an ISO-8601 instant
+     * @param limit the maximum number of events to return
+     * @return the events
+     */
+    @GET
+    @Timed
+    @Produces({JSON_LD + ";qs=1.0", "application/json;qs=0.8"})
+    public Response getEvents(@QueryParam("from") final Long from, @QueryParam("since") final String since,
+            @QueryParam("limit") @DefaultValue("1000") final int limit) {
+        if (!journal.isEnabled()) {
+            throw new NotFoundException("The event journal is not enabled");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("The limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        final long start;
+        if (from != null) {
+            if (from < journal.firstSequence()) {
+                return status(GONE).entity("Events before " + journal.firstSequence() +
+                        " are no longer in the journal").build();
+            }
+            start = from;
+        } else if (since != null) {
+            try {
+                start = journal.sequenceAt(Instant.parse(since));
+            } catch (final DateTimeParseException e) {
+                throw new BadRequestException("Not an ISO-8601 instant: " + since);
+            }
+        } else {
+            start = journal.firstSequence();
+        }
+
+        final List<EventJournal.Entry> batch = journal.read(start, limit);
+        final long next = batch.isEmpty() ? start : batch.get(batch.size() - 1).sequence + 1;
+        final Session jcrSession = getJcrSession(session.getFedoraSession());
+        final Map<String, Boolean> readable = new HashMap<>();
+        final List<EventJournal.Entry> entries = batch.stream()
+                .filter(e -> readable.computeIfAbsent(resourcePath(e.path), p -> canRead(jcrSession, p)))
+                .collect(toList());
+        LOGGER.debug("Replaying {} of {} events from sequence number {}", entries.size(), batch.size(), start);
+
+        final StreamingOutput body = (final OutputStream out) -> {
+            out.write('[');
+            for (int i = 0; i < entries.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(entries.get(i).body);
+            }
+            out.write(']');
+        };
+        final Link nextLink = Link.fromUri(uriInfo.getBaseUriBuilder().path("fcr:events")
+                .queryParam("from", next).queryParam("limit", limit).build()).rel("next").build();
+        return ok(body).header(LINK, nextLink.toString()).build();
+    }
+
+    /**
+     * @param path the path of an event, which may end with the fragment of a hash URI
+     * @return the path of the resource whose access control applies to the event
+     */
+    private static String resourcePath(final String path) {
+        final int hash = path.indexOf('#');
+        final String resourcePath = hash < 0 ? path : path.substring(0, hash);
+        return resourcePath.isEmpty() ? "/" : resourcePath;
+    }
+
+    private static boolean canRead(final Session jcrSession, final String path) {
+        try {
+            return jcrSession.hasPermission(path, "read");
+        } catch (final RepositoryException e) {
+            throw new RepositoryRuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.http.api.responses;
+
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import org.fcrepo.http.api.RepresentationCache;
+import org.fcrepo.http.commons.responses.RdfNamespacedStream;
+import org.fcrepo.kernel.api.RdfStream;
+
+/**
+ * An RdfNamespacedStream whose serialization may be served from, and stored in, a {@link RepresentationCache}.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class CacheableRdfNamespacedStream extends RdfNamespacedStream {
+
+    private final RepresentationCache cache;
+
+    private final RepresentationCache.Key key;
+
+    private final long generation;
+
+    private final BooleanSupplier membership;
+
+    /**
+     * Create a cacheable stream
+     *
+     * @param stream the RdfStream
+     * @param namespaces the namespace mapping
+     * @param cache the cache
+     * @param key the key of the representation, without its media type
+     * @param generation the generation of the cache when the representation was selected
+     * @param membership whether, once the stream has been consumed, it included membership triples
+     */
+    public CacheableRdfNamespacedStream(final RdfStream stream, final Map<String, String> namespaces,
+            final RepresentationCache cache, final RepresentationCache.Key key, final long generation,
+            final BooleanSupplier membership) {
+        super(stream, namespaces);
+        this.cache = cache;
+        this.key = key;
+        this.generation = generation;
+        this.membership = membership;
+    }
+
+    /**
+     * @return the cache
+     */
+    public RepresentationCache getCache() {
+        return cache;
+    }
+
+    /**
+     * @return the key of the representation, without its media type
+     */
+    public RepresentationCache.Key getKey() {
+        return key;
+    }
+
+    /**
+     * @return the generation of the cache when the representation was selected
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @return whether the consumed stream included membership triples
+     */
+    public boolean hasMembership() {
+        return membership.getAsBoolean();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.http.api.responses;
+
+import static javax.ws.rs.core.MediaType.TEXT_HTML_TYPE;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.fcrepo.http.api.RepresentationCache;
+import org.slf4j.Logger;
+
+/**
+ * Serves {@link CacheableRdfNamespacedStream}s from their cache once the media type has been negotiated, and
+ * stores the serializations of those that missed. Runs inside any content coding, so that the cached bytes are
+ * the plain serialization.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+@Provider
+@Priority(Priorities.USER)
+public class RepresentationCacheInterceptor implements WriterInterceptor {
+
+    private static final Logger LOGGER = getLogger(RepresentationCacheInterceptor.class);
+
+    @Override
+    public void aroundWriteTo(final WriterInterceptorContext context) throws IOException {
+        final MediaType mediaType = context.getMediaType();
+        if (!(context.getEntity() instanceof CacheableRdfNamespacedStream) || mediaType == null
+                || mediaType.isCompatible(TEXT_HTML_TYPE)) {
+            context.proceed();
+            return;
+        }
+
+        final CacheableRdfNamespacedStream entity = (CacheableRdfNamespacedStream) context.getEntity();
+        final RepresentationCache.Key key = entity.getKey().withMediaType(mediaType.toString());
+        if (entity.getCache().writeTo(key, context.getOutputStream())) {
+            LOGGER.trace("Served {} from the representation cache", key);
+            entity.close();
+            return;
+        }
+
+        final CapturingOutputStream capture = new CapturingOutputStream(context.getOutputStream(),
+                entity.getCache().maxEntryBytes());
+        context.setOutputStream(capture);
+        context.proceed();
+        if (capture.isComplete()) {
+            entity.getCache().put(key, capture.buffer(), capture.size(), entity.getGeneration(),
+                    entity.hasMembership());
+        }
+    }
+
+    /**
+     * Passes bytes through, keeping a copy of them until there are more than a limit.
+     */
+    private static class CapturingOutputStream extends OutputStream {
+
+        private final OutputStream out;
+
+        private final int limit;
+
+        private ExposedByteArrayOutputStream copy = new ExposedByteArrayOutputStream();
+
+        CapturingOutputStream(final OutputStream out, final int limit) {
+            this.out = out;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            if (copy != null) {
+                copy.write(b);
+                checkLimit();
+            }
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            if (copy != null) {
+                copy.write(b, off, len);
+                checkLimit();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+        private void checkLimit() {
+            if (copy.size() > limit) {
+                copy = null;
+            }
+        }
+
+        boolean isComplete() {
+            return copy != null;
+        }
+
+        byte[] buffer() {
+            return copy.buffer();
+        }
+
+        int size() {
+            return copy.size();
+        }
+    }
+
+    /**
+     * Gives access to its buffer, to avoid copying it once more before it is moved off-heap.
+     */
+    private static class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+
+        byte[] buffer() {
+            return buf;
+        }
+    }
+}
@@ -36,6 +36,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 /**
  * Unit tests for DefaultPathLockManager.
  * @author Mike Durbin
+ * @author agent
  */
 @RunWith(MockitoJUnitRunner.class)
 public class DefaultPathLockManagerTest {
@@ -167,6 +168,44 @@ public class DefaultPathLockManagerTest {
                 new Actor(() -> m.lockForWrite("root/other", session, nodeService)).canComplete());
     }
 
+    @Test
+    public void subtreeWriteShouldBlockWritesToDescendentsOnly() {
+        final DefaultPathLockManager m = new DefaultPathLockManager();
+        final AcquiredLock l = m.lockForSubtreeWrite("root/ingest");
+        assertTrue("Writing beneath a subtree being written should block until the write is complete!",
+                new Actor(() -> m.lockForWrite("root/ingest/child", session, nodeService)).isBlocked());
+        assertTrue("Writing to a subtree being written should block until the write is complete!",
+                new Actor(() -> m.lockForWrite("root/ingest", session, nodeService)).isBlocked());
+        assertTrue("Deleting beneath a subtree being written should block until the write is complete!",
+                new Actor(() -> m.lockForDelete("root/ingest/child")).isBlocked());
+        assertTrue("Deleting the parent of a subtree being written should block until the write is complete!",
+                new Actor(() -> m.lockForDelete("root")).isBlocked());
+        assertTrue("Reading beneath a subtree being written should not block.",
+                new Actor(() -> m.lockForRead("root/ingest/child")).canComplete());
+        assertTrue("Writing to a peer of a subtree being written should not block.",
+                new Actor(() -> m.lockForWrite("root/other", session, nodeService)).canComplete());
+        l.release();
+        assertEquals("Subtree lock should have been cleaned up!", 0, m.activeSubtreeWritePaths.size());
+    }
+
+    @Test
+    public void subtreeWriteShouldWaitForWritesToDescendents() {
+        final DefaultPathLockManager m = new DefaultPathLockManager();
+        m.lockForWrite("root/ingest/child", session, nodeService);
+        assertTrue("A subtree write should block until the writes beneath it are complete!",
+                new Actor(() -> m.lockForSubtreeWrite("root/ingest")).isBlocked());
+    }
+
+    @Test
+    public void subtreeWriteShouldWaitForOverlappingSubtreeWrites() {
+        final DefaultPathLockManager m = new DefaultPathLockManager();
+        m.lockForSubtreeWrite("root/ingest");
+        assertTrue("A subtree write should block until the subtree write around it is complete!",
+                new Actor(() -> m.lockForSubtreeWrite("root/ingest/child")).isBlocked());
+        assertTrue("A subtree write should block until the subtree write beneath it is complete!",
+                new Actor(() -> m.lockForSubtreeWrite("root")).isBlocked());
+    }
+
     /**
      * An interface whose single method acquires an AcquiredLock.
      */
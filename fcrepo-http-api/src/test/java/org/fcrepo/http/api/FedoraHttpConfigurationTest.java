@@ -0,0 +1,58 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.http.api;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URI;
+
+import org.junit.Test;
+
+/**
+ * FedoraHttpConfigurationTest class.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class FedoraHttpConfigurationTest {
+
+    private final FedoraHttpConfiguration testObj = new FedoraHttpConfiguration();
+
+    @Test
+    public void testNoHostsMayBeProxiedByDefault() {
+        assertFalse(testObj.mayProxy(URI.create("http://example.org/a")));
+    }
+
+    @Test
+    public void testListedHostsMayBeProxied() {
+        testObj.setProxyHosts(" Example.org, files.example.net ");
+        assertTrue(testObj.mayProxy(URI.create("http://example.org/a")));
+        assertTrue(testObj.mayProxy(URI.create("https://EXAMPLE.org:8443/a")));
+        assertTrue(testObj.mayProxy(URI.create("https://files.example.net/b")));
+    }
+
+    @Test
+    public void testOtherHostsAndSchemesMayNotBeProxied() {
+        testObj.setProxyHosts("example.org");
+        assertFalse(testObj.mayProxy(URI.create("http://localhost:8080/rest")));
+        assertFalse(testObj.mayProxy(URI.create("http://sub.example.org/a")));
+        assertFalse(testObj.mayProxy(URI.create("ftp://example.org/a")));
+        assertFalse(testObj.mayProxy(URI.create("file:///etc/passwd")));
+    }
+}
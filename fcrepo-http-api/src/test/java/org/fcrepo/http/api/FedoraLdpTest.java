@@ -21,17 +21,23 @@ import static com.google.common.base.Predicates.containsPattern;
 import static java.net.URI.create;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singleton;
+import static java.util.Collections.singletonMap;
 import static java.util.stream.Stream.of;
 import static javax.ws.rs.core.HttpHeaders.CONTENT_LENGTH;
+import static javax.ws.rs.core.HttpHeaders.IF_MODIFIED_SINCE;
+import static javax.ws.rs.core.HttpHeaders.IF_NONE_MATCH;
 import static javax.ws.rs.core.HttpHeaders.LINK;
 import static javax.ws.rs.core.MediaType.APPLICATION_OCTET_STREAM;
 import static javax.ws.rs.core.MediaType.APPLICATION_OCTET_STREAM_TYPE;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN_TYPE;
 import static javax.ws.rs.core.Response.Status.CREATED;
+import static javax.ws.rs.core.Response.Status.FORBIDDEN;
 import static javax.ws.rs.core.Response.Status.NOT_MODIFIED;
 import static javax.ws.rs.core.Response.Status.NO_CONTENT;
 import static javax.ws.rs.core.Response.Status.OK;
+import static javax.ws.rs.core.Response.Status.PARTIAL_CONTENT;
 import static javax.ws.rs.core.Response.Status.TEMPORARY_REDIRECT;
 import static javax.ws.rs.core.Response.Status.UNSUPPORTED_MEDIA_TYPE;
 import static org.apache.commons.io.IOUtils.toInputStream;
@@ -59,11 +65,13 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anySetOf;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -75,18 +83,23 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.text.ParseException;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.ServletContext;
 import javax.ws.rs.BadRequestException;
 import javax.ws.rs.ClientErrorException;
+import javax.ws.rs.ServerErrorException;
 import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Link;
@@ -122,10 +135,15 @@ import org.fcrepo.kernel.api.models.Container;
 import org.fcrepo.kernel.api.models.FedoraBinary;
 import org.fcrepo.kernel.api.models.FedoraResource;
 import org.fcrepo.kernel.api.models.NonRdfSourceDescription;
+import org.fcrepo.kernel.api.models.ResourceValidator;
 import org.fcrepo.kernel.api.rdf.DefaultRdfStream;
 import org.fcrepo.kernel.api.services.BinaryService;
 import org.fcrepo.kernel.api.services.ContainerService;
+import org.fcrepo.kernel.api.services.ExternalContentService;
 import org.fcrepo.kernel.api.services.NodeService;
+import org.fcrepo.kernel.api.services.PairtreeService;
+import org.fcrepo.kernel.api.services.ValidatorService;
+import org.fcrepo.kernel.api.utils.ExternalContent;
 import org.glassfish.jersey.internal.PropertiesDelegate;
 import org.glassfish.jersey.server.ContainerRequest;
 import org.junit.Before;
@@ -190,6 +208,12 @@ public class FedoraLdpTest {
     @Mock
     private FedoraHttpConfiguration mockHttpConfiguration;
 
+    @Mock
+    private ExternalContentService mockExternalContentService;
+
+    @Mock
+    private PairtreeService mockPairtreeService;
+
     @Mock
     private HttpHeaders mockHeaders;
 
@@ -598,6 +622,55 @@ public class FedoraLdpTest {
         verify(builder, times(0)).entity(any());
     }
 
+    @Test
+    public void testGetAnsweredFromValidator() throws Exception {
+        final ValidatorService mockValidatorService = mock(ValidatorService.class);
+        final ResourceValidator mockValidator = mock(ResourceValidator.class);
+        setField(testObj, "validatorService", mockValidatorService);
+        when(mockHeaders.getHeaderString(IF_NONE_MATCH)).thenReturn("\"some-etag\"");
+        when(mockValidatorService.getValidator(mockFedoraSession, path)).thenReturn(mockValidator);
+        when(mockValidator.getKind()).thenReturn(ResourceValidator.Kind.CONTAINER);
+        when(mockValidator.getEtagValue()).thenReturn("some-etag");
+
+        final Response.ResponseBuilder builder = mock(Response.ResponseBuilder.class);
+        final Response response = mock(Response.class);
+        when(builder.cacheControl(any())).thenReturn(builder);
+        when(builder.lastModified((any()))).thenReturn(builder);
+        when(builder.tag(any(EntityTag.class))).thenReturn(builder);
+        when(builder.build()).thenReturn(response);
+        when(response.getStatus()).thenReturn(NOT_MODIFIED.getStatusCode());
+        when(mockRequest.evaluatePreconditions(new EntityTag("some-etag"))).thenReturn(builder);
+
+        try {
+            testObj.getResource(null);
+            fail("Expected " + PreconditionException.class.getName() + " to be thrown.");
+        } catch (final PreconditionException e) {
+            assertEquals(NOT_MODIFIED.getStatusCode(), e.getHttpStatus());
+        }
+
+        // the resource itself should never have been loaded
+        verify(testObj, never()).resource();
+    }
+
+    @Test
+    public void testGetDescriptionChecksBinaryValidator() throws Exception {
+        final ValidatorService mockValidatorService = mock(ValidatorService.class);
+        final ResourceValidator mockValidator = mock(ResourceValidator.class);
+        setField(testObj, "validatorService", mockValidatorService);
+        setField(testObj, "externalPath", path + "/fcr:metadata");
+        when(mockHeaders.getHeaderString(IF_NONE_MATCH)).thenReturn("\"binary-etag\"");
+        when(mockValidatorService.getValidator(mockFedoraSession, path)).thenReturn(mockValidator);
+        when(mockValidator.getKind()).thenReturn(ResourceValidator.Kind.NON_RDF_SOURCE);
+        when(mockValidator.getEtagValue()).thenReturn("description-etag");
+        when(mockValidator.getBinaryEtagValue()).thenReturn("binary-etag");
+        setResource(FedoraResource.class);
+
+        testObj.getResource(null);
+
+        verify(mockRequest).evaluatePreconditions(new EntityTag("binary-etag"));
+        verify(mockRequest, never()).evaluatePreconditions(new EntityTag("description-etag"));
+    }
+
     /**
      * Emulates an 'If-Modified-Since' precondition failing for a GET request.  There should not be any entity body set
      * on the response.
@@ -722,6 +795,122 @@ public class FedoraLdpTest {
         assertEquals(new URI("some:uri"), actual.getLocation());
     }
 
+    @Test
+    public void testGetWithProxiedExternalMessageBinary() throws Exception {
+        final FedoraBinary mockResource = (FedoraBinary)setResource(FedoraBinary.class);
+        when(mockResource.getDescription()).thenReturn(mockNonRdfSourceDescription);
+        when(mockResource.getMimeType()).thenReturn("message/external-body; access-type=URL; URL=\"some:uri\"");
+        when(mockHttpConfiguration.proxyExternalBody()).thenReturn(true);
+        when(mockHttpConfiguration.mayProxy(new URI("some:uri"))).thenReturn(true);
+        when(mockHeaders.getHeaderString("Range")).thenReturn("bytes=1-2");
+        setField(testObj, "externalContentService", mockExternalContentService);
+        final Map<String, String> headers = new HashMap<>();
+        headers.put("Content-Type", "text/plain");
+        headers.put("Content-Range", "bytes 1-2/3");
+        when(mockExternalContentService.proxyExternalContent(new URI("some:uri"), false,
+                singletonMap("Range", "bytes=1-2")))
+                .thenReturn(new ExternalContent(PARTIAL_CONTENT.getStatusCode(), headers, toInputStream("yz", UTF_8)));
+
+        final Response actual = testObj.getResource("bytes=1-2");
+        assertEquals(PARTIAL_CONTENT.getStatusCode(), actual.getStatus());
+        assertEquals("text/plain", actual.getHeaderString("Content-Type"));
+        assertEquals("bytes 1-2/3", actual.getHeaderString("Content-Range"));
+        assertEquals("some:uri", actual.getHeaderString("Content-Location"));
+        assertEquals("yz", IOUtils.toString((InputStream) actual.getEntity(), UTF_8));
+        assertFalse("Should not report the binary's content type",
+                mockResponse.containsHeader("Content-Type"));
+        assertShouldContainLinkToBinaryDescription();
+    }
+
+    @Test
+    public void testHeadWithProxiedExternalBinary() throws Exception {
+        final FedoraBinary mockResource = (FedoraBinary)setResource(FedoraBinary.class);
+        when(mockResource.getDescription()).thenReturn(mockNonRdfSourceDescription);
+        when(mockResource.getMimeType()).thenReturn("message/external-body; access-type=URL; URL=\"some:uri\"");
+        when(mockHttpConfiguration.proxyExternalBody()).thenReturn(true);
+        when(mockHttpConfiguration.mayProxy(new URI("some:uri"))).thenReturn(true);
+        setField(testObj, "externalContentService", mockExternalContentService);
+        when(mockExternalContentService.proxyExternalContent(new URI("some:uri"), true, emptyMap()))
+                .thenReturn(new ExternalContent(OK.getStatusCode(), singletonMap("Content-Type", "image/png"), null));
+
+        final Response actual = testObj.head();
+        assertEquals(OK.getStatusCode(), actual.getStatus());
+        assertEquals("image/png", actual.getHeaderString("Content-Type"));
+        assertShouldBeAnLDPNonRDFSource();
+    }
+
+    @Test
+    public void testConditionalGetWithProxiedExternalBinaryIgnoresValidator() throws Exception {
+        final FedoraBinary mockResource = (FedoraBinary)setResource(FedoraBinary.class);
+        when(mockResource.getDescription()).thenReturn(mockNonRdfSourceDescription);
+        when(mockResource.getMimeType()).thenReturn("message/external-body; access-type=URL; URL=\"some:uri\"");
+        when(mockHttpConfiguration.proxyExternalBody()).thenReturn(true);
+        when(mockHttpConfiguration.mayProxy(new URI("some:uri"))).thenReturn(true);
+        setField(testObj, "externalContentService", mockExternalContentService);
+
+        // the binary referring to the external content has not changed since the client's copy...
+        final ValidatorService mockValidatorService = mock(ValidatorService.class);
+        final ResourceValidator mockValidator = mock(ResourceValidator.class);
+        setField(testObj, "validatorService", mockValidatorService);
+        when(mockValidatorService.getValidator(mockFedoraSession, path)).thenReturn(mockValidator);
+        when(mockValidator.getKind()).thenReturn(ResourceValidator.Kind.NON_RDF_SOURCE);
+        when(mockValidator.getEtagValue()).thenReturn("description-etag");
+        when(mockValidator.getBinaryEtagValue()).thenReturn("binary-etag");
+        when(mockValidator.getLastModifiedDate()).thenReturn(Instant.ofEpochMilli(1000));
+        when(mockValidator.getBinaryLastModifiedDate()).thenReturn(Instant.ofEpochMilli(1000));
+        final String ifModifiedSince = "Thu, 01 Jan 1970 00:00:02 GMT";
+        when(mockHeaders.getHeaderString(IF_MODIFIED_SINCE)).thenReturn(ifModifiedSince);
+        final Response.ResponseBuilder notModified = mock(Response.ResponseBuilder.class);
+        final Response notModifiedResponse = mock(Response.class);
+        when(notModified.cacheControl(any())).thenReturn(notModified);
+        when(notModified.lastModified(any())).thenReturn(notModified);
+        when(notModified.tag(any(EntityTag.class))).thenReturn(notModified);
+        when(notModified.build()).thenReturn(notModifiedResponse);
+        when(notModifiedResponse.getStatus()).thenReturn(NOT_MODIFIED.getStatusCode());
+        when(mockRequest.evaluatePreconditions(any(Date.class))).thenReturn(notModified);
+        when(mockRequest.evaluatePreconditions(any(Date.class), any(EntityTag.class))).thenReturn(notModified);
+
+        // ...but the external content has
+        when(mockExternalContentService.proxyExternalContent(new URI("some:uri"), false,
+                singletonMap(IF_MODIFIED_SINCE, ifModifiedSince)))
+                .thenReturn(new ExternalContent(OK.getStatusCode(), singletonMap("Content-Type", "text/plain"),
+                        toInputStream("changed", UTF_8)));
+
+        final Response actual = testObj.getResource(null);
+        assertEquals(OK.getStatusCode(), actual.getStatus());
+        assertEquals("changed", IOUtils.toString((InputStream) actual.getEntity(), UTF_8));
+    }
+
+    @Test(expected = ServerErrorException.class)
+    public void testGetWithUnreachableProxiedExternalBinary() throws Exception {
+        final FedoraBinary mockResource = (FedoraBinary)setResource(FedoraBinary.class);
+        when(mockResource.getDescription()).thenReturn(mockNonRdfSourceDescription);
+        when(mockResource.getMimeType()).thenReturn("message/external-body; access-type=URL; URL=\"some:uri\"");
+        when(mockHttpConfiguration.proxyExternalBody()).thenReturn(true);
+        when(mockHttpConfiguration.mayProxy(new URI("some:uri"))).thenReturn(true);
+        setField(testObj, "externalContentService", mockExternalContentService);
+        when(mockExternalContentService.proxyExternalContent(new URI("some:uri"), false, emptyMap()))
+                .thenThrow(new IOException("Connection refused"));
+        testObj.getResource(null);
+    }
+
+    @Test
+    public void testGetWithProxiedExternalBinaryOnUnlistedHost() throws Exception {
+        final FedoraBinary mockResource = (FedoraBinary)setResource(FedoraBinary.class);
+        when(mockResource.getDescription()).thenReturn(mockNonRdfSourceDescription);
+        when(mockResource.getMimeType())
+                .thenReturn("message/external-body; access-type=URL; URL=\"http://169.254.169.254/latest\"");
+        when(mockHttpConfiguration.proxyExternalBody()).thenReturn(true);
+        setField(testObj, "externalContentService", mockExternalContentService);
+        try {
+            testObj.getResource(null);
+            fail("Content on a host that is not listed should not be proxied");
+        } catch (final ClientErrorException e) {
+            assertEquals(FORBIDDEN.getStatusCode(), e.getResponse().getStatus());
+        }
+        verify(mockExternalContentService, never()).proxyExternalContent(any(URI.class), anyBoolean(), any());
+    }
+
     @Test(expected = UnsupportedAccessTypeException.class)
     public void testGetWithExternalMessageMissingURLBinary() throws Exception {
         final FedoraBinary mockResource = (FedoraBinary)setResource(FedoraBinary.class);
@@ -925,6 +1114,20 @@ public class FedoraLdpTest {
         assertEquals(CREATED.getStatusCode(), actual.getStatus());
     }
 
+    @Test
+    public void testCreateNewObjectPlacedByPairtree() throws MalformedRdfException, InvalidChecksumException,
+           IOException, UnsupportedAlgorithmException, UnsupportedAccessTypeException {
+        setResource(Container.class);
+        setField(testObj, "pidMinter", (Supplier<String>) () -> "minted");
+        setField(testObj, "pairtreeService", mockPairtreeService);
+        when(mockPairtreeService.isEnabled()).thenReturn(true);
+        when(mockPairtreeService.place(mockFedoraSession, path, "minted")).thenReturn("ab/minted");
+        when(mockContainerService.findOrCreate(mockFedoraSession, "/ab/minted")).thenReturn(mockContainer);
+        final Response actual = testObj.createObject(null, null, null, null, null, null);
+        assertEquals(CREATED.getStatusCode(), actual.getStatus());
+        verify(mockContainerService).findOrCreate(mockFedoraSession, "/ab/minted");
+    }
+
     @Test
     public void testCreateNewObjectWithSparql() throws MalformedRdfException,
            InvalidChecksumException, UnsupportedAlgorithmException, IOException, UnsupportedAccessTypeException {
@@ -56,6 +56,7 @@ import org.fcrepo.kernel.api.exception.RepositoryRuntimeException;
 import org.fcrepo.kernel.api.models.FedoraResource;
 import org.fcrepo.kernel.api.services.NodeService;
 import org.fcrepo.kernel.api.services.ContainerService;
+import org.fcrepo.kernel.api.services.ValidatorService;
 import org.fcrepo.kernel.api.services.VersionService;
 import org.fcrepo.kernel.modeshape.FedoraSessionImpl;
 
@@ -133,6 +134,9 @@ public class FedoraNodesTest {
     @Mock
     private SecurityContext mockSecurityContext;
 
+    @Mock
+    private ValidatorService mockValidatorService;
+
     private String path = "/some/path";
 
     @Before
@@ -227,6 +231,18 @@ public class FedoraNodesTest {
         verify(mockNodes).moveObject(testSession, path, "/bar");
     }
 
+    @Test
+    public void testMoveObjectInvalidatesCaches() throws URISyntaxException {
+        setField(testObj, "validatorService", mockValidatorService);
+        when(mockNodes.find(isA(FedoraSession.class), isA(String.class))).thenReturn(mockContainer);
+        when(mockContainer.getEtagValue()).thenReturn("");
+        when(mockContainer.getPath()).thenReturn(path);
+        when(mockNodes.exists(testSession, path)).thenReturn(true);
+
+        testObj.moveObject("http://localhost/fcrepo/bar");
+        verify(mockValidatorService).invalidateAll();
+    }
+
     @Test(expected = ClientErrorException.class)
     public void testMoveMissingObject() throws RepositoryException, URISyntaxException {
         final ValueFactory mockVF = mock(ValueFactory.class);
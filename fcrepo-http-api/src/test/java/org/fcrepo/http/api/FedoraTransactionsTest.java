@@ -35,6 +35,7 @@ import javax.ws.rs.core.SecurityContext;
 import org.fcrepo.http.commons.session.HttpSession;
 import org.fcrepo.kernel.api.FedoraSession;
 import org.fcrepo.kernel.api.services.BatchService;
+import org.fcrepo.kernel.api.services.ValidatorService;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -70,6 +71,12 @@ public class FedoraTransactionsTest {
     @Mock
     private SecurityContext mockSecurityContext;
 
+    @Mock
+    private ValidatorService mockValidatorService;
+
+    @Mock
+    private RepresentationCache mockRepresentationCache;
+
     @Before
     public void setUp() {
         testObj = new FedoraTransactions();
@@ -107,6 +114,15 @@ public class FedoraTransactionsTest {
         verify(mockTxService).commit("123", null);
     }
 
+    @Test
+    public void shouldInvalidateCachesWhenATransactionCommits() {
+        setField(testObj, "validatorService", mockValidatorService);
+        setField(testObj, "representationCache", mockRepresentationCache);
+        testObj.commit(null);
+        verify(mockValidatorService).invalidateAll();
+        verify(mockRepresentationCache).invalidateAll();
+    }
+
     @Test
     public void shouldErrorIfTheContextSessionIsNotATransaction() {
         setField(testObj, "session", new HttpSession(regularSession));
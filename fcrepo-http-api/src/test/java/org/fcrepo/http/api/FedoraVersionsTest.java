@@ -38,6 +38,7 @@ import org.fcrepo.http.commons.api.rdf.HttpResourceConverter;
 import org.fcrepo.http.commons.session.HttpSession;
 import org.fcrepo.kernel.api.FedoraSession;
 import org.fcrepo.kernel.api.services.NodeService;
+import org.fcrepo.kernel.api.services.ValidatorService;
 import org.fcrepo.kernel.api.services.VersionService;
 import org.fcrepo.kernel.modeshape.FedoraResourceImpl;
 import org.junit.Before;
@@ -83,6 +84,9 @@ public class FedoraVersionsTest {
     @Mock
     private FedoraSession mockFedoraSession;
 
+    @Mock
+    private ValidatorService mockValidatorService;
+
     private final String path = "/some/path";
     private final String versionLabel = "someLabel";
 
@@ -111,6 +115,14 @@ public class FedoraVersionsTest {
         assertNotNull(response);
     }
 
+    @Test
+    public void testRevertToVersionInvalidatesCaches() {
+        setField(testObj, "validatorService", mockValidatorService);
+        doReturn(path).when(testObj).unversionedResourcePath();
+        testObj.revertToVersion();
+        verify(mockValidatorService).invalidateAll();
+    }
+
     @Test (expected = PathNotFoundException.class)
     public void testRevertToVersionFailure() {
         doThrow(PathNotFoundException.class).when(testObj).unversionedResourcePath();
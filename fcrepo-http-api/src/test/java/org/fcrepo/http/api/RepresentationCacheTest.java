@@ -0,0 +1,182 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.http.api;
+
+import static java.util.Collections.singleton;
+import static org.fcrepo.kernel.api.FedoraTypes.FEDORA_CONTAINER;
+import static org.fcrepo.kernel.api.FedoraTypes.LDP_DIRECT_CONTAINER;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Optional;
+
+import org.fcrepo.kernel.api.observer.FedoraEvent;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.google.common.eventbus.EventBus;
+
+/**
+ * @author agent
+ * @since Oct 19, 2026
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RepresentationCacheTest {
+
+    private static final byte[] BYTES = "<> a <info:test> .".getBytes();
+
+    private final EventBus eventBus = new EventBus();
+
+    private RepresentationCache testObj;
+
+    @Mock
+    private FedoraEvent mockEvent;
+
+    @Before
+    public void setUp() {
+        testObj = new RepresentationCache();
+        setField(testObj, "maxBytes", 1024 * 1024L);
+        setField(testObj, "maxEntryBytes", 1024);
+        setField(testObj, "eventBus", Optional.of(eventBus));
+        testObj.start();
+    }
+
+    @After
+    public void tearDown() {
+        testObj.stop();
+    }
+
+    private static RepresentationCache.Key key(final String path) {
+        return new RepresentationCache.Key(path, "etag", "variant", "text/turtle");
+    }
+
+    private void store(final String path, final boolean membership) {
+        testObj.put(key(path), BYTES, BYTES.length, testObj.generation(), membership);
+    }
+
+    private boolean cached(final String path) throws IOException {
+        return testObj.writeTo(key(path), new ByteArrayOutputStream());
+    }
+
+    @Test
+    public void testHit() throws IOException {
+        store("/a", false);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertTrue(testObj.writeTo(key("/a"), out));
+        assertArrayEquals(BYTES, out.toByteArray());
+        assertFalse(testObj.writeTo(key("/a").withMediaType("application/ld+json"), out));
+        assertFalse(testObj.writeTo(new RepresentationCache.Key("/a", "other", "variant", "text/turtle"), out));
+    }
+
+    @Test
+    public void testDisabledWithoutSize() throws IOException {
+        final RepresentationCache disabled = new RepresentationCache();
+        setField(disabled, "eventBus", Optional.of(eventBus));
+        disabled.start();
+        assertFalse(disabled.isEnabled());
+        disabled.put(key("/a"), BYTES, BYTES.length, disabled.generation(), false);
+        assertFalse(disabled.writeTo(key("/a"), new ByteArrayOutputStream()));
+    }
+
+    @Test
+    public void testDisabledWithoutEventBus() {
+        final RepresentationCache disabled = new RepresentationCache();
+        setField(disabled, "maxBytes", 1024L);
+        setField(disabled, "eventBus", Optional.empty());
+        disabled.start();
+        assertFalse(disabled.isEnabled());
+    }
+
+    @Test
+    public void testTooLarge() throws IOException {
+        final byte[] large = new byte[2048];
+        testObj.put(key("/a"), large, large.length, testObj.generation(), false);
+        assertFalse(cached("/a"));
+    }
+
+    @Test
+    public void testEventInvalidatesResourceParentAndChildren() throws IOException {
+        store("/a", false);
+        store("/a/b", false);
+        store("/a/b/c", false);
+        store("/a/d", false);
+        store("/e", false);
+
+        when(mockEvent.getPath()).thenReturn("/a/b#hash");
+        when(mockEvent.getResourceTypes()).thenReturn(singleton(FEDORA_CONTAINER));
+        eventBus.post(mockEvent);
+
+        assertFalse("Parent should have been invalidated", cached("/a"));
+        assertFalse("Resource should have been invalidated", cached("/a/b"));
+        assertFalse("Child should have been invalidated", cached("/a/b/c"));
+        assertTrue("Sibling should still be cached", cached("/a/d"));
+        assertTrue("Unrelated resource should still be cached", cached("/e"));
+    }
+
+    @Test
+    public void testMembershipContainerEvent() throws IOException {
+        store("/members", true);
+        store("/other", false);
+
+        when(mockEvent.getPath()).thenReturn("/container");
+        when(mockEvent.getResourceTypes()).thenReturn(singleton(LDP_DIRECT_CONTAINER));
+        eventBus.post(mockEvent);
+
+        assertFalse("Membership resource should have been invalidated", cached("/members"));
+        assertTrue(cached("/other"));
+    }
+
+    @Test
+    public void testStoredAgainAfterInvalidationIsInvalidated() throws IOException {
+        store("/a", false);
+        testObj.invalidate("/a", false);
+        store("/a", false);
+        assertTrue(cached("/a"));
+
+        testObj.invalidate("/a", false);
+        assertFalse("A representation stored again must stay indexed", cached("/a"));
+    }
+
+    @Test
+    public void testInvalidateAll() throws IOException {
+        store("/a", false);
+        store("/b/c", true);
+        testObj.invalidateAll();
+        assertFalse(cached("/a"));
+        assertFalse(cached("/b/c"));
+    }
+
+    @Test
+    public void testStaleGenerationNotStored() throws IOException {
+        final long generation = testObj.generation();
+        testObj.invalidate("/x", false);
+        testObj.put(key("/a"), BYTES, BYTES.length, generation, false);
+        assertFalse(cached("/a"));
+        assertEquals(0, testObj.size());
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.http.api.journal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonMap;
+import static org.fcrepo.kernel.api.RdfLexicon.REPOSITORY_NAMESPACE;
+import static org.fcrepo.kernel.api.observer.EventType.RESOURCE_CREATION;
+import static org.fcrepo.kernel.api.observer.OptionalValues.BASE_URL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import org.fcrepo.kernel.modeshape.observer.FedoraEventImpl;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class EventJournalTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+
+    @Before
+    public void setUp() {
+        directory = folder.getRoot().toPath();
+    }
+
+    private EventJournal journal(final int segmentBytes, final long maxBytes) throws IOException {
+        final EventJournal journal = new EventJournal();
+        setField(journal, "segmentBytes", segmentBytes);
+        setField(journal, "maxBytes", maxBytes);
+        setField(journal, "maxAgeHours", 0L);
+        journal.open(directory);
+        return journal;
+    }
+
+    private static byte[] event(final long i) {
+        return ("{\"id\":\"event" + i + "\"}").getBytes(UTF_8);
+    }
+
+    @Test
+    public void testAppendAndRead() throws IOException {
+        final EventJournal journal = journal(4096, 0);
+        assertTrue(journal.isEnabled());
+        assertEquals(0, journal.lastSequence());
+        for (long i = 1; i <= 5; i++) {
+            assertEquals(i, journal.append("/event" + i, event(i)));
+        }
+        final List<EventJournal.Entry> entries = journal.read(2, 3);
+        assertEquals(3, entries.size());
+        assertEquals(2, entries.get(0).sequence);
+        assertEquals("/event4", entries.get(2).path);
+        assertEquals("{\"id\":\"event4\"}", new String(entries.get(2).body, UTF_8));
+        assertTrue(journal.read(6, 10).isEmpty());
+    }
+
+    @Test
+    public void testReadAcrossSegments() throws IOException {
+        final EventJournal journal = journal(256, 0);
+        for (long i = 1; i <= 3000; i++) {
+            journal.append("/event" + i, event(i));
+        }
+        assertTrue(Files.list(directory).count() > 1);
+        final List<EventJournal.Entry> entries = journal.read(1000, 2000);
+        assertEquals(2000, entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(1000 + i, entries.get(i).sequence);
+            assertEquals("{\"id\":\"event" + (1000 + i) + "\"}", new String(entries.get(i).body, UTF_8));
+        }
+    }
+
+    @Test
+    public void testReopen() throws IOException {
+        final EventJournal journal = journal(256, 0);
+        for (long i = 1; i <= 100; i++) {
+            journal.append("/event" + i, event(i));
+        }
+        final EventJournal reopened = journal(256, 0);
+        assertEquals(100, reopened.lastSequence());
+        assertEquals(101, reopened.append("/event101", event(101)));
+        assertEquals(101, reopened.read(1, 200).size());
+    }
+
+    @Test
+    public void testRetentionBySize() throws IOException {
+        final EventJournal journal = journal(256, 1024);
+        for (long i = 1; i <= 1000; i++) {
+            journal.append("/event" + i, event(i));
+        }
+        assertTrue(journal.firstSequence() > 1);
+        assertTrue(Files.list(directory).count() <= 4);
+        final List<EventJournal.Entry> entries = journal.read(1, 10);
+        assertEquals(journal.firstSequence(), entries.get(0).sequence);
+        assertEquals(1000, journal.read(journal.firstSequence(), 1000).stream()
+                .mapToLong(e -> e.sequence).max().getAsLong());
+    }
+
+    @Test
+    public void testOversizedEvent() throws IOException {
+        final EventJournal journal = journal(64, 0);
+        final byte[] large = new byte[1000];
+        journal.append("/event1", event(1));
+        journal.append("/large", large);
+        journal.append("/event3", event(3));
+        assertEquals(1000, journal.read(2, 1).get(0).body.length);
+        assertEquals(3, journal.read(3, 1).get(0).sequence);
+    }
+
+    @Test
+    public void testSequenceAt() throws IOException {
+        final EventJournal journal = journal(256, 0);
+        assertEquals(1, journal.sequenceAt(Instant.EPOCH));
+        for (long i = 1; i <= 100; i++) {
+            journal.append("/event" + i, event(i));
+        }
+        assertEquals(1, journal.sequenceAt(Instant.EPOCH));
+        assertEquals(101, journal.sequenceAt(Instant.now().plusSeconds(60)));
+        final EventJournal.Entry entry = journal.read(50, 1).get(0);
+        final long found = journal.sequenceAt(Instant.ofEpochMilli(entry.timestamp));
+        assertTrue(found <= 50);
+        assertEquals(entry.timestamp, journal.read(found, 1).get(0).timestamp);
+    }
+
+    @Test
+    public void testOnEvent() throws IOException {
+        final EventJournal journal = journal(4096, 0);
+        journal.onEvent(new FedoraEventImpl(RESOURCE_CREATION, "/foo", singleton(REPOSITORY_NAMESPACE + "Container"),
+                "fedoraAdmin", URI.create("info:fedora/local-user#fedoraAdmin"), Instant.now(),
+                singletonMap(BASE_URL, "http://localhost:8080/rest")));
+        final EventJournal.Entry entry = journal.read(1, 1).get(0);
+        assertEquals("/foo", entry.path);
+        assertTrue(new String(entry.body, UTF_8).contains("http://localhost:8080/rest/foo"));
+    }
+
+    @Test
+    public void testDisabled() {
+        assertFalse(new EventJournal().isEnabled());
+    }
+}
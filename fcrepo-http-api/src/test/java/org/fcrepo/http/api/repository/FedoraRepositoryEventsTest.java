@@ -0,0 +1,154 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.http.api.repository;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static javax.ws.rs.core.HttpHeaders.LINK;
+import static javax.ws.rs.core.Response.Status.GONE;
+import static org.fcrepo.http.commons.test.util.TestHelpers.getUriInfoImpl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.util.ReflectionTestUtils.setField;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Optional;
+
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.fcrepo.http.api.journal.EventJournal;
+import org.fcrepo.http.commons.session.HttpSession;
+import org.fcrepo.kernel.modeshape.FedoraSessionImpl;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.eventbus.EventBus;
+
+/**
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class FedoraRepositoryEventsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FedoraRepositoryEvents events;
+
+    private EventJournal journal;
+
+    private Session mockSession;
+
+    @Before
+    public void setUp() throws RepositoryException {
+        mockSession = mock(Session.class);
+        when(mockSession.hasPermission(anyString(), eq("read"))).thenReturn(true);
+        journal = new EventJournal();
+        setField(journal, "segmentBytes", 4096);
+        events = new FedoraRepositoryEvents();
+        setField(events, "journal", journal);
+        setField(events, "uriInfo", getUriInfoImpl());
+        setField(events, "session", new HttpSession(new FedoraSessionImpl(mockSession)));
+    }
+
+    private void append(final int count) throws IOException {
+        setField(journal, "directory", folder.getRoot().getPath());
+        setField(journal, "eventBus", Optional.of(new EventBus()));
+        journal.start();
+        for (int i = 1; i <= count; i++) {
+            journal.append("/" + (i % 2 == 0 ? "even" : "odd") + "#" + i, ("{\"id\":" + i + "}").getBytes(UTF_8));
+        }
+    }
+
+    private static String body(final Response response) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(out);
+        return out.toString("UTF-8");
+    }
+
+    @Test(expected = NotFoundException.class)
+    public void testDisabled() {
+        events.getEvents(null, null, 10);
+    }
+
+    @Test
+    public void testGetEvents() throws IOException {
+        append(5);
+        final Response response = events.getEvents(2L, null, 2);
+        assertEquals("[{\"id\":2},{\"id\":3}]", body(response));
+        assertTrue(response.getHeaderString(LINK).contains("from=4"));
+        assertTrue(response.getHeaderString(LINK).contains("rel=\"next\""));
+    }
+
+    @Test
+    public void testGetEventsFromStart() throws IOException {
+        append(3);
+        assertEquals("[{\"id\":1},{\"id\":2},{\"id\":3}]", body(events.getEvents(null, null, 10)));
+        assertEquals("[]", body(events.getEvents(4L, null, 10)));
+    }
+
+    @Test
+    public void testGetEventsSince() throws IOException {
+        append(3);
+        assertEquals("[{\"id\":1},{\"id\":2},{\"id\":3}]", body(events.getEvents(null, "1970-01-01T00:00:00Z", 10)));
+        assertEquals("[]", body(events.getEvents(null, Instant.now().plusSeconds(60).toString(), 10)));
+    }
+
+    @Test
+    public void testGetReadableEvents() throws IOException, RepositoryException {
+        append(5);
+        when(mockSession.hasPermission("/even", "read")).thenReturn(false);
+        final Response response = events.getEvents(1L, null, 4);
+        assertEquals("[{\"id\":1},{\"id\":3}]", body(response));
+        assertTrue(response.getHeaderString(LINK).contains("from=5"));
+        verify(mockSession, times(1)).hasPermission("/even", "read");
+        verify(mockSession, times(1)).hasPermission("/odd", "read");
+    }
+
+    @Test
+    public void testGetPurgedEvents() throws IOException {
+        append(3);
+        assertEquals(GONE.getStatusCode(), events.getEvents(0L, null, 10).getStatus());
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void testBadLimit() throws IOException {
+        append(1);
+        events.getEvents(null, null, 0);
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void testBadSince() throws IOException {
+        append(1);
+        events.getEvents(null, "yesterday", 10);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.integration.http.api;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Base64.getEncoder;
+import static javax.ws.rs.core.HttpHeaders.CONTENT_TYPE;
+import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
+import static javax.ws.rs.core.Response.Status.CONFLICT;
+import static javax.ws.rs.core.Response.Status.CREATED;
+import static javax.ws.rs.core.Response.Status.NOT_FOUND;
+import static javax.ws.rs.core.Response.Status.NO_CONTENT;
+import static javax.ws.rs.core.Response.Status.OK;
+import static org.fcrepo.http.api.FedoraBulkIngest.NDJSON;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.util.EntityUtils;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Splitter;
+
+/**
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class FedoraBulkIngestIT extends AbstractResourceIT {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void testIngest() throws IOException {
+        final String id = getRandomUniqueId();
+        createObjectAndClose(id);
+
+        final List<JsonNode> outcomes = ingest(id, 2,
+                "{\"path\":\"a\",\"body\":\"<> <http://purl.org/dc/elements/1.1/title> \\\"a\\\" .\"}",
+                "{\"path\":\"a/b\",\"contentType\":\"application/n-triples\",\"body\":\"\"}",
+                "",
+                "{\"path\":\"a/c\",\"contentType\":\"text/plain\",\"base64\":\""
+                        + getEncoder().encodeToString("some content".getBytes(UTF_8)) + "\"}");
+        assertEquals(3, outcomes.size());
+        assertEquals(1, outcomes.get(0).get("line").asInt());
+        assertEquals(4, outcomes.get(2).get("line").asInt());
+        for (final JsonNode outcome : outcomes) {
+            assertEquals(outcome.toString(), CREATED.getStatusCode(), outcome.get("status").asInt());
+        }
+        assertEquals(serverAddress + id + "/a/c", outcomes.get(2).get("location").asText());
+
+        assertEquals(OK.getStatusCode(), getStatus(getObjMethod(id + "/a/b")));
+        try (final CloseableHttpResponse response = execute(getObjMethod(id + "/a/c"))) {
+            assertEquals(OK.getStatusCode(), getStatus(response));
+            assertEquals("some content", EntityUtils.toString(response.getEntity()));
+        }
+
+        // a second ingest replaces what is there
+        final List<JsonNode> replaced = ingest(id, 100, "{\"path\":\"a/c\",\"contentType\":\"text/plain\","
+                + "\"base64\":\"" + getEncoder().encodeToString("other content".getBytes(UTF_8)) + "\"}");
+        assertEquals(NO_CONTENT.getStatusCode(), replaced.get(0).get("status").asInt());
+        try (final CloseableHttpResponse response = execute(getObjMethod(id + "/a/c"))) {
+            assertEquals("other content", EntityUtils.toString(response.getEntity()));
+        }
+    }
+
+    @Test
+    public void testIngestWithFailures() throws IOException {
+        final String id = getRandomUniqueId();
+        createObjectAndClose(id);
+
+        final List<JsonNode> outcomes = ingest(id, 10,
+                "{\"path\":\"good-1\",\"body\":\"\"}",
+                "{\"path\":\"bad\",\"body\":\"this is not turtle\"}",
+                "{\"path\":\"../escape\",\"body\":\"\"}",
+                "not json",
+                "{\"path\":\"good-2\",\"contentType\":\"text/plain\",\"base64\":\"Zm9v\",\"digest\":\"sha1=nope\"}",
+                "{\"path\":\"good-3\",\"body\":\"\"}");
+        assertEquals(6, outcomes.size());
+        assertEquals(CREATED.getStatusCode(), outcomes.get(0).get("status").asInt());
+        assertEquals(BAD_REQUEST.getStatusCode(), outcomes.get(1).get("status").asInt());
+        assertEquals(BAD_REQUEST.getStatusCode(), outcomes.get(2).get("status").asInt());
+        assertEquals(BAD_REQUEST.getStatusCode(), outcomes.get(3).get("status").asInt());
+        assertEquals(CONFLICT.getStatusCode(), outcomes.get(4).get("status").asInt());
+        assertTrue(outcomes.get(4).has("error"));
+        assertEquals(CREATED.getStatusCode(), outcomes.get(5).get("status").asInt());
+
+        // failed items leave nothing behind, the rest of their chunk is saved
+        assertEquals(OK.getStatusCode(), getStatus(getObjMethod(id + "/good-1")));
+        assertEquals(NOT_FOUND.getStatusCode(), getStatus(getObjMethod(id + "/bad")));
+        assertEquals(NOT_FOUND.getStatusCode(), getStatus(getObjMethod(id + "/good-2")));
+        assertEquals(OK.getStatusCode(), getStatus(getObjMethod(id + "/good-3")));
+    }
+
+    @Test
+    public void testIngestLargeBinary() throws IOException {
+        final String id = getRandomUniqueId();
+        createObjectAndClose(id);
+        final byte[] content = new byte[4 * 1024 * 1024];
+        new Random(42).nextBytes(content);
+
+        // the content may come before the path
+        final List<JsonNode> outcomes = ingest(id, 100, "{\"base64\":\"" + getEncoder().encodeToString(content)
+                + "\",\"contentType\":\"application/octet-stream\",\"path\":\"large\"}",
+                "{\"path\":\"after\",\"body\":\"\"}");
+        assertEquals(2, outcomes.size());
+        assertEquals(CREATED.getStatusCode(), outcomes.get(0).get("status").asInt());
+        assertEquals(CREATED.getStatusCode(), outcomes.get(1).get("status").asInt());
+        try (final CloseableHttpResponse response = execute(getObjMethod(id + "/large"))) {
+            assertArrayEquals(content, EntityUtils.toByteArray(response.getEntity()));
+        }
+    }
+
+    @Test
+    public void testIngestUnderBinary() throws IOException {
+        final String id = getRandomUniqueId();
+        createObjectAndClose(id);
+        createDatastream(id, "binary", "content");
+
+        final HttpPost post = new HttpPost(serverAddress + id + "/binary/fcr:ingest");
+        post.setHeader(CONTENT_TYPE, NDJSON);
+        post.setEntity(new StringEntity("{\"path\":\"a\",\"body\":\"\"}"));
+        assertEquals(CONFLICT.getStatusCode(), getStatus(post));
+    }
+
+    private static List<JsonNode> ingest(final String id, final int chunkSize, final String... lines)
+            throws IOException {
+        final HttpPost post = new HttpPost(serverAddress + id + "/fcr:ingest?chunkSize=" + chunkSize);
+        post.setHeader(CONTENT_TYPE, NDJSON);
+        post.setEntity(new StringEntity(String.join("\n", lines), UTF_8));
+        try (final CloseableHttpResponse response = execute(post)) {
+            assertEquals(OK.getStatusCode(), getStatus(response));
+            final List<JsonNode> outcomes = new ArrayList<>();
+            for (final String line : Splitter.on('\n').omitEmptyStrings()
+                    .split(EntityUtils.toString(response.getEntity()))) {
+                outcomes.add(mapper.readTree(line));
+            }
+            return outcomes;
+        }
+    }
+}
@@ -3581,6 +3581,23 @@ public class FedoraLdpIT extends AbstractResourceIT {
         }
     }
 
+    @Test
+    public void testDigestFollowsContentChange() throws IOException {
+        final String id = getRandomUniqueId();
+        executeAndClose(putDSMethod(id, "binary1", "some test content"));
+
+        final HttpHead headObjMethod = headObjMethod(id + "/binary1");
+        headObjMethod.addHeader(WANT_DIGEST, "md5");
+        try (final CloseableHttpResponse response = execute(headObjMethod)) {
+            assertEquals("md5=d9e367e2fffda3d65d669dc4f3f7780b", response.getFirstHeader(DIGEST).getValue());
+        }
+
+        executeAndClose(putDSMethod(id, "binary1", "some other content"));
+        try (final CloseableHttpResponse response = execute(headObjMethod)) {
+            assertEquals("md5=ebac9b1aaf9dfae91414d65082d8b91b", response.getFirstHeader(DIGEST).getValue());
+        }
+    }
+
     @Test
     public void testDigestAbsence() throws IOException {
         final String id = getRandomUniqueId();
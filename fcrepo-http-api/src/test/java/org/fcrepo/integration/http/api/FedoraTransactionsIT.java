@@ -33,10 +33,14 @@ import static javax.ws.rs.core.Response.Status.GONE;
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 import static javax.ws.rs.core.Response.Status.NO_CONTENT;
 import static javax.ws.rs.core.Response.Status.OK;
+import static javax.ws.rs.core.Response.Status.REQUEST_ENTITY_TOO_LARGE;
+import static org.apache.commons.lang3.StringUtils.repeat;
+import static org.apache.http.entity.ContentType.TEXT_PLAIN;
 import static org.apache.http.util.EntityUtils.consume;
 import static org.apache.jena.vocabulary.DC.title;
 import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.DEFAULT_TIMEOUT;
 import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.TIMEOUT_SYSTEM_PROPERTY;
+import static org.fcrepo.kernel.modeshape.services.BatchServiceImpl.MAX_PENDING_BYTES;
 import static org.fcrepo.kernel.modeshape.services.BatchServiceImpl.REAP_INTERVAL;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -62,6 +66,7 @@ import org.junit.Test;
  * <p>FedoraTransactionsIT class.</p>
  *
  * @author awoods
+ * @author agent
  */
 public class FedoraTransactionsIT extends AbstractResourceIT {
 
@@ -135,6 +140,26 @@ public class FedoraTransactionsIT extends AbstractResourceIT {
         assertEquals(NO_CONTENT.getStatusCode(), getStatus(new HttpPost(txLocation + "/fcr:tx/fcr:rollback")));
     }
 
+    @Test
+    public void testTransactionTooLarge() throws IOException {
+        System.setProperty(MAX_PENDING_BYTES, "1000");
+        try {
+            final String txLocation = createTransaction();
+            int status = CREATED.getStatusCode();
+            for (int i = 0; i < 20 && status == CREATED.getStatusCode(); i++) {
+                final HttpPost post = new HttpPost(txLocation);
+                post.setEntity(new StringEntity(repeat("x", 300), TEXT_PLAIN));
+                status = getStatus(post);
+            }
+            assertEquals("Expected the transaction to grow too large", REQUEST_ENTITY_TOO_LARGE.getStatusCode(),
+                    status);
+            assertEquals("Expected the transaction to be rolled back", GONE.getStatusCode(),
+                    getStatus(new HttpGet(txLocation)));
+        } finally {
+            System.clearProperty(MAX_PENDING_BYTES);
+        }
+    }
+
     @Test
     public void testTransactionKeepAlive() throws IOException {
         /* create a tx */
@@ -28,6 +28,7 @@ import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.getJcrSession;
 import static org.fcrepo.kernel.modeshape.identifiers.NodeResourceConverter.nodeConverter;
 import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.getClosestExistingAncestor;
 import static org.fcrepo.kernel.modeshape.utils.NamespaceTools.validatePath;
+import static org.fcrepo.kernel.modeshape.utils.VersionIndex.getVersions;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.springframework.web.context.ContextLoader.getCurrentWebApplicationContext;
 
@@ -37,6 +38,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import javax.jcr.ItemNotFoundException;
 import javax.jcr.Node;
@@ -59,12 +62,15 @@ import org.fcrepo.kernel.api.models.FedoraResource;
 import org.fcrepo.kernel.modeshape.TombstoneImpl;
 import org.fcrepo.kernel.modeshape.identifiers.HashConverter;
 import org.fcrepo.kernel.modeshape.identifiers.NamespaceConverter;
+import org.fcrepo.kernel.modeshape.utils.VersionIndex;
 
 import org.glassfish.jersey.uri.UriTemplate;
 import org.slf4j.Logger;
 import org.springframework.context.ApplicationContext;
 
 import com.google.common.base.Converter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import org.apache.jena.rdf.model.Resource;
 
@@ -73,12 +79,24 @@ import org.apache.jena.rdf.model.Resource;
  * URI translation.
  *
  * @author cabeer
+ * @author agent
  * @since 10/5/14
  */
 public class HttpResourceConverter extends IdentifierConverter<Resource,FedoraResource> {
 
     private static final Logger LOGGER = getLogger(HttpResourceConverter.class);
 
+    /**
+     * Matches templates of the form "http://host/context/{path: .*}", where everything before the
+     * path variable is a literal prefix and no further template variables follow.
+     */
+    private static final Pattern PREFIX_TEMPLATE = Pattern.compile("^([^{}]*)\\{\\s*path\\s*:\\s*\\.\\*\\s*}$");
+
+    /**
+     * The maximum number of translations remembered in each direction by a single converter
+     */
+    static final int TRANSLATION_CACHE_SIZE = 1024;
+
     protected List<Converter<String, String>> translationChain;
 
     private final FedoraSession session;
@@ -90,6 +108,25 @@ public class HttpResourceConverter extends IdentifierConverter<Resource,FedoraRe
     private final UriTemplate uriTemplate;
     private final boolean batch;
 
+    /**
+     * The literal part of the template before the path variable, or null if the template must be
+     * matched with the regular expression.
+     */
+    private final String uriPrefix;
+
+    /**
+     * The URI of the repository root without a trailing slash, or null if there is none
+     */
+    private final String rootUri;
+
+    private final UriBuilder templateBuilder;
+
+    private final Cache<String, String> pathCache =
+            CacheBuilder.newBuilder().concurrencyLevel(1).maximumSize(TRANSLATION_CACHE_SIZE).build();
+
+    private final Cache<String, Resource> uriCache =
+            CacheBuilder.newBuilder().concurrencyLevel(1).maximumSize(TRANSLATION_CACHE_SIZE).build();
+
     /**
      * Create a new identifier converter within the given session with the given URI template
      * @param session the session
@@ -101,26 +138,36 @@ public class HttpResourceConverter extends IdentifierConverter<Resource,FedoraRe
         this.session = session.getFedoraSession();
         this.uriBuilder = uriBuilder;
         this.batch = session.isBatchSession();
-        this.uriTemplate = new UriTemplate(uriBuilder.toTemplate());
+        final String template = uriBuilder.toTemplate();
+        this.uriTemplate = new UriTemplate(template);
+        this.templateBuilder = UriBuilder.fromUri(template);
+
+        final Matcher matcher = PREFIX_TEMPLATE.matcher(template);
+        if (matcher.matches()) {
+            this.uriPrefix = matcher.group(1);
+            this.rootUri = uriPrefix.endsWith("/") ? uriPrefix.substring(0, uriPrefix.length() - 1) : null;
+        } else {
+            this.uriPrefix = null;
+            this.rootUri = null;
+        }
 
         resetTranslationChain();
     }
 
     private UriBuilder uriBuilder() {
-        return UriBuilder.fromUri(uriBuilder.toTemplate());
+        return templateBuilder.clone();
     }
 
     @Override
     protected FedoraResource doForward(final Resource resource) {
-        final Map<String, String> values = new HashMap<>();
-        final String path = asString(resource, values);
+        final String path = asString(resource);
         final Session jcrSession = getJcrSession(session);
         try {
             if (path != null) {
                 final Node node = getNode(path);
 
-                final boolean metadata = values.containsKey("path")
-                        && values.get("path").endsWith("/" + FCR_METADATA);
+                final String templatePath = matchPath(resource.getURI());
+                final boolean metadata = templatePath != null && templatePath.endsWith("/" + FCR_METADATA);
 
                 final FedoraResource fedoraResource = nodeConverter.convert(node);
 
@@ -155,14 +202,24 @@ public class HttpResourceConverter extends IdentifierConverter<Resource,FedoraRe
 
     @Override
     public boolean inDomain(final Resource resource) {
-        final Map<String, String> values = new HashMap<>();
-
-        return uriTemplate.match(resource.getURI(), values) && values.containsKey("path") ||
-            isRootWithoutTrailingSlash(resource);
+        return matchPath(resource.getURI()) != null || isRootWithoutTrailingSlash(resource);
     }
 
     @Override
     public Resource toDomain(final String path) {
+        if (path == null) {
+            return buildResource(null);
+        }
+        final Resource cached = uriCache.getIfPresent(path);
+        if (cached != null) {
+            return cached;
+        }
+        final Resource result = buildResource(path);
+        uriCache.put(path, result);
+        return result;
+    }
+
+    private Resource buildResource(final String path) {
 
         final String realPath;
         if (path == null) {
@@ -190,21 +247,48 @@ public class HttpResourceConverter extends IdentifierConverter<Resource,FedoraRe
 
     @Override
     public String asString(final Resource resource) {
-        final Map<String, String> values = new HashMap<>();
+        final String uri = resource.getURI();
+        if (uri == null) {
+            return null;
+        }
+        final String cached = pathCache.getIfPresent(uri);
+        if (cached != null) {
+            return cached;
+        }
+        final String path = asString(uri);
+        if (path != null) {
+            pathCache.put(uri, path);
+        }
+        return path;
+    }
 
-        return asString(resource, values);
+    /**
+     * Extract the value of the template's path variable from a URI, without any further translation.
+     *
+     * @param uri the URI to match
+     * @return the raw path, or null if the URI is not in the domain of the template
+     */
+    private String matchPath(final String uri) {
+        if (uri == null) {
+            return null;
+        }
+        if (uriPrefix != null) {
+            return uri.startsWith(uriPrefix) ? uri.substring(uriPrefix.length()) : null;
+        }
+        final Map<String, String> values = new HashMap<>();
+        return uriTemplate.match(uri, values) ? values.get("path") : null;
     }
 
     /**
-     * Convert the incoming Resource to a JCR path (but don't attempt to load the node).
+     * Convert the incoming URI to a JCR path (but don't attempt to load the node).
      *
-     * @param resource Jena Resource to convert
-     * @param values a map that will receive the matching URI template variables for future use.
-     * @return
+     * @param uri the URI to convert
+     * @return the JCR path, or null if the URI is not in the domain of the template
      */
-    private String asString(final Resource resource, final Map<String, String> values) {
-        if (uriTemplate.match(resource.getURI(), values) && values.containsKey("path")) {
-            String path = "/" + values.get("path");
+    private String asString(final String uri) {
+        final String templatePath = matchPath(uri);
+        if (templatePath != null) {
+            String path = "/" + templatePath;
 
             final boolean metadata = path.endsWith("/" + FCR_METADATA);
 
@@ -235,7 +319,7 @@ public class HttpResourceConverter extends IdentifierConverter<Resource,FedoraRe
             return path;
         }
 
-        if (isRootWithoutTrailingSlash(resource)) {
+        if (isRootWithoutTrailingSlash(uri)) {
             return "/";
         }
 
@@ -297,9 +381,10 @@ public class HttpResourceConverter extends IdentifierConverter<Resource,FedoraRe
              */
             final VersionHistory hist =
                     getJcrSession(session).getWorkspace().getVersionManager().getVersionHistory(baseResourcePath);
-            if (hist.hasVersionLabel(label)) {
+            final VersionIndex.Entry version = getVersions(hist).byLabel(label);
+            if (version != null) {
                 LOGGER.debug("Found version for {} by label {}.", baseResourcePath, label);
-                return hist.getVersionByLabel(label).getFrozenNode();
+                return getJcrSession(session).getNodeByIdentifier(version.frozenNodeId);
             }
             LOGGER.warn("Unknown version {} with label or uuid {}!", baseResourcePath, label);
             throw new PathNotFoundException("Unknown version " + baseResourcePath
@@ -465,9 +550,17 @@ public class HttpResourceConverter extends IdentifierConverter<Resource,FedoraRe
     }
 
     private boolean isRootWithoutTrailingSlash(final Resource resource) {
-        final Map<String, String> values = new HashMap<>();
+        return isRootWithoutTrailingSlash(resource.getURI());
+    }
 
-        return uriTemplate.match(resource.getURI() + "/", values) && values.containsKey("path") &&
-            values.get("path").isEmpty();
+    private boolean isRootWithoutTrailingSlash(final String uri) {
+        if (uri == null) {
+            return false;
+        }
+        if (uriPrefix != null) {
+            return uri.equals(rootUri);
+        }
+        final String path = matchPath(uri + "/");
+        return path != null && path.isEmpty();
     }
 }
@@ -0,0 +1,53 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.http.commons.exceptionhandlers;
+
+import static javax.ws.rs.core.Response.status;
+import static javax.ws.rs.core.Response.Status.REQUEST_ENTITY_TOO_LARGE;
+import static org.fcrepo.http.commons.domain.RDFMediaType.TEXT_PLAIN_WITH_CHARSET;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.Provider;
+
+import org.fcrepo.kernel.api.exception.TransactionTooLargeException;
+
+import org.slf4j.Logger;
+
+/**
+ * If a transaction has been rolled back for holding too many uncommitted changes,
+ * return an HTTP 413 Request Entity Too Large.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+@Provider
+public class TransactionTooLargeExceptionMapper implements
+        ExceptionMapper<TransactionTooLargeException>, ExceptionDebugLogging {
+
+    private static final Logger LOGGER =
+            getLogger(TransactionTooLargeExceptionMapper.class);
+
+    @Override
+    public Response toResponse(final TransactionTooLargeException e) {
+        LOGGER.warn(e.getMessage());
+        debugException(this, e, LOGGER);
+        return status(REQUEST_ENTITY_TOO_LARGE).entity(e.getMessage()).type(TEXT_PLAIN_WITH_CHARSET).build();
+    }
+}
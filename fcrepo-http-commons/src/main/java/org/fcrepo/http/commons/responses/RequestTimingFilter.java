@@ -0,0 +1,184 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.http.commons.responses;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.fcrepo.metrics.RequestTimings.SERIALIZATION;
+import static org.fcrepo.metrics.RequestTimings.begin;
+import static org.fcrepo.metrics.RequestTimings.current;
+import static org.fcrepo.metrics.RequestTimings.end;
+import static org.fcrepo.metrics.RequestTimings.record;
+import static org.glassfish.jersey.server.monitoring.RequestEvent.Type.FINISHED;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.PreMatching;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.fcrepo.metrics.RequestTimings;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.slf4j.Logger;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Times each request as a set of {@link RequestTimings} phases, from the moment Jersey receives it until its
+ * entity has been written. Optionally reports the phases in a Server-Timing response header and logs the
+ * breakdown of slow requests. The header is sent before the entity, so it cannot include the serialization of the
+ * entity or the triples generated while serializing. Requests are only timed when the header, the slow request log
+ * or {@link RequestTimings#PHASES} is enabled. A request ends once its entity is written, or else when Jersey has
+ * finished with it, so that requests which fail, are aborted or have their entity left unwritten are recorded too.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+@Provider
+@PreMatching
+@Priority(Priorities.AUTHENTICATION)
+public class RequestTimingFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor,
+        ApplicationEventListener {
+
+    private static final Logger LOGGER = getLogger(RequestTimingFilter.class);
+
+    /**
+     * System property which, set to true, adds a Server-Timing header to every response
+     */
+    public static final String SERVER_TIMING = "fcrepo.timing.header";
+
+    /**
+     * System property with the duration in milliseconds above which the phases of a request are logged; 0, the
+     * default, logs no request
+     */
+    public static final String SLOW_REQUEST_MILLIS = "fcrepo.timing.slowMillis";
+
+    /**
+     * System property with the fraction of slow requests that are logged, as one in this many
+     */
+    public static final String SLOW_REQUEST_SAMPLE = "fcrepo.timing.slowSample";
+
+    private static final String REQUEST = RequestTimingFilter.class.getName() + ".request";
+
+    private final boolean timing;
+
+    private final boolean serverTiming;
+
+    private final long slowNanos;
+
+    private final int sample;
+
+    private final AtomicLong slowRequests = new AtomicLong();
+
+    /**
+     * Configure the filter from the system properties
+     */
+    public RequestTimingFilter() {
+        this(Boolean.getBoolean(SERVER_TIMING), Integer.getInteger(SLOW_REQUEST_MILLIS, 0),
+                Integer.getInteger(SLOW_REQUEST_SAMPLE, 1));
+    }
+
+    @VisibleForTesting
+    RequestTimingFilter(final boolean serverTiming, final int slowMillis, final int sample) {
+        this.serverTiming = serverTiming;
+        this.slowNanos = slowMillis > 0 ? MILLISECONDS.toNanos(slowMillis) : Long.MAX_VALUE;
+        this.sample = Math.max(sample, 1);
+        this.timing = serverTiming || slowMillis > 0 || RequestTimings.isRecording();
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext request) {
+        if (!timing) {
+            return;
+        }
+        begin();
+        request.setProperty(REQUEST, request);
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext request, final ContainerResponseContext response) {
+        final RequestTimings timings = current();
+        if (timings == null) {
+            return;
+        }
+        if (serverTiming) {
+            final String phases = timings.toServerTiming();
+            response.getHeaders().add("Server-Timing", (phases.isEmpty() ? "" : phases + ", ") + "total;dur=" +
+                    timings.elapsed() / 1000 / 1000.0);
+        }
+        if (!response.hasEntity()) {
+            finish(request);
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(final WriterInterceptorContext context) throws IOException {
+        if (!timing) {
+            context.proceed();
+            return;
+        }
+        final long start = nanoTime();
+        try {
+            context.proceed();
+        } finally {
+            record(SERIALIZATION, start);
+            finish((ContainerRequestContext) context.getProperty(REQUEST));
+        }
+    }
+
+    @Override
+    public void onEvent(final ApplicationEvent event) {
+        // only requests are timed
+    }
+
+    @Override
+    public RequestEventListener onRequest(final RequestEvent event) {
+        if (!timing) {
+            return null;
+        }
+        return requestEvent -> {
+            if (requestEvent.getType() == FINISHED) {
+                finish(requestEvent.getContainerRequest());
+            }
+        };
+    }
+
+    private void finish(final ContainerRequestContext request) {
+        final RequestTimings timings = end();
+        if (timings == null) {
+            return;
+        }
+        final long elapsed = timings.elapsed();
+        if (elapsed >= slowNanos && slowRequests.incrementAndGet() % sample == 0) {
+            LOGGER.warn("Slow request {} {} took {} ms: {}", request == null ? "" : request.getMethod(),
+                    request == null ? "" : request.getUriInfo().getRequestUri(), elapsed / 1000 / 1000.0, timings);
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.fcrepo.kernel.api.FedoraSession;
 /**
  * Provide a batch-aware HTTP session
  * @author acoburn
+ * @author agent
  */
 public class HttpSession {
 
@@ -29,6 +30,8 @@ public class HttpSession {
 
     private final FedoraSession session;
 
+    private Runnable onBatchCommit = null;
+
     /**
      * Create an HTTP session from a Fedora session
      * @param session the Fedora session
@@ -47,12 +50,24 @@ public class HttpSession {
         this.batch = true;
     }
 
+    /**
+     * Make this HTTP Session into a batch operation, which is told of every
+     * request committing changes to it.
+     * @param onCommit run in place of a commit of the batch session
+     */
+    public void makeBatchSession(final Runnable onCommit) {
+        makeBatchSession();
+        this.onBatchCommit = onCommit;
+    }
+
     /**
      * Commit a non-batch session
      */
     public void commit() {
         if (!isBatchSession()) {
             session.commit();
+        } else if (onBatchCommit != null) {
+            onBatchCommit.run();
         }
     }
 
@@ -0,0 +1,64 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.http.commons.session;
+
+import javax.annotation.Priority;
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.PreMatching;
+import javax.ws.rs.ext.Provider;
+
+import org.apache.commons.io.input.CountingInputStream;
+
+/**
+ * Counts the bytes read from the entity of each request, so that the bytes a request writes to a transaction can be
+ * accounted for by the {@link org.fcrepo.kernel.api.services.BatchService}.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+@Provider
+@PreMatching
+@Priority(Priorities.ENTITY_CODER)
+public class RequestBodyCounter implements ContainerRequestFilter {
+
+    private static final String BODY = RequestBodyCounter.class.getName() + ".body";
+
+    @Override
+    public void filter(final ContainerRequestContext request) {
+        if (request.hasEntity()) {
+            final CountingInputStream body = new CountingInputStream(request.getEntityStream());
+            request.setEntityStream(body);
+            request.setProperty(BODY, body);
+        }
+    }
+
+    /**
+     * Get the number of bytes read from the entity of a request since the last call, so that bytes are not counted
+     * twice when a request commits more than once
+     *
+     * @param request the request
+     * @return the number of bytes read, 0 for a request without an entity
+     */
+    public static long takeBytesRead(final HttpServletRequest request) {
+        final Object body = request.getAttribute(BODY);
+        return body instanceof CountingInputStream ? ((CountingInputStream) body).resetByteCount() : 0;
+    }
+}
@@ -18,6 +18,7 @@
 package org.fcrepo.http.commons.session;
 
 import static java.util.Objects.requireNonNull;
+import static org.fcrepo.http.commons.session.RequestBodyCounter.takeBytesRead;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.security.Principal;
@@ -41,6 +42,7 @@ import org.slf4j.Logger;
  * @author awoods
  * @author gregjan
  * @author kaisternad
+ * @author agent
  */
 public class SessionFactory {
 
@@ -156,7 +158,7 @@ public class SessionFactory {
 
         final FedoraSession session = batchService.getSession(txId, userName);
         final HttpSession batchSession = new HttpSession(session);
-        batchSession.makeBatchSession();
+        batchSession.makeBatchSession(() -> batchService.updated(txId, userName, takeBytesRead(servletRequest)));
         LOGGER.debug("Returning a session in the batch {} for user {}", batchSession, userName);
         return batchSession;
     }
@@ -36,14 +36,18 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.util.Calendar;
+
 import javax.jcr.ItemNotFoundException;
 import javax.jcr.Node;
 import javax.jcr.Property;
+import javax.jcr.PropertyIterator;
 import javax.jcr.RepositoryException;
 import javax.jcr.Session;
 import javax.jcr.Workspace;
 import javax.jcr.version.Version;
 import javax.jcr.version.VersionHistory;
+import javax.jcr.version.VersionIterator;
 import javax.jcr.version.VersionManager;
 import javax.ws.rs.core.UriBuilder;
 
@@ -53,12 +57,17 @@ import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.FROZEN_NODE;
 import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.getJcrNode;
 import static org.fcrepo.http.commons.test.util.TestHelpers.setField;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.modeshape.jcr.api.JcrConstants.JCR_CONTENT;
 
 /**
  * @author cabeer
+ * @author agent
  */
 @RunWith(MockitoJUnitRunner.class)
 public class HttpResourceConverterTest {
@@ -226,9 +235,10 @@ public class HttpResourceConverterTest {
     public void testDoForwardWithExplicitVersionedDatastream() throws Exception {
         when(session.getNodeByIdentifier("x")).thenThrow(new ItemNotFoundException());
         when(mockVersionManager.getVersionHistory("/" + path)).thenReturn(mockVersionHistory);
-        when(mockVersionHistory.hasVersionLabel("x")).thenReturn(true);
-        when(mockVersionHistory.getVersionByLabel("x")).thenReturn(mockVersion);
+        mockVersionHistory("testDoForwardWithExplicitVersionedDatastream", "x");
         when(mockVersion.getFrozenNode()).thenReturn(versionedNode);
+        when(versionedNode.getIdentifier()).thenReturn("frozen-x");
+        when(session.getNodeByIdentifier("frozen-x")).thenReturn(versionedNode);
         final FedoraResource converted = converter.convert(versionedResource);
         assertEquals(versionedNode, getJcrNode(converted));
     }
@@ -237,10 +247,31 @@ public class HttpResourceConverterTest {
     public void testDoForwardWithMissingVersionedDatastream() throws Exception {
         when(session.getNodeByIdentifier("x")).thenThrow(new ItemNotFoundException());
         when(mockVersionManager.getVersionHistory("/" + path)).thenReturn(mockVersionHistory);
-        when(mockVersionHistory.hasVersionLabel("x")).thenReturn(false);
+        mockVersionHistory("testDoForwardWithMissingVersionedDatastream");
         converter.convert(versionedResource);
     }
 
+    private void mockVersionHistory(final String identifier, final String... labels) throws RepositoryException {
+        final Version mockRootVersion = mock(Version.class);
+        when(mockRootVersion.getName()).thenReturn("jcr:rootVersion");
+        when(mockVersion.getName()).thenReturn("1.0");
+        when(mockVersion.getIdentifier()).thenReturn("version-1.0");
+        when(mockVersion.getCreated()).thenReturn(Calendar.getInstance());
+        final VersionIterator mockVersions = mock(VersionIterator.class);
+        when(mockVersions.hasNext()).thenReturn(true, true, false);
+        when(mockVersions.nextVersion()).thenReturn(mockRootVersion, mockVersion);
+        when(mockVersionHistory.getIdentifier()).thenReturn(identifier);
+        when(mockVersionHistory.getRootVersion()).thenReturn(mockRootVersion);
+        when(mockVersionHistory.getAllVersions()).thenReturn(mockVersions);
+        when(mockVersionHistory.getVersionLabels()).thenReturn(labels);
+        final Node mockLabelsNode = mock(Node.class);
+        when(mockVersionHistory.getNode("jcr:versionLabels")).thenReturn(mockLabelsNode);
+        when(mockLabelsNode.getProperties()).thenReturn(mock(PropertyIterator.class));
+        for (final String label : labels) {
+            when(mockVersionHistory.getVersionByLabel(label)).thenReturn(mockVersion);
+        }
+    }
+
     @Test
     @Ignore
     public void testDoBackwardWithVersionedNode() throws Exception {
@@ -278,4 +309,37 @@ public class HttpResourceConverterTest {
     public void testToStringWithEmptPathSegment() {
         converter.asString(createResource("http://localhost:8080/some/test/a//b/c/d"));
     }
+
+    @Test
+    public void testOutOfDomain() {
+        final Resource resource = createResource("http://example.org/some/" + path);
+        assertFalse(converter.inDomain(resource));
+        assertNull(converter.asString(resource));
+        assertFalse(converter.inDomain(createResource("http://localhost:8080/som")));
+    }
+
+    @Test
+    public void testToDomainIsCached() {
+        final Resource converted = converter.toDomain("/" + path);
+        assertEquals(resource, converted);
+        assertSame(converted, converter.toDomain("/" + path));
+    }
+
+    @Test
+    public void testAsStringIsCached() {
+        assertEquals("/" + path, converter.asString(resource));
+        assertEquals("/" + path, converter.asString(createResource(resource.getURI())));
+    }
+
+    @Test
+    public void testNonPrefixTemplate() {
+        final HttpResourceConverter converter = new HttpResourceConverter(testHttpSession,
+                UriBuilder.fromUri("http://localhost:8080/some/{path: [a-z/]*}"));
+        assertEquals("/" + path, converter.asString(resource));
+        assertTrue(converter.inDomain(resource));
+        assertTrue(converter.inDomain(createResource("http://localhost:8080/some")));
+        assertEquals("/", converter.asString(createResource("http://localhost:8080/some")));
+        assertFalse(converter.inDomain(createResource("http://localhost:8080/some/ABC")));
+        assertEquals(resource, converter.toDomain("/" + path));
+    }
 }
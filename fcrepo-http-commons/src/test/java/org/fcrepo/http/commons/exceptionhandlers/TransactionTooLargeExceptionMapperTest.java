@@ -0,0 +1,49 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.http.commons.exceptionhandlers;
+
+import static javax.ws.rs.core.Response.Status.REQUEST_ENTITY_TOO_LARGE;
+import static org.junit.Assert.assertEquals;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+
+import org.fcrepo.kernel.api.exception.TransactionTooLargeException;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class TransactionTooLargeExceptionMapperTest {
+
+    private ExceptionMapper<TransactionTooLargeException> testObj;
+
+    @Before
+    public void setUp() {
+        testObj = new TransactionTooLargeExceptionMapper();
+    }
+
+    @Test
+    public void testToResponse() {
+        final Response response = testObj.toResponse(new TransactionTooLargeException("too many changes"));
+        assertEquals(REQUEST_ENTITY_TOO_LARGE.getStatusCode(), response.getStatus());
+        assertEquals("too many changes", response.getEntity());
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.http.commons.responses;
+
+import static java.lang.System.nanoTime;
+import static org.fcrepo.metrics.RequestTimings.COMMIT;
+import static org.fcrepo.metrics.RequestTimings.SERIALIZATION;
+import static org.fcrepo.metrics.RequestTimings.current;
+import static org.fcrepo.metrics.RequestTimings.record;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.glassfish.jersey.server.monitoring.RequestEvent.Type.FINISHED;
+import static org.glassfish.jersey.server.monitoring.RequestEvent.Type.RESOURCE_METHOD_FINISHED;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.fcrepo.metrics.RequestTimings;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/**
+ * RequestTimingFilterTest class.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RequestTimingFilterTest {
+
+    @Mock
+    private ContainerRequestContext mockRequest;
+
+    @Mock
+    private ContainerResponseContext mockResponse;
+
+    @Mock
+    private WriterInterceptorContext mockWriter;
+
+    private final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+
+    @Before
+    public void setUp() {
+        when(mockResponse.getHeaders()).thenReturn(headers);
+    }
+
+    @After
+    public void tearDown() {
+        RequestTimings.end();
+    }
+
+    @Test
+    public void testServerTimingHeader() {
+        final RequestTimingFilter filter = new RequestTimingFilter(true, 0, 1);
+        filter.filter(mockRequest);
+        record(COMMIT, nanoTime());
+        filter.filter(mockRequest, mockResponse);
+
+        final String header = (String) headers.getFirst("Server-Timing");
+        assertTrue(header, header.matches("commit;dur=[0-9.]+, total;dur=[0-9.]+"));
+        assertNull("A request without an entity ends with its response", current());
+    }
+
+    @Test
+    public void testNoServerTimingHeader() {
+        final RequestTimingFilter filter = new RequestTimingFilter(false, 0, 1);
+        filter.filter(mockRequest);
+        filter.filter(mockRequest, mockResponse);
+        assertTrue(headers.isEmpty());
+    }
+
+    @Test
+    public void testNoTimingByDefault() throws IOException {
+        final RequestTimingFilter filter = new RequestTimingFilter(false, 0, 1);
+        filter.filter(mockRequest);
+        assertNull(current());
+        filter.filter(mockRequest, mockResponse);
+        filter.aroundWriteTo(mockWriter);
+        verify(mockWriter).proceed();
+        assertTrue(headers.isEmpty());
+    }
+
+    @Test
+    public void testSerializationEndsRequest() throws IOException {
+        final RequestTimingFilter filter = new RequestTimingFilter(true, 0, 1);
+        when(mockResponse.hasEntity()).thenReturn(true);
+        when(mockWriter.getProperty(RequestTimingFilter.class.getName() + ".request")).thenReturn(mockRequest);
+        filter.filter(mockRequest);
+        verify(mockRequest).setProperty(RequestTimingFilter.class.getName() + ".request", mockRequest);
+        filter.filter(mockRequest, mockResponse);
+        final RequestTimings timings = current();
+        assertNotNull("The request is still being timed while its entity is written", timings);
+
+        final List<String> phases = new ArrayList<>();
+        doAnswer(invocation -> {
+            timings.forEach((phase, nanos) -> phases.add(phase));
+            return null;
+        }).when(mockWriter).proceed();
+        filter.aroundWriteTo(mockWriter);
+
+        assertTrue(phases.isEmpty());
+        final List<String> recorded = new ArrayList<>();
+        timings.forEach((phase, nanos) -> recorded.add(phase));
+        assertEquals(SERIALIZATION, recorded.get(0));
+        assertNull(current());
+    }
+
+    @Test
+    public void testFinishedEndsUnwrittenRequest() {
+        final RequestTimingFilter filter = new RequestTimingFilter(true, 0, 1);
+        when(mockResponse.hasEntity()).thenReturn(true);
+        filter.filter(mockRequest);
+        filter.filter(mockRequest, mockResponse);
+
+        final RequestEventListener listener = filter.onRequest(mock(RequestEvent.class));
+        listener.onEvent(event(RESOURCE_METHOD_FINISHED));
+        assertNotNull(current());
+        listener.onEvent(event(FINISHED));
+        assertNull("A request whose entity is never written ends when Jersey is done with it", current());
+    }
+
+    @Test
+    public void testNoListenerByDefault() {
+        assertNull(new RequestTimingFilter(false, 0, 1).onRequest(mock(RequestEvent.class)));
+    }
+
+    private static RequestEvent event(final RequestEvent.Type type) {
+        final RequestEvent event = mock(RequestEvent.class);
+        when(event.getType()).thenReturn(type);
+        when(event.getContainerRequest()).thenReturn(mock(ContainerRequest.class));
+        return event;
+    }
+}
@@ -21,13 +21,19 @@ import static org.fcrepo.http.commons.test.util.TestHelpers.setField;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.security.Principal;
 
 import javax.jcr.Credentials;
 import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.container.ContainerRequestContext;
 
 import org.fcrepo.kernel.api.FedoraRepository;
 import org.fcrepo.kernel.api.FedoraSession;
@@ -37,6 +43,7 @@ import org.fcrepo.kernel.api.services.CredentialsService;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.modeshape.jcr.api.ServletCredentials;
@@ -47,6 +54,7 @@ import com.google.common.base.Throwables;
  * <p>SessionFactoryTest class.</p>
  *
  * @author awoods
+ * @author agent
  */
 @RunWith(MockitoJUnitRunner.class)
 public class SessionFactoryTest {
@@ -114,6 +122,26 @@ public class SessionFactoryTest {
         assertEquals(mockTx, session.getFedoraSession());
     }
 
+    @Test
+    public void testCommitInTransactionAccountsForBytesRead() throws IOException {
+        final ContainerRequestContext mockContext = mock(ContainerRequestContext.class);
+        when(mockContext.hasEntity()).thenReturn(true);
+        when(mockContext.getEntityStream()).thenReturn(new ByteArrayInputStream(new byte[100]));
+        new RequestBodyCounter().filter(mockContext);
+        final ArgumentCaptor<InputStream> body = ArgumentCaptor.forClass(InputStream.class);
+        verify(mockContext).setEntityStream(body.capture());
+        when(mockRequest.getAttribute(anyString())).thenReturn(body.getValue());
+        when(mockTxService.getSession("123", null)).thenReturn(mockTx);
+
+        final HttpSession session = testObj.getSessionFromTransaction(mockRequest, "123");
+        assertEquals(100, body.getValue().read(new byte[100]));
+        session.commit();
+        verify(mockTxService).updated("123", null, 100);
+        // bytes already accounted for are not counted again
+        session.commit();
+        verify(mockTxService).updated("123", null, 0);
+    }
+
     @Test
     public void testGetSessionThrowException() {
         when(mockRequest.getPathInfo()).thenReturn("/tx:123/some/path");
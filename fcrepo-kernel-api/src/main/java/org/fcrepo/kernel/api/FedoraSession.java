@@ -28,6 +28,7 @@ import java.util.Optional;
  * The Fedora Session abstraction
  *
  * @author acoburn
+ * @author agent
  */
 public interface FedoraSession {
 
@@ -41,6 +42,11 @@ public interface FedoraSession {
      */
     void commit();
 
+    /**
+     * Discard any operations that have not been committed
+     */
+    void rollback();
+
     /**
      * Update the expiry by the provided amount
      * @param amountToAdd the amount of time to add
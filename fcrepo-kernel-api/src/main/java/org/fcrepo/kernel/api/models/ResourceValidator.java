@@ -0,0 +1,67 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.kernel.api.models;
+
+import java.time.Instant;
+
+/**
+ * The modification stamps of a resource, for validating conditional requests without
+ * loading the resource itself.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public interface ResourceValidator {
+
+    /**
+     * The kinds of resource a validator may describe
+     */
+    public static enum Kind {
+        CONTAINER, NON_RDF_SOURCE, RESOURCE
+    }
+
+    /**
+     * @return the path of the resource
+     */
+    String getPath();
+
+    /**
+     * @return the kind of the resource
+     */
+    Kind getKind();
+
+    /**
+     * @return the ETag value of the resource, or of the description of a NonRdfSource
+     */
+    String getEtagValue();
+
+    /**
+     * @return the last modified date of the resource, or of the description of a NonRdfSource
+     */
+    Instant getLastModifiedDate();
+
+    /**
+     * @return the ETag value of the binary of a NonRdfSource, or null for other kinds
+     */
+    String getBinaryEtagValue();
+
+    /**
+     * @return the last modified date of the binary of a NonRdfSource, or null for other kinds
+     */
+    Instant getBinaryLastModifiedDate();
+}
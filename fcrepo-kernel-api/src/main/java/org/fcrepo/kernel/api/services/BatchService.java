@@ -21,6 +21,7 @@ import org.fcrepo.kernel.api.FedoraSession;
 
 /**
  * @author acoburn
+ * @author agent
  * @since Sept 30, 2016
  */
 public interface BatchService {
@@ -102,6 +103,27 @@ public interface BatchService {
         refresh(sessionId, null);
     }
 
+    /**
+     * Account for the bytes a request has written to a {@link FedoraSession}, which stay pending in it until it is
+     * committed. Depending on the implementation's limits, a session that has grown too large may be rolled back.
+     *
+     * @param sessionId the Id of the {@link FedoraSession}
+     * @param username the name of the {@link java.security.Principal}
+     * @param bytes the number of bytes the request wrote
+     * @throws org.fcrepo.kernel.api.exception.TransactionTooLargeException if the session was rolled back
+     */
+    void updated(String sessionId, String username, long bytes);
+
+    /**
+     * Account for the bytes a request has written to an anonymous {@link FedoraSession}
+     *
+     * @param sessionId the Id of the {@link FedoraSession}
+     * @param bytes the number of bytes the request wrote
+     */
+    default void updated(String sessionId, long bytes) {
+        updated(sessionId, null, bytes);
+    }
+
     /**
      * Commit any changes during a {@link FedoraSession} with the given id and username
      *
@@ -0,0 +1,51 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.kernel.api.services;
+
+import java.net.URI;
+import java.util.Collection;
+
+import org.apache.jena.rdf.model.Resource;
+import org.fcrepo.kernel.api.exception.UnsupportedAccessTypeException;
+import org.fcrepo.kernel.api.exception.UnsupportedAlgorithmException;
+import org.fcrepo.kernel.api.identifiers.IdentifierConverter;
+import org.fcrepo.kernel.api.models.FedoraBinary;
+import org.fcrepo.kernel.api.models.FedoraResource;
+
+/**
+ * Provides the digests of binaries, e.g. for answering requests carrying a Want-Digest header, without
+ * necessarily reading their content again.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public interface DigestService {
+
+    /**
+     * Get digests of the content of a binary
+     *
+     * @param idTranslator the id translator
+     * @param binary the binary
+     * @param algorithms the digest algorithms wanted
+     * @return a digest for each of the algorithms
+     * @throws UnsupportedAlgorithmException if unsupported digest algorithm occurred
+     * @throws UnsupportedAccessTypeException if unsupported access type occurred
+     */
+    Collection<URI> getDigests(IdentifierConverter<Resource, FedoraResource> idTranslator, FedoraBinary binary,
+            Collection<String> algorithms) throws UnsupportedAlgorithmException, UnsupportedAccessTypeException;
+}
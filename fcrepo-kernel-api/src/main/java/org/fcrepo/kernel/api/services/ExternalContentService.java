@@ -20,6 +20,9 @@ package org.fcrepo.kernel.api.services;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.Map;
+
+import org.fcrepo.kernel.api.utils.ExternalContent;
 
 /**
  * @author cabeer
@@ -32,4 +35,26 @@ public interface ExternalContentService {
      * @throws IOException if IO exception occurred
      */
     InputStream retrieveExternalContent(URI sourceUri) throws IOException;
+
+    /**
+     * Fetch the content body at a given URI that is read repeatedly, such as for fixity checks. Implementations
+     * may serve it from a local copy, as long as the remote server confirms that the copy is still current.
+     * @param sourceUri the source uri
+     * @return an InputStream of the content body
+     * @throws IOException if IO exception occurred
+     */
+    InputStream retrieveCachedContent(URI sourceUri) throws IOException;
+
+    /**
+     * Fetch the content at a given URI on behalf of a client, honouring the client's range and conditional
+     * request headers. Implementations may answer from a local copy, as long as the remote server confirms that
+     * the copy is still current.
+     * @param sourceUri the source uri
+     * @param head whether only the headers of the response are wanted
+     * @param requestHeaders the range and conditional headers of the client's request, by name
+     * @return the response, which the caller must close
+     * @throws IOException if IO exception occurred
+     */
+    ExternalContent proxyExternalContent(URI sourceUri, boolean head, Map<String, String> requestHeaders)
+            throws IOException;
 }
@@ -0,0 +1,53 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.kernel.api.services;
+
+import org.fcrepo.kernel.api.FedoraSession;
+
+/**
+ * Places new children of a container in pairtree buckets, splitting a bucket into smaller ones only once it
+ * holds too many children, so that small containers stay flat and large ones stay shallow.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public interface PairtreeService {
+
+    /**
+     * @return whether new children should be placed by this service
+     */
+    boolean isEnabled();
+
+    /**
+     * Find where to create a new child of a container
+     *
+     * @param session the session
+     * @param parentPath the path of the container
+     * @param id the identifier of the new child
+     * @return the path of the new child relative to the container, i.e. its buckets followed by its identifier
+     */
+    String place(FedoraSession session, String parentPath, String id);
+
+    /**
+     * Forget what is known of the container or bucket of a resource, and of the resource and its descendants,
+     * after the resource has been deleted or moved away
+     *
+     * @param path the path of the resource
+     */
+    void invalidate(String path);
+}
@@ -0,0 +1,51 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.kernel.api.services;
+
+import org.fcrepo.kernel.api.FedoraSession;
+import org.fcrepo.kernel.api.models.ResourceValidator;
+
+/**
+ * Look up the modification stamps of resources, for answering conditional requests.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public interface ValidatorService {
+
+    /**
+     * Retrieve the validator of the resource at a path, if the session may read it
+     *
+     * @param session the session
+     * @param path the path of the resource
+     * @return the validator, or null if there is no readable resource with a validator at the path
+     */
+    ResourceValidator getValidator(FedoraSession session, String path);
+
+    /**
+     * Discard any remembered validators of the resource at a path and of its parent
+     *
+     * @param path the path of a changed resource
+     */
+    void invalidate(String path);
+
+    /**
+     * Discard every remembered validator, e.g. after a change whose extent is not known
+     */
+    void invalidateAll();
+}
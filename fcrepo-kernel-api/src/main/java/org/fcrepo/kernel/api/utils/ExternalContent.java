@@ -0,0 +1,82 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.kernel.api.utils;
+
+import static java.util.Collections.unmodifiableMap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * A response to a request for external content made on behalf of a client: its status, the headers describing
+ * the content and, unless there is none, the content itself.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class ExternalContent implements Closeable {
+
+    private final int status;
+
+    private final Map<String, String> headers;
+
+    private final InputStream content;
+
+    /**
+     * Create a response
+     *
+     * @param status the HTTP status
+     * @param headers the response headers, by name
+     * @param content the content, or null if there is none
+     */
+    public ExternalContent(final int status, final Map<String, String> headers, final InputStream content) {
+        this.status = status;
+        this.headers = unmodifiableMap(headers);
+        this.content = content;
+    }
+
+    /**
+     * @return the HTTP status
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the response headers, by name
+     */
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @return the content, or null if there is none
+     */
+    public InputStream getContent() {
+        return content;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (content != null) {
+            content.close();
+        }
+    }
+}
@@ -22,6 +22,7 @@ package org.fcrepo.kernel.modeshape;
  *
  * @author ajs6f
  * @author acoburn
+ * @author agent
  * @since Apr 25, 2013
  */
 public final class FedoraJcrConstants {
@@ -48,6 +49,20 @@ public final class FedoraJcrConstants {
 
     public static final String FIELD_DELIMITER = "\30^^\30";
 
+    public static final String RDF_TYPE = "rdf:type";
+
+    /**
+     * System property selecting how user-supplied rdf:types are stored: "mixin" (default) registers a mixin
+     * node type for each type, "property" stores them as values of the rdf:type property.
+     */
+    public static final String RDF_TYPE_STORAGE_MODE = "fcrepo.rdftype.storage";
+
+    /**
+     * System property which, set to true along with the "property" rdf:type storage mode, converts the user
+     * rdf:types stored as mixins throughout the repository into rdf:type property values when it starts.
+     */
+    public static final String RDF_TYPE_MIGRATION = "fcrepo.rdftype.migrate";
+
     private FedoraJcrConstants() {
         // Prevent instantiation
     }
@@ -17,6 +17,7 @@
  */
 package org.fcrepo.kernel.modeshape;
 
+import static java.lang.System.nanoTime;
 import static java.time.Instant.ofEpochMilli;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singleton;
@@ -47,6 +48,7 @@ import static org.fcrepo.kernel.api.RequiredRdfContext.VERSIONS;
 import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.FROZEN_MIXIN_TYPES;
 import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.JCR_CREATED;
 import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.JCR_LASTMODIFIED;
+import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.RDF_TYPE;
 import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.ROOT;
 import static org.fcrepo.kernel.modeshape.RdfJcrLexicon.jcrProperties;
 import static org.fcrepo.kernel.modeshape.identifiers.NodeResourceConverter.nodeConverter;
@@ -61,9 +63,13 @@ import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.isInternalNode;
 import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.ldpInsertedContentProperty;
 import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.resourceToProperty;
 import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.touchLdpMembershipResource;
-import static org.fcrepo.kernel.modeshape.utils.NamespaceTools.getNamespaceRegistry;
+import static org.fcrepo.kernel.modeshape.utils.NamespaceTools.getNamespaceSnapshot;
+import static org.fcrepo.kernel.modeshape.utils.NamespaceTools.getNamespaceURI;
 import static org.fcrepo.kernel.modeshape.utils.StreamUtils.iteratorToStream;
 import static org.fcrepo.kernel.modeshape.utils.UncheckedFunction.uncheck;
+import static org.fcrepo.metrics.RequestTimings.TRIPLES;
+import static org.fcrepo.metrics.RequestTimings.current;
+import static org.fcrepo.metrics.RequestTimings.timed;
 import static org.modeshape.jcr.api.JcrConstants.JCR_CONTENT;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -75,7 +81,9 @@ import java.util.Calendar;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -85,7 +93,6 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.jcr.ItemNotFoundException;
-import javax.jcr.NamespaceRegistry;
 import javax.jcr.Node;
 import javax.jcr.PathNotFoundException;
 import javax.jcr.Property;
@@ -133,8 +140,10 @@ import org.fcrepo.kernel.modeshape.rdf.impl.TypeRdfContext;
 import org.fcrepo.kernel.modeshape.rdf.impl.VersionsRdfContext;
 import org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils;
 import org.fcrepo.kernel.modeshape.utils.FilteringJcrPropertyStatementListener;
+import org.fcrepo.kernel.modeshape.utils.NamespaceSnapshot;
 import org.fcrepo.kernel.modeshape.utils.PropertyChangedListener;
 import org.fcrepo.kernel.modeshape.utils.UncheckedPredicate;
+import org.fcrepo.kernel.modeshape.utils.VersionIndex;
 import org.fcrepo.kernel.modeshape.utils.iterators.RdfAdder;
 import org.fcrepo.kernel.modeshape.utils.iterators.RdfRemover;
 
@@ -159,6 +168,7 @@ import com.google.common.collect.ImmutableMap;
  * when the exact type of an object is irrelevant
  *
  * @author ajs6f
+ * @author agent
  */
 public class FedoraResourceImpl extends JcrTools implements FedoraTypes, FedoraResource {
 
@@ -579,9 +589,9 @@ public class FedoraResourceImpl extends JcrTools implements FedoraTypes, FedoraR
                 return node.isNodeType(ROOT);
             } else if (isFrozen.test(node) && hasProperty(FROZEN_MIXIN_TYPES)) {
                 return property2values.apply(getProperty(FROZEN_MIXIN_TYPES)).map(uncheck(Value::getString))
-                    .anyMatch(type::equals);
+                    .anyMatch(type::equals) || hasTypeValue(type);
             }
-            return node.isNodeType(type);
+            return node.isNodeType(type) || hasTypeValue(type);
         } catch (final PathNotFoundException e) {
             throw new PathNotFoundRuntimeException(e);
         } catch (final RepositoryException e) {
@@ -612,6 +622,12 @@ public class FedoraResourceImpl extends JcrTools implements FedoraTypes, FedoraR
                 .peek(x -> LOGGER.debug("node has rdf:type {}", x))
                 .collect(Collectors.toList());
 
+            if (node.hasProperty(RDF_TYPE)) {
+                property2values.apply(node.getProperty(RDF_TYPE)).map(uncheck(Value::getString)).map(URI::create)
+                    .filter(x -> !types.contains(x))
+                    .forEach(types::add);
+            }
+
             if (isFrozenResource()) {
                 types.add(URI.create(REPOSITORY_NAMESPACE + "Version"));
             }
@@ -625,12 +641,32 @@ public class FedoraResourceImpl extends JcrTools implements FedoraTypes, FedoraR
         }
     }
 
-    private final Function<String, URI> nodeTypeNameToURI = uncheck(name -> {
+    /**
+     * Check whether a type, given as a JCR name, is stored as a value of the rdf:type property
+     *
+     * @param type the type
+     * @return whether the rdf:type property has the type as a value
+     * @throws RepositoryException if repository exception occurred
+     */
+    private boolean hasTypeValue(final String type) throws RepositoryException {
+        final int colon = type.indexOf(':');
+        if (colon < 0 || !node.hasProperty(RDF_TYPE)) {
+            return false;
+        }
+        final String namespace = getNamespaceURI(getSession(), type.substring(0, colon));
+        if (namespace == null) {
+            return false;
+        }
+        final String uri = getRDFNamespaceForJcrNamespace(namespace) + type.substring(colon + 1);
+        return property2values.apply(node.getProperty(RDF_TYPE)).map(uncheck(Value::getString)).anyMatch(uri::equals);
+    }
+
+    private final Function<String, URI> nodeTypeNameToURI = name -> {
         final String prefix = name.split(":")[0];
         final String typeName = name.split(":")[1];
-        final String namespace = getSession().getWorkspace().getNamespaceRegistry().getURI(prefix);
+        final String namespace = getNamespaceURI(getSession(), prefix);
         return URI.create(getRDFNamespaceForJcrNamespace(namespace) + typeName);
-    });
+    };
 
     /* (non-Javadoc)
      * @see org.fcrepo.kernel.api.models.FedoraResource#updateProperties
@@ -648,22 +684,15 @@ public class FedoraResourceImpl extends JcrTools implements FedoraTypes, FedoraR
 
         final Collection<IllegalArgumentException> errors = validateUpdateRequest(request);
 
-        final NamespaceRegistry namespaceRegistry = getNamespaceRegistry(getSession());
+        final NamespaceSnapshot namespaces = getNamespaceSnapshot(getSession());
 
         request.getPrefixMapping().getNsPrefixMap().forEach(
             (k,v) -> {
-                try {
-                    LOGGER.debug("Prefix mapping is key:{} -> value:{}", k, v);
-                    if (Arrays.asList(namespaceRegistry.getPrefixes()).contains(k)
-                        &&  !v.equals(namespaceRegistry.getURI(k))) {
-
-                        final String namespaceURI = namespaceRegistry.getURI(k);
-                        LOGGER.debug("Prefix has already been defined: {}:{}", k, namespaceURI);
-                        throw new InvalidPrefixException("Prefix already exists as: " + k + " -> " + namespaceURI);
-                   }
-
-                } catch (final RepositoryException e) {
-                    throw new RepositoryRuntimeException(e);
+                LOGGER.debug("Prefix mapping is key:{} -> value:{}", k, v);
+                if (namespaces.hasPrefix(k) && !v.equals(namespaces.getURI(k))) {
+                    final String namespaceURI = namespaces.getURI(k);
+                    LOGGER.debug("Prefix has already been defined: {}:{}", k, namespaceURI);
+                    throw new InvalidPrefixException("Prefix already exists as: " + k + " -> " + namespaceURI);
                 }
            });
 
@@ -711,10 +740,23 @@ public class FedoraResourceImpl extends JcrTools implements FedoraTypes, FedoraR
 
         return new DefaultRdfStream(idTranslator.reverse().convert(this).asNode(), contexts.stream()
                 .filter(contextMap::containsKey)
-                .map(x -> contextMap.get(x).apply(this).apply(idTranslator).apply(contexts.contains(MINIMAL)))
+                .map(x -> getTriples(idTranslator, x, contexts.contains(MINIMAL)))
                 .reduce(empty(), Stream::concat));
     }
 
+    /**
+     * Generate one category of triples, timing it as a phase of the current request if there is one
+     */
+    private Stream<Triple> getTriples(final IdentifierConverter<Resource, FedoraResource> idTranslator,
+                                      final TripleCategory context, final boolean minimal) {
+        if (current() == null) {
+            return contextMap.get(context).apply(this).apply(idTranslator).apply(minimal);
+        }
+        final long start = nanoTime();
+        return timed(TRIPLES + "." + context.toString().toLowerCase(Locale.ROOT), start,
+                contextMap.get(context).apply(this).apply(idTranslator).apply(minimal));
+    }
+
     /*
      * (non-Javadoc)
      * @see org.fcrepo.kernel.api.models.FedoraResource#getBaseVersion()
@@ -849,9 +891,8 @@ public class FedoraResourceImpl extends JcrTools implements FedoraTypes, FedoraR
 
                         final boolean hasUserTypes = Arrays.stream(n.getMixinNodeTypes())
                             .map(uncheck(NodeType::getName)).filter(hasInternalNamespace.negate())
-                            .map(uncheck(type ->
-                                getSession().getWorkspace().getNamespaceRegistry().getURI(type.split(":")[0])))
-                            .anyMatch(isManagedNamespace.negate());
+                            .map(type -> getNamespaceURI(getSession(), type.split(":")[0]))
+                            .filter(Objects::nonNull).anyMatch(isManagedNamespace.negate());
 
                         if (!hasUserProps && !hasUserTypes && !n.getWeakReferences().hasNext() &&
                                 !n.getReferences().hasNext()) {
@@ -991,11 +1032,12 @@ public class FedoraResourceImpl extends JcrTools implements FedoraTypes, FedoraR
             }
 
             if (isVersioned()) {
-                final VersionHistory hist = getVersionManager().getVersionHistory(getPath());
+                final VersionIndex.Entry version =
+                        VersionIndex.getVersions(getVersionManager().getVersionHistory(getPath())).byLabel(label);
 
-                if (hist.hasVersionLabel(label)) {
+                if (version != null) {
                     LOGGER.debug("Found version for {} by label {}.", this, label);
-                    return new FedoraResourceImpl(hist.getVersionByLabel(label).getFrozenNode());
+                    return new FedoraResourceImpl(getSession().getNodeByIdentifier(version.frozenNodeId));
                 }
             }
 
@@ -1011,26 +1053,8 @@ public class FedoraResourceImpl extends JcrTools implements FedoraTypes, FedoraR
     public Stream<FedoraVersion> getVersions() {
         try {
             final VersionHistory history = getVersionManager().getVersionHistory(getPath());
-            @SuppressWarnings("unchecked")
-            final Iterator<Version> versions = history.getAllVersions();
-            return iteratorToStream(versions)
-                /* discard jcr:rootVersion */
-                .filter(UncheckedPredicate.uncheck(version ->
-                            !version.getName().equals(history.getRootVersion().getName())))
-                /* omit unlabelled versions */
-                .filter(UncheckedPredicate.uncheck(version -> {
-                    final String[] labels = history.getVersionLabels(version);
-                    if (labels.length == 0) {
-                        LOGGER.warn("An unlabelled version for {} was found! Omitting from version listing!",
-                                getPath());
-                    } else if (labels.length > 1) {
-                        LOGGER.warn("Multiple version labels found for {}! Using first label, \"{}\".", getPath(),
-                                labels[0]);
-                    }
-                    return labels.length > 0;
-                }))
-                .map(uncheck(version ->
-                        new FedoraVersionImpl(history.getVersionLabels(version)[0], version.getCreated().toInstant())));
+            return VersionIndex.getVersions(history).stream()
+                .map(version -> new FedoraVersionImpl(version.label, version.created));
         } catch (final RepositoryException ex) {
             throw new RepositoryRuntimeException(ex);
         }
@@ -1059,14 +1083,9 @@ public class FedoraResourceImpl extends JcrTools implements FedoraTypes, FedoraR
                 frozenResource = getNode();
             }
 
-            // Loop versions
-            @SuppressWarnings("unchecked")
-            final Stream<Version> versions = iteratorToStream(history.getAllVersions());
-            return versions
-                .filter(UncheckedPredicate.uncheck(version -> version.getFrozenNode().equals(frozenResource)))
-                .map(uncheck(history::getVersionLabels))
-                .flatMap(Arrays::stream)
-                .findFirst().orElse(null);
+            final VersionIndex.Entry version =
+                    VersionIndex.getVersions(history).byFrozenNode(frozenResource.getIdentifier());
+            return version == null ? null : version.label;
         } catch (final RepositoryException e) {
             throw new RepositoryRuntimeException(e);
         }
@@ -18,12 +18,15 @@
 package org.fcrepo.kernel.modeshape;
 
 import static java.lang.Long.parseLong;
+import static java.lang.System.nanoTime;
 import static java.time.Duration.ofMillis;
 import static java.time.Duration.ofMinutes;
 import static java.time.Instant.now;
 import static java.util.Collections.singleton;
 import static java.util.Optional.of;
 import static java.util.UUID.randomUUID;
+import static org.fcrepo.metrics.RequestTimings.COMMIT;
+import static org.fcrepo.metrics.RequestTimings.record;
 
 import java.net.URI;
 import java.time.Duration;
@@ -50,6 +53,7 @@ import org.fcrepo.kernel.modeshape.utils.NamespaceTools;
 /**
  * An implementation of the FedoraSession abstraction
  * @author acoburn
+ * @author agent
  */
 public class FedoraSessionImpl implements FedoraSession {
     // The default timeout is 3 minutes
@@ -87,6 +91,7 @@ public class FedoraSessionImpl implements FedoraSession {
 
     @Override
     public void commit() {
+        final long start = nanoTime();
         try {
             if (jcrSession.isLive()) {
                 final ObservationManager obs = jcrSession.getWorkspace().getObservationManager();
@@ -99,6 +104,19 @@ public class FedoraSessionImpl implements FedoraSession {
             throw new AccessDeniedException(ex);
         } catch (final RepositoryException | JsonProcessingException ex) {
             throw new RepositoryRuntimeException(ex);
+        } finally {
+            record(COMMIT, start);
+        }
+    }
+
+    @Override
+    public void rollback() {
+        try {
+            if (jcrSession.isLive()) {
+                jcrSession.refresh(false);
+            }
+        } catch (final RepositoryException ex) {
+            throw new RepositoryRuntimeException(ex);
         }
     }
 
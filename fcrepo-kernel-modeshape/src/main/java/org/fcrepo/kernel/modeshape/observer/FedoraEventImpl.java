@@ -80,6 +80,8 @@ public class FedoraEventImpl implements FedoraEvent {
 
     private final static ObjectMapper MAPPER = new ObjectMapper();
 
+    private static final HashConverter HASH_CONVERTER = new HashConverter();
+
     private final static Logger LOGGER = getLogger(FedoraEventImpl.class);
 
     private final String path;
@@ -242,31 +244,28 @@ public class FedoraEventImpl implements FedoraEvent {
      * @return a FedoraEvent
      */
     public static FedoraEvent from(final Event event) {
+        requireNonNull(event);
+        try {
+            return from(event, parseUserData(event.getUserData()));
+        } catch (final RepositoryException ex) {
+            throw new RepositoryRuntimeException("Error converting JCR Event to FedoraEvent", ex);
+        }
+    }
+
+    /**
+     * Convert a JCR Event to a FedoraEvent, with the information already parsed from its user data. All the events
+     * of one save share their user data, so it need only be parsed once for them.
+     *
+     * @param event the JCR Event
+     * @param userData the information from the event's user data, as returned by {@link #parseUserData}
+     * @return a FedoraEvent
+     */
+    public static FedoraEvent from(final Event event, final Map<String, String> userData) {
         requireNonNull(event);
         try {
             @SuppressWarnings("unchecked")
             final Map<String, String> info = new HashMap<>(event.getInfo());
-
-            final String userdata = event.getUserData();
-            try {
-                if (userdata != null && !userdata.isEmpty()) {
-                    final JsonNode json = MAPPER.readTree(userdata);
-                    if (json.has(BASE_URL)) {
-                        String url = json.get(BASE_URL).asText();
-                        while (url.endsWith("/")) {
-                            url = url.substring(0, url.length() - 1);
-                        }
-                        info.put(BASE_URL, url);
-                    }
-                    if (json.has(USER_AGENT)) {
-                        info.put(USER_AGENT, json.get(USER_AGENT).asText());
-                    }
-                } else {
-                    LOGGER.debug("Event UserData is empty!");
-                }
-            } catch (final IOException ex) {
-                LOGGER.warn("Error extracting user data: " + userdata, ex.getMessage());
-            }
+            info.putAll(userData);
 
             final Set<String> resourceTypes = getResourceTypes(event).collect(toSet());
 
@@ -302,18 +301,58 @@ public class FedoraEventImpl implements FedoraEvent {
         return empty(); // wasn't a ModeShape event, so we have no access to resource types
     }
 
+    /**
+     * Parse the information carried in the user data of a JCR Event
+     *
+     * @param userdata the user data
+     * @return the base URL and user agent found in the user data
+     */
+    public static Map<String, String> parseUserData(final String userdata) {
+        final Map<String, String> info = new HashMap<>();
+        try {
+            if (userdata != null && !userdata.isEmpty()) {
+                final JsonNode json = MAPPER.readTree(userdata);
+                if (json.has(BASE_URL)) {
+                    String url = json.get(BASE_URL).asText();
+                    while (url.endsWith("/")) {
+                        url = url.substring(0, url.length() - 1);
+                    }
+                    info.put(BASE_URL, url);
+                }
+                if (json.has(USER_AGENT)) {
+                    info.put(USER_AGENT, json.get(USER_AGENT).asText());
+                }
+            } else {
+                LOGGER.debug("Event UserData is empty!");
+            }
+        } catch (final IOException ex) {
+            LOGGER.warn("Error extracting user data: " + userdata, ex.getMessage());
+        }
+        return info;
+    }
+
+    /**
+     * Get the path of the node a JCR Event concerns, without the trailing property name of property events or the
+     * /jcr:content of binaries, but still in its internal form for hash URIs.
+     *
+     * @param event the JCR Event
+     * @return the internal path of the resource
+     * @throws RepositoryException if the event's path cannot be read
+     */
+    public static String getResourcePath(final Event event) throws RepositoryException {
+        final String path = event.getPath();
+        final String nodePath = PROPERTY_TYPES.contains(event.getType()) ? path.substring(0, path.lastIndexOf('/')) :
+            path;
+        return nodePath.replace("/" + JCR_CONTENT, "");
+    }
+
     /**
      * The JCR-based Event::getPath contains some Modeshape artifacts that must be removed or modified in
      * order to correspond to the public resource path. For example, JCR Events will contain a trailing
      * /jcr:content for Binaries, a trailing /propName for properties, and /#/ notation for URI fragments.
      */
     private static String cleanPath(final Event event) throws RepositoryException {
-        // remove any trailing data for property changes
-        final String path = PROPERTY_TYPES.contains(event.getType()) ?
-            event.getPath().substring(0, event.getPath().lastIndexOf("/")) : event.getPath();
-
-        // reformat any hash URIs and remove any trailing /jcr:content
-        final HashConverter converter = new HashConverter();
-        return converter.reverse().convert(path.replaceAll("/" + JCR_CONTENT, ""));
+        // reformat any hash URIs of the resource path
+        return HASH_CONVERTER.reverse().convert(getResourcePath(event));
     }
 }
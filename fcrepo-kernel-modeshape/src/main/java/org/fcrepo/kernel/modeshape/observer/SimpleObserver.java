@@ -20,7 +20,8 @@ package org.fcrepo.kernel.modeshape.observer;
 import static com.codahale.metrics.MetricRegistry.name;
 import static com.google.common.collect.Iterators.filter;
 import static java.util.stream.Collectors.toSet;
-import static java.util.stream.Stream.concat;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Stream.of;
 import static javax.jcr.observation.Event.NODE_ADDED;
 import static javax.jcr.observation.Event.NODE_MOVED;
@@ -44,35 +45,37 @@ import static org.fcrepo.kernel.modeshape.RdfJcrLexicon.JCR_NAMESPACE;
 import static org.fcrepo.kernel.modeshape.RdfJcrLexicon.JCR_NT_NAMESPACE;
 import static org.fcrepo.kernel.modeshape.RdfJcrLexicon.MIX_NAMESPACE;
 import static org.fcrepo.kernel.modeshape.RdfJcrLexicon.MODE_NAMESPACE;
-import static org.fcrepo.kernel.modeshape.utils.NamespaceTools.getNamespaceRegistry;
-import static org.fcrepo.kernel.modeshape.utils.UncheckedFunction.uncheck;
+import static org.fcrepo.kernel.modeshape.utils.NamespaceTools.getNamespaceURI;
 import static org.fcrepo.kernel.modeshape.utils.StreamUtils.iteratorToStream;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import  org.fcrepo.metrics.RegistryService;
+import  org.fcrepo.metrics.ThreadPoolGaugeSet;
 
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
-import javax.jcr.NamespaceRegistry;
 import javax.jcr.RepositoryException;
 import javax.jcr.Session;
 import javax.jcr.observation.Event;
 import javax.jcr.observation.EventListener;
 
 import org.fcrepo.kernel.api.FedoraRepository;
-import org.fcrepo.kernel.api.FedoraSession;
 import org.fcrepo.kernel.api.exception.RepositoryRuntimeException;
 import org.fcrepo.kernel.api.models.FedoraResource;
 import org.fcrepo.kernel.api.observer.FedoraEvent;
 import org.fcrepo.kernel.modeshape.FedoraResourceImpl;
-import org.fcrepo.kernel.modeshape.FedoraSessionImpl;
 import org.fcrepo.kernel.modeshape.observer.eventmappings.InternalExternalEventMapper;
 import org.fcrepo.kernel.modeshape.utils.FedoraSessionUserUtil;
 
@@ -81,6 +84,7 @@ import org.slf4j.Logger;
 import com.codahale.metrics.Counter;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.eventbus.EventBus;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * Simple JCR EventListener that filters JCR Events through a Fedora EventFilter, maps the results through a mapper,
@@ -88,6 +92,7 @@ import com.google.common.eventbus.EventBus;
  *
  * @author eddies
  * @author ajs6f
+ * @author agent
  * @since Feb 7, 2013
  */
 public class SimpleObserver implements EventListener {
@@ -107,35 +112,39 @@ public class SimpleObserver implements EventListener {
             + PROPERTY_REMOVED;
 
     /**
-     * Note: This function maps a FedoraEvent to a Stream of some number of FedoraEvents. This is because a MOVE event
-     * may lead to an arbitrarily large number of additional events for any child resources. In the event of this not
-     * being a MOVE event, the same FedoraEvent is returned, wrapped in a Stream. For a MOVEd resource, the resource in
-     * question will be translated to two FedoraEvents: a MOVED event for the new resource location and a REMOVED event
-     * corresponding to the old location. The same pair of FedoraEvents will also be generated for each child resource.
+     * System property selecting how the descendants of a moved resource are announced: "descendants" (the
+     * default) posts a relocation and a deletion event for each of them, "subtree" posts a single relocation
+     * event for the moved resource carrying the number of its descendants under {@link #DESCENDANT_COUNT}.
      */
-    private static Function<FedoraEvent, Stream<FedoraEvent>> handleMoveEvents(final Session session) {
-        return evt -> {
-            if (evt.getTypes().contains(RESOURCE_RELOCATION)) {
-                final Map<String, String> movePath = evt.getInfo();
-                final String dest = movePath.get("destAbsPath");
-                final String src = movePath.get("srcAbsPath");
-                final FedoraSession fsession = new FedoraSessionImpl(session);
+    public static final String MOVE_EVENTS = "fcrepo.observer.moveEvents";
 
-                try {
-                    final FedoraResource resource = new FedoraResourceImpl(session.getNode(evt.getPath()));
-                    return concat(of(evt), resource.getChildren(true).map(FedoraResource::getPath)
-                        .flatMap(path -> of(
-                            new FedoraEventImpl(RESOURCE_RELOCATION, path, evt.getResourceTypes(), evt.getUserID(),
-                                fsession.getUserURI(), evt.getDate(), evt.getInfo()),
-                            new FedoraEventImpl(RESOURCE_DELETION, path.replaceFirst(dest, src), evt.getResourceTypes(),
-                                evt.getUserID(), fsession.getUserURI(), evt.getDate(), evt.getInfo()))));
-                } catch (final RepositoryException ex) {
-                    throw new RepositoryRuntimeException(ex);
-                }
-            }
-            return of(evt);
-        };
-    }
+    /**
+     * The info key of the number of descendants on the relocation event of a moved subtree
+     */
+    public static final String DESCENDANT_COUNT = "descendantCount";
+
+    /**
+     * System property for the number of events that may wait behind the descendants of moved resources; once it
+     * is reached, the observation thread blocks until the event bus has taken more of them.
+     */
+    public static final String MOVE_QUEUE_SIZE = "fcrepo.observer.moveQueueSize";
+
+    private static final int PROGRESS_INTERVAL = 10000;
+
+    private final boolean summarizeMoves = System.getProperty(MOVE_EVENTS, "descendants").equals("subtree");
+
+    /**
+     * Announces the descendants of moved resources off the observation thread, followed by every event that
+     * arrived after the move, so that the event bus sees all events in the order of the JCR events.
+     */
+    private final ThreadPoolExecutor moveExecutor = new ThreadPoolExecutor(1, 1, 0L, MILLISECONDS,
+            new ArrayBlockingQueue<>(Integer.getInteger(MOVE_QUEUE_SIZE, 1024)),
+            new ThreadFactoryBuilder().setNameFormat("fcrepo-move-events-%d").setDaemon(true).build(),
+            SimpleObserver::waitForRoom);
+
+    // The number of tasks given to the move executor that have not finished; only changed on the observation
+    // thread, which JCR calls serially, and by the executor
+    private final AtomicInteger pendingMoveTasks = new AtomicInteger();
 
     /**
      * Note: Certain RDF types are generated dynamically. These are added here, based on
@@ -155,12 +164,12 @@ public class SimpleObserver implements EventListener {
     };
 
     private static Function<FedoraEvent, FedoraEvent> filterAndDerefResourceTypes(final Session session) {
-        final NamespaceRegistry registry = getNamespaceRegistry(session);
         return evt -> {
             final Set<String> resourceTypes = evt.getResourceTypes().stream()
                 .flatMap(dynamicTypes).map(type -> type.split(":"))
-                .filter(pair -> pair.length == 2).map(uncheck(pair -> new String[]{registry.getURI(pair[0]), pair[1]}))
-                .filter(pair -> !filteredNamespaces.contains(pair[0])).map(pair -> pair[0] + pair[1]).collect(toSet());
+                .filter(pair -> pair.length == 2).map(pair -> new String[]{getNamespaceURI(session, pair[0]), pair[1]})
+                .filter(pair -> pair[0] != null && !filteredNamespaces.contains(pair[0]))
+                .map(pair -> pair[0] + pair[1]).collect(toSet());
             return new FedoraEventImpl(evt.getTypes(), evt.getPath(), resourceTypes, evt.getUserID(),
                     FedoraSessionUserUtil.getUserURI(evt.getUserID()), evt.getDate(), evt.getInfo());
         };
@@ -194,6 +203,8 @@ public class SimpleObserver implements EventListener {
         session.getWorkspace().getObservationManager()
                 .addEventListener(this, EVENT_TYPES, "/", true, null, null, false);
         session.save();
+        RegistryService.getInstance().register(name(SimpleObserver.class, "moves"),
+                new ThreadPoolGaugeSet(moveExecutor));
     }
 
     /**
@@ -208,6 +219,16 @@ public class SimpleObserver implements EventListener {
             session.getWorkspace().getObservationManager().removeEventListener(this);
         } finally {
             session.logout();
+            moveExecutor.shutdown();
+        }
+        try {
+            if (!moveExecutor.awaitTermination(10, SECONDS)) {
+                LOGGER.warn("Gave up announcing the descendants of moved resources");
+                moveExecutor.shutdownNow();
+            }
+        } catch (final InterruptedException e) {
+            moveExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -226,8 +247,7 @@ public class SimpleObserver implements EventListener {
             final Iterator<Event> filteredEvents = filter(events, eventFilter::test);
             eventMapper.apply(iteratorToStream(filteredEvents))
                 .map(filterAndDerefResourceTypes(lookupSession))
-                .flatMap(handleMoveEvents(lookupSession))
-                .forEach(this::post);
+                .forEach(this::dispatch);
         } finally {
             if (lookupSession != null) {
                 lookupSession.logout();
@@ -235,6 +255,116 @@ public class SimpleObserver implements EventListener {
         }
     }
 
+    /**
+     * Note: A MOVE event may lead to an arbitrarily large number of additional events for the child resources, so
+     * those are produced by the move executor rather than here. Unless moves are summarized, the moved resource is
+     * announced right away, and each of its descendants later gets two FedoraEvents: a MOVED event for its new
+     * location and a REMOVED event for its old one.
+     *
+     * Events keep their order: while the descendants of a move are being announced, later events are queued
+     * behind them rather than posted. The trade-off is that delivery of unrelated events is delayed until a large
+     * move has been announced in full, and that the observation thread blocks once {@link #MOVE_QUEUE_SIZE} events
+     * are waiting; since the event bus delivers to its subscribers on the posting thread, slow subscribers slow the
+     * announcement and, through the bounded queue, the observation thread.
+     */
+    private void dispatch(final FedoraEvent evt) {
+        if (evt.getTypes().contains(RESOURCE_RELOCATION)) {
+            if (!summarizeMoves) {
+                postInOrder(evt);
+            }
+            submit(() -> announceDescendants(evt));
+        } else {
+            postInOrder(evt);
+        }
+    }
+
+    private void postInOrder(final FedoraEvent evt) {
+        if (pendingMoveTasks.get() == 0) {
+            post(evt);
+        } else {
+            submit(() -> post(evt));
+        }
+    }
+
+    private void submit(final Runnable task) {
+        pendingMoveTasks.incrementAndGet();
+        try {
+            moveExecutor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    pendingMoveTasks.decrementAndGet();
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            pendingMoveTasks.decrementAndGet();
+            LOGGER.warn("Dropped an event after the observer was stopped");
+        }
+    }
+
+    /**
+     * Blocks the observation thread until the move executor has room for another task
+     */
+    private static void waitForRoom(final Runnable task, final ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("The observer has been stopped");
+        }
+        try {
+            executor.getQueue().put(task);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException(e);
+        }
+    }
+
+    private void announceDescendants(final FedoraEvent evt) {
+        Session lookupSession = null;
+        try {
+            lookupSession = getJcrSession(repository.login());
+            final Iterator<String> descendants = new FedoraResourceImpl(lookupSession.getNode(evt.getPath()))
+                    .getChildren(true).map(FedoraResource::getPath).iterator();
+
+            if (summarizeMoves) {
+                long count = 0;
+                for (; descendants.hasNext(); count++) {
+                    descendants.next();
+                }
+                final Map<String, String> info = new HashMap<>(evt.getInfo());
+                info.put(DESCENDANT_COUNT, Long.toString(count));
+                post(new FedoraEventImpl(evt.getTypes(), evt.getPath(), evt.getResourceTypes(), evt.getUserID(),
+                        evt.getUserURI(), evt.getDate(), info));
+                return;
+            }
+
+            final String dest = evt.getInfo().get("destAbsPath");
+            final String src = evt.getInfo().get("srcAbsPath");
+            long announced = 0;
+            while (descendants.hasNext() && !Thread.currentThread().isInterrupted()) {
+                final String path = descendants.next();
+                post(new FedoraEventImpl(RESOURCE_RELOCATION, path, evt.getResourceTypes(), evt.getUserID(),
+                        evt.getUserURI(), evt.getDate(), evt.getInfo()));
+                post(new FedoraEventImpl(RESOURCE_DELETION, formerPath(path, dest, src), evt.getResourceTypes(),
+                        evt.getUserID(), evt.getUserURI(), evt.getDate(), evt.getInfo()));
+                if (++announced % PROGRESS_INTERVAL == 0) {
+                    LOGGER.debug("Announced {} descendants of moved resource {}", announced, evt.getPath());
+                }
+            }
+        } catch (final RepositoryException | RepositoryRuntimeException e) {
+            LOGGER.error("Could not announce the descendants of moved resource {}", evt.getPath(), e);
+        } finally {
+            if (lookupSession != null) {
+                lookupSession.logout();
+            }
+        }
+    }
+
+    /**
+     * The path a descendant of a moved resource had before the move
+     */
+    private static String formerPath(final String path, final String dest, final String src) {
+        return dest != null && src != null && path.startsWith(dest) ? src + path.substring(dest.length()) : path;
+    }
+
     private void post(final FedoraEvent evt) {
         eventBus.post(evt);
         EVENT_COUNTER.inc();
@@ -19,14 +19,16 @@ package org.fcrepo.kernel.modeshape.observer.eventmappings;
 
 import static org.fcrepo.kernel.modeshape.utils.UncheckedFunction.uncheck;
 import static org.fcrepo.kernel.modeshape.observer.FedoraEventImpl.from;
+import static org.fcrepo.kernel.modeshape.observer.FedoraEventImpl.getResourcePath;
 import static org.fcrepo.kernel.modeshape.observer.FedoraEventImpl.getResourceTypes;
 import static org.slf4j.LoggerFactory.getLogger;
+import static com.google.common.base.Strings.nullToEmpty;
 import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.toSet;
-import static java.util.stream.Stream.empty;
-import static java.util.stream.Stream.of;
+import static java.util.stream.Collectors.toList;
 
-import java.util.List;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -51,33 +53,32 @@ public class AllNodeEventsOneEvent implements InternalExternalEventMapper {
 
     /**
      * Extracts an identifier from a JCR {@link Event} by building an id from nodepath and user to collapse multiple
-     * events from repository mutations
+     * events from repository mutations. Only the raw path and user of the event are read.
      */
     private static final Function<Event, String> EXTRACT_NODE_ID = uncheck(ev -> {
-            final FedoraEvent event = from(ev);
-            final String id = event.getPath() + "-" + event.getUserID();
-            LOGGER.debug("Sorting an event by identifier: {}", id);
+            final String id = getResourcePath(ev) + "-" + ev.getUserID();
+            LOGGER.trace("Sorting an event by identifier: {}", id);
             return id;
     });
 
     @Override
     public Stream<FedoraEvent> apply(final Stream<Event> events) {
-        // first, index all the events by path-userID and then flatMap over that list of values
-        // each of which returns either a singleton Stream or an empty Stream. The final result
-        // will be a concatenated Stream of FedoraEvent objects.
-        return events.collect(groupingBy(EXTRACT_NODE_ID)).entrySet().stream().flatMap(entry -> {
-            final List<Event> evts = entry.getValue();
-            if (!evts.isEmpty()) {
-                // build a FedoraEvent from the first JCR Event
-                final FedoraEvent fedoraEvent = from(evts.get(0));
-                evts.stream().skip(1).forEach(evt -> {
-                    // add types to the FedoraEvent from the subsequent JCR Events
-                    fedoraEvent.getTypes().add(FedoraEventImpl.valueOf(evt.getType()));
-                    fedoraEvent.getResourceTypes().addAll(getResourceTypes(evt).collect(toSet()));
-                });
-                return of(fedoraEvent);
-            }
-            return empty();
-        });
+        // first, index all the events by path-userID and then map over that list of values, building one
+        // FedoraEvent for each. The events of one save share their user data, so it is parsed once per
+        // distinct value.
+        final Map<String, Map<String, String>> userData = new HashMap<>();
+        return events.collect(groupingBy(EXTRACT_NODE_ID, LinkedHashMap::new, toList())).values().stream()
+                .map(uncheck(evts -> {
+                    // build a FedoraEvent from the first JCR Event
+                    final Event first = evts.get(0);
+                    final FedoraEvent fedoraEvent = from(first,
+                            userData.computeIfAbsent(nullToEmpty(first.getUserData()), FedoraEventImpl::parseUserData));
+                    evts.stream().skip(1).forEach(evt -> {
+                        // add types to the FedoraEvent from the subsequent JCR Events
+                        fedoraEvent.getTypes().add(FedoraEventImpl.valueOf(evt.getType()));
+                        getResourceTypes(evt).forEach(fedoraEvent.getResourceTypes()::add);
+                    });
+                    return fedoraEvent;
+                }));
     }
 }
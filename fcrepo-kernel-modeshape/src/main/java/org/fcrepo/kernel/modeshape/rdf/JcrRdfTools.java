@@ -23,6 +23,7 @@ import static java.util.UUID.randomUUID;
 import static javax.jcr.PropertyType.REFERENCE;
 import static javax.jcr.PropertyType.STRING;
 import static javax.jcr.PropertyType.UNDEFINED;
+import static javax.jcr.PropertyType.URI;
 import static javax.jcr.PropertyType.WEAKREFERENCE;
 import static org.fcrepo.kernel.api.FedoraTypes.FEDORA_LASTMODIFIED;
 import static org.fcrepo.kernel.api.FedoraTypes.FEDORA_LASTMODIFIEDBY;
@@ -35,13 +36,16 @@ import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.JCR_LASTMODIFIED;
 import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.JCR_LASTMODIFIEDBY;
 import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.JCR_CREATED;
 import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.JCR_CREATEDBY;
+import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.RDF_TYPE;
 import static org.fcrepo.kernel.modeshape.RdfJcrLexicon.jcrProperties;
 import static org.fcrepo.kernel.modeshape.RdfJcrLexicon.JCR_NAMESPACE;
 import static org.fcrepo.kernel.modeshape.rdf.converters.PropertyConverter.getPropertyNameFromPredicate;
 import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.getClosestExistingAncestor;
 import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.getJcrNode;
 import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.getPropertyType;
+import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.isRdfTypePropertyStorage;
 import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.isReferenceProperty;
+import static org.fcrepo.kernel.modeshape.utils.NamespaceTools.getNamespacePrefix;
 import static org.modeshape.jcr.api.JcrConstants.NT_FOLDER;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -227,6 +231,11 @@ public class JcrRdfTools {
             throws RepositoryException {
 
         final Node node = getJcrNode(resource);
+        if (isRdfTypePropertyStorage()) {
+            addTypeValue(node, mixinResource);
+            return;
+        }
+
         final Session session = node.getSession();
         final String mixinName = getPropertyNameFromPredicate(node, mixinResource, namespaces);
         if (!repositoryHasType(session, mixinName)) {
@@ -321,11 +330,52 @@ public class JcrRdfTools {
                             final Map<String, String> nsPrefixMap) throws RepositoryException {
 
         final Node node = getJcrNode(resource);
+        if (isRdfTypePropertyStorage()) {
+            removeTypeValue(node, mixinResource);
+            // the type may also have been stored as a mixin before the storage mode was changed
+            final String prefix = getNamespacePrefix(session,
+                    getJcrNamespaceForRDFNamespace(mixinResource.getNameSpace()));
+            if (prefix == null) {
+                return;
+            }
+            final String mixinName = prefix + ":" + mixinResource.getLocalName();
+            if (repositoryHasType(session, mixinName) && node.isNodeType(mixinName)) {
+                node.removeMixin(mixinName);
+            }
+            return;
+        }
+
         final String mixinName = getPropertyNameFromPredicate(node, mixinResource, nsPrefixMap);
         if (repositoryHasType(session, mixinName) && node.isNodeType(mixinName)) {
             node.removeMixin(mixinName);
         }
+        // the type may also have been stored as a property value before the storage mode was changed
+        removeTypeValue(node, mixinResource);
+    }
 
+    /**
+     * Store a type as a value of the rdf:type property. Unlike a mixin, this neither registers a node type
+     * nor a namespace for the type.
+     *
+     * @param node the node
+     * @param type the type
+     * @throws RepositoryException if repository exception occurred
+     */
+    private void addTypeValue(final Node node, final Resource type) throws RepositoryException {
+        if (!type.isURIResource()) {
+            throw new MalformedRdfException("Could not persist triple containing type assertion: " + type
+                    + " because the type is not a URI!");
+        }
+        LOGGER.debug("Adding type: {} to node: {}.", type, node.getPath());
+        nodePropertiesTools.appendOrReplaceNodeProperty(node, RDF_TYPE,
+                node.getSession().getValueFactory().createValue(type.getURI(), URI));
+    }
+
+    private void removeTypeValue(final Node node, final Resource type) throws RepositoryException {
+        if (type.isURIResource()) {
+            nodePropertiesTools.removeNodeProperty(node, RDF_TYPE,
+                    node.getSession().getValueFactory().createValue(type.getURI(), URI));
+        }
     }
 
     /**
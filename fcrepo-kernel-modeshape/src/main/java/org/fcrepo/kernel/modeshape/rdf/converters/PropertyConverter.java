@@ -39,6 +39,8 @@ import static org.fcrepo.kernel.modeshape.rdf.JcrRdfTools.getRDFNamespaceForJcrN
 import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.getReferencePropertyOriginalName;
 import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.isInternalReferenceProperty;
 import static org.fcrepo.kernel.modeshape.utils.NamespaceTools.getNamespaceRegistry;
+import static org.fcrepo.kernel.modeshape.utils.NamespaceTools.invalidateNamespaceSnapshots;
+import static org.fcrepo.kernel.modeshape.utils.NamespaceTools.registerNamespace;
 import static org.slf4j.LoggerFactory.getLogger;
 
 
@@ -150,9 +152,10 @@ public class PropertyConverter extends Converter<javax.jcr.Property, Property> {
                 LOGGER.debug("Discovered namespace: {} in namespace map: {}.", namespace,
                         nsMap);
                 prefix = nsMap.inverse().get(namespace);
-                namespaceRegistry.registerNamespace(prefix, namespace);
+                registerNamespace(namespaceRegistry, prefix, namespace);
             } else {
                 prefix = namespaceRegistry.registerNamespace(namespace);
+                invalidateNamespaceSnapshots();
                 LOGGER.debug("Registered prefix: {} for namespace: {}.", prefix, namespace);
             }
         }
@@ -45,14 +45,15 @@ import org.apache.jena.graph.Triple;
  * Assemble {@link Triple}s derived from the root of a repository.
  *
  * @author ajs6f
+ * @author agent
  * @since Oct 18, 2013
  */
 public class RootRdfContext extends NodeRdfContext {
 
     private static final String PREFIX = "org.fcrepo.services.";
-    private static final String FIXITY_REPAIRED_COUNTER = "LowLevelStorageService.fixity-repaired-counter";
-    private static final String FIXITY_ERROR_COUNTER = "LowLevelStorageService.fixity-error-counter";
-    private static final String FIXITY_CHECK_COUNTER = "LowLevelStorageService.fixity-check-counter";
+    public static final String FIXITY_REPAIRED_COUNTER = PREFIX + "LowLevelStorageService.fixity-repaired-counter";
+    public static final String FIXITY_ERROR_COUNTER = PREFIX + "LowLevelStorageService.fixity-error-counter";
+    public static final String FIXITY_CHECK_COUNTER = PREFIX + "LowLevelStorageService.fixity-check-counter";
     private static final Logger LOGGER = getLogger(RootRdfContext.class);
     static final RegistryService registryService = RegistryService.getInstance();
 
@@ -96,17 +97,17 @@ public class RootRdfContext extends NodeRdfContext {
         // and add the repository metrics to the RDF model
         if (counters.containsKey(FIXITY_CHECK_COUNTER)) {
             b.accept(create(subject(), HAS_FIXITY_CHECK_COUNT.asNode(),
-                    createTypedLiteral(counters.get(PREFIX + FIXITY_CHECK_COUNTER).getCount()).asNode()));
+                    createTypedLiteral(counters.get(FIXITY_CHECK_COUNTER).getCount()).asNode()));
         }
 
         if (counters.containsKey(FIXITY_ERROR_COUNTER)) {
             b.accept(create(subject(), HAS_FIXITY_ERROR_COUNT.asNode(),
-                    createTypedLiteral(counters.get(PREFIX + FIXITY_ERROR_COUNTER).getCount()).asNode()));
+                    createTypedLiteral(counters.get(FIXITY_ERROR_COUNTER).getCount()).asNode()));
         }
 
         if (counters.containsKey(FIXITY_REPAIRED_COUNTER)) {
             b.accept(create(subject(), HAS_FIXITY_REPAIRED_COUNT.asNode(),
-                    createTypedLiteral(counters.get(PREFIX + FIXITY_REPAIRED_COUNTER).getCount()).asNode()));
+                    createTypedLiteral(counters.get(FIXITY_REPAIRED_COUNTER).getCount()).asNode()));
         }
 
         // offer all these accumulated triples
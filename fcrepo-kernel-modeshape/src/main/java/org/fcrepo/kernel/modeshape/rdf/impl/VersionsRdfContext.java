@@ -43,12 +43,15 @@ import org.apache.jena.graph.Triple;
 
 import org.slf4j.Logger;
 
+import com.google.common.base.CharMatcher;
+
 
 /**
  * {@link org.fcrepo.kernel.api.RdfStream} that supplies {@link Triple}s concerning
  * the versions of a selected {@link Node}.
  *
  * @author ajs6f
+ * @author agent
  * @since Oct 15, 2013
  */
 public class VersionsRdfContext extends DefaultRdfStream {
@@ -59,6 +62,8 @@ public class VersionsRdfContext extends DefaultRdfStream {
 
     private static final UrlEncoder URL_ENCODER = new UrlEncoder();
 
+    private static final CharMatcher PLUS = CharMatcher.is('+');
+
     /**
      * Ordinary constructor.
      *
@@ -88,6 +93,6 @@ public class VersionsRdfContext extends DefaultRdfStream {
     }
 
     private String urlEncode(final String string) {
-        return URL_ENCODER.encode(string).replaceAll("[+]", "%20");
+        return PLUS.replaceFrom(URL_ENCODER.encode(string), "%20");
     }
 }
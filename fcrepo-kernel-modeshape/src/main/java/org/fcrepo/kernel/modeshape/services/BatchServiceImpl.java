@@ -21,21 +21,34 @@
 
 package org.fcrepo.kernel.modeshape.services;
 
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.time.Duration.between;
 import static java.time.Instant.now;
-import static java.util.stream.Collectors.toSet;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static com.google.common.base.Strings.nullToEmpty;
 import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.operationTimeout;
 import static org.slf4j.LoggerFactory.getLogger;
 
+import java.time.Instant;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.fcrepo.kernel.api.FedoraSession;
 import org.fcrepo.kernel.api.exception.RepositoryRuntimeException;
 import org.fcrepo.kernel.api.exception.SessionMissingException;
+import org.fcrepo.kernel.api.exception.TransactionTooLargeException;
 import org.fcrepo.kernel.api.services.BatchService;
+import org.fcrepo.metrics.RegistryService;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.google.common.annotations.VisibleForTesting;
 import org.slf4j.Logger;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -50,6 +63,7 @@ import org.springframework.stereotype.Component;
  * @author frank asseg
  * @author ajs6f
  * @author acoburn
+ * @author agent
  */
 @Component
 public class BatchServiceImpl extends AbstractService implements BatchService {
@@ -63,36 +77,104 @@ public class BatchServiceImpl extends AbstractService implements BatchService {
      */
     private static Map<String, FedoraSession> sessions = new ConcurrentHashMap<>();
 
+    // the bytes written to each open batch operation, by the same key as its session
+    private static Map<String, AtomicLong> pendingBytes = new ConcurrentHashMap<>();
+
+    // the deadlines of open batch operations, as they were when last scheduled
+    private static DelayQueue<Deadline> deadlines = new DelayQueue<>();
+
     @VisibleForTesting
     public static final long REAP_INTERVAL = 1000;
 
+    /**
+     * System property with the maximum number of bytes written to a transaction and not yet committed, beyond
+     * which it is rolled back; 0 (the default) for no limit. The bytes are those of the request bodies.
+     */
+    public static final String MAX_PENDING_BYTES = "fcrepo.tx.maxPendingBytes";
+
+    private static final MetricRegistry METRICS = RegistryService.getInstance().getMetrics();
+
+    private static final Histogram committedBytes = METRICS.histogram(name(BatchService.class, "committed-bytes"));
+
+    private static final Histogram committedAge = METRICS.histogram(name(BatchService.class, "committed-age-ms"));
+
+    private static final Counter tooLarge = METRICS.counter(name(BatchService.class, "too-large"));
+
+    private static final Counter committed = METRICS.counter(name(BatchService.class, "committed"));
+
+    private static final Counter expired = METRICS.counter(name(BatchService.class, "expired"));
+
+    private static final Timer commitTimer = METRICS.timer(name(BatchService.class, "commit"));
+
+    static {
+        register("open", () -> sessions.size());
+        register("largest-pending-bytes",
+                () -> pendingBytes.values().stream().mapToLong(AtomicLong::get).max().orElse(0));
+        register("oldest-age-ms", () -> sessions.values().stream().mapToLong(BatchServiceImpl::ageOf).max().orElse(0));
+    }
+
+    /**
+     * The time at which a batch operation expires, unless it has been refreshed since
+     */
+    private static class Deadline implements Delayed {
+
+        private final String key;
+
+        private final Instant expires;
+
+        private Deadline(final String key, final Instant expires) {
+            this.key = key;
+            this.expires = expires;
+        }
+
+        @Override
+        public long getDelay(final TimeUnit unit) {
+            return unit.convert(between(now(), expires).toMillis(), MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(final Delayed o) {
+            return expires.compareTo(((Deadline) o).expires);
+        }
+    }
+
     /**
      * Every REAP_INTERVAL milliseconds, check for expired sessions. If the
      * tx is expired, roll it back and remove it from the registry.
+     *
+     * Only the deadlines that have passed are visited. A session refreshed since its deadline was scheduled is
+     * rescheduled here, so refreshing costs nothing more than updating the session's expiry; deadlines of
+     * sessions already committed or rolled back are dropped.
      */
     @Override
     @Scheduled(fixedRate = REAP_INTERVAL)
     public void removeExpired() {
-        final Set<String> reapable = sessions.entrySet().stream()
-                .filter(e -> e.getValue().getExpires().isPresent())
-                .filter(e -> e.getValue().getExpires().get().isBefore(now()))
-                .map(Map.Entry::getKey).collect(toSet());
-        reapable.forEach(key -> {
-            final FedoraSession s = sessions.get(key);
-            if (s != null) {
-                try {
-                    s.expire();
-                } catch (final RepositoryRuntimeException e) {
-                    LOGGER.error("Got exception rolling back expired session {}: {}", s, e.getMessage());
-                }
+        for (Deadline d = deadlines.poll(); d != null; d = deadlines.poll()) {
+            final FedoraSession s = sessions.get(d.key);
+            if (s == null) {
+                continue;
+            }
+            final Instant expires = s.getExpires().orElse(null);
+            if (expires != null && expires.isAfter(d.expires) && expires.isAfter(now())) {
+                deadlines.add(new Deadline(d.key, expires));
+                continue;
             }
-            sessions.remove(key);
-        });
+            try {
+                s.expire();
+            } catch (final RepositoryRuntimeException e) {
+                LOGGER.error("Got exception rolling back expired session {}: {}", s, e.getMessage());
+            }
+            sessions.remove(d.key);
+            pendingBytes.remove(d.key);
+            expired.inc();
+        }
     }
 
     @Override
     public void begin(final FedoraSession session, final String username) {
-        sessions.put(getTxKey(session.getId(), username), session);
+        final String key = getTxKey(session.getId(), username);
+        sessions.put(key, session);
+        deadlines.add(new Deadline(key, session.getExpires().orElseGet(() -> now().plus(operationTimeout()))));
     }
 
     @Override
@@ -109,11 +191,31 @@ public class BatchServiceImpl extends AbstractService implements BatchService {
         return sessions.containsKey(getTxKey(sessionId, username));
     }
 
+    @Override
+    public void updated(final String sessionId, final String username, final long bytes) {
+        getSession(sessionId, username);
+        final long pending = pendingBytes.computeIfAbsent(getTxKey(sessionId, username), k -> new AtomicLong())
+                .addAndGet(bytes);
+        final long max = Long.getLong(MAX_PENDING_BYTES, 0);
+        if (max > 0 && pending > max) {
+            tooLarge.inc();
+            abort(sessionId, username);
+            throw new TransactionTooLargeException("Transaction " + sessionId + " has " + pending
+                    + " uncommitted bytes, more than the limit of " + max + ", and has been rolled back");
+        }
+    }
+
     @Override
     public void commit(final String sessionId, final String username) {
         final FedoraSession session = getSession(sessionId, username);
-        session.commit();
+        try (final Timer.Context context = commitTimer.time()) {
+            session.commit();
+        }
         sessions.remove(getTxKey(sessionId, username));
+        final AtomicLong pending = pendingBytes.remove(getTxKey(sessionId, username));
+        committed.inc();
+        committedBytes.update(pending == null ? 0 : pending.get());
+        committedAge.update(ageOf(session));
     }
 
     @Override
@@ -125,10 +227,21 @@ public class BatchServiceImpl extends AbstractService implements BatchService {
     @Override
     public void abort(final String sessionId, final String username) {
         final FedoraSession session = getSession(sessionId, username);
+        pendingBytes.remove(getTxKey(sessionId, username));
         session.expire();
         sessions.remove(getTxKey(sessionId, username));
     }
 
+    private static long ageOf(final FedoraSession session) {
+        return session.getCreated() == null ? 0 : between(session.getCreated(), now()).toMillis();
+    }
+
+    private static <T> void register(final String metric, final Gauge<T> gauge) {
+        // replace the gauges of any earlier instance, e.g. in a redeployed or test application
+        METRICS.remove(name(BatchService.class, metric));
+        METRICS.register(name(BatchService.class, metric), gauge);
+    }
+
     private static String getTxKey(final String sessionId, final String username) {
         return nullToEmpty(username) + ":" + sessionId;
     }
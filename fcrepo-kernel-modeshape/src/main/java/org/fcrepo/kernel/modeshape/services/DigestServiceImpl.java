@@ -0,0 +1,214 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.kernel.modeshape.services;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.lang.Integer.getInteger;
+import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.fcrepo.kernel.api.FedoraTypes.CONTENT_DIGEST;
+import static org.fcrepo.kernel.api.utils.ContentDigest.DIGEST_ALGORITHM.getScheme;
+import static org.fcrepo.kernel.modeshape.services.functions.JcrPropertyFunctions.property2values;
+import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.getJcrNode;
+import static org.fcrepo.kernel.modeshape.utils.UncheckedFunction.uncheck;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.jcr.Node;
+import javax.jcr.RepositoryException;
+
+import org.apache.jena.rdf.model.Resource;
+import org.fcrepo.kernel.api.exception.RepositoryRuntimeException;
+import org.fcrepo.kernel.api.exception.UnsupportedAccessTypeException;
+import org.fcrepo.kernel.api.exception.UnsupportedAlgorithmException;
+import org.fcrepo.kernel.api.identifiers.IdentifierConverter;
+import org.fcrepo.kernel.api.models.FedoraBinary;
+import org.fcrepo.kernel.api.models.FedoraResource;
+import org.fcrepo.kernel.api.services.DigestService;
+import org.fcrepo.kernel.api.utils.ContentDigest;
+import org.fcrepo.kernel.api.utils.MessageExternalBodyContentType;
+import org.fcrepo.metrics.RegistryService;
+import org.slf4j.Logger;
+import org.springframework.stereotype.Component;
+
+import com.codahale.metrics.Counter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Answers digest requests from the digests recorded when a binary's content was stored, then from a cache of
+ * digests computed recently, and only then by reading the content. Which of these may be used is set by the
+ * {@link #DIGEST_POLICY} system property:
+ * <ul>
+ * <li>{@code stored} (the default): any of them. Recorded digests are only used for content held by the
+ * repository, since external content may change without the repository knowing.</li>
+ * <li>{@code cached}: digests computed by the repository no longer than {@link #DIGEST_MAX_AGE} seconds ago, so
+ * that every digest served has been checked against the content recently.</li>
+ * <li>{@code always}: the content is read for every request.</li>
+ * </ul>
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+@Component
+public class DigestServiceImpl implements DigestService {
+
+    private static final Logger LOGGER = getLogger(DigestServiceImpl.class);
+
+    /**
+     * System property with the policy for answering digest requests: "stored", "cached" or "always"
+     */
+    public static final String DIGEST_POLICY = "fcrepo.digest.policy";
+
+    /**
+     * System property with the number of seconds for which a computed digest may be served from the cache
+     */
+    public static final String DIGEST_MAX_AGE = "fcrepo.digest.maxAge";
+
+    /**
+     * System property with the number of computed digests to keep
+     */
+    public static final String DIGEST_CACHE_SIZE = "fcrepo.digest.cacheSize";
+
+    private static final int DEFAULT_MAX_AGE = 3600;
+
+    private static final int DEFAULT_CACHE_SIZE = 10000;
+
+    private static final Counter storedDigests =
+            RegistryService.getInstance().getMetrics().counter(name(DigestService.class, "stored"));
+
+    private static final Counter cachedDigests =
+            RegistryService.getInstance().getMetrics().counter(name(DigestService.class, "cached"));
+
+    private static final Counter computedDigests =
+            RegistryService.getInstance().getMetrics().counter(name(DigestService.class, "computed"));
+
+    /**
+     * A digest computed by the repository
+     */
+    private static class Computed {
+
+        private final URI digest;
+
+        private final long at = currentTimeMillis();
+
+        private Computed(final URI digest) {
+            this.digest = digest;
+        }
+    }
+
+    // computed digests, by binary, state of its content and digest scheme
+    private final Cache<String, Computed> computed = CacheBuilder.newBuilder()
+            .maximumSize(getInteger(DIGEST_CACHE_SIZE, DEFAULT_CACHE_SIZE)).build();
+
+    private enum Policy { STORED, CACHED, ALWAYS }
+
+    @Override
+    public Collection<URI> getDigests(final IdentifierConverter<Resource, FedoraResource> idTranslator,
+            final FedoraBinary binary, final Collection<String> algorithms)
+            throws UnsupportedAlgorithmException, UnsupportedAccessTypeException {
+        final Policy policy = policy();
+        if (policy == Policy.ALWAYS) {
+            computedDigests.inc(algorithms.size());
+            return binary.checkFixity(idTranslator, algorithms);
+        }
+
+        final Map<String, URI> digests = new HashMap<>();
+        if (policy == Policy.STORED && !isExternal(binary)) {
+            storedDigests(binary).forEach(d -> {
+                if (algorithms.stream().anyMatch(a -> getScheme(a).equals(scheme(d)))) {
+                    digests.putIfAbsent(scheme(d), d);
+                    storedDigests.inc();
+                }
+            });
+        }
+
+        final String key = cacheKey(binary);
+        final long oldest = currentTimeMillis() - SECONDS.toMillis(getInteger(DIGEST_MAX_AGE, DEFAULT_MAX_AGE));
+        final List<String> missing = new ArrayList<>();
+        for (final String algorithm : algorithms) {
+            final String scheme = getScheme(algorithm);
+            if (digests.containsKey(scheme)) {
+                continue;
+            }
+            final Computed c = computed.getIfPresent(key + scheme);
+            if (c != null && c.at >= oldest) {
+                digests.put(scheme, c.digest);
+                cachedDigests.inc();
+            } else if (missing.stream().noneMatch(m -> getScheme(m).equals(scheme))) {
+                missing.add(algorithm);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            LOGGER.debug("Computing {} digests of {}", missing, binary.getPath());
+            for (final URI d : binary.checkFixity(idTranslator, missing)) {
+                computed.put(key + scheme(d), new Computed(d));
+                digests.put(scheme(d), d);
+                computedDigests.inc();
+            }
+        }
+        return digests.values();
+    }
+
+    private static Policy policy() {
+        final String policy = System.getProperty(DIGEST_POLICY, "stored");
+        try {
+            return Policy.valueOf(policy.toUpperCase());
+        } catch (final IllegalArgumentException e) {
+            LOGGER.warn("Unknown value {} of {}, using \"stored\"", policy, DIGEST_POLICY);
+            return Policy.STORED;
+        }
+    }
+
+    private static boolean isExternal(final FedoraBinary binary) {
+        return binary.getMimeType().contains(MessageExternalBodyContentType.MEDIA_TYPE);
+    }
+
+    private static List<URI> storedDigests(final FedoraBinary binary) {
+        final List<URI> stored = new ArrayList<>();
+        try {
+            final Node node = getJcrNode(binary);
+            if (node.hasProperty(CONTENT_DIGEST)) {
+                property2values.apply(node.getProperty(CONTENT_DIGEST))
+                        .map(uncheck(v -> URI.create(v.getString()))).forEach(stored::add);
+            }
+        } catch (final RepositoryException e) {
+            throw new RepositoryRuntimeException(e);
+        }
+        return stored;
+    }
+
+    private static String scheme(final URI digest) {
+        return getScheme(ContentDigest.getAlgorithm(digest));
+    }
+
+    /**
+     * A computed digest stays valid while the binary keeps the content it was computed from: its recorded digest
+     * changes with content held by the repository, and its modification date with new external content.
+     */
+    private static String cacheKey(final FedoraBinary binary) {
+        return binary.getPath() + "@" + binary.getLastModifiedDate() + "#" + binary.getContentDigest() + "#";
+    }
+}
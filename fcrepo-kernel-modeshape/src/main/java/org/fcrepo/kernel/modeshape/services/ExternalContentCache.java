@@ -0,0 +1,314 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.kernel.modeshape.services;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.copy;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.createTempFile;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.getLastModifiedTime;
+import static java.nio.file.Files.isRegularFile;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.newByteChannel;
+import static java.nio.file.Files.newDirectoryStream;
+import static java.nio.file.Files.newInputStream;
+import static java.nio.file.Files.newOutputStream;
+import static java.nio.file.Files.setLastModifiedTime;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.attribute.FileTime.fromMillis;
+import static java.util.Comparator.comparing;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * A directory of local copies of external content, bounded in size. Each copy is kept with the validators the
+ * remote server sent with it, so that it is only used after a conditional request confirms it is current. When the
+ * copies outgrow the bound, those read least recently are removed.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+class ExternalContentCache {
+
+    private static final Logger LOGGER = getLogger(ExternalContentCache.class);
+
+    private static final String CONTENT = ".content";
+
+    private static final String VALIDATORS = ".validators";
+
+    private static final String ETAG = "etag";
+
+    private static final String LAST_MODIFIED = "lastModified";
+
+    private static final String CONTENT_TYPE = "contentType";
+
+    private final Path directory;
+
+    private final long maxSize;
+
+    private long size = 0;
+
+    /**
+     * A cached copy and its validators
+     */
+    static class Entry {
+
+        private final Path content;
+
+        private final String etag;
+
+        private final String lastModified;
+
+        private final String contentType;
+
+        private final long length;
+
+        private Entry(final Path content, final Properties validators, final long length) {
+            this.content = content;
+            this.etag = validators.getProperty(ETAG);
+            this.lastModified = validators.getProperty(LAST_MODIFIED);
+            this.contentType = validators.getProperty(CONTENT_TYPE);
+            this.length = length;
+        }
+
+        /**
+         * @return the entity tag of the copy, if any
+         */
+        String getEtag() {
+            return etag;
+        }
+
+        /**
+         * @return the last modification date of the copy, as sent by the remote server, if any
+         */
+        String getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * @return the media type of the copy, as sent by the remote server, if any
+         */
+        String getContentType() {
+            return contentType;
+        }
+
+        /**
+         * @return the length of the copy
+         */
+        long getLength() {
+            return length;
+        }
+    }
+
+    /**
+     * Create a cache, removing any copies left half-written by an earlier run
+     *
+     * @param directory the directory holding the copies
+     * @param maxSize the number of bytes the copies may take up together
+     * @throws IOException if the directory cannot be read
+     */
+    ExternalContentCache(final Path directory, final long maxSize) throws IOException {
+        this.directory = createDirectories(directory);
+        this.maxSize = maxSize;
+        try (final DirectoryStream<Path> files = newDirectoryStream(directory)) {
+            for (final Path file : files) {
+                if (file.toString().endsWith(CONTENT)) {
+                    size += Files.size(file);
+                } else if (!file.toString().endsWith(VALIDATORS)) {
+                    deleteIfExists(file);
+                }
+            }
+        }
+        LOGGER.info("Caching external content in {}, holding {} of {} bytes", directory, size, maxSize);
+    }
+
+    /**
+     * @param length the length of some content
+     * @return whether content of that length may be cached
+     */
+    boolean accepts(final long length) {
+        return length <= maxSize;
+    }
+
+    /**
+     * Look up the copy of some external content
+     *
+     * @param uri the location of the content
+     * @return the copy, or null if there is none
+     * @throws IOException if the copy's validators cannot be read
+     */
+    Entry get(final URI uri) throws IOException {
+        final String key = key(uri);
+        final Path content = directory.resolve(key + CONTENT);
+        final Properties validators = new Properties();
+        try (final InputStream in = newInputStream(directory.resolve(key + VALIDATORS))) {
+            validators.load(in);
+        } catch (final NoSuchFileException e) {
+            return null;
+        }
+        try {
+            return new Entry(content, validators, Files.size(content));
+        } catch (final NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Read a copy, marking it as recently used
+     *
+     * @param entry the copy
+     * @return its content
+     * @throws IOException if the copy has been removed since it was looked up
+     */
+    InputStream open(final Entry entry) throws IOException {
+        return open(entry, 0);
+    }
+
+    /**
+     * Read a copy from some offset, marking it as recently used
+     *
+     * @param entry the copy
+     * @param offset the offset of the first byte to read
+     * @return its content from the offset
+     * @throws IOException if the copy has been removed since it was looked up
+     */
+    InputStream open(final Entry entry, final long offset) throws IOException {
+        final SeekableByteChannel channel = newByteChannel(entry.content);
+        try {
+            channel.position(offset);
+            setLastModifiedTime(entry.content, fromMillis(System.currentTimeMillis()));
+        } catch (final IOException e) {
+            channel.close();
+            throw e;
+        }
+        return Channels.newInputStream(channel);
+    }
+
+    /**
+     * Store a copy of some external content, replacing any earlier copy
+     *
+     * @param uri the location of the content
+     * @param etag the entity tag sent with the content, if any
+     * @param lastModified the last modification date sent with the content, if any
+     * @param contentType the media type sent with the content, if any
+     * @param content the content, read to its end but not closed
+     * @return the stored copy
+     * @throws IOException if the copy cannot be written
+     */
+    Entry put(final URI uri, final String etag, final String lastModified, final String contentType,
+            final InputStream content) throws IOException {
+        final String key = key(uri);
+        final Path contentFile = directory.resolve(key + CONTENT);
+        final Path validatorsFile = directory.resolve(key + VALIDATORS);
+        final Path tempContent = createTempFile(directory, key, null);
+        final Path tempValidators = createTempFile(directory, key, null);
+        try {
+            final long length = copy(content, tempContent, REPLACE_EXISTING);
+            final Properties validators = new Properties();
+            validators.setProperty("uri", uri.toString());
+            if (etag != null) {
+                validators.setProperty(ETAG, etag);
+            }
+            if (lastModified != null) {
+                validators.setProperty(LAST_MODIFIED, lastModified);
+            }
+            if (contentType != null) {
+                validators.setProperty(CONTENT_TYPE, contentType);
+            }
+            try (final OutputStream out = newOutputStream(tempValidators)) {
+                validators.store(out, null);
+            }
+
+            synchronized (this) {
+                if (isRegularFile(contentFile)) {
+                    size -= Files.size(contentFile);
+                }
+                move(tempContent, contentFile, ATOMIC_MOVE, REPLACE_EXISTING);
+                move(tempValidators, validatorsFile, ATOMIC_MOVE, REPLACE_EXISTING);
+                size += length;
+                evict();
+            }
+            return new Entry(contentFile, validators, length);
+        } finally {
+            deleteIfExists(tempContent);
+            deleteIfExists(tempValidators);
+        }
+    }
+
+    /**
+     * @return the number of bytes held by the copies
+     */
+    synchronized long size() {
+        return size;
+    }
+
+    private void evict() throws IOException {
+        if (size <= maxSize) {
+            return;
+        }
+        final List<Path> copies = new ArrayList<>();
+        try (final DirectoryStream<Path> files = newDirectoryStream(directory, "*" + CONTENT)) {
+            files.forEach(copies::add);
+        }
+        copies.sort(comparing(ExternalContentCache::lastUsed));
+        for (final Path copy : copies) {
+            if (size <= maxSize) {
+                break;
+            }
+            final long length = Files.size(copy);
+            final String name = copy.getFileName().toString();
+            deleteIfExists(copy.resolveSibling(name.substring(0, name.length() - CONTENT.length()) + VALIDATORS));
+            if (deleteIfExists(copy)) {
+                size -= length;
+                LOGGER.debug("Evicted {} bytes of cached external content in {}", length, copy);
+            }
+        }
+    }
+
+    private static FileTime lastUsed(final Path file) {
+        try {
+            return getLastModifiedTime(file);
+        } catch (final IOException e) {
+            return fromMillis(0);
+        }
+    }
+
+    private static String key(final URI uri) {
+        return Hashing.sha256().hashString(uri.toString(), UTF_8).toString();
+    }
+}
@@ -17,52 +17,713 @@
  */
 package org.fcrepo.kernel.modeshape.services;
 
+import static com.codahale.metrics.MetricRegistry.name;
+import static com.google.common.io.ByteStreams.limit;
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
+import static java.lang.Math.max;
+import static java.util.Collections.newSetFromMap;
+import static org.apache.http.HttpHeaders.ACCEPT_RANGES;
+import static org.apache.http.HttpHeaders.CONTENT_LENGTH;
+import static org.apache.http.HttpHeaders.CONTENT_RANGE;
+import static org.apache.http.HttpHeaders.CONTENT_TYPE;
+import static org.apache.http.HttpHeaders.ETAG;
+import static org.apache.http.HttpHeaders.IF_MATCH;
+import static org.apache.http.HttpHeaders.IF_MODIFIED_SINCE;
+import static org.apache.http.HttpHeaders.IF_NONE_MATCH;
+import static org.apache.http.HttpHeaders.IF_RANGE;
+import static org.apache.http.HttpHeaders.IF_UNMODIFIED_SINCE;
+import static org.apache.http.HttpHeaders.LAST_MODIFIED;
+import static org.apache.http.HttpHeaders.RANGE;
+import static org.apache.http.HttpStatus.SC_NOT_MODIFIED;
+import static org.apache.http.HttpStatus.SC_OK;
+import static org.apache.http.HttpStatus.SC_PARTIAL_CONTENT;
+import static org.apache.http.HttpStatus.SC_PRECONDITION_FAILED;
+import static org.apache.http.HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE;
+import static org.slf4j.LoggerFactory.getLogger;
+
 import org.fcrepo.kernel.api.services.ExternalContentService;
+import org.fcrepo.kernel.api.utils.ExternalContent;
+import org.fcrepo.kernel.modeshape.utils.ExternalResourceCacheEntry;
+import org.fcrepo.metrics.RegistryService;
 
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import com.google.common.annotations.VisibleForTesting;
+import org.apache.http.Header;
 import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpHead;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.utils.DateUtils;
 import org.apache.http.conn.HttpClientConnectionManager;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
 import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.slf4j.Logger;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
+ * Fetches external content through one HTTP client shared by all requests, over the global connection pool.
+ *
+ * Requests time out when a connection cannot be made, leased from the pool or read from, and the pool bounds the
+ * number of connections open to any one host. Connections that fail before a response are retried, and a transfer
+ * that fails part way through is resumed with a range request when the remote server supports them. Content read
+ * repeatedly, or proxied to clients, may be kept in a local cache, enabled by {@link #CACHE_DIRECTORY}. A transfer
+ * may be limited in size by {@link #MAX_BYTES}. Requests, errors, resumed transfers, cache hits and bytes read are
+ * counted for each remote host, up to a limit.
+ *
  * @author cabeer
  */
 @Component
 public class ExternalContentServiceImpl implements ExternalContentService {
 
+    private static final Logger LOGGER = getLogger(ExternalContentServiceImpl.class);
+
+    /**
+     * System property with the milliseconds to wait for a connection to a remote host
+     */
+    public static final String CONNECT_TIMEOUT = "fcrepo.external.connectTimeout";
+
+    /**
+     * System property with the milliseconds to wait for data from a remote host, or for a free pooled connection
+     */
+    public static final String READ_TIMEOUT = "fcrepo.external.readTimeout";
+
+    /**
+     * System property with the number of connections that may be open to any one remote host
+     */
+    public static final String MAX_PER_HOST = "fcrepo.external.maxPerHost";
+
+    /**
+     * System property with the number of connections that may be open to all remote hosts together
+     */
+    public static final String MAX_TOTAL = "fcrepo.external.maxTotal";
+
+    /**
+     * System property with the number of times a failed request or interrupted transfer is retried
+     */
+    public static final String RETRIES = "fcrepo.external.retries";
+
+    /**
+     * System property with the maximum number of bytes read from a remote host in one transfer, beyond which the
+     * transfer fails; 0 (the default) for no limit
+     */
+    public static final String MAX_BYTES = "fcrepo.external.maxBytes";
+
+    /**
+     * System property with the directory of the cache of content read repeatedly; no cache is kept if unset
+     */
+    public static final String CACHE_DIRECTORY = "fcrepo.external.cache.directory";
+
+    /**
+     * System property with the number of megabytes the cache may take up
+     */
+    public static final String CACHE_SIZE_MB = "fcrepo.external.cache.sizeMb";
+
+    /**
+     * System property with the number of remote hosts counted separately; requests to any other host are counted
+     * together, as host "other"
+     */
+    public static final String METRICS_MAX_HOSTS_PROPERTY = "fcrepo.external.metrics.maxHosts";
+
+    private static final int METRICS_MAX_HOSTS = getInteger(METRICS_MAX_HOSTS_PROPERTY, 32);
+
+    private static final String OTHER_HOSTS = "other";
+
+    private static final Set<String> metricHosts = newSetFromMap(new ConcurrentHashMap<>());
+
+    private static final String[] PROXIED_HEADERS = {ACCEPT_RANGES, CONTENT_LENGTH, CONTENT_RANGE, CONTENT_TYPE, ETAG,
+        LAST_MODIFIED};
+
+    private static final MetricRegistry registry = RegistryService.getInstance().getMetrics();
+
     @Inject
     private HttpClientConnectionManager connManager;
 
+    private CloseableHttpClient client;
+
+    private ExternalContentCache cache;
+
+    private final ConcurrentMap<URI, CompletableFuture<ExternalContentCache.Entry>> fetches =
+            new ConcurrentHashMap<>();
+
+    private final int retries = getInteger(RETRIES, 3);
+
+    private long maxBytes = getLong(MAX_BYTES, 0L);
+
+    /**
+     * Build the shared client and open the cache, if one is configured
+     *
+     * @throws IOException if the cache directory cannot be read
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        if (connManager instanceof PoolingHttpClientConnectionManager) {
+            final PoolingHttpClientConnectionManager pool = (PoolingHttpClientConnectionManager) connManager;
+            pool.setDefaultMaxPerRoute(getInteger(MAX_PER_HOST, 8));
+            pool.setMaxTotal(getInteger(MAX_TOTAL, 64));
+        }
+        final int readTimeout = getInteger(READ_TIMEOUT, 60000);
+        final RequestConfig config = RequestConfig.custom()
+                .setConnectTimeout(getInteger(CONNECT_TIMEOUT, 10000))
+                .setSocketTimeout(readTimeout)
+                .setConnectionRequestTimeout(readTimeout)
+                .build();
+        client = HttpClients.custom()
+                .setConnectionManager(connManager)
+                .setConnectionManagerShared(true)
+                .setDefaultRequestConfig(config)
+                .setRetryHandler(new DefaultHttpRequestRetryHandler(retries, false))
+                .build();
+
+        final String directory = System.getProperty(CACHE_DIRECTORY);
+        if (directory != null) {
+            cache = new ExternalContentCache(Paths.get(directory), getLong(CACHE_SIZE_MB, 1024L) * 1024 * 1024);
+        }
+        ExternalResourceCacheEntry.setContentService(this);
+    }
+
+    /**
+     * Close the shared client, leaving the connection pool to its owner
+     *
+     * @throws IOException if IO exception occurred
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        ExternalResourceCacheEntry.setContentService(null);
+        if (client != null) {
+            client.close();
+        }
+    }
+
     /**
      * Retrieve the content at the URI using the global connection pool.
      * @param sourceUri the source uri
      * @return the content at the URI using the global connection pool
      * @throws IOException if IO exception occurred
      */
-    @SuppressWarnings("resource")
     @Override
     public InputStream retrieveExternalContent(final URI sourceUri) throws IOException {
-        final HttpGet httpGet = new HttpGet(sourceUri);
-        final CloseableHttpClient client = getCloseableHttpClient();
-        final HttpResponse response = client.execute(httpGet);
-        return response.getEntity().getContent();
+        final CloseableHttpResponse response = execute(new HttpGet(sourceUri));
+        checkStatus(sourceUri, response, SC_OK);
+        return new ResumingInputStream(sourceUri, response, true);
+    }
+
+    /**
+     * Retrieve the content at the URI, from the cache if the remote server confirms that the cached copy is
+     * current. Content the server sends without an entity tag or modification date cannot be confirmed, and is
+     * never cached.
+     * @param sourceUri the source uri
+     * @return the content at the URI
+     * @throws IOException if IO exception occurred
+     */
+    @Override
+    public InputStream retrieveCachedContent(final URI sourceUri) throws IOException {
+        if (cache == null) {
+            return retrieveExternalContent(sourceUri);
+        }
+
+        final ExternalContentCache.Entry cached = cache.get(sourceUri);
+        final CloseableHttpResponse response = execute(conditional(new HttpGet(sourceUri), cached));
+        if (cached != null && response.getStatusLine().getStatusCode() == SC_NOT_MODIFIED) {
+            response.close();
+            try {
+                final InputStream content = cache.open(cached);
+                registry.counter(name(ExternalContentService.class, host(sourceUri), "cache-hits")).inc();
+                return content;
+            } catch (final NoSuchFileException e) {
+                LOGGER.debug("Cached copy of {} was evicted before it could be read", sourceUri);
+                return retrieveExternalContent(sourceUri);
+            }
+        }
+        checkStatus(sourceUri, response, SC_OK);
+
+        final String etag = header(response, ETAG);
+        final String lastModified = header(response, LAST_MODIFIED);
+        final InputStream content = new ResumingInputStream(sourceUri, response, true);
+        if (!cacheable(response)) {
+            return content;
+        }
+        try (final InputStream in = content) {
+            return cache.open(cache.put(sourceUri, etag, lastModified, header(response, CONTENT_TYPE), in));
+        }
+    }
+
+    /**
+     * Fetch the content at the URI on behalf of a client. Without a cache, the client's request headers are passed
+     * on to the remote server and its response is passed back. With a cache, a full GET is read through it: the
+     * cached copy is revalidated or replaced, and the client's conditional headers are answered from it. Concurrent
+     * full GETs of the same content share one revalidation or download. A HEAD or a range request is answered from
+     * a copy already cached and still current, but never fills the cache: it is passed on as if there were no
+     * cache, rather than downloading all of the content to answer it. Content that cannot be cached is passed
+     * through as well.
+     * @param sourceUri the source uri
+     * @param head whether only the headers of the response are wanted
+     * @param requestHeaders the range and conditional headers of the client's request, by name
+     * @return the response
+     * @throws IOException if IO exception occurred
+     */
+    @Override
+    public ExternalContent proxyExternalContent(final URI sourceUri, final boolean head,
+            final Map<String, String> requestHeaders) throws IOException {
+        if (cache != null) {
+            final ExternalContent content = head || requestHeaders.containsKey(RANGE)
+                    ? serveIfCurrent(sourceUri, head, requestHeaders) : readThrough(sourceUri, requestHeaders);
+            if (content != null) {
+                return content;
+            }
+        }
+
+        final HttpRequestBase request = head ? new HttpHead(sourceUri) : new HttpGet(sourceUri);
+        requestHeaders.forEach(request::setHeader);
+        return passOn(sourceUri, execute(request), head);
+    }
+
+    /**
+     * Answer a HEAD or range request from the cached copy, if there is one and a conditional HEAD confirms that it
+     * is current
+     * @return the response, or null if the request is to be passed on
+     */
+    private ExternalContent serveIfCurrent(final URI sourceUri, final boolean head,
+            final Map<String, String> requestHeaders) throws IOException {
+        final ExternalContentCache.Entry cached = cache.get(sourceUri);
+        if (cached == null) {
+            return null;
+        }
+        try (final CloseableHttpResponse response = execute(conditional(new HttpHead(sourceUri), cached))) {
+            if (response.getStatusLine().getStatusCode() != SC_NOT_MODIFIED) {
+                return null;
+            }
+        }
+        try {
+            final ExternalContent content = serve(cached, head, requestHeaders);
+            registry.counter(name(ExternalContentService.class, host(sourceUri), "cache-hits")).inc();
+            return content;
+        } catch (final NoSuchFileException e) {
+            LOGGER.debug("Cached copy of {} was evicted before it could be read", sourceUri);
+            return null;
+        }
+    }
+
+    /**
+     * Answer a full GET from the cache, revalidating or replacing the cached copy first. Only one request at a time
+     * revalidates or downloads the content at a URI; other requests for it wait and are answered from its copy.
+     * @return the response, or null if the request is to be passed on
+     */
+    private ExternalContent readThrough(final URI sourceUri, final Map<String, String> requestHeaders)
+            throws IOException {
+        final CompletableFuture<ExternalContentCache.Entry> fetch = new CompletableFuture<>();
+        final CompletableFuture<ExternalContentCache.Entry> running = fetches.putIfAbsent(sourceUri, fetch);
+        if (running != null) {
+            LOGGER.debug("Waiting for the copy of {} being fetched by another request", sourceUri);
+            final ExternalContentCache.Entry copy = running.join();
+            return copy == null ? null : serveCopy(sourceUri, copy, requestHeaders);
+        }
+
+        ExternalContentCache.Entry copy = null;
+        try {
+            final ExternalContentCache.Entry cached = cache.get(sourceUri);
+            final CloseableHttpResponse response = execute(conditional(new HttpGet(sourceUri), cached));
+            final int status = response.getStatusLine().getStatusCode();
+            if (cached != null && status == SC_NOT_MODIFIED) {
+                response.close();
+                registry.counter(name(ExternalContentService.class, host(sourceUri), "cache-hits")).inc();
+                copy = cached;
+            } else if (status == SC_OK && cacheable(response)) {
+                try (final InputStream in = new ResumingInputStream(sourceUri, response, true)) {
+                    copy = cache.put(sourceUri, header(response, ETAG), header(response, LAST_MODIFIED),
+                            header(response, CONTENT_TYPE), in);
+                }
+            } else if (status != SC_NOT_MODIFIED && requestHeaders.isEmpty()) {
+                // the response already answers the client's request
+                return passOn(sourceUri, response, false);
+            } else {
+                response.close();
+                return null;
+            }
+        } finally {
+            fetches.remove(sourceUri, fetch);
+            fetch.complete(copy);
+        }
+        return serveCopy(sourceUri, copy, requestHeaders);
+    }
+
+    private ExternalContent serveCopy(final URI sourceUri, final ExternalContentCache.Entry copy,
+            final Map<String, String> requestHeaders) throws IOException {
+        try {
+            return serve(copy, false, requestHeaders);
+        } catch (final NoSuchFileException e) {
+            LOGGER.debug("Cached copy of {} was evicted before it could be read", sourceUri);
+            return null;
+        }
+    }
+
+    /**
+     * Make a request conditional on the cached copy, if any, having changed
+     */
+    private static HttpRequestBase conditional(final HttpRequestBase request,
+            final ExternalContentCache.Entry cached) {
+        if (cached != null && cached.getEtag() != null) {
+            request.setHeader(IF_NONE_MATCH, cached.getEtag());
+        }
+        if (cached != null && cached.getLastModified() != null) {
+            request.setHeader(IF_MODIFIED_SINCE, cached.getLastModified());
+        }
+        return request;
+    }
+
+    /**
+     * Pass a response of the remote server back to the client
+     */
+    private ExternalContent passOn(final URI sourceUri, final CloseableHttpResponse response, final boolean head)
+            throws IOException {
+        final int status = response.getStatusLine().getStatusCode();
+        if (status >= 500) {
+            registry.counter(name(ExternalContentService.class, host(sourceUri), "errors")).inc();
+        }
+        final Map<String, String> headers = new HashMap<>();
+        for (final String name : PROXIED_HEADERS) {
+            final String value = header(response, name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        if (head || response.getEntity() == null) {
+            response.close();
+            return new ExternalContent(status, headers, null);
+        }
+        return new ExternalContent(status, headers, new ResumingInputStream(sourceUri, response, status == SC_OK));
+    }
+
+    /**
+     * Answer a client's request from a cached copy
+     */
+    private ExternalContent serve(final ExternalContentCache.Entry cached, final boolean head,
+            final Map<String, String> requestHeaders) throws IOException {
+        final Map<String, String> headers = new HashMap<>();
+        headers.put(ACCEPT_RANGES, "bytes");
+        if (cached.getEtag() != null) {
+            headers.put(ETAG, cached.getEtag());
+        }
+        if (cached.getLastModified() != null) {
+            headers.put(LAST_MODIFIED, cached.getLastModified());
+        }
+
+        final String ifMatch = requestHeaders.get(IF_MATCH);
+        final Date ifUnmodifiedSince = date(requestHeaders.get(IF_UNMODIFIED_SINCE));
+        if ((ifMatch != null && !matches(ifMatch, cached.getEtag(), true)) || (ifMatch == null
+                && ifUnmodifiedSince != null && !notAfter(cached.getLastModified(), ifUnmodifiedSince))) {
+            return new ExternalContent(SC_PRECONDITION_FAILED, headers, null);
+        }
+        final String ifNoneMatch = requestHeaders.get(IF_NONE_MATCH);
+        final Date ifModifiedSince = date(requestHeaders.get(IF_MODIFIED_SINCE));
+        if ((ifNoneMatch != null && matches(ifNoneMatch, cached.getEtag(), false)) || (ifNoneMatch == null
+                && ifModifiedSince != null && notAfter(cached.getLastModified(), ifModifiedSince))) {
+            return new ExternalContent(SC_NOT_MODIFIED, headers, null);
+        }
+
+        if (cached.getContentType() != null) {
+            headers.put(CONTENT_TYPE, cached.getContentType());
+        }
+        final long length = cached.getLength();
+        final long[] range = range(requestHeaders, cached);
+        if (range != null && (range[0] >= length || range[0] > range[1])) {
+            headers.put(CONTENT_RANGE, "bytes */" + length);
+            return new ExternalContent(SC_REQUESTED_RANGE_NOT_SATISFIABLE, headers, null);
+        }
+        final long start = range == null ? 0 : range[0];
+        final long end = range == null ? length - 1 : Math.min(range[1], length - 1);
+        headers.put(CONTENT_LENGTH, Long.toString(end - start + 1));
+        if (range != null) {
+            headers.put(CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        final InputStream content = head ? null : limit(cache.open(cached, start), end - start + 1);
+        return new ExternalContent(range == null ? SC_OK : SC_PARTIAL_CONTENT, headers, content);
+    }
+
+    /**
+     * @return the first and last byte of the single range requested, if any and still valid for the copy
+     */
+    private static long[] range(final Map<String, String> requestHeaders, final ExternalContentCache.Entry cached) {
+        final String range = requestHeaders.get(RANGE);
+        if (range == null || !range.startsWith("bytes=") || range.contains(",")) {
+            return null;
+        }
+        final String ifRange = requestHeaders.get(IF_RANGE);
+        if (ifRange != null && !ifRange.equals(cached.getEtag()) && !ifRange.equals(cached.getLastModified())) {
+            return null;
+        }
+        final String spec = range.substring("bytes=".length()).trim();
+        final int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            final long length = cached.getLength();
+            if (dash == 0) {
+                final long suffix = Long.parseLong(spec.substring(1));
+                return suffix == 0 ? new long[] {length, length - 1} : new long[] {max(0, length - suffix), length - 1};
+            }
+            final long first = Long.parseLong(spec.substring(0, dash));
+            final long last = dash == spec.length() - 1 ? length - 1 : Long.parseLong(spec.substring(dash + 1));
+            return new long[] {first, last};
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean matches(final String condition, final String etag, final boolean strong) {
+        if (condition.trim().equals("*")) {
+            return etag != null;
+        }
+        if (etag == null || (strong && etag.startsWith("W/"))) {
+            return false;
+        }
+        final String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (final String candidate : condition.split(",")) {
+            final String tag = candidate.trim();
+            if ((strong && tag.equals(etag)) || (!strong && (tag.startsWith("W/") ? tag.substring(2) : tag)
+                    .equals(opaque))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean notAfter(final String lastModified, final Date date) {
+        final Date modified = date(lastModified);
+        return modified != null && !modified.after(date);
+    }
+
+    private static Date date(final String value) {
+        return value == null ? null : DateUtils.parseDate(value);
+    }
+
+    private boolean cacheable(final HttpResponse response) {
+        final String length = header(response, CONTENT_LENGTH);
+        return (header(response, ETAG) != null || header(response, LAST_MODIFIED) != null) &&
+                (length == null || cache.accepts(Long.parseLong(length)));
     }
 
     @VisibleForTesting
     protected CloseableHttpClient getCloseableHttpClient() {
-        return HttpClients.createMinimal(connManager);
+        return client;
     }
 
     @VisibleForTesting
     protected void setConnManager(final HttpClientConnectionManager connManager) {
         this.connManager = connManager;
     }
+
+    @VisibleForTesting
+    void setCache(final ExternalContentCache cache) {
+        this.cache = cache;
+    }
+
+    @VisibleForTesting
+    void setMaxBytes(final long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    private CloseableHttpResponse execute(final HttpRequestBase request) throws IOException {
+        final String host = host(request.getURI());
+        final Timer.Context timer = registry.timer(name(ExternalContentService.class, host, "requests")).time();
+        try {
+            return getCloseableHttpClient().execute(request);
+        } catch (final IOException e) {
+            registry.counter(name(ExternalContentService.class, host, "errors")).inc();
+            throw e;
+        } finally {
+            timer.stop();
+        }
+    }
+
+    private static void checkStatus(final URI uri, final CloseableHttpResponse response, final int expected)
+            throws IOException {
+        if (response.getStatusLine().getStatusCode() != expected) {
+            response.close();
+            registry.counter(name(ExternalContentService.class, host(uri), "errors")).inc();
+            throw new IOException("Unable to retrieve external content from " + uri + ": " +
+                    response.getStatusLine());
+        }
+    }
+
+    private static String header(final HttpResponse response, final String name) {
+        final Header header = response.getFirstHeader(name);
+        return header == null ? null : header.getValue();
+    }
+
+    /**
+     * @return the host to count requests to the URI under: hosts beyond the first {@link #METRICS_MAX_HOSTS} seen
+     *         are counted together, so that external content cannot add metrics without limit
+     */
+    private static String host(final URI uri) {
+        final String host = uri.getHost() == null ? "unknown" : uri.getHost().toLowerCase();
+        if (metricHosts.contains(host)) {
+            return host;
+        }
+        synchronized (metricHosts) {
+            if (metricHosts.size() < METRICS_MAX_HOSTS) {
+                metricHosts.add(host);
+                return host;
+            }
+        }
+        return OTHER_HOSTS;
+    }
+
+    /**
+     * The content of a response, which resumes from where it stopped if reading it fails and the remote server
+     * supports range requests. A transfer is only resumed if the content can be identified by a strong entity tag
+     * or a modification date, so that the remaining bytes are known to come from the same content. A transfer of
+     * more than {@link #MAX_BYTES} fails, before it starts if the remote server declares its length.
+     */
+    private class ResumingInputStream extends InputStream {
+
+        private final URI uri;
+
+        private final String validator;
+
+        private final Meter bytes;
+
+        private CloseableHttpResponse response;
+
+        private InputStream content;
+
+        private long position = 0;
+
+        private int resumed = 0;
+
+        private ResumingInputStream(final URI uri, final CloseableHttpResponse response, final boolean resumable)
+                throws IOException {
+            this.uri = uri;
+            this.response = response;
+            this.bytes = registry.meter(name(ExternalContentService.class, host(uri), "bytes"));
+            final String length = header(response, CONTENT_LENGTH);
+            if (maxBytes > 0 && length != null && Long.parseLong(length) > maxBytes) {
+                response.close();
+                throw tooLarge();
+            }
+            this.content = response.getEntity().getContent();
+            final String etag = header(response, ETAG);
+            final String lastModified = header(response, LAST_MODIFIED);
+            final boolean ranges = "bytes".equalsIgnoreCase(header(response, ACCEPT_RANGES));
+            if (!resumable || !ranges) {
+                validator = null;
+            } else if (etag != null && !etag.startsWith("W/")) {
+                validator = etag;
+            } else {
+                validator = lastModified;
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b;
+            while (true) {
+                try {
+                    b = content.read();
+                    break;
+                } catch (final IOException e) {
+                    resume(e);
+                }
+            }
+            if (b >= 0) {
+                advance(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            int read;
+            while (true) {
+                try {
+                    read = content.read(b, off, len);
+                    break;
+                } catch (final IOException e) {
+                    resume(e);
+                }
+            }
+            if (read > 0) {
+                advance(read);
+            }
+            return read;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return content.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // a response read to its end has already returned its connection to the pool
+            response.close();
+        }
+
+        private void advance(final int read) throws IOException {
+            position += read;
+            bytes.mark(read);
+            if (maxBytes > 0 && position > maxBytes) {
+                response.close();
+                throw tooLarge();
+            }
+        }
+
+        private IOException tooLarge() {
+            registry.counter(name(ExternalContentService.class, host(uri), "errors")).inc();
+            return new IOException("External content at " + uri + " is larger than the limit of " + maxBytes +
+                    " bytes");
+        }
+
+        private void resume(final IOException failure) throws IOException {
+            if (validator == null || resumed >= retries) {
+                throw failure;
+            }
+            resumed++;
+            registry.counter(name(ExternalContentService.class, host(uri), "resumes")).inc();
+            LOGGER.warn("Resuming transfer of {} from byte {}: {}", uri, position, failure.getMessage());
+            response.close();
+
+            final HttpGet request = new HttpGet(uri);
+            request.setHeader(RANGE, "bytes=" + position + "-");
+            request.setHeader(IF_RANGE, validator);
+            final CloseableHttpResponse next;
+            try {
+                next = execute(request);
+            } catch (final IOException e) {
+                failure.addSuppressed(e);
+                throw failure;
+            }
+            final String range = header(next, CONTENT_RANGE);
+            if (next.getStatusLine().getStatusCode() != SC_PARTIAL_CONTENT || range == null
+                    || !range.startsWith("bytes " + position + "-")) {
+                next.close();
+                throw failure;
+            }
+            response = next;
+            content = next.getEntity().getContent();
+        }
+    }
 }
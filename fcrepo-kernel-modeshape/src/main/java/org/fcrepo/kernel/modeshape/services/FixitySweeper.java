@@ -0,0 +1,527 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.kernel.modeshape.services;
+
+import static java.lang.Integer.getInteger;
+import static java.lang.Long.getLong;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.deleteIfExists;
+import static java.nio.file.Files.exists;
+import static java.nio.file.Files.move;
+import static java.nio.file.Files.readAllLines;
+import static java.nio.file.Files.write;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.time.Instant.now;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static org.fcrepo.kernel.api.FedoraTypes.CONTENT_DIGEST;
+import static org.fcrepo.kernel.api.FedoraTypes.CONTENT_SIZE;
+import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.getJcrSession;
+import static org.fcrepo.kernel.modeshape.rdf.impl.RootRdfContext.FIXITY_CHECK_COUNTER;
+import static org.fcrepo.kernel.modeshape.rdf.impl.RootRdfContext.FIXITY_ERROR_COUNTER;
+import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.isFedoraBinary;
+import static org.modeshape.jcr.api.JcrConstants.JCR_DATA;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.jcr.Node;
+import javax.jcr.NodeIterator;
+import javax.jcr.Property;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import javax.jcr.Value;
+
+import org.fcrepo.kernel.api.FedoraRepository;
+import org.fcrepo.kernel.api.FedoraSession;
+import org.fcrepo.kernel.api.exception.RepositoryRuntimeException;
+import org.fcrepo.kernel.api.utils.ContentDigest;
+import org.fcrepo.kernel.api.utils.MessageExternalBodyContentType;
+import org.fcrepo.kernel.modeshape.FedoraBinaryImpl;
+import org.fcrepo.metrics.RegistryService;
+import org.slf4j.Logger;
+import org.springframework.stereotype.Component;
+
+import com.codahale.metrics.Counter;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.RateLimiter;
+
+/**
+ * Checks the fixity of every binary held by the repository in the background, comparing the digests and size
+ * recorded when its content was stored with those of the content read back from the binary store.
+ *
+ * Binaries are visited in the order of their paths, a batch at a time. After each batch the path of its last binary
+ * is saved as the sweep's cursor, so that a sweep interrupted by a restart carries on where it stopped. The binaries
+ * of a batch are read by a bounded pool of workers sharing a budget of bytes read per second. Failures are appended
+ * to a log and a line is appended for each completed sweep, both in the sweep's directory; every check and failure
+ * is also counted in the fixity counters shown on the repository root.
+ *
+ * External content is not checked. The sweeper is disabled unless {@link #SWEEP_DIRECTORY} is set.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+@Component
+public class FixitySweeper {
+
+    private static final Logger LOGGER = getLogger(FixitySweeper.class);
+
+    /**
+     * System property with the directory for the sweep's cursor and results
+     */
+    public static final String SWEEP_DIRECTORY = "fcrepo.fixity.sweep.directory";
+
+    /**
+     * System property with the number of binaries read concurrently
+     */
+    public static final String SWEEP_THREADS = "fcrepo.fixity.sweep.threads";
+
+    /**
+     * System property with the number of bytes read per second by all workers together; 0 for no limit
+     */
+    public static final String SWEEP_BYTES_PER_SECOND = "fcrepo.fixity.sweep.bytesPerSecond";
+
+    /**
+     * System property with the number of binaries checked between saves of the cursor
+     */
+    public static final String SWEEP_BATCH_SIZE = "fcrepo.fixity.sweep.batchSize";
+
+    /**
+     * System property with the number of hours between the end of a sweep and the start of the next
+     */
+    public static final String SWEEP_INTERVAL_HOURS = "fcrepo.fixity.sweep.intervalHours";
+
+    static final String CURSOR = "cursor";
+
+    static final String FAILURES = "failures";
+
+    static final String SWEEPS = "sweeps";
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private static final Counter checks = RegistryService.getInstance().getMetrics().counter(FIXITY_CHECK_COUNTER);
+
+    private static final Counter errors = RegistryService.getInstance().getMetrics().counter(FIXITY_ERROR_COUNTER);
+
+    @Inject
+    private FedoraRepository repository;
+
+    private Path directory;
+
+    private int threads;
+
+    private int batchSize;
+
+    private RateLimiter budget;
+
+    private ExecutorService sweeper;
+
+    private ExecutorService workers;
+
+    /**
+     * Default constructor
+     */
+    public FixitySweeper() {
+    }
+
+    /**
+     * Create a sweeper that is not scheduled
+     *
+     * @param repository the repository
+     * @param directory the directory for the cursor and results
+     * @param threads the number of binaries read concurrently
+     * @param bytesPerSecond the number of bytes read per second, 0 for no limit
+     * @param batchSize the number of binaries checked between saves of the cursor
+     */
+    @VisibleForTesting
+    public FixitySweeper(final FedoraRepository repository, final Path directory, final int threads,
+            final long bytesPerSecond, final int batchSize) {
+        this.repository = repository;
+        configure(directory, threads, bytesPerSecond, batchSize);
+    }
+
+    private void configure(final Path directory, final int threads, final long bytesPerSecond,
+            final int batchSize) {
+        this.directory = directory;
+        this.threads = Math.max(threads, 1);
+        this.batchSize = Math.max(batchSize, this.threads);
+        this.budget = bytesPerSecond > 0 ? RateLimiter.create(bytesPerSecond) : null;
+    }
+
+    /**
+     * Start sweeping, if a directory has been configured
+     */
+    @PostConstruct
+    public void start() {
+        final String dir = System.getProperty(SWEEP_DIRECTORY);
+        if (dir == null || dir.isEmpty()) {
+            LOGGER.info("No {} set, binaries will not be checked in the background", SWEEP_DIRECTORY);
+            return;
+        }
+        configure(Paths.get(dir), getInteger(SWEEP_THREADS, 2), getLong(SWEEP_BYTES_PER_SECOND, 50L << 20),
+                getInteger(SWEEP_BATCH_SIZE, 100));
+        final long interval = getLong(SWEEP_INTERVAL_HOURS, 24);
+        sweeper = newSingleThreadExecutor(r -> new Thread(r, "fixity-sweeper"));
+        sweeper.submit(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    try {
+                        sweep();
+                    } catch (final RuntimeException e) {
+                        // the cursor is left at the last completed batch, where the next sweep carries on
+                        LOGGER.error("Fixity sweep failed, trying again in {} hours: {}", interval, e.getMessage(),
+                                e);
+                    }
+                    HOURS.sleep(interval);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        LOGGER.info("Checking binaries in the background, results in {}", directory);
+    }
+
+    /**
+     * Stop sweeping; a sweep in progress continues from its cursor on the next start
+     */
+    @PreDestroy
+    public void stop() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+            sweeper = null;
+        }
+        if (workers != null) {
+            workers.shutdownNow();
+            workers = null;
+        }
+    }
+
+    /**
+     * Check every binary after the cursor, then start the next sweep from the beginning
+     *
+     * @return the number of binaries checked and the number of failures
+     * @throws InterruptedException if interrupted, leaving the cursor at the last completed batch
+     */
+    public long[] sweep() throws InterruptedException {
+        final String started = now().toString();
+        final long[] totals = new long[2];
+        final String cursor = getCursor();
+        LOGGER.info("Fixity sweep starting {}", cursor == null ? "from the beginning" : "after " + cursor);
+        if (workers == null) {
+            workers = newFixedThreadPool(threads, r -> new Thread(r, "fixity-worker"));
+        }
+        final FedoraSession session = repository.login();
+        try {
+            final Walker walker = new Walker(getJcrSession(session), cursor);
+            for (List<String> batch = walker.next(batchSize); !batch.isEmpty(); batch = walker.next(batchSize)) {
+                final List<Callable<Boolean>> tasks = new ArrayList<>();
+                batch.forEach(path -> tasks.add(() -> check(path)));
+                final List<Future<Boolean>> results = workers.invokeAll(tasks);
+                for (int i = 0; i < results.size(); i++) {
+                    totals[0]++;
+                    if (!get(batch.get(i), results.get(i))) {
+                        totals[1]++;
+                    }
+                }
+                writeCursor(batch.get(batch.size() - 1));
+                getJcrSession(session).refresh(false);
+            }
+        } catch (final RepositoryException e) {
+            throw new RepositoryRuntimeException(e);
+        } finally {
+            session.expire();
+        }
+        append(SWEEPS, String.join("\t", started, now().toString(), Long.toString(totals[0]),
+                Long.toString(totals[1])));
+        deleteCursor();
+        LOGGER.info("Fixity sweep checked {} binaries, {} failed", totals[0], totals[1]);
+        return totals;
+    }
+
+    /**
+     * @return the result of checking a binary, recording a binary that could not be checked as a failure
+     */
+    private boolean get(final String path, final Future<Boolean> result) throws InterruptedException {
+        try {
+            return result.get();
+        } catch (final ExecutionException e) {
+            errors.inc();
+            LOGGER.error("Could not check the fixity of {}: {}", path, e.getCause().getMessage());
+            append(FAILURES, String.join("\t", now().toString(), path, "not checked: " + e.getCause()));
+            return false;
+        }
+    }
+
+    /**
+     * Check a single binary against its recorded digests and size
+     *
+     * @param path the path of the binary
+     * @return whether the binary passed, or no longer exists
+     * @throws RepositoryException if repository exception occurred
+     * @throws IOException if the content could not be read
+     */
+    boolean check(final String path) throws RepositoryException, IOException {
+        final FedoraSession session = repository.login();
+        try {
+            final Session jcrSession = getJcrSession(session);
+            if (!jcrSession.nodeExists(path)) {
+                return true;
+            }
+            final Node node = jcrSession.getNode(path);
+            if (!node.hasProperty(JCR_DATA)
+                    || new FedoraBinaryImpl(node).getMimeType().contains(MessageExternalBodyContentType.MEDIA_TYPE)) {
+                return true;
+            }
+            checks.inc();
+
+            final Map<String, String> expected = new HashMap<>();
+            if (node.hasProperty(CONTENT_DIGEST)) {
+                final Property digests = node.getProperty(CONTENT_DIGEST);
+                for (final Value v : digests.isMultiple() ? digests.getValues() : new Value[] {digests.getValue()}) {
+                    final URI digest = URI.create(v.getString());
+                    final String algorithm = ContentDigest.getAlgorithm(digest);
+                    if (ContentDigest.DIGEST_ALGORITHM.isSupportedAlgorithm(algorithm)) {
+                        expected.put(algorithm, hex(digest));
+                    }
+                }
+            }
+            final long expectedSize = node.hasProperty(CONTENT_SIZE) ? node.getProperty(CONTENT_SIZE).getLong() : -1;
+
+            final Map<String, MessageDigest> digesters = new HashMap<>();
+            for (final String algorithm : expected.keySet()) {
+                digesters.put(algorithm, MessageDigest.getInstance(algorithm));
+            }
+            long size = 0;
+            try (final InputStream content = node.getProperty(JCR_DATA).getBinary().getStream()) {
+                final byte[] buffer = new byte[BUFFER_SIZE];
+                for (int read = content.read(buffer); read != -1; read = content.read(buffer)) {
+                    if (budget != null && read > 0) {
+                        budget.acquire(read);
+                    }
+                    for (final MessageDigest digester : digesters.values()) {
+                        digester.update(buffer, 0, read);
+                    }
+                    size += read;
+                }
+            }
+
+            final List<String> problems = new ArrayList<>();
+            if (expectedSize >= 0 && expectedSize != size) {
+                problems.add("size " + size + " instead of " + expectedSize);
+            }
+            for (final Map.Entry<String, MessageDigest> d : digesters.entrySet()) {
+                final String actual = hex(ContentDigest.asURI(d.getKey(), d.getValue().digest()));
+                if (!actual.equalsIgnoreCase(expected.get(d.getKey()))) {
+                    problems.add(d.getKey() + " " + actual + " instead of " + expected.get(d.getKey()));
+                }
+            }
+            if (problems.isEmpty()) {
+                LOGGER.debug("Fixity of {} confirmed", path);
+                return true;
+            }
+            errors.inc();
+            LOGGER.error("Fixity of {} failed: {}", path, problems);
+            append(FAILURES, String.join("\t", now().toString(), path, String.join("; ", problems)));
+            return false;
+        } catch (final NoSuchAlgorithmException e) {
+            throw new RepositoryRuntimeException(e);
+        } finally {
+            session.expire();
+        }
+    }
+
+    private static String hex(final URI digest) {
+        final String[] parts = digest.getSchemeSpecificPart().split(":", 2);
+        return parts.length < 2 ? "" : parts[1];
+    }
+
+    /**
+     * @return the path of the last binary checked by the sweep in progress, or null
+     */
+    public String getCursor() {
+        try {
+            final Path file = directory.resolve(CURSOR);
+            if (!exists(file)) {
+                return null;
+            }
+            final List<String> lines = readAllLines(file, UTF_8);
+            return lines.isEmpty() || lines.get(0).isEmpty() ? null : lines.get(0);
+        } catch (final IOException e) {
+            throw new RepositoryRuntimeException(e);
+        }
+    }
+
+    /**
+     * @return the recorded failures, one per line: time, path of the binary and what did not match
+     */
+    public List<String> getFailures() {
+        try {
+            final Path file = directory.resolve(FAILURES);
+            return exists(file) ? readAllLines(file, UTF_8) : emptyList();
+        } catch (final IOException e) {
+            throw new RepositoryRuntimeException(e);
+        }
+    }
+
+    private void writeCursor(final String path) {
+        try {
+            createDirectories(directory);
+            final Path temp = directory.resolve(CURSOR + ".tmp");
+            write(temp, singletonList(path), UTF_8);
+            move(temp, directory.resolve(CURSOR), REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (final IOException e) {
+            throw new RepositoryRuntimeException(e);
+        }
+    }
+
+    private void deleteCursor() {
+        try {
+            deleteIfExists(directory.resolve(CURSOR));
+        } catch (final IOException e) {
+            throw new RepositoryRuntimeException(e);
+        }
+    }
+
+    private synchronized void append(final String file, final String line) {
+        try {
+            createDirectories(directory);
+            write(directory.resolve(file), singletonList(line), UTF_8, CREATE, APPEND);
+        } catch (final IOException e) {
+            throw new RepositoryRuntimeException(e);
+        }
+    }
+
+    /**
+     * Visits the binaries under the root in the order of their paths, starting after a cursor. Only the sorted child
+     * names of the nodes on the way to the current binary are held.
+     */
+    static class Walker {
+
+        private final Session session;
+
+        private final List<String> cursor;
+
+        private final Deque<Level> levels = new ArrayDeque<>();
+
+        /**
+         * The children of a node still to be visited
+         */
+        private static class Level {
+
+            private final String path;
+
+            private final List<String> names;
+
+            private final int depth;
+
+            private final boolean onCursor;
+
+            private int index = 0;
+
+            private Level(final String path, final List<String> names, final int depth, final boolean onCursor) {
+                this.path = path;
+                this.names = names;
+                this.depth = depth;
+                this.onCursor = onCursor;
+            }
+        }
+
+        Walker(final Session session, final String cursor) throws RepositoryException {
+            this.session = session;
+            this.cursor = cursor == null ? emptyList() : Arrays.asList(cursor.substring(1).split("/"));
+            levels.push(level(session.getRootNode(), 0, !this.cursor.isEmpty()));
+        }
+
+        /**
+         * @param max the maximum number of paths
+         * @return the paths of up to max more binaries, none if the walk is complete
+         * @throws RepositoryException if repository exception occurred
+         */
+        List<String> next(final int max) throws RepositoryException {
+            final List<String> paths = new ArrayList<>();
+            while (paths.size() < max && !levels.isEmpty()) {
+                final Level level = levels.peek();
+                if (level.index >= level.names.size()) {
+                    levels.pop();
+                    continue;
+                }
+                final String name = level.names.get(level.index++);
+                final String path = (level.path.equals("/") ? "" : level.path) + "/" + name;
+                if (!session.nodeExists(path)) {
+                    continue;
+                }
+                final Node node = session.getNode(path);
+                if (isFedoraBinary.test(node)) {
+                    paths.add(path);
+                } else {
+                    levels.push(level(node, level.depth + 1, level.onCursor && name.equals(cursor.get(level.depth))
+                            && level.depth + 1 < cursor.size()));
+                }
+            }
+            return paths;
+        }
+
+        private Level level(final Node node, final int depth, final boolean onCursor) throws RepositoryException {
+            final List<String> names = new ArrayList<>();
+            for (final NodeIterator children = node.getNodes(); children.hasNext(); ) {
+                final String name = children.nextNode().getName();
+                if (!name.equals("jcr:system") && (!onCursor || after(name, depth))) {
+                    names.add(name);
+                }
+            }
+            names.sort(null);
+            return new Level(node.getPath(), names, depth, onCursor);
+        }
+
+        /**
+         * Whether a child name, at a depth along the cursor's path, is yet to be visited: the cursor's ancestors
+         * are revisited for their later children, the cursor itself is not.
+         */
+        private boolean after(final String name, final int depth) {
+            final int c = name.compareTo(cursor.get(depth));
+            return depth < cursor.size() - 1 ? c >= 0 : c > 0;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.kernel.modeshape.services;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static com.google.common.hash.Hashing.murmur3_32;
+import static java.lang.Integer.getInteger;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.fcrepo.kernel.api.observer.EventType.RESOURCE_CREATION;
+import static org.fcrepo.kernel.api.observer.EventType.RESOURCE_DELETION;
+import static org.fcrepo.kernel.api.observer.EventType.RESOURCE_RELOCATION;
+import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.getJcrSession;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+
+import org.fcrepo.kernel.api.FedoraSession;
+import org.fcrepo.kernel.api.exception.RepositoryRuntimeException;
+import org.fcrepo.kernel.api.observer.FedoraEvent;
+import org.fcrepo.kernel.api.services.PairtreeService;
+import org.fcrepo.metrics.RegistryService;
+import org.slf4j.Logger;
+import org.springframework.stereotype.Component;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Places new children of a container by hashing their identifiers into two-character bucket names, one bucket
+ * name per level. A child is created in the first container or bucket along its path that holds fewer than
+ * {@link #PAIRTREE_THRESHOLD} children, so that buckets are only split, by gaining buckets of their own, once
+ * they are full. Children are never moved, so their paths stay stable as the tree grows.
+ *
+ * The number of children of each container and bucket visited is kept in an index, counted from the repository
+ * the first time it is visited after a restart and kept up to date as the event stream reports children created,
+ * so that placing a child does not list the children of the buckets along its path. A container or bucket leaves
+ * the index when one of its children, or a child's tombstone, is deleted or moved away, as reported by the event
+ * stream or by {@link #invalidate(String)}, so that it is counted again, and takes new children again once it
+ * holds fewer than the threshold. The index holds at most {@link #PAIRTREE_INDEX_SIZE} entries, and is emptied to
+ * be rebuilt when it grows past them.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+@Component
+public class PairtreeServiceImpl implements PairtreeService {
+
+    private static final Logger LOGGER = getLogger(PairtreeServiceImpl.class);
+
+    /**
+     * System property with the number of children a container or bucket may hold before new children are placed
+     * in buckets below it; when unset, new children are not placed by this service.
+     */
+    public static final String PAIRTREE_THRESHOLD = "fcrepo.pairtree.threshold";
+
+    /**
+     * System property with the number of containers and buckets whose children are counted in the index
+     */
+    public static final String PAIRTREE_INDEX_SIZE = "fcrepo.pairtree.index.size";
+
+    private static final int LEVELS = 4;
+
+    private static final int LENGTH = 2;
+
+    private static final MetricRegistry METRICS = RegistryService.getInstance().getMetrics();
+
+    private static final Histogram depths = METRICS.histogram(name(PairtreeService.class, "depth"));
+
+    private final int threshold;
+
+    private final int indexSize = getInteger(PAIRTREE_INDEX_SIZE, 100000);
+
+    private final ConcurrentNavigableMap<String, AtomicLong> children = new ConcurrentSkipListMap<>();
+
+    // the size of the index, which a ConcurrentSkipListMap can only count by walking it
+    private final AtomicInteger indexed = new AtomicInteger();
+
+    @Inject
+    private Optional<EventBus> eventBus;
+
+    /**
+     * Create the service with the configured threshold
+     */
+    public PairtreeServiceImpl() {
+        this(getInteger(PAIRTREE_THRESHOLD, 0));
+    }
+
+    /**
+     * Create the service
+     *
+     * @param threshold the number of children a container or bucket may hold before it is split
+     */
+    @VisibleForTesting
+    public PairtreeServiceImpl(final int threshold) {
+        this.threshold = threshold;
+        METRICS.remove(name(PairtreeService.class, "indexed-buckets"));
+        METRICS.register(name(PairtreeService.class, "indexed-buckets"), (Gauge<Integer>) indexed::get);
+    }
+
+    /**
+     * Start listening for creations and deletions
+     */
+    @PostConstruct
+    public void register() {
+        if (eventBus != null && eventBus.isPresent()) {
+            eventBus.get().register(this);
+        }
+    }
+
+    /**
+     * Stop listening for creations and deletions
+     */
+    @PreDestroy
+    public void unregister() {
+        if (eventBus != null && eventBus.isPresent()) {
+            eventBus.get().unregister(this);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return threshold > 0;
+    }
+
+    @Override
+    public String place(final FedoraSession session, final String parentPath, final String id) {
+        final Session jcrSession = getJcrSession(session);
+        final String hash = murmur3_32().hashString(id, UTF_8).toString();
+        final String base = parentPath.endsWith("/") ? parentPath : parentPath + "/";
+        final StringBuilder buckets = new StringBuilder();
+        try {
+            for (int level = 0; level < LEVELS && isFull(jcrSession, base + buckets); level++) {
+                buckets.append(hash, level * LENGTH, (level + 1) * LENGTH).append('/');
+            }
+        } catch (final RepositoryException e) {
+            throw new RepositoryRuntimeException(e);
+        }
+        depths.update(buckets.length() / (LENGTH + 1));
+        LOGGER.trace("Placing {} under {} in buckets {}", id, parentPath, buckets);
+        return buckets + id;
+    }
+
+    private boolean isFull(final Session session, final String path) throws RepositoryException {
+        final String key = trim(path);
+        final AtomicLong count = children.get(key);
+        if (count != null) {
+            return count.get() >= threshold;
+        }
+        if (key.isEmpty() || !session.nodeExists(key)) {
+            return false;
+        }
+        final long size = session.getNode(key).getNodes().getSize();
+        LOGGER.debug("Indexing {}, which holds {} children", key, size);
+        if (children.putIfAbsent(key, new AtomicLong(size)) == null && indexed.incrementAndGet() > indexSize) {
+            LOGGER.info("Emptying the index of buckets, which grew past {} entries", indexSize);
+            children.clear();
+            indexed.set(0);
+        }
+        return size >= threshold;
+    }
+
+    /**
+     * Count the children created in the containers and buckets of the index, and forget those affected by the
+     * deletion or move of a resource
+     *
+     * @param event the event
+     */
+    @Subscribe
+    public void onEvent(final FedoraEvent event) {
+        if (event.getTypes().contains(RESOURCE_DELETION) || event.getTypes().contains(RESOURCE_RELOCATION)) {
+            invalidate(event.getPath());
+        } else if (event.getTypes().contains(RESOURCE_CREATION) && !event.getPath().contains("#")) {
+            // hash resources are not children of the container of their resource
+            final AtomicLong count = children.get(parentOf(trim(event.getPath())));
+            if (count != null) {
+                count.incrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public void invalidate(final String path) {
+        if (path == null || path.isEmpty()) {
+            return;
+        }
+        final String key = trim(path);
+        forget(parentOf(key));
+        forget(key);
+        for (final Iterator<String> descendants = children.subMap(key + "/", key + "0").keySet().iterator();
+                descendants.hasNext();) {
+            forget(descendants.next());
+        }
+    }
+
+    private void forget(final String key) {
+        if (children.remove(key) != null) {
+            LOGGER.trace("Forgetting the children of {}", key);
+            indexed.decrementAndGet();
+        }
+    }
+
+    private static String parentOf(final String key) {
+        final int slash = key.lastIndexOf('/');
+        return slash > 0 ? key.substring(0, slash) : "/";
+    }
+
+    private static String trim(final String path) {
+        return path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.kernel.modeshape.services;
+
+import static java.lang.Integer.getInteger;
+import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.getJcrSession;
+import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.isContainer;
+import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.isNonRdfSourceDescription;
+import static org.modeshape.jcr.api.JcrConstants.JCR_CONTENT;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.jcr.Node;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+
+import org.fcrepo.kernel.api.FedoraSession;
+import org.fcrepo.kernel.api.exception.RepositoryRuntimeException;
+import org.fcrepo.kernel.api.models.FedoraResource;
+import org.fcrepo.kernel.api.models.ResourceValidator;
+import org.fcrepo.kernel.api.models.ResourceValidator.Kind;
+import org.fcrepo.kernel.api.observer.FedoraEvent;
+import org.fcrepo.kernel.api.services.ValidatorService;
+import org.fcrepo.kernel.modeshape.FedoraBinaryImpl;
+import org.fcrepo.kernel.modeshape.FedoraResourceImpl;
+import org.fcrepo.kernel.modeshape.TombstoneImpl;
+import org.fcrepo.kernel.modeshape.utils.ResourceValidatorImpl;
+import org.slf4j.Logger;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+
+/**
+ * Reads resource validators straight from their nodes, and remembers them until the event stream
+ * reports a change to the resource. Validators are only remembered when an {@link EventBus} is
+ * available to invalidate them.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+@Component
+public class ValidatorServiceImpl extends AbstractService implements ValidatorService {
+
+    private static final Logger LOGGER = getLogger(ValidatorServiceImpl.class);
+
+    /**
+     * System property with the maximum number of remembered validators; 0 disables caching
+     */
+    public static final String VALIDATOR_CACHE_SIZE = "fcrepo.validator.cache.size";
+
+    private static final int DEFAULT_CACHE_SIZE = 10000;
+
+    @Inject
+    private Optional<EventBus> eventBus;
+
+    private final Cache<String, ResourceValidator> validators =
+            CacheBuilder.newBuilder().maximumSize(getInteger(VALIDATOR_CACHE_SIZE, DEFAULT_CACHE_SIZE)).build();
+
+    // Incremented by every invalidation, so that validators read before a change are not cached after it
+    private final AtomicLong generation = new AtomicLong();
+
+    private boolean caching = false;
+
+    /**
+     * Start listening for changes
+     */
+    @PostConstruct
+    public void register() {
+        if (eventBus != null && eventBus.isPresent() && getInteger(VALIDATOR_CACHE_SIZE, DEFAULT_CACHE_SIZE) > 0) {
+            eventBus.get().register(this);
+            caching = true;
+        } else {
+            LOGGER.info("Resource validators will not be cached");
+        }
+    }
+
+    /**
+     * Stop listening for changes
+     */
+    @PreDestroy
+    public void unregister() {
+        if (caching) {
+            eventBus.get().unregister(this);
+            caching = false;
+        }
+        validators.invalidateAll();
+    }
+
+    @Override
+    public ResourceValidator getValidator(final FedoraSession session, final String path) {
+        if (path == null || path.contains("fcr:") || path.contains("#")) {
+            return null;
+        }
+        final Session jcrSession = getJcrSession(session);
+        try {
+            if (!jcrSession.hasPermission(path, "read")) {
+                return null;
+            }
+            if (caching) {
+                final ResourceValidator cached = validators.getIfPresent(path);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+
+            final long readGeneration = generation.get();
+            if (!jcrSession.nodeExists(path)) {
+                return null;
+            }
+            final ResourceValidator validator = readValidator(jcrSession.getNode(path));
+            if (validator != null && caching && !jcrSession.hasPendingChanges()
+                    && generation.get() == readGeneration) {
+                validators.put(path, validator);
+            }
+            return validator;
+        } catch (final RepositoryException e) {
+            throw new RepositoryRuntimeException(e);
+        }
+    }
+
+    private static ResourceValidator readValidator(final Node node) throws RepositoryException {
+        if (TombstoneImpl.hasMixin(node)) {
+            return null;
+        }
+        final FedoraResource resource = new FedoraResourceImpl(node);
+        if (isNonRdfSourceDescription.test(node)) {
+            if (!node.hasNode(JCR_CONTENT)) {
+                return null;
+            }
+            final FedoraResource binary = new FedoraBinaryImpl(node.getNode(JCR_CONTENT));
+            return new ResourceValidatorImpl(resource.getPath(), Kind.NON_RDF_SOURCE, resource.getEtagValue(),
+                    resource.getLastModifiedDate(), binary.getEtagValue(), binary.getLastModifiedDate());
+        }
+        return new ResourceValidatorImpl(resource.getPath(), isContainer.test(node) ? Kind.CONTAINER : Kind.RESOURCE,
+                resource.getEtagValue(), resource.getLastModifiedDate(), null, null);
+    }
+
+    /**
+     * Invalidate the validators of the resource affected by an event
+     *
+     * @param event the event
+     */
+    @Subscribe
+    public void onEvent(final FedoraEvent event) {
+        invalidate(event.getPath());
+    }
+
+    @Override
+    public void invalidate(final String path) {
+        generation.incrementAndGet();
+        if (path == null) {
+            return;
+        }
+        final int hash = path.indexOf('#');
+        final String resourcePath = hash < 0 ? path : path.substring(0, hash);
+        LOGGER.trace("Invalidating validators of {}", resourcePath);
+        validators.invalidate(resourcePath);
+        final int slash = resourcePath.lastIndexOf('/');
+        if (slash > 0) {
+            validators.invalidate(resourcePath.substring(0, slash));
+        } else if (slash == 0 && resourcePath.length() > 1) {
+            validators.invalidate("/");
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        LOGGER.trace("Invalidating all validators");
+        validators.invalidateAll();
+    }
+}
@@ -41,6 +41,8 @@ import java.util.regex.Pattern;
 
 import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.VERSIONABLE;
 import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.getJcrSession;
+import static org.fcrepo.kernel.modeshape.utils.VersionIndex.versionAdded;
+import static org.fcrepo.kernel.modeshape.utils.VersionIndex.versionRemoved;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
@@ -49,6 +51,7 @@ import static org.slf4j.LoggerFactory.getLogger;
  * allows for special handling of features built on top of JCR such as user
  * transactions.
  * @author Mike Durbin
+ * @author agent
  */
 
 @Component
@@ -86,12 +89,13 @@ public class VersionServiceImpl extends AbstractService implements VersionServic
             final VersionManager versionManager = workspace.getVersionManager();
             final Version preRevertVersion = versionManager.checkin(absPath);
 
+            final VersionHistory history = preRevertVersion.getContainingHistory();
             try {
-                preRevertVersion.getContainingHistory().addVersionLabel(preRevertVersion.getName(),
-                        getPreRevertVersionLabel(label, preRevertVersion.getContainingHistory()), false);
+                history.addVersionLabel(preRevertVersion.getName(), getPreRevertVersionLabel(label, history), false);
             } catch (final LabelExistsVersionException e) {
                 // fall-back behavior is to leave an unlabeled version
             }
+            versionAdded(history, preRevertVersion);
             versionManager.restore(v, true);
             versionManager.checkout(absPath);
         } catch (final RepositoryException e) {
@@ -138,7 +142,9 @@ public class VersionServiceImpl extends AbstractService implements VersionServic
                     LOGGER.debug("Removing label: {}", versionLabel);
                     history.removeVersionLabel( versionLabel );
                 }
-                history.removeVersion( v.getName() );
+                final String versionName = v.getName();
+                history.removeVersion( versionName );
+                versionRemoved(history, versionName);
             }
         } catch (final RepositoryException e) {
             throw new RepositoryRuntimeException(e);
@@ -189,6 +195,7 @@ public class VersionServiceImpl extends AbstractService implements VersionServic
             return null;
         }
         versionHistory.addVersionLabel(v.getName(), label, false);
+        versionAdded(versionHistory, v);
         return v.getFrozenNode().getIdentifier();
     }
 
@@ -0,0 +1,202 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.kernel.modeshape.services.functions;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.lang.Boolean.TRUE;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.annotation.PreDestroy;
+
+import org.fcrepo.kernel.api.services.functions.UniqueValueSupplier;
+import org.fcrepo.metrics.RegistryService;
+import org.slf4j.Logger;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Fronts a slow identifier minter, such as one calling a remote service, with a buffer of identifiers minted
+ * ahead of time on a background thread. Identifiers are fetched in batches whenever the buffer runs low, and
+ * identifiers the minter has already handed out recently are dropped before they are buffered. When the buffer
+ * is empty the minter is called directly, so callers never wait on a batch in progress. Callers should still
+ * check the identifiers they are given against the repository.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class PrefetchingIdentifierSupplier implements UniqueValueSupplier {
+
+    private static final Logger LOGGER = getLogger(PrefetchingIdentifierSupplier.class);
+
+    /**
+     * The default number of identifiers fetched at a time
+     */
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    private static final MetricRegistry METRICS = RegistryService.getInstance().getMetrics();
+
+    private static final Timer mintTimer = METRICS.timer(name(PrefetchingIdentifierSupplier.class, "mint"));
+
+    private static final Timer fetchTimer = METRICS.timer(name(PrefetchingIdentifierSupplier.class, "fetch"));
+
+    private static final Counter misses = METRICS.counter(name(PrefetchingIdentifierSupplier.class, "misses"));
+
+    private static final Counter duplicates =
+            METRICS.counter(name(PrefetchingIdentifierSupplier.class, "duplicates"));
+
+    private final Supplier<String> minter;
+
+    private final int batchSize;
+
+    private final ConcurrentLinkedQueue<String> buffer = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger buffered = new AtomicInteger();
+
+    private final AtomicBoolean fetching = new AtomicBoolean();
+
+    private final ConcurrentMap<String, Boolean> recent;
+
+    private final ExecutorService fetcher = newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("fcrepo-pid-prefetch-%d").setDaemon(true).build());
+
+    /**
+     * Front a minter, fetching the default number of identifiers at a time
+     *
+     * @param minter the minter
+     */
+    public PrefetchingIdentifierSupplier(final Supplier<String> minter) {
+        this(minter, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Front a minter
+     *
+     * @param minter the minter
+     * @param batchSize the number of identifiers fetched at a time; a new batch is fetched once fewer than half
+     *        of them remain
+     */
+    public PrefetchingIdentifierSupplier(final Supplier<String> minter, final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be positive, not " + batchSize);
+        }
+        this.minter = minter;
+        this.batchSize = batchSize;
+        this.recent = CacheBuilder.newBuilder().maximumSize(batchSize * 10L).<String, Boolean>build().asMap();
+        METRICS.remove(name(PrefetchingIdentifierSupplier.class, "buffered"));
+        METRICS.register(name(PrefetchingIdentifierSupplier.class, "buffered"), (Gauge<Integer>) buffered::get);
+        prefetch();
+    }
+
+    @Override
+    public String get() {
+        final Timer.Context context = mintTimer.time();
+        try {
+            String id = buffer.poll();
+            if (id != null) {
+                buffered.decrementAndGet();
+            } else {
+                misses.inc();
+                id = minter.get();
+                recent.put(id, TRUE);
+            }
+            prefetch();
+            return id;
+        } finally {
+            context.stop();
+        }
+    }
+
+    /**
+     * @return the number of identifiers waiting in the buffer
+     */
+    public int getBuffered() {
+        return buffered.get();
+    }
+
+    /**
+     * Stop fetching identifiers
+     */
+    @PreDestroy
+    public void close() {
+        fetcher.shutdownNow();
+    }
+
+    private void prefetch() {
+        if (buffered.get() * 2 < batchSize && fetching.compareAndSet(false, true)) {
+            try {
+                fetcher.execute(this::fetch);
+            } catch (final RejectedExecutionException e) {
+                fetching.set(false);
+            }
+        }
+    }
+
+    private void fetch() {
+        final List<String> batch = new ArrayList<>(batchSize);
+        try {
+            for (int attempts = 0; attempts < batchSize * 2 && batch.size() < batchSize
+                    && !Thread.currentThread().isInterrupted(); attempts++) {
+                final Timer.Context context = fetchTimer.time();
+                final String id;
+                try {
+                    id = minter.get();
+                } finally {
+                    context.stop();
+                }
+                if (unused(id)) {
+                    batch.add(id);
+                }
+            }
+        } catch (final RuntimeException e) {
+            LOGGER.warn("Unable to prefetch identifiers, minting them on demand: {}", e.getMessage());
+        } finally {
+            buffer.addAll(batch);
+            buffered.addAndGet(batch.size());
+            LOGGER.debug("Prefetched {} identifiers", batch.size());
+            fetching.set(false);
+        }
+    }
+
+    /**
+     * Record an identifier, reporting whether the minter had not already handed it out recently.
+     */
+    private boolean unused(final String id) {
+        if (recent.putIfAbsent(id, TRUE) == null) {
+            return true;
+        }
+        LOGGER.debug("Dropping recently minted identifier {}", id);
+        duplicates.inc();
+        return false;
+    }
+}
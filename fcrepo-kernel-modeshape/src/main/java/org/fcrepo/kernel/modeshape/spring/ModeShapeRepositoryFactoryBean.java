@@ -25,10 +25,13 @@ import java.util.concurrent.Future;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
 
 import org.fcrepo.kernel.api.FedoraRepository;
 import org.fcrepo.kernel.api.exception.RepositoryRuntimeException;
 import org.fcrepo.kernel.modeshape.FedoraRepositoryImpl;
+import org.fcrepo.kernel.modeshape.utils.RdfTypeMigrator;
 import org.modeshape.jcr.JcrRepository;
 import org.modeshape.jcr.ModeShapeEngine;
 import org.modeshape.jcr.NoSuchRepositoryException;
@@ -38,6 +41,9 @@ import org.springframework.beans.factory.FactoryBean;
 import org.springframework.core.io.Resource;
 
 import static org.fcrepo.kernel.api.RdfLexicon.SERVER_MANAGED_PROPERTIES_MODE;
+import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.RDF_TYPE_MIGRATION;
+import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.RDF_TYPE_STORAGE_MODE;
+import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.isRdfTypePropertyStorage;
 
 /**
  * A Modeshape factory shim to make it play nice with our Spring-based
@@ -52,6 +58,8 @@ public class ModeShapeRepositoryFactoryBean implements
     private static final Logger LOGGER =
             getLogger(ModeShapeRepositoryFactoryBean.class);
 
+    private static final int RDF_TYPE_MIGRATION_BATCH_SIZE = 1000;
+
     private DefaultPropertiesLoader propertiesLoader;
 
     @Inject
@@ -82,11 +90,28 @@ public class ModeShapeRepositoryFactoryBean implements
                 LOGGER.error("ModeShape Start Problem: {}", p.getMessageString());
                 // TODO determine problems that should be runtime errors
             }
+
+            if (isRdfTypePropertyStorage() && Boolean.getBoolean(RDF_TYPE_MIGRATION)) {
+                migrateRdfTypes();
+            }
         } catch (final Exception e) {
             throw new RepositoryRuntimeException(e);
         }
     }
 
+    /**
+     * Convert the user rdf:types stored as mixins into rdf:type property values, before the repository is used
+     */
+    private void migrateRdfTypes() throws RepositoryException {
+        LOGGER.info("Migrating user rdf:types to the rdf:type property, as set by {}", RDF_TYPE_MIGRATION);
+        final Session session = repository.login();
+        try {
+            new RdfTypeMigrator(session, RDF_TYPE_MIGRATION_BATCH_SIZE).migrate("/");
+        } finally {
+            session.logout();
+        }
+    }
+
     /**
      * Attempts to undeploy the repository and shutdown the ModeShape engine on
      * context destroy.
@@ -179,4 +204,32 @@ public class ModeShapeRepositoryFactoryBean implements
                     + "\" supplied for serverManagedPropertiesMode (expecting \"strict\" or \"relaxed\")!");
         }
     }
+
+    /**
+     * Set the storage mode for user-supplied rdf:types.  The value "mixin" (default)
+     * registers a mixin node type for each new type, while "property" stores types
+     * as values of the rdf:type property without changing the node type registry.
+     * Types stored as mixins before switching to "property" are still read; setting
+     * the system property "fcrepo.rdftype.migrate" to true converts them when the
+     * repository starts.
+     *
+     * @param value the value (must be either "mixin" or "property")
+     */
+    public void setRdfTypeStorageMode(final String value) {
+        if ("mixin".equals(value) || "property".equals(value)) {
+            final String propertyValue = System.getProperty(RDF_TYPE_STORAGE_MODE);
+            if (propertyValue != null) {
+                LOGGER.warn("The system property \"{}\" with the value \"{}\" is being used instead of the " +
+                                "rdfTypeStorageMode of \"{}\" specified in the Spring configuration!",
+                        RDF_TYPE_STORAGE_MODE, propertyValue, value);
+            } else {
+                LOGGER.info("Set system property \"{}\" to \"{}\" to correspond to rdfTypeStorageMode.",
+                        RDF_TYPE_STORAGE_MODE, value);
+                System.setProperty(RDF_TYPE_STORAGE_MODE, value);
+            }
+        } else {
+            throw new IllegalArgumentException("Invalid value \"" + value
+                    + "\" supplied for rdfTypeStorageMode (expecting \"mixin\" or \"property\")!");
+        }
+    }
 }
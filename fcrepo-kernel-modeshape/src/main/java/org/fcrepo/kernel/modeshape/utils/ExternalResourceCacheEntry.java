@@ -27,6 +27,7 @@ import javax.jcr.RepositoryException;
 
 import org.fcrepo.kernel.api.exception.RepositoryRuntimeException;
 import org.fcrepo.kernel.api.exception.UnsupportedAccessTypeException;
+import org.fcrepo.kernel.api.services.ExternalContentService;
 import org.fcrepo.kernel.api.utils.MessageExternalBodyContentType;
 
 /**
@@ -37,6 +38,8 @@ import org.fcrepo.kernel.api.utils.MessageExternalBodyContentType;
  */
 public class ExternalResourceCacheEntry extends BinaryCacheEntry {
 
+    private static volatile ExternalContentService contentService;
+
     /**
      * Create a new ExternalResourceCacheEntry
      * @param property the given property
@@ -45,6 +48,15 @@ public class ExternalResourceCacheEntry extends BinaryCacheEntry {
         super(property);
     }
 
+    /**
+     * Set the service through which external content is read. Without one, content is read with a plain URL
+     * connection.
+     * @param service the service, or null
+     */
+    public static void setContentService(final ExternalContentService service) {
+        contentService = service;
+    }
+
     /*
      * (non-Javadoc)
      * @see org.fcrepo.kernel.api.utils.CacheEntry#getInputStream()
@@ -52,7 +64,9 @@ public class ExternalResourceCacheEntry extends BinaryCacheEntry {
     @Override
     public InputStream getInputStream() {
         try {
-            return URI.create(getExternalIdentifier()).toURL().openStream();
+            final URI uri = URI.create(getExternalIdentifier());
+            final ExternalContentService service = contentService;
+            return service == null ? uri.toURL().openStream() : service.retrieveCachedContent(uri);
         } catch (MalformedURLException e) {
             throw new RepositoryRuntimeException("Malformed URL: " + getExternalIdentifier(), e);
         } catch (IOException e) {
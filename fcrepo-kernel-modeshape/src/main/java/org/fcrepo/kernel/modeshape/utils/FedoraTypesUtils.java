@@ -35,7 +35,6 @@ import org.modeshape.jcr.JcrRepository;
 import org.modeshape.jcr.cache.NodeKey;
 import org.slf4j.Logger;
 
-import javax.jcr.NamespaceRegistry;
 import javax.jcr.Node;
 import javax.jcr.Property;
 import javax.jcr.RepositoryException;
@@ -64,9 +63,11 @@ import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.JCR_CREATEDBY;
 import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.JCR_FROZEN_NODE;
 import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.JCR_LASTMODIFIED;
 import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.JCR_LASTMODIFIEDBY;
+import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.RDF_TYPE;
+import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.RDF_TYPE_STORAGE_MODE;
 import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.ROOT;
 import static org.fcrepo.kernel.modeshape.services.functions.JcrPropertyFunctions.isBinaryContentProperty;
-import static org.fcrepo.kernel.modeshape.utils.NamespaceTools.getNamespaceRegistry;
+import static org.fcrepo.kernel.modeshape.utils.NamespaceTools.getNamespacePrefix;
 import static org.fcrepo.kernel.modeshape.utils.UncheckedPredicate.uncheck;
 import static org.modeshape.jcr.api.JcrConstants.JCR_CONTENT;
 import static org.modeshape.jcr.api.JcrConstants.JCR_PRIMARY_TYPE;
@@ -99,7 +100,8 @@ public abstract class FedoraTypesUtils implements FedoraTypes {
             JCR_CREATEDBY,
             JCR_MIXIN_TYPES,
             FROZEN_MIXIN_TYPES,
-            FROZEN_PRIMARY_TYPE);
+            FROZEN_PRIMARY_TYPE,
+            RDF_TYPE);
 
     private static Set<String> validJcrProperties = of(
             JCR_CREATED,
@@ -107,6 +109,15 @@ public abstract class FedoraTypesUtils implements FedoraTypes {
             JCR_LASTMODIFIED,
             JCR_LASTMODIFIEDBY);
 
+    /**
+     * Check whether user-supplied rdf:types are stored as values of the rdf:type property instead of as mixins.
+     *
+     * @return true if the "property" storage mode is configured
+     */
+    public static boolean isRdfTypePropertyStorage() {
+        return "property".equals(System.getProperty(RDF_TYPE_STORAGE_MODE));
+    }
+
     /**
      * Predicate for determining whether this {@link Node} is a {@link org.fcrepo.kernel.api.models.Container}.
      */
@@ -391,13 +402,12 @@ public abstract class FedoraTypesUtils implements FedoraTypes {
      */
     public static Function<Resource, Optional<String>> resourceToProperty(final Session session) {
         return resource -> {
-            try {
-                final NamespaceRegistry registry = getNamespaceRegistry(session);
-                return Optional.of(registry.getPrefix(resource.getNameSpace()) + ":" + resource.getLocalName());
-            } catch (final RepositoryException ex) {
-                LOGGER.debug("Could not resolve resource namespace ({}): {}", resource.toString(), ex.getMessage());
+            final String prefix = getNamespacePrefix(session, resource.getNameSpace());
+            if (prefix == null) {
+                LOGGER.debug("Could not resolve resource namespace ({})", resource);
+                return empty();
             }
-            return empty();
+            return Optional.of(prefix + ":" + resource.getLocalName());
         };
     }
 
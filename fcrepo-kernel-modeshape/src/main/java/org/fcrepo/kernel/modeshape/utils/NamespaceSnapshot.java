@@ -0,0 +1,97 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.kernel.modeshape.utils;
+
+import static java.util.stream.Collectors.toMap;
+
+import java.util.Map;
+import java.util.function.Predicate;
+
+import com.google.common.collect.ImmutableBiMap;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * An immutable copy of the prefix to URI mappings of a namespace registry, as of a given
+ * registration version. Lookups that must see namespaces registered since then go through
+ * {@link NamespaceTools#getNamespaceURI} and {@link NamespaceTools#getNamespacePrefix}.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class NamespaceSnapshot {
+
+    private final long version;
+
+    private final ImmutableBiMap<String, String> allNamespaces;
+
+    private final ImmutableMap<String, String> namespaces;
+
+    /**
+     * Create a snapshot
+     *
+     * @param version the registration version the mappings were read at
+     * @param allNamespaces all prefix to URI mappings in the registry
+     * @param internalPrefix the prefixes to omit from {@link #getNamespaces()}
+     */
+    public NamespaceSnapshot(final long version, final Map<String, String> allNamespaces,
+            final Predicate<String> internalPrefix) {
+        this.version = version;
+        this.allNamespaces = ImmutableBiMap.copyOf(allNamespaces);
+        this.namespaces = ImmutableMap.copyOf(allNamespaces.entrySet().stream()
+                .filter(e -> !internalPrefix.test(e.getKey()))
+                .collect(toMap(Map.Entry::getKey, Map.Entry::getValue)));
+    }
+
+    /**
+     * @return the registration version the mappings were read at
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the prefix to URI mappings, excluding internal namespaces
+     */
+    public Map<String, String> getNamespaces() {
+        return namespaces;
+    }
+
+    /**
+     * @param prefix a namespace prefix
+     * @return whether the prefix was registered
+     */
+    public boolean hasPrefix(final String prefix) {
+        return allNamespaces.containsKey(prefix);
+    }
+
+    /**
+     * @param prefix a namespace prefix
+     * @return the URI registered for the prefix, or null if it was not registered when the snapshot was read
+     */
+    public String getURI(final String prefix) {
+        return allNamespaces.get(prefix);
+    }
+
+    /**
+     * @param uri a namespace URI
+     * @return the prefix registered for the URI, or null if it was not registered when the snapshot was read
+     */
+    public String getPrefix(final String uri) {
+        return allNamespaces.inverse().get(uri);
+    }
+}
@@ -18,8 +18,9 @@
 package org.fcrepo.kernel.modeshape.utils;
 
 import static com.google.common.collect.ImmutableSet.of;
+import static java.lang.Long.getLong;
 import static java.util.Objects.requireNonNull;
-import static java.util.Arrays.stream;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static javax.jcr.NamespaceRegistry.PREFIX_EMPTY;
 import static javax.jcr.NamespaceRegistry.PREFIX_JCR;
 import static javax.jcr.NamespaceRegistry.PREFIX_MIX;
@@ -28,16 +29,21 @@ import static javax.jcr.NamespaceRegistry.PREFIX_NT;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 
 import javax.jcr.NamespaceException;
 import javax.jcr.NamespaceRegistry;
+import javax.jcr.Repository;
 import javax.jcr.RepositoryException;
 import javax.jcr.Session;
 
 import org.fcrepo.kernel.api.exception.FedoraInvalidNamespaceException;
 import org.fcrepo.kernel.api.exception.RepositoryRuntimeException;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 /**
  * Tools for working with the JCR Namespace Registry
  * @author Benjamin Armintor
@@ -54,6 +60,18 @@ public final class NamespaceTools {
     private static final Set<String> INTERNAL_PREFIXES = of(PREFIX_EMPTY, PREFIX_JCR, PREFIX_MIX, PREFIX_NT,
             "mode", "sv", "image");
 
+    /**
+     * System property setting how long, in milliseconds, a namespace snapshot is used before the registry is read
+     * again, so that namespaces registered on other cluster nodes show up in {@link #getNamespaces}.
+     */
+    public static final String SNAPSHOT_MAX_AGE = "fcrepo.namespace.snapshot.maxAge";
+
+    // Incremented whenever a namespace is registered through this node, which makes every existing snapshot stale
+    private static final AtomicLong namespaceVersion = new AtomicLong();
+
+    private static final Cache<Repository, NamespaceSnapshot> snapshots = CacheBuilder.newBuilder().weakKeys()
+            .expireAfterWrite(getLong(SNAPSHOT_MAX_AGE, 10000L), MILLISECONDS).build();
+
     /**
      * Return the {@link NamespaceRegistry} associated with the arg session.
      *
@@ -79,7 +97,7 @@ public final class NamespaceTools {
      */
     public static void validatePath(final Session session, final String path) {
 
-        final NamespaceRegistry namespaceRegistry = getNamespaceRegistry(session);
+        final NamespaceSnapshot snapshot = getNamespaceSnapshot(session);
         final String[] pathSegments = path.replaceAll("^/+", "").replaceAll("/+$", "").split("/");
         for (final String segment : pathSegments) {
             final int colonPosition = segment.indexOf(':');
@@ -89,12 +107,8 @@ public final class NamespaceTools {
                     if (prefix.length() == 0) {
                         throw new FedoraInvalidNamespaceException("Empty namespace in " + segment);
                     }
-                    try {
-                        namespaceRegistry.getURI(prefix);
-                    } catch (final NamespaceException e) {
-                        throw new FedoraInvalidNamespaceException("Prefix " + prefix + " has not been registered", e);
-                    } catch (final RepositoryException e) {
-                        throw new RepositoryRuntimeException(e);
+                    if (!snapshot.hasPrefix(prefix) && getNamespaceURI(session, prefix) == null) {
+                        throw new FedoraInvalidNamespaceException("Prefix " + prefix + " has not been registered");
                     }
                 }
             }
@@ -108,21 +122,120 @@ public final class NamespaceTools {
      * @return a mapping of the prefix to URI
      */
     public static Map<String, String> getNamespaces(final Session session) {
-        final NamespaceRegistry registry = getNamespaceRegistry(session);
-        final Map<String, String> namespaces = new HashMap<>();
+        return getNamespaceSnapshot(session).getNamespaces();
+    }
+
+    /**
+     * Retrieve an immutable snapshot of the namespace registry. Snapshots are shared by all sessions of
+     * a repository and are rebuilt only after a namespace has been registered.
+     *
+     * @param session the JCR session to use
+     * @return the current namespace snapshot
+     */
+    public static NamespaceSnapshot getNamespaceSnapshot(final Session session) {
+        final Repository repository = session.getRepository();
+        if (repository == null) {
+            return readSnapshot(getNamespaceRegistry(session), namespaceVersion.get());
+        }
+        final long version = namespaceVersion.get();
+        final NamespaceSnapshot cached = snapshots.getIfPresent(repository);
+        if (cached != null && cached.getVersion() == version) {
+            return cached;
+        }
+        final NamespaceSnapshot snapshot = readSnapshot(getNamespaceRegistry(session), version);
+        snapshots.put(repository, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Get the URI of a namespace prefix from the namespace snapshot. A prefix missing from the snapshot is looked
+     * up in the registry, since it may have been registered on another cluster node, and refreshes the snapshot.
+     *
+     * @param session the JCR session to use
+     * @param prefix a namespace prefix
+     * @return the URI registered for the prefix, or null if there is none
+     */
+    public static String getNamespaceURI(final Session session, final String prefix) {
+        final String uri = getNamespaceSnapshot(session).getURI(prefix);
+        if (uri != null) {
+            return uri;
+        }
+        try {
+            final String registered = getNamespaceRegistry(session).getURI(prefix);
+            invalidateNamespaceSnapshots();
+            return registered;
+        } catch (final NamespaceException e) {
+            return null;
+        } catch (final RepositoryException e) {
+            throw new RepositoryRuntimeException(e);
+        }
+    }
+
+    /**
+     * Get the prefix of a namespace URI from the namespace snapshot. A URI missing from the snapshot is looked up
+     * in the registry, since it may have been registered on another cluster node, and refreshes the snapshot.
+     *
+     * @param session the JCR session to use
+     * @param uri a namespace URI
+     * @return the prefix registered for the URI, or null if there is none
+     */
+    public static String getNamespacePrefix(final Session session, final String uri) {
+        final String prefix = getNamespaceSnapshot(session).getPrefix(uri);
+        if (prefix != null) {
+            return prefix;
+        }
+        try {
+            final String registered = getNamespaceRegistry(session).getPrefix(uri);
+            invalidateNamespaceSnapshots();
+            return registered;
+        } catch (final NamespaceException e) {
+            return null;
+        } catch (final RepositoryException e) {
+            throw new RepositoryRuntimeException(e);
+        }
+    }
+
+    /**
+     * Register a namespace and invalidate any namespace snapshots.
+     *
+     * @param registry the namespace registry
+     * @param prefix the prefix to register
+     * @param uri the namespace URI
+     * @throws RepositoryException if the namespace could not be registered
+     */
+    public static void registerNamespace(final NamespaceRegistry registry, final String prefix, final String uri)
+            throws RepositoryException {
+        try {
+            registry.registerNamespace(prefix, uri);
+        } finally {
+            invalidateNamespaceSnapshots();
+        }
+    }
 
+    /**
+     * Mark all namespace snapshots stale. This must be called whenever a namespace is registered
+     * without using {@link #registerNamespace}.
+     */
+    public static void invalidateNamespaceSnapshots() {
+        namespaceVersion.incrementAndGet();
+    }
+
+    private static NamespaceSnapshot readSnapshot(final NamespaceRegistry registry, final long version) {
+        final Map<String, String> namespaces = new HashMap<>();
         try {
-            stream(registry.getPrefixes()).filter(internalPrefix.negate()).forEach(x -> {
-                try {
-                    namespaces.put(x, registry.getURI(x));
-                } catch (final RepositoryException e) {
-                    throw new RepositoryRuntimeException(e);
+            final String[] prefixes = registry.getPrefixes();
+            if (prefixes != null) {
+                for (final String prefix : prefixes) {
+                    final String uri = registry.getURI(prefix);
+                    if (uri != null) {
+                        namespaces.put(prefix, uri);
+                    }
                 }
-            });
+            }
         } catch (final RepositoryException e) {
             throw new RepositoryRuntimeException(e);
         }
-        return namespaces;
+        return new NamespaceSnapshot(version, namespaces, internalPrefix);
     }
 
     private static Predicate<String> internalPrefix = INTERNAL_PREFIXES::contains;
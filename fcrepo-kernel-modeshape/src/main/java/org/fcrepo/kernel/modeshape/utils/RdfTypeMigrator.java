@@ -0,0 +1,149 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.kernel.modeshape.utils;
+
+import static javax.jcr.PropertyType.URI;
+import static org.fcrepo.kernel.api.RdfLexicon.LDP_NAMESPACE;
+import static org.fcrepo.kernel.api.RdfLexicon.isManagedNamespace;
+import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.RDF_TYPE;
+import static org.fcrepo.kernel.modeshape.rdf.JcrRdfTools.getRDFNamespaceForJcrNamespace;
+import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.hasInternalNamespace;
+import static org.fcrepo.kernel.modeshape.utils.NamespaceTools.getNamespaceURI;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.jcr.Node;
+import javax.jcr.NodeIterator;
+import javax.jcr.RepositoryException;
+import javax.jcr.Session;
+import javax.jcr.nodetype.NodeType;
+
+import org.slf4j.Logger;
+
+/**
+ * Converts user-supplied rdf:types that were stored as mixins into values of the rdf:type property,
+ * for repositories switching to the "property" rdf:type storage mode.
+ *
+ * The node types registered for the old mixins are left in place, since other workspaces or versions may
+ * still use them.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class RdfTypeMigrator {
+
+    private static final Logger LOGGER = getLogger(RdfTypeMigrator.class);
+
+    private final Session session;
+
+    private final int batchSize;
+
+    private int pending = 0;
+
+    /**
+     * Create a migrator
+     *
+     * @param session the session to migrate with
+     * @param batchSize the number of migrated nodes after which the session is saved
+     */
+    public RdfTypeMigrator(final Session session, final int batchSize) {
+        this.session = session;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Migrate the node at a path and all of its descendants, saving the session as it goes
+     *
+     * @param path the path to start from
+     * @return the number of nodes migrated
+     * @throws RepositoryException if repository exception occurred
+     */
+    public long migrate(final String path) throws RepositoryException {
+        final long migrated = migrate(session.getNode(path));
+        if (pending > 0) {
+            session.save();
+            pending = 0;
+        }
+        LOGGER.info("Migrated the rdf:types of {} nodes under {}", migrated, path);
+        return migrated;
+    }
+
+    private long migrate(final Node node) throws RepositoryException {
+        if (node.getName().equals("jcr:system")) {
+            return 0;
+        }
+
+        long migrated = migrateNode(node) ? 1 : 0;
+
+        for (final NodeIterator children = node.getNodes(); children.hasNext(); ) {
+            migrated += migrate(children.nextNode());
+        }
+        return migrated;
+    }
+
+    /**
+     * Move the user types of a single node from its mixins to its rdf:type property
+     *
+     * @param node the node
+     * @return whether the node had any user types
+     * @throws RepositoryException if repository exception occurred
+     */
+    public boolean migrateNode(final Node node) throws RepositoryException {
+        final List<NodeType> userTypes = new ArrayList<>();
+        for (final NodeType mixin : node.getMixinNodeTypes()) {
+            if (isUserType(mixin)) {
+                userTypes.add(mixin);
+            }
+        }
+        if (userTypes.isEmpty()) {
+            return false;
+        }
+
+        final NodePropertiesTools nodePropertiesTools = new NodePropertiesTools();
+        for (final NodeType type : userTypes) {
+            final String name = type.getName();
+            final String namespace = getNamespaceURI(session, name.substring(0, name.indexOf(':')));
+            final String uri = getRDFNamespaceForJcrNamespace(namespace) + name.substring(name.indexOf(':') + 1);
+            LOGGER.debug("Moving type {} of {} to its {} property", uri, node.getPath(), RDF_TYPE);
+            nodePropertiesTools.appendOrReplaceNodeProperty(node, RDF_TYPE,
+                    session.getValueFactory().createValue(uri, URI));
+            node.removeMixin(name);
+        }
+
+        if (++pending >= batchSize) {
+            session.save();
+            pending = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Types registered for user rdf:types are bare mixins, outside of the JCR and repository namespaces.
+     */
+    private boolean isUserType(final NodeType type) throws RepositoryException {
+        final String name = type.getName();
+        if (!type.isMixin() || hasInternalNamespace.test(name) || name.indexOf(':') < 0
+                || type.getDeclaredSupertypeNames().length > 0 || type.getDeclaredPropertyDefinitions().length > 0) {
+            return false;
+        }
+        final String namespace = getNamespaceURI(session, name.substring(0, name.indexOf(':')));
+        return namespace != null && !isManagedNamespace.test(namespace) && !namespace.equals(LDP_NAMESPACE);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.kernel.modeshape.utils;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+import java.time.Instant;
+
+import org.fcrepo.kernel.api.models.ResourceValidator;
+
+/**
+ * An immutable {@link ResourceValidator}
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class ResourceValidatorImpl implements ResourceValidator {
+
+    private final String path;
+
+    private final Kind kind;
+
+    private final String etag;
+
+    private final Instant lastModified;
+
+    private final String binaryEtag;
+
+    private final Instant binaryLastModified;
+
+    /**
+     * Create a validator
+     *
+     * @param path the path of the resource
+     * @param kind the kind of the resource
+     * @param etag the ETag value of the resource or description
+     * @param lastModified the last modified date of the resource or description
+     * @param binaryEtag the ETag value of the binary, if any
+     * @param binaryLastModified the last modified date of the binary, if any
+     */
+    public ResourceValidatorImpl(final String path, final Kind kind, final String etag, final Instant lastModified,
+            final String binaryEtag, final Instant binaryLastModified) {
+        this.path = path;
+        this.kind = kind;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.binaryEtag = binaryEtag;
+        this.binaryLastModified = binaryLastModified;
+    }
+
+    @Override
+    public String getPath() {
+        return path;
+    }
+
+    @Override
+    public Kind getKind() {
+        return kind;
+    }
+
+    @Override
+    public String getEtagValue() {
+        return etag;
+    }
+
+    @Override
+    public Instant getLastModifiedDate() {
+        return lastModified;
+    }
+
+    @Override
+    public String getBinaryEtagValue() {
+        return binaryEtag;
+    }
+
+    @Override
+    public Instant getBinaryLastModifiedDate() {
+        return binaryLastModified;
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this).add("path", path).add("kind", kind).add("etag", etag)
+                .add("binaryEtag", binaryEtag).toString();
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.kernel.modeshape.utils;
+
+import static java.lang.Integer.getInteger;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+import static javax.jcr.PropertyType.REFERENCE;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import javax.jcr.Property;
+import javax.jcr.PropertyIterator;
+import javax.jcr.RepositoryException;
+import javax.jcr.version.Version;
+import javax.jcr.version.VersionHistory;
+import javax.jcr.version.VersionIterator;
+
+import org.slf4j.Logger;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * A node-local index of the labelled versions of each version history: their labels, frozen node identifiers and
+ * creation dates, in the order of the history. A history is read from the version storage once, when it is first
+ * needed, and is then kept up to date by the version service as versions are created, reverted to and removed.
+ * Before an indexed history is served a stamp of its labels is checked against the version storage, so that changes
+ * made through another node of a cluster are picked up.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public final class VersionIndex {
+
+    private static final Logger LOGGER = getLogger(VersionIndex.class);
+
+    /**
+     * System property with the maximum number of indexed versions, across all histories; 0 disables the index
+     */
+    public static final String VERSION_INDEX_SIZE = "fcrepo.version.index.size";
+
+    private static final int DEFAULT_INDEX_SIZE = 1000000;
+
+    private static final String JCR_VERSION_LABELS = "jcr:versionLabels";
+
+    private static final Cache<String, Versions> index = CacheBuilder.newBuilder()
+            .maximumWeight(getInteger(VERSION_INDEX_SIZE, DEFAULT_INDEX_SIZE))
+            .weigher((final String history, final Versions versions) -> versions.entries.size() + 1)
+            .build();
+
+    // Incremented by every change, so that a history read before a change is not indexed after it
+    private static final AtomicLong generation = new AtomicLong();
+
+    private VersionIndex() {
+        // static utility class
+    }
+
+    /**
+     * A labelled version
+     */
+    public static class Entry {
+
+        private final String name;
+
+        /**
+         * The first label of the version, which identifies it in version listings
+         */
+        public final String label;
+
+        /**
+         * All labels of the version
+         */
+        public final List<String> labels;
+
+        /**
+         * The identifier of the frozen node of the version
+         */
+        public final String frozenNodeId;
+
+        /**
+         * The creation date of the version
+         */
+        public final Instant created;
+
+        private Entry(final String name, final List<String> labels, final String frozenNodeId,
+                final Instant created) {
+            this.name = name;
+            this.label = labels.get(0);
+            this.labels = unmodifiableList(labels);
+            this.frozenNodeId = frozenNodeId;
+            this.created = created;
+        }
+    }
+
+    /**
+     * The labelled versions of a version history
+     */
+    public static class Versions {
+
+        private final List<Entry> entries;
+
+        private final long stamp;
+
+        private final Map<String, Entry> byLabel = new HashMap<>();
+
+        private final Map<String, Entry> byFrozenNode = new HashMap<>();
+
+        private Versions(final List<Entry> entries, final long stamp) {
+            this.entries = entries;
+            this.stamp = stamp;
+            for (final Entry entry : entries) {
+                entry.labels.forEach(label -> byLabel.put(label, entry));
+                byFrozenNode.put(entry.frozenNodeId, entry);
+            }
+        }
+
+        /**
+         * @return the versions, in the order of the history
+         */
+        public Stream<Entry> stream() {
+            return entries.stream();
+        }
+
+        /**
+         * @param label a version label
+         * @return the version with that label, or null
+         */
+        public Entry byLabel(final String label) {
+            return byLabel.get(label);
+        }
+
+        /**
+         * @param frozenNodeId the identifier of a frozen node
+         * @return the version with that frozen node, or null
+         */
+        public Entry byFrozenNode(final String frozenNodeId) {
+            return byFrozenNode.get(frozenNodeId);
+        }
+
+        private Versions with(final Entry entry, final long newStamp) {
+            final List<Entry> added = new ArrayList<>(entries.size() + 1);
+            entries.stream().filter(e -> !e.name.equals(entry.name)).forEach(added::add);
+            added.add(entry);
+            return new Versions(added, newStamp);
+        }
+
+        private Versions without(final String name, final long newStamp) {
+            final List<Entry> remaining = new ArrayList<>(entries.size());
+            entries.stream().filter(e -> !e.name.equals(name)).forEach(remaining::add);
+            return new Versions(remaining, newStamp);
+        }
+    }
+
+    /**
+     * Get the labelled versions of a version history
+     *
+     * @param history the version history
+     * @return its labelled versions
+     * @throws RepositoryException if repository exception occurred
+     */
+    public static Versions getVersions(final VersionHistory history) throws RepositoryException {
+        final String key = history.getIdentifier();
+        final Versions indexed = index.getIfPresent(key);
+        if (indexed != null) {
+            if (indexed.stamp == stamp(history)) {
+                return indexed;
+            }
+            LOGGER.debug("Version history {} was changed elsewhere, reading it again", key);
+        }
+        final long readGeneration = generation.get();
+        final Versions versions = read(history);
+        synchronized (VersionIndex.class) {
+            if (generation.get() == readGeneration) {
+                index.put(key, versions);
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * Record a version that was added to a history, or labelled
+     *
+     * @param history the version history
+     * @param version the version
+     * @throws RepositoryException if repository exception occurred
+     */
+    public static void versionAdded(final VersionHistory history, final Version version)
+            throws RepositoryException {
+        final String[] labels = history.getVersionLabels(version);
+        final Entry entry = labels.length == 0 ? null : new Entry(version.getName(), new ArrayList<>(asList(labels)),
+                version.getFrozenNode().getIdentifier(), version.getCreated().toInstant());
+        // a history that is not indexed has nothing to stamp
+        final long stamp = entry != null && index.getIfPresent(history.getIdentifier()) != null ? stamp(history) : 0;
+        synchronized (VersionIndex.class) {
+            generation.incrementAndGet();
+            final Versions indexed = index.getIfPresent(history.getIdentifier());
+            if (indexed != null && entry != null) {
+                index.put(history.getIdentifier(), indexed.with(entry, stamp));
+            }
+        }
+    }
+
+    /**
+     * Record a version that was removed from a history
+     *
+     * @param history the version history
+     * @param versionName the name of the removed version
+     * @throws RepositoryException if repository exception occurred
+     */
+    public static void versionRemoved(final VersionHistory history, final String versionName)
+            throws RepositoryException {
+        final long stamp = index.getIfPresent(history.getIdentifier()) != null ? stamp(history) : 0;
+        synchronized (VersionIndex.class) {
+            generation.incrementAndGet();
+            final Versions indexed = index.getIfPresent(history.getIdentifier());
+            if (indexed != null) {
+                index.put(history.getIdentifier(), indexed.without(versionName, stamp));
+            }
+        }
+    }
+
+    /**
+     * A stamp of the labels of the history, which changes whenever a label is added, moved or removed. Only labelled
+     * versions are indexed, and removing a version removes its labels, so this covers every change to the index.
+     * Reading it touches only the labels node of the history, not the versions or their frozen nodes.
+     */
+    private static long stamp(final VersionHistory history) throws RepositoryException {
+        long stamp = 0;
+        for (final PropertyIterator labels = history.getNode(JCR_VERSION_LABELS).getProperties(); labels.hasNext(); ) {
+            final Property label = labels.nextProperty();
+            if (label.getType() == REFERENCE) {
+                // order-independent, since the order of the properties is not significant
+                stamp += (label.getName() + '=' + label.getString()).hashCode();
+            }
+        }
+        return stamp;
+    }
+
+    private static Versions read(final VersionHistory history) throws RepositoryException {
+        final long stamp = stamp(history);
+        // one pass over the labels, instead of asking for the labels of each version
+        final Map<String, List<String>> labels = new HashMap<>();
+        for (final String label : history.getVersionLabels()) {
+            labels.computeIfAbsent(history.getVersionByLabel(label).getIdentifier(), v -> new ArrayList<>())
+                    .add(label);
+        }
+        final String rootVersion = history.getRootVersion().getName();
+        final List<Entry> entries = new ArrayList<>();
+        for (final VersionIterator versions = history.getAllVersions(); versions.hasNext(); ) {
+            final Version version = versions.nextVersion();
+            if (version.getName().equals(rootVersion)) {
+                continue;
+            }
+            final List<String> versionLabels = labels.get(version.getIdentifier());
+            if (versionLabels == null) {
+                LOGGER.warn("An unlabelled version for {} was found! Omitting from version listing!",
+                        history.getVersionableIdentifier());
+                continue;
+            } else if (versionLabels.size() > 1) {
+                LOGGER.warn("Multiple version labels found for {}! Using first label, \"{}\".",
+                        history.getVersionableIdentifier(), versionLabels.get(0));
+            }
+            entries.add(new Entry(version.getName(), versionLabels, version.getFrozenNode().getIdentifier(),
+                    version.getCreated().toInstant()));
+        }
+        return new Versions(entries, stamp);
+    }
+}
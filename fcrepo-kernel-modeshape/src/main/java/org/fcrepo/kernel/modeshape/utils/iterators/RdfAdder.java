@@ -20,6 +20,7 @@ package org.fcrepo.kernel.modeshape.utils.iterators;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.fcrepo.kernel.modeshape.utils.FedoraTypesUtils.getJcrNode;
 
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import javax.jcr.RepositoryException;
@@ -28,6 +29,7 @@ import javax.jcr.Session;
 import org.fcrepo.kernel.api.models.FedoraResource;
 import org.fcrepo.kernel.api.identifiers.IdentifierConverter;
 import org.fcrepo.kernel.api.RdfStream;
+import org.fcrepo.kernel.modeshape.utils.NamespaceSnapshot;
 import org.fcrepo.kernel.modeshape.utils.NamespaceTools;
 import org.slf4j.Logger;
 
@@ -47,6 +49,10 @@ public class RdfAdder extends PersistingRdfStreamConsumer {
     private static final Logger LOGGER = getLogger(RdfAdder.class);
     private Map<String, String> userNamespaces;
 
+    // the merged namespaces and the snapshot version they were computed from
+    private Map<String, String> namespaces;
+    private long namespacesVersion = -1;
+
     /**
      * Ordinary constructor.
      *
@@ -62,7 +68,11 @@ public class RdfAdder extends PersistingRdfStreamConsumer {
     }
 
     private Map<String, String> getNamespaces(final Session session) {
-        final Map<String, String> namespaces = NamespaceTools.getNamespaces(session);
+        final NamespaceSnapshot snapshot = NamespaceTools.getNamespaceSnapshot(session);
+        if (namespaces != null && namespacesVersion == snapshot.getVersion()) {
+            return namespaces;
+        }
+        final Map<String, String> namespaces = new HashMap<>(snapshot.getNamespaces());
         if (userNamespaces != null) {
             for (final Iterator<String> it = userNamespaces.keySet().iterator(); it.hasNext(); ) {
                 final String prefix = it.next();
@@ -75,6 +85,8 @@ public class RdfAdder extends PersistingRdfStreamConsumer {
                 }
             }
         }
+        this.namespaces = namespaces;
+        this.namespacesVersion = snapshot.getVersion();
         return namespaces;
     }
 
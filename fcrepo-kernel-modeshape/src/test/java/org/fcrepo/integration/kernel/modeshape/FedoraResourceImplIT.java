@@ -19,6 +19,7 @@ package org.fcrepo.integration.kernel.modeshape;
 
 import static java.net.URI.create;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptySet;
 import static org.apache.jena.datatypes.xsd.XSDDatatype.XSDstring;
 import static org.apache.jena.graph.Node.ANY;
@@ -49,6 +50,7 @@ import static org.fcrepo.kernel.api.RequiredRdfContext.SERVER_MANAGED;
 import static org.fcrepo.kernel.api.RequiredRdfContext.VERSIONS;
 import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.getJcrSession;
 import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.FIELD_DELIMITER;
+import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.RDF_TYPE_STORAGE_MODE;
 import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.ROOT;
 import static org.fcrepo.kernel.modeshape.RdfJcrLexicon.HAS_MIXIN_TYPE;
 import static org.fcrepo.kernel.modeshape.RdfJcrLexicon.HAS_NODE_TYPE;
@@ -121,6 +123,7 @@ import org.fcrepo.kernel.api.rdf.DefaultRdfStream;
 import org.fcrepo.kernel.modeshape.FedoraResourceImpl;
 import org.fcrepo.kernel.modeshape.NonRdfSourceDescriptionImpl;
 import org.fcrepo.kernel.modeshape.rdf.impl.DefaultIdentifierTranslator;
+import org.fcrepo.kernel.modeshape.utils.RdfTypeMigrator;
 
 import org.junit.After;
 import org.junit.Before;
@@ -572,6 +575,53 @@ public class FedoraResourceImplIT extends AbstractIT {
         assertTrue(graphStore.contains(s, HAS_VERSION_LABEL, createPlainLiteral("v0.0.1")));
     }
 
+    @Test
+    public void testRdfTypePropertyStorage() throws RepositoryException {
+        final String namespace = "http://example.org/rdftype-property#";
+        final FedoraResource object = containerService.findOrCreate(session, "/testRdfTypePropertyStorage");
+        final Resource s = createResource(createGraphSubjectNode(object).getURI());
+        final Resource o = createResource(namespace + "Thing");
+
+        System.setProperty(RDF_TYPE_STORAGE_MODE, "property");
+        try {
+            object.updateProperties(subjects, "INSERT { <> a <" + namespace + "Thing> } WHERE { }",
+                    object.getTriples(subjects, emptySet()));
+            session.commit();
+
+            assertTrue(object.getTypes().contains(create(namespace + "Thing")));
+            assertFalse("Namespace of the type should not be registered!",
+                    asList(getJcrSession(session).getWorkspace().getNamespaceRegistry().getURIs())
+                            .contains(namespace));
+            assertEquals(1, object.getTriples(subjects, PROPERTIES)
+                    .filter(t -> t.getObject().equals(o.asNode())).count());
+
+            object.updateProperties(subjects, "DELETE { <> a <" + namespace + "Thing> } WHERE { }",
+                    object.getTriples(subjects, PROPERTIES));
+            session.commit();
+
+            assertFalse(object.getTypes().contains(create(namespace + "Thing")));
+            assertFalse(object.getTriples(subjects, PROPERTIES).collect(toModel()).contains(s, type, o));
+        } finally {
+            System.clearProperty(RDF_TYPE_STORAGE_MODE);
+        }
+    }
+
+    @Test
+    public void testRdfTypeMigration() throws RepositoryException {
+        final String namespace = "http://example.org/rdftype-migration#";
+        final FedoraResource object = containerService.findOrCreate(session, "/testRdfTypeMigration");
+        object.updateProperties(subjects, "PREFIX mig: <" + namespace + ">\n"
+                + "INSERT { <> a mig:Thing } WHERE { }", object.getTriples(subjects, emptySet()));
+        session.commit();
+        assertTrue(object.hasType("mig:Thing"));
+
+        assertEquals(1, new RdfTypeMigrator(getJcrSession(session), 10).migrate(object.getPath()));
+
+        assertFalse(getJcrNode(object).isNodeType("mig:Thing"));
+        assertTrue(object.hasType("mig:Thing"));
+        assertTrue(object.getTypes().contains(create(namespace + "Thing")));
+    }
+
     @Test(expected = MalformedRdfException.class)
     public void testAddMissingReference() throws MalformedRdfException {
         final FedoraResource object =
@@ -34,12 +34,14 @@ import static org.fcrepo.kernel.api.utils.ContentDigest.DIGEST_ALGORITHM.SHA1;
 import static org.fcrepo.kernel.api.utils.ContentDigest.asURI;
 import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.getJcrSession;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.modeshape.jcr.api.JcrConstants.JCR_CONTENT;
 import static org.modeshape.jcr.api.JcrConstants.NT_FILE;
 import static org.modeshape.jcr.api.JcrConstants.NT_FOLDER;
 import static org.modeshape.jcr.api.JcrConstants.NT_RESOURCE;
 
 import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -210,6 +212,61 @@ public class SimpleObserverIT extends AbstractIT {
         assertEquals("Move operation didn't generate additional events", (Integer) 12, eventBusMessageCount);
     }
 
+    @Test
+    public void testMoveEventOrdering() throws RepositoryException {
+
+        final FedoraSession session = repository.login();
+        final Session se = getJcrSession(session);
+        final NodeService ns = new NodeServiceImpl();
+
+        final Node n = se.getRootNode().addNode("/object14");
+        n.addMixin(FEDORA_CONTAINER);
+        for (int i = 0; i < 100; i++) {
+            n.addNode("/child" + i).addMixin(FEDORA_CONTAINER);
+        }
+        session.commit();
+
+        // hold up the announcement of the descendants, so that the later change arrives while it is under way
+        final Object slowSubscriber = new Object() {
+            @Subscribe
+            public void delay(final FedoraEvent e) throws InterruptedException {
+                if (e.getPath().equals("/object15/child0")) {
+                    SECONDS.sleep(1);
+                }
+            }
+        };
+        eventBus.register(slowSubscriber);
+        try {
+            ns.moveObject(session, "/object14", "/object15");
+            session.commit();
+            se.getRootNode().addNode("/object16").addMixin(FEDORA_CONTAINER);
+            session.commit();
+            session.expire();
+
+            awaitEvent("/object16", RESOURCE_CREATION);
+        } finally {
+            eventBus.unregister(slowSubscriber);
+        }
+        final List<FedoraEvent> posted = new ArrayList<>(events);
+        final int later = indexOf(posted, "/object16", RESOURCE_CREATION);
+        for (int i = 0; i < 100; i++) {
+            final int moved = indexOf(posted, "/object15/child" + i, RESOURCE_RELOCATION);
+            final int removed = indexOf(posted, "/object14/child" + i, RESOURCE_DELETION);
+            assertTrue("Descendant of the move not announced before a later event", moved >= 0 && moved < later);
+            assertTrue("Former descendant of the move not announced before a later event",
+                    removed >= 0 && removed < later);
+        }
+    }
+
+    private static int indexOf(final List<FedoraEvent> posted, final String path, final EventType type) {
+        for (int i = 0; i < posted.size(); i++) {
+            if (posted.get(i).getPath().equals(path) && posted.get(i).getTypes().contains(type)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     @Test
     public void testHashUriEvent() throws RepositoryException {
         final FedoraSession session = repository.login();
@@ -0,0 +1,128 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.integration.kernel.modeshape.services;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.readAllLines;
+import static java.nio.file.Files.write;
+import static java.util.Collections.singletonList;
+import static org.fcrepo.kernel.api.FedoraTypes.CONTENT_DIGEST;
+import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.getJcrSession;
+import static org.fcrepo.kernel.modeshape.rdf.impl.RootRdfContext.FIXITY_CHECK_COUNTER;
+import static org.fcrepo.kernel.modeshape.rdf.impl.RootRdfContext.FIXITY_ERROR_COUNTER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+
+import javax.inject.Inject;
+
+import org.fcrepo.integration.kernel.modeshape.AbstractIT;
+import org.fcrepo.kernel.api.FedoraRepository;
+import org.fcrepo.kernel.api.FedoraSession;
+import org.fcrepo.kernel.api.services.BinaryService;
+import org.fcrepo.kernel.modeshape.services.FixitySweeper;
+import org.fcrepo.metrics.RegistryService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.context.ContextConfiguration;
+
+import com.codahale.metrics.MetricRegistry;
+
+/**
+ * @author agent
+ * @since Oct 19, 2026
+ */
+@ContextConfiguration({"/spring-test/repo.xml"})
+public class FixitySweeperIT extends AbstractIT {
+
+    @Inject
+    private FedoraRepository repository;
+
+    @Inject
+    private BinaryService binaryService;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+
+    private FixitySweeper sweeper;
+
+    private String pid;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = folder.newFolder().toPath();
+        sweeper = new FixitySweeper(repository, directory, 2, 0, 2);
+        pid = getRandomPid();
+
+        final FedoraSession session = repository.login();
+        for (final String name : new String[] {"a", "b", "c"}) {
+            binaryService.findOrCreate(session, "/" + pid + "/" + name).setContent(
+                    new ByteArrayInputStream(("content of " + name).getBytes()), "text/plain", null, null, null);
+        }
+        session.commit();
+        getJcrSession(session).getNode("/" + pid + "/b/jcr:content").setProperty(CONTENT_DIGEST,
+                new String[] {"urn:sha1:0000000000000000000000000000000000000000"});
+        session.commit();
+        session.expire();
+    }
+
+    @After
+    public void tearDown() {
+        sweeper.stop();
+    }
+
+    @Test
+    public void testSweep() throws Exception {
+        final MetricRegistry metrics = RegistryService.getInstance().getMetrics();
+        final long checks = metrics.counter(FIXITY_CHECK_COUNTER).getCount();
+        final long errors = metrics.counter(FIXITY_ERROR_COUNTER).getCount();
+
+        final long[] totals = sweeper.sweep();
+
+        assertTrue(totals[0] >= 3);
+        assertTrue(totals[1] >= 1);
+        assertTrue(sweeper.getFailures().stream().anyMatch(f -> f.contains("/" + pid + "/b/jcr:content")));
+        assertFalse(sweeper.getFailures().stream().anyMatch(f -> f.contains("/" + pid + "/a/jcr:content")));
+        assertTrue(metrics.counter(FIXITY_CHECK_COUNTER).getCount() - checks >= 3);
+        assertTrue(metrics.counter(FIXITY_ERROR_COUNTER).getCount() - errors >= 1);
+        assertNull("Expected the cursor to be cleared after the sweep", sweeper.getCursor());
+        assertEquals(1, readAllLines(directory.resolve("sweeps"), UTF_8).size());
+    }
+
+    @Test
+    public void testSweepResumesAfterCursor() throws Exception {
+        write(directory.resolve("cursor"), singletonList("/" + pid + "/b/jcr:content"), UTF_8);
+        sweeper.sweep();
+        assertFalse("Expected binaries up to the cursor to be skipped",
+                sweeper.getFailures().stream().anyMatch(f -> f.contains("/" + pid + "/b/jcr:content")));
+
+        write(directory.resolve("cursor"), singletonList("/" + pid + "/a/jcr:content"), UTF_8);
+        sweeper.sweep();
+        assertTrue("Expected binaries after the cursor to be checked",
+                sweeper.getFailures().stream().anyMatch(f -> f.contains("/" + pid + "/b/jcr:content")));
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.integration.kernel.modeshape.services;
+
+import static java.time.Instant.now;
+import static java.util.Collections.emptySet;
+import static java.util.stream.Collectors.toList;
+import static org.fcrepo.kernel.api.FedoraTypes.FEDORA_PAIRTREE;
+import static org.fcrepo.kernel.api.observer.EventType.RESOURCE_CREATION;
+import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.getJcrSession;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.jcr.RepositoryException;
+
+import org.fcrepo.integration.kernel.modeshape.AbstractIT;
+import org.fcrepo.kernel.api.FedoraRepository;
+import org.fcrepo.kernel.api.FedoraSession;
+import org.fcrepo.kernel.api.models.FedoraResource;
+import org.fcrepo.kernel.api.services.ContainerService;
+import org.fcrepo.kernel.modeshape.observer.FedoraEventImpl;
+import org.fcrepo.kernel.modeshape.services.PairtreeServiceImpl;
+import org.junit.Test;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * @author agent
+ * @since Oct 19, 2026
+ */
+@ContextConfiguration({"/spring-test/repo.xml"})
+public class PairtreeServiceImplIT extends AbstractIT {
+
+    @Inject
+    private FedoraRepository repository;
+
+    @Inject
+    private ContainerService containerService;
+
+    private final PairtreeServiceImpl pairtreeService = new PairtreeServiceImpl(3);
+
+    @Test
+    public void testSplitsFullBuckets() throws RepositoryException {
+        final String parent = "/" + getRandomPid();
+        final FedoraSession session = repository.login();
+        try {
+            containerService.findOrCreate(session, parent);
+
+            for (int i = 0; i < 3; i++) {
+                final String path = pairtreeService.place(session, parent, "child" + i);
+                assertEquals("child" + i, path);
+                create(session, parent + "/" + path);
+            }
+
+            final String bucketed = pairtreeService.place(session, parent, "x");
+            assertTrue(bucketed.matches("[0-9a-f]{2}/x"));
+            create(session, parent + "/" + bucketed);
+            final String bucket = bucketed.substring(0, 2);
+            assertTrue(getJcrSession(session).getNode(parent + "/" + bucket).isNodeType(FEDORA_PAIRTREE));
+
+            // fill the bucket so that it is split in turn
+            create(session, parent + "/" + bucket + "/y1");
+            create(session, parent + "/" + bucket + "/y2");
+
+            final String deeper = pairtreeService.place(session, parent, "x");
+            assertTrue(deeper.matches(bucket + "/[0-9a-f]{2}/x"));
+            create(session, parent + "/" + deeper);
+            session.commit();
+
+            final List<FedoraResource> children =
+                    containerService.find(session, parent).getChildren().collect(toList());
+            assertEquals(7, children.size());
+            assertFalse(children.stream().anyMatch(c -> c.hasType(FEDORA_PAIRTREE)));
+        } finally {
+            session.expire();
+        }
+    }
+
+    @Test
+    public void testReusesBucketsAfterDeletion() throws RepositoryException {
+        final String parent = "/" + getRandomPid();
+        final FedoraSession session = repository.login();
+        try {
+            containerService.findOrCreate(session, parent);
+            for (int i = 0; i < 3; i++) {
+                containerService.findOrCreate(session, parent + "/child" + i);
+            }
+            session.commit();
+            assertTrue(pairtreeService.place(session, parent, "x").matches("[0-9a-f]{2}/x"));
+
+            // a deleted child still holds its place until its tombstone is deleted too
+            containerService.find(session, parent + "/child0").delete();
+            session.commit();
+            pairtreeService.invalidate(parent + "/child0");
+            assertTrue(pairtreeService.place(session, parent, "x").matches("[0-9a-f]{2}/x"));
+
+            getJcrSession(session).getNode(parent + "/child0").remove();
+            session.commit();
+            pairtreeService.invalidate(parent + "/child0");
+
+            assertEquals("x", pairtreeService.place(session, parent, "x"));
+        } finally {
+            session.expire();
+        }
+    }
+
+    @Test
+    public void testCountsExistingBuckets() throws RepositoryException {
+        final String parent = "/" + getRandomPid();
+        final FedoraSession session = repository.login();
+        try {
+            containerService.findOrCreate(session, parent);
+            containerService.findOrCreate(session, parent + "/child0");
+            containerService.findOrCreate(session, parent + "/child1");
+            session.commit();
+
+            // the container is counted once, when first visited, and then kept up to date by the events
+            assertEquals("x", pairtreeService.place(session, parent, "x"));
+            create(session, parent + "/x");
+            session.commit();
+            assertTrue(pairtreeService.place(session, parent, "y").matches("[0-9a-f]{2}/y"));
+
+            // the container is counted again once a deletion is reported
+            containerService.find(session, parent + "/x").delete();
+            getJcrSession(session).getNode(parent + "/x").remove();
+            session.commit();
+            assertTrue(pairtreeService.place(session, parent, "y").matches("[0-9a-f]{2}/y"));
+            pairtreeService.invalidate(parent + "/x");
+            assertEquals("y", pairtreeService.place(session, parent, "y"));
+        } finally {
+            session.expire();
+        }
+    }
+
+    private void create(final FedoraSession session, final String path) {
+        containerService.findOrCreate(session, path);
+        pairtreeService.onEvent(new FedoraEventImpl(RESOURCE_CREATION, path, emptySet(), null, null, now(), null));
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.integration.kernel.modeshape.services;
+
+import static com.jayway.awaitility.Awaitility.await;
+import static com.jayway.awaitility.Duration.ONE_HUNDRED_MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.fcrepo.kernel.api.RequiredRdfContext.PROPERTIES;
+import static org.fcrepo.kernel.api.models.ResourceValidator.Kind.CONTAINER;
+import static org.fcrepo.kernel.api.models.ResourceValidator.Kind.NON_RDF_SOURCE;
+import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.getJcrSession;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+
+import javax.inject.Inject;
+import javax.jcr.RepositoryException;
+
+import org.fcrepo.integration.kernel.modeshape.AbstractIT;
+import org.fcrepo.kernel.api.FedoraRepository;
+import org.fcrepo.kernel.api.FedoraSession;
+import org.fcrepo.kernel.api.exception.InvalidChecksumException;
+import org.fcrepo.kernel.api.models.Container;
+import org.fcrepo.kernel.api.models.FedoraBinary;
+import org.fcrepo.kernel.api.models.ResourceValidator;
+import org.fcrepo.kernel.api.services.BinaryService;
+import org.fcrepo.kernel.api.services.ContainerService;
+import org.fcrepo.kernel.api.services.ValidatorService;
+import org.fcrepo.kernel.modeshape.rdf.impl.DefaultIdentifierTranslator;
+import org.junit.Test;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * @author agent
+ * @since Oct 19, 2026
+ */
+@ContextConfiguration({"/spring-test/eventing.xml", "/spring-test/repo.xml"})
+public class ValidatorServiceImplIT extends AbstractIT {
+
+    @Inject
+    private FedoraRepository repository;
+
+    @Inject
+    private ContainerService containerService;
+
+    @Inject
+    private BinaryService binaryService;
+
+    @Inject
+    private ValidatorService validatorService;
+
+    @Test
+    public void testContainerValidator() {
+        final String path = "/" + getRandomPid();
+        final FedoraSession session = repository.login();
+        try {
+            final Container container = containerService.findOrCreate(session, path);
+            session.commit();
+
+            final ResourceValidator validator = validatorService.getValidator(session, path);
+            assertEquals(CONTAINER, validator.getKind());
+            assertEquals(container.getEtagValue(), validator.getEtagValue());
+            assertEquals(container.getLastModifiedDate(), validator.getLastModifiedDate());
+            assertSame("Validator should have been cached", validator, validatorService.getValidator(session, path));
+        } finally {
+            session.expire();
+        }
+    }
+
+    @Test
+    public void testBinaryValidator() throws InvalidChecksumException {
+        final String path = "/" + getRandomPid();
+        final FedoraSession session = repository.login();
+        try {
+            final FedoraBinary binary = binaryService.findOrCreate(session, path);
+            binary.setContent(new ByteArrayInputStream("asdf".getBytes()), "text/plain", null, null, null);
+            session.commit();
+
+            final ResourceValidator validator = validatorService.getValidator(session, path);
+            assertEquals(NON_RDF_SOURCE, validator.getKind());
+            assertEquals(binary.getDescription().getEtagValue(), validator.getEtagValue());
+            assertEquals(binary.getEtagValue(), validator.getBinaryEtagValue());
+            assertEquals(binary.getLastModifiedDate(), validator.getBinaryLastModifiedDate());
+        } finally {
+            session.expire();
+        }
+    }
+
+    @Test
+    public void testValidatorInvalidatedByChange() throws RepositoryException {
+        final String path = "/" + getRandomPid();
+        final FedoraSession session = repository.login();
+        try {
+            containerService.findOrCreate(session, path);
+            session.commit();
+            final ResourceValidator original = validatorService.getValidator(session, path);
+
+            final FedoraSession writer = repository.login();
+            try {
+                final DefaultIdentifierTranslator subjects = new DefaultIdentifierTranslator(getJcrSession(writer));
+                final Container container = containerService.find(writer, path);
+                container.updateProperties(subjects, "INSERT DATA { <" + subjects.reverse().convert(container)
+                        + "> <info:fcrepo/zyx> \"a\" }", container.getTriples(subjects, PROPERTIES));
+                writer.commit();
+
+                final String etag = container.getEtagValue();
+                await().atMost(5, SECONDS).pollInterval(ONE_HUNDRED_MILLISECONDS)
+                        .until(() -> validatorService.getValidator(session, path).getEtagValue().equals(etag));
+            } finally {
+                writer.expire();
+            }
+            assertEquals(original.getPath(), validatorService.getValidator(session, path).getPath());
+        } finally {
+            session.expire();
+        }
+    }
+
+    @Test
+    public void testNoValidator() {
+        final FedoraSession session = repository.login();
+        try {
+            assertNull(validatorService.getValidator(session, "/" + getRandomPid()));
+            assertNull(validatorService.getValidator(session, "/" + getRandomPid() + "/fcr:metadata"));
+        } finally {
+            session.expire();
+        }
+    }
+}
@@ -56,6 +56,7 @@ import javax.jcr.NamespaceRegistry;
 import javax.jcr.Node;
 import javax.jcr.PathNotFoundException;
 import javax.jcr.Property;
+import javax.jcr.PropertyIterator;
 import javax.jcr.RepositoryException;
 import javax.jcr.Session;
 import javax.jcr.Workspace;
@@ -289,7 +290,13 @@ public class FedoraResourceImplTest {
         when(mockWorkspace.getVersionManager()).thenReturn(mockVersionManager);
         final VersionIterator mockVersionIterator = mock(VersionIterator.class);
         when(mockVersionHistory.getAllVersions()).thenReturn(mockVersionIterator);
+        when(mockVersionHistory.getIdentifier()).thenReturn("testGetVersionLabels");
+        when(mockVersionHistory.getVersionLabels()).thenReturn(new String[0]);
+        when(mockVersionHistory.getRootVersion()).thenReturn(mockVersion);
         when(mockVersionIterator.hasNext()).thenReturn(false);
+        final Node mockLabelsNode = mock(Node.class);
+        when(mockVersionHistory.getNode("jcr:versionLabels")).thenReturn(mockLabelsNode);
+        when(mockLabelsNode.getProperties()).thenReturn(mock(PropertyIterator.class));
 
         when(mockVersionManager.getVersionHistory(anyString())).thenReturn(
                 mockVersionHistory);
@@ -17,15 +17,25 @@
  */
 package org.fcrepo.kernel.modeshape.observer;
 
+import static com.google.common.collect.ImmutableMap.of;
+import static javax.jcr.observation.Event.NODE_MOVED;
+import static org.fcrepo.kernel.api.observer.EventType.RESOURCE_RELOCATION;
+import static org.fcrepo.kernel.modeshape.observer.SimpleObserver.DESCENDANT_COUNT;
 import static org.fcrepo.kernel.modeshape.observer.SimpleObserver.EVENT_TYPES;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.fcrepo.kernel.modeshape.utils.TestHelpers.setField;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.mock;
 
 import javax.jcr.NamespaceRegistry;
+import javax.jcr.Node;
+import javax.jcr.NodeIterator;
 import javax.jcr.RepositoryException;
 import javax.jcr.Session;
 import javax.jcr.Workspace;
@@ -41,6 +51,7 @@ import org.fcrepo.kernel.modeshape.observer.eventmappings.OneToOne;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -54,6 +65,7 @@ import com.google.common.eventbus.EventBus;
  *
  * @author awoods
  * @author ajs6f
+ * @author agent
  */
 @RunWith(MockitoJUnitRunner.class)
 public class SimpleObserverTest {
@@ -89,6 +101,12 @@ public class SimpleObserverTest {
     @Mock
     private NodeType mockNodeType, fedoraContainer;
 
+    @Mock
+    private Node mockNode;
+
+    @Mock
+    private NodeIterator mockChildren;
+
     @Before
     public void setUp() throws RepositoryException {
         mockSession = mock(Session.class, Mockito.withSettings().extraInterfaces(org.modeshape.jcr.api.Session.class));
@@ -131,4 +149,32 @@ public class SimpleObserverTest {
         testObserver.onEvent(mockEvents);
         verify(mockBus, never()).post(any(FedoraEvent.class));
     }
+
+    @Test
+    public void testOnMoveEvent() throws RepositoryException {
+        mockMove();
+        testObserver.onEvent(mockEvents);
+        final ArgumentCaptor<FedoraEvent> posted = ArgumentCaptor.forClass(FedoraEvent.class);
+        verify(mockBus).post(posted.capture());
+        assertTrue(posted.getValue().getTypes().contains(RESOURCE_RELOCATION));
+        assertNull(posted.getValue().getInfo().get(DESCENDANT_COUNT));
+    }
+
+    @Test
+    public void testOnMoveEventSummarized() throws RepositoryException {
+        mockMove();
+        setField(testObserver, "summarizeMoves", true);
+        testObserver.onEvent(mockEvents);
+        final ArgumentCaptor<FedoraEvent> posted = ArgumentCaptor.forClass(FedoraEvent.class);
+        verify(mockBus, timeout(1000)).post(posted.capture());
+        assertTrue(posted.getValue().getTypes().contains(RESOURCE_RELOCATION));
+        assertEquals("0", posted.getValue().getInfo().get(DESCENDANT_COUNT));
+    }
+
+    private void mockMove() throws RepositoryException {
+        when(mockEvent.getType()).thenReturn(NODE_MOVED);
+        when(mockEvent.getInfo()).thenReturn(of("srcAbsPath", "/bar", "destAbsPath", "/foo"));
+        when(mockSession.getNode("/foo")).thenReturn(mockNode);
+        when(mockNode.getNodes()).thenReturn(mockChildren);
+    }
 }
@@ -22,6 +22,8 @@ import static java.util.stream.Stream.of;
 import static javax.jcr.observation.Event.NODE_ADDED;
 import static javax.jcr.observation.Event.PROPERTY_ADDED;
 import static javax.jcr.observation.Event.PROPERTY_CHANGED;
+import static org.fcrepo.kernel.api.observer.OptionalValues.BASE_URL;
+import static org.fcrepo.kernel.api.observer.OptionalValues.USER_AGENT;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.Mockito.reset;
@@ -31,6 +33,7 @@ import static org.modeshape.jcr.api.JcrConstants.JCR_CONTENT;
 import javax.jcr.RepositoryException;
 import javax.jcr.observation.Event;
 
+import java.util.List;
 import java.util.stream.Stream;
 
 import org.fcrepo.kernel.api.exception.RepositoryRuntimeException;
@@ -120,6 +123,23 @@ public class AllNodeEventsOneEventTest {
         assertEquals("Didn't collapse content node and fcr:content events!", 1, testMapping.apply(mockStream2).count());
     }
 
+    @Test
+    public void testUserDataOfEachResource() throws RepositoryException {
+        final String userData = "{\"baseUrl\":\"http://localhost:8080/rest/\",\"userAgent\":\"test\"}";
+        when(mockEvent1.getUserData()).thenReturn(userData);
+        when(mockEvent2.getUserData()).thenReturn(userData);
+        when(mockEvent3.getUserData()).thenReturn(userData);
+
+        final List<FedoraEvent> events = testMapping.apply(mockStream).collect(toList());
+        assertEquals(2, events.size());
+        events.forEach(event -> {
+            assertEquals("http://localhost:8080/rest", event.getInfo().get(BASE_URL));
+            assertEquals("test", event.getInfo().get(USER_AGENT));
+        });
+        assertEquals(TEST_PATH1, events.get(0).getPath());
+        assertEquals(TEST_NODE_PATH3, events.get(1).getPath());
+    }
+
     @Test(expected = RuntimeException.class)
     public void testBadEvent() throws RepositoryException {
         reset(mockEvent1);
@@ -20,11 +20,14 @@ package org.fcrepo.kernel.modeshape.services;
 import static java.time.Instant.now;
 import static java.util.Optional.of;
 import static org.fcrepo.kernel.modeshape.FedoraSessionImpl.FCREPO_TX_ID;
+import static org.fcrepo.kernel.modeshape.services.BatchServiceImpl.MAX_PENDING_BYTES;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -39,6 +42,7 @@ import javax.jcr.Session;
 import org.fcrepo.kernel.api.FedoraSession;
 import org.fcrepo.kernel.api.exception.RepositoryRuntimeException;
 import org.fcrepo.kernel.api.exception.SessionMissingException;
+import org.fcrepo.kernel.api.exception.TransactionTooLargeException;
 import org.fcrepo.kernel.api.services.BatchService;
 import org.fcrepo.kernel.modeshape.FedoraSessionImpl;
 
@@ -51,6 +55,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 /**
  * @author frank asseg
  * @author ajs6f
+ * @author agent
  */
 @RunWith(MockitoJUnitRunner.class)
 public class BatchServiceImplTest {
@@ -87,14 +92,19 @@ public class BatchServiceImplTest {
                 (Map<String, FedoraSession>) txsField
                         .get(BatchService.class);
         txs.put(":" + IS_A_TX, mockTx);
+        final Field pendingBytesField = BatchServiceImpl.class.getDeclaredField("pendingBytes");
+        pendingBytesField.setAccessible(true);
+        ((Map<?, ?>) pendingBytesField.get(BatchService.class)).clear();
     }
 
     @Test
     public void testExpiration() {
         final Instant fiveSecondsAgo = now().minusSeconds(5);
         when(mockTx.getExpires()).thenReturn(of(fiveSecondsAgo));
+        service.begin(mockTx);
         service.removeExpired();
         verify(mockTx).expire();
+        assertFalse(service.exists(IS_A_TX));
     }
 
     @Test
@@ -102,9 +112,29 @@ public class BatchServiceImplTest {
         final Instant fiveSecondsAgo = now().minusSeconds(5);
         doThrow(new RepositoryRuntimeException("")).when(mockTx).expire();
         when(mockTx.getExpires()).thenReturn(of(fiveSecondsAgo));
+        service.begin(mockTx);
         service.removeExpired();
     }
 
+    @Test
+    public void testRefreshedSessionNotExpired() {
+        when(mockTx.getExpires()).thenReturn(of(now().minusSeconds(5)));
+        service.begin(mockTx);
+        when(mockTx.getExpires()).thenReturn(of(now().plusSeconds(60)));
+        service.removeExpired();
+        verify(mockTx, never()).expire();
+        assertTrue(service.exists(IS_A_TX));
+    }
+
+    @Test
+    public void testCommittedSessionNotExpired() {
+        when(mockTx.getExpires()).thenReturn(of(now().minusSeconds(5)));
+        service.begin(mockTx);
+        service.commit(IS_A_TX);
+        service.removeExpired();
+        verify(mockTx, never()).expire();
+    }
+
     @Test
     public void testCreateTx() {
         service.begin(fedoraSession);
@@ -196,4 +226,48 @@ public class BatchServiceImplTest {
     public void testCommitWithNonTx() {
         service.commit(NOT_A_TX);
     }
+
+    @Test
+    public void testUpdatedWithoutLimits() {
+        for (int i = 0; i < 1000; i++) {
+            service.updated(IS_A_TX, 1024);
+        }
+        verify(mockTx, never()).commit();
+        verify(mockTx, never()).expire();
+        assertTrue(service.exists(IS_A_TX));
+    }
+
+    @Test
+    public void testUpdatedOverLimit() {
+        System.setProperty(MAX_PENDING_BYTES, "1000");
+        try {
+            for (int i = 0; i < 10; i++) {
+                service.updated(IS_A_TX, 100);
+            }
+            assertTrue(service.exists(IS_A_TX));
+            service.updated(IS_A_TX, 1);
+            fail("Expected the transaction to be rolled back");
+        } catch (final TransactionTooLargeException e) {
+            verify(mockTx).expire();
+            verify(mockTx, never()).commit();
+            assertFalse(service.exists(IS_A_TX));
+        } finally {
+            System.clearProperty(MAX_PENDING_BYTES);
+        }
+    }
+
+    @Test
+    public void testCommitForgetsChanges() {
+        System.setProperty(MAX_PENDING_BYTES, "1000");
+        try {
+            service.updated(IS_A_TX, 1000);
+            service.commit(IS_A_TX);
+            when(mockTx.getExpires()).thenReturn(of(now().plusSeconds(60)));
+            service.begin(mockTx);
+            service.updated(IS_A_TX, 1000);
+            assertTrue(service.exists(IS_A_TX));
+        } finally {
+            System.clearProperty(MAX_PENDING_BYTES);
+        }
+    }
 }
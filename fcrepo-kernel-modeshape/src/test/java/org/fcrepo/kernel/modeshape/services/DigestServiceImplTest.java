@@ -0,0 +1,158 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.kernel.modeshape.services;
+
+import static java.time.Instant.now;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static org.fcrepo.kernel.api.FedoraTypes.CONTENT_DIGEST;
+import static org.fcrepo.kernel.modeshape.services.DigestServiceImpl.DIGEST_POLICY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.jcr.Node;
+import javax.jcr.Property;
+import javax.jcr.Value;
+
+import org.fcrepo.kernel.api.services.DigestService;
+import org.fcrepo.kernel.modeshape.FedoraBinaryImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+/**
+ * @author agent
+ * @since Oct 19, 2026
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DigestServiceImplTest {
+
+    private static final URI SHA1 = URI.create("urn:sha1:1234");
+
+    private static final URI MD5 = URI.create("urn:md5:5678");
+
+    private DigestService testObj;
+
+    @Mock
+    private FedoraBinaryImpl mockBinary;
+
+    @Mock
+    private Node mockNode;
+
+    @Mock
+    private Property mockProperty;
+
+    @Mock
+    private Value mockValue;
+
+    private final Instant modified = now();
+
+    @Before
+    public void setUp() throws Exception {
+        testObj = new DigestServiceImpl();
+        when(mockBinary.getNode()).thenReturn(mockNode);
+        when(mockBinary.getPath()).thenReturn("/binary");
+        when(mockBinary.getMimeType()).thenReturn("text/plain");
+        when(mockBinary.getLastModifiedDate()).thenReturn(modified);
+        when(mockBinary.getContentDigest()).thenReturn(SHA1);
+        when(mockNode.hasProperty(CONTENT_DIGEST)).thenReturn(true);
+        when(mockNode.getProperty(CONTENT_DIGEST)).thenReturn(mockProperty);
+        when(mockProperty.isMultiple()).thenReturn(true);
+        when(mockProperty.getValues()).thenReturn(new Value[] { mockValue });
+        when(mockValue.getString()).thenReturn(SHA1.toString());
+        when(mockBinary.checkFixity(any(), any())).thenReturn(singleton(MD5));
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(DIGEST_POLICY);
+    }
+
+    @Test
+    public void testStoredDigest() throws Exception {
+        assertEquals(singleton(SHA1), asSet(testObj.getDigests(null, mockBinary, singleton("SHA-1"))));
+        verify(mockBinary, never()).checkFixity(any(), any());
+    }
+
+    @Test
+    public void testComputedDigestIsCached() throws Exception {
+        assertEquals(singleton(MD5), asSet(testObj.getDigests(null, mockBinary, singleton("md5"))));
+        assertEquals(singleton(MD5), asSet(testObj.getDigests(null, mockBinary, singleton("MD5"))));
+        verify(mockBinary).checkFixity(null, asList("md5"));
+    }
+
+    @Test
+    public void testStoredAndComputedDigests() throws Exception {
+        final Collection<URI> digests = testObj.getDigests(null, mockBinary, asList("sha1", "md5"));
+        assertEquals(2, digests.size());
+        assertTrue(digests.contains(SHA1));
+        assertTrue(digests.contains(MD5));
+        verify(mockBinary).checkFixity(null, asList("md5"));
+    }
+
+    @Test
+    public void testChangedContentIsRecomputed() throws Exception {
+        testObj.getDigests(null, mockBinary, singleton("md5"));
+        when(mockBinary.getContentDigest()).thenReturn(URI.create("urn:sha1:abcd"));
+        testObj.getDigests(null, mockBinary, singleton("md5"));
+        verify(mockBinary, times(2)).checkFixity(null, asList("md5"));
+    }
+
+    @Test
+    public void testExternalContentIsComputed() throws Exception {
+        when(mockBinary.getMimeType()).thenReturn("message/external-body;access-type=URL;url=\"http://x/y\"");
+        when(mockBinary.checkFixity(any(), any())).thenReturn(singleton(SHA1));
+        testObj.getDigests(null, mockBinary, singleton("sha1"));
+        verify(mockBinary).checkFixity(null, asList("sha1"));
+    }
+
+    @Test
+    public void testCachedPolicyIgnoresStoredDigests() throws Exception {
+        System.setProperty(DIGEST_POLICY, "cached");
+        when(mockBinary.checkFixity(any(), any())).thenReturn(singleton(SHA1));
+        testObj.getDigests(null, mockBinary, singleton("sha1"));
+        testObj.getDigests(null, mockBinary, singleton("sha1"));
+        verify(mockBinary).checkFixity(null, asList("sha1"));
+    }
+
+    @Test
+    public void testAlwaysPolicy() throws Exception {
+        System.setProperty(DIGEST_POLICY, "always");
+        testObj.getDigests(null, mockBinary, singleton("sha1"));
+        testObj.getDigests(null, mockBinary, singleton("sha1"));
+        verify(mockBinary, times(2)).checkFixity(null, singleton("sha1"));
+    }
+
+    private static Set<URI> asSet(final Collection<URI> digests) {
+        return new HashSet<>(digests);
+    }
+}
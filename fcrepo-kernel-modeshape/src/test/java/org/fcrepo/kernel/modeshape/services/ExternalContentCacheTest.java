@@ -0,0 +1,128 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.kernel.modeshape.services;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.newDirectoryStream;
+import static java.nio.file.Files.setLastModifiedTime;
+import static java.nio.file.Files.write;
+import static java.nio.file.attribute.FileTime.fromMillis;
+import static org.apache.commons.io.IOUtils.toByteArray;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class ExternalContentCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static final URI FIRST = URI.create("http://example.org/first");
+
+    private static final URI SECOND = URI.create("http://example.org/second");
+
+    @Test
+    public void testPutAndGet() throws IOException {
+        final ExternalContentCache cache = new ExternalContentCache(folder.getRoot().toPath(), 100);
+        assertNull(cache.get(FIRST));
+
+        assertEquals("content", put(cache, FIRST, "\"abc\"", null, "content"));
+
+        final ExternalContentCache.Entry entry = cache.get(FIRST);
+        assertNotNull(entry);
+        assertEquals("\"abc\"", entry.getEtag());
+        assertNull(entry.getLastModified());
+        assertEquals("content", read(cache.open(entry)));
+        assertEquals("tent", read(cache.open(entry, 3)));
+        assertEquals("text/plain", entry.getContentType());
+        assertEquals(7, entry.getLength());
+        assertEquals(7, cache.size());
+    }
+
+    @Test
+    public void testReplace() throws IOException {
+        final ExternalContentCache cache = new ExternalContentCache(folder.getRoot().toPath(), 100);
+        put(cache, FIRST, "\"abc\"", null, "content");
+        put(cache, FIRST, null, "Mon, 19 Oct 2026 00:00:00 GMT", "other");
+
+        final ExternalContentCache.Entry entry = cache.get(FIRST);
+        assertNull(entry.getEtag());
+        assertEquals("other", read(cache.open(entry)));
+        assertEquals(5, cache.size());
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsed() throws IOException {
+        final ExternalContentCache cache = new ExternalContentCache(folder.getRoot().toPath(), 12);
+        put(cache, FIRST, "\"a\"", null, "content");
+        try (final DirectoryStream<Path> files = newDirectoryStream(folder.getRoot().toPath())) {
+            for (final Path file : files) {
+                setLastModifiedTime(file, fromMillis(0));
+            }
+        }
+        put(cache, SECOND, "\"b\"", null, "content");
+
+        assertNull(cache.get(FIRST));
+        assertNotNull(cache.get(SECOND));
+        assertEquals(7, cache.size());
+        assertFalse(cache.accepts(13));
+    }
+
+    @Test
+    public void testReopen() throws IOException {
+        final Path directory = folder.getRoot().toPath();
+        put(new ExternalContentCache(directory, 100), FIRST, "\"abc\"", null, "content");
+        write(directory.resolve("leftover.tmp"), "partial".getBytes(UTF_8));
+
+        final ExternalContentCache cache = new ExternalContentCache(directory, 100);
+        assertEquals(7, cache.size());
+        assertFalse(directory.resolve("leftover.tmp").toFile().exists());
+        assertNotNull(cache.get(FIRST));
+    }
+
+    private static String put(final ExternalContentCache cache, final URI uri, final String etag,
+            final String lastModified, final String content) throws IOException {
+        return read(cache.open(cache.put(uri, etag, lastModified, "text/plain", stream(content))));
+    }
+
+    private static InputStream stream(final String content) {
+        return new ByteArrayInputStream(content.getBytes(UTF_8));
+    }
+
+    private static String read(final InputStream in) throws IOException {
+        try (final InputStream content = in) {
+            return new String(toByteArray(content), UTF_8);
+        }
+    }
+}
@@ -17,23 +17,50 @@
  */
 package org.fcrepo.kernel.modeshape.services;
 
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.commons.io.IOUtils.toByteArray;
+import static org.fcrepo.metrics.RegistryService.getInstance;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.isA;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
 
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpVersion;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpHead;
 import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.message.BasicStatusLine;
+import org.fcrepo.kernel.api.services.ExternalContentService;
+import org.fcrepo.kernel.api.utils.ExternalContent;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 
 
@@ -42,6 +69,9 @@ import org.mockito.Mock;
  */
 public class ExternalContentServiceImplTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     private ExternalContentServiceImpl testObj;
 
     @Mock
@@ -55,11 +85,14 @@ public class ExternalContentServiceImplTest {
     @Mock
     private CloseableHttpResponse mockResponse;
 
+    @Mock
+    private CloseableHttpResponse mockResumedResponse;
+
     @Mock
     private HttpEntity mockEntity;
 
     @Mock
-    private InputStream mockInputStream;
+    private HttpEntity mockResumedEntity;
 
     @Before
     public void setUp() throws URISyntaxException, IOException {
@@ -70,14 +103,363 @@ public class ExternalContentServiceImplTest {
 
         when(testObj.getCloseableHttpClient()).thenReturn(mockClient);
         when(mockClient.execute(any(HttpGet.class))).thenReturn(mockResponse);
+        when(mockResponse.getStatusLine()).thenReturn(new BasicStatusLine(HttpVersion.HTTP_1_1, 200, "OK"));
         when(mockResponse.getEntity()).thenReturn(mockEntity);
-        when(mockEntity.getContent()).thenReturn(mockInputStream);
+        when(mockEntity.getContent()).thenReturn(new ByteArrayInputStream("content".getBytes(UTF_8)));
     }
 
     @Test
     public void testRetrieveExternalContent() throws Exception {
         try (final InputStream xyz = testObj.retrieveExternalContent(sourceUri)) {
-            assertEquals(mockInputStream, xyz);
+            assertEquals("content", new String(toByteArray(xyz), UTF_8));
+        }
+        verify(mockResponse).close();
+    }
+
+    @Test(expected = IOException.class)
+    public void testRetrieveMissingExternalContent() throws Exception {
+        when(mockResponse.getStatusLine()).thenReturn(new BasicStatusLine(HttpVersion.HTTP_1_1, 404, "Not Found"));
+        testObj.retrieveExternalContent(sourceUri);
+    }
+
+    @Test
+    public void testResumeInterruptedTransfer() throws Exception {
+        when(mockResponse.getFirstHeader("Accept-Ranges")).thenReturn(new BasicHeader("Accept-Ranges", "bytes"));
+        when(mockResponse.getFirstHeader("ETag")).thenReturn(new BasicHeader("ETag", "\"abc\""));
+        when(mockEntity.getContent()).thenReturn(new InterruptedInputStream("cont"));
+        when(mockResumedResponse.getStatusLine())
+                .thenReturn(new BasicStatusLine(HttpVersion.HTTP_1_1, 206, "Partial Content"));
+        when(mockResumedResponse.getFirstHeader("Content-Range"))
+                .thenReturn(new BasicHeader("Content-Range", "bytes 4-6/7"));
+        when(mockResumedResponse.getEntity()).thenReturn(mockResumedEntity);
+        when(mockResumedEntity.getContent()).thenReturn(new ByteArrayInputStream("ent".getBytes(UTF_8)));
+        when(mockClient.execute(any(HttpGet.class))).thenReturn(mockResponse, mockResumedResponse);
+
+        try (final InputStream xyz = testObj.retrieveExternalContent(sourceUri)) {
+            assertEquals("content", new String(toByteArray(xyz), UTF_8));
+        }
+
+        final ArgumentCaptor<HttpGet> requests = ArgumentCaptor.forClass(HttpGet.class);
+        verify(mockClient, times(2)).execute(requests.capture());
+        final HttpGet resumed = requests.getAllValues().get(1);
+        assertEquals("bytes=4-", resumed.getFirstHeader("Range").getValue());
+        assertEquals("\"abc\"", resumed.getFirstHeader("If-Range").getValue());
+    }
+
+    @Test(expected = IOException.class)
+    public void testInterruptedTransferWithoutRanges() throws Exception {
+        when(mockEntity.getContent()).thenReturn(new InterruptedInputStream("cont"));
+        try (final InputStream xyz = testObj.retrieveExternalContent(sourceUri)) {
+            toByteArray(xyz);
+        }
+    }
+
+    @Test
+    public void testContentWithinSizeLimit() throws Exception {
+        testObj.setMaxBytes(7);
+        try (final InputStream xyz = testObj.retrieveExternalContent(sourceUri)) {
+            assertEquals("content", new String(toByteArray(xyz), UTF_8));
+        }
+    }
+
+    @Test
+    public void testDeclaredContentOverSizeLimit() throws Exception {
+        testObj.setMaxBytes(6);
+        when(mockResponse.getFirstHeader("Content-Length")).thenReturn(new BasicHeader("Content-Length", "7"));
+        try {
+            testObj.retrieveExternalContent(sourceUri);
+            fail("The transfer should not have started");
+        } catch (final IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("limit of 6 bytes"));
+        }
+        verify(mockResponse).close();
+        verify(mockEntity, never()).getContent();
+    }
+
+    @Test
+    public void testUndeclaredContentOverSizeLimit() throws Exception {
+        testObj.setMaxBytes(6);
+        try (final InputStream xyz = testObj.retrieveExternalContent(sourceUri)) {
+            toByteArray(xyz);
+            fail("The transfer should have failed past the limit");
+        } catch (final IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("limit of 6 bytes"));
+        }
+    }
+
+    @Test
+    public void testMetricsForBoundedNumberOfHosts() throws Exception {
+        for (int i = 0; i < 40; i++) {
+            testObj.retrieveExternalContent(new URI("http://host" + i + ".example.org/xyz")).close();
+        }
+
+        final String prefix = name(ExternalContentService.class) + ".";
+        final long hosts = getInstance().getMetrics().getTimers().keySet().stream()
+                .filter(n -> n.startsWith(prefix) && n.endsWith(".requests")).count();
+        assertTrue("Too many hosts counted: " + hosts, hosts <= 33);
+        assertTrue(getInstance().getMetrics().getTimers()
+                .containsKey(name(ExternalContentService.class, "other", "requests")));
+    }
+
+    @Test
+    public void testRetrieveCachedContent() throws Exception {
+        testObj.setCache(new ExternalContentCache(folder.getRoot().toPath(), 1024));
+        when(mockResponse.getFirstHeader("ETag")).thenReturn(new BasicHeader("ETag", "\"abc\""));
+
+        try (final InputStream xyz = testObj.retrieveCachedContent(sourceUri)) {
+            assertEquals("content", new String(toByteArray(xyz), UTF_8));
+        }
+
+        when(mockResumedResponse.getStatusLine())
+                .thenReturn(new BasicStatusLine(HttpVersion.HTTP_1_1, 304, "Not Modified"));
+        when(mockClient.execute(any(HttpGet.class))).thenReturn(mockResumedResponse);
+        try (final InputStream xyz = testObj.retrieveCachedContent(sourceUri)) {
+            assertEquals("content", new String(toByteArray(xyz), UTF_8));
+        }
+
+        final ArgumentCaptor<HttpGet> requests = ArgumentCaptor.forClass(HttpGet.class);
+        verify(mockClient, times(2)).execute(requests.capture());
+        assertNull(requests.getAllValues().get(0).getFirstHeader("If-None-Match"));
+        assertEquals("\"abc\"", requests.getAllValues().get(1).getFirstHeader("If-None-Match").getValue());
+        verify(mockResumedResponse).close();
+    }
+
+    @Test
+    public void testRetrieveUnvalidatedContentIsNotCached() throws Exception {
+        final ExternalContentCache cache = new ExternalContentCache(folder.getRoot().toPath(), 1024);
+        testObj.setCache(cache);
+
+        try (final InputStream xyz = testObj.retrieveCachedContent(sourceUri)) {
+            assertEquals("content", new String(toByteArray(xyz), UTF_8));
+        }
+        assertNull(cache.get(sourceUri));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testProxyExternalContent() throws Exception {
+        when(mockResponse.getStatusLine())
+                .thenReturn(new BasicStatusLine(HttpVersion.HTTP_1_1, 206, "Partial Content"));
+        when(mockResponse.getFirstHeader("Content-Range")).thenReturn(new BasicHeader("Content-Range", "bytes 2-4/7"));
+        when(mockEntity.getContent()).thenReturn(new ByteArrayInputStream("nte".getBytes(UTF_8)));
+
+        try (final ExternalContent content = testObj.proxyExternalContent(sourceUri, false,
+                singletonMap("Range", "bytes=2-4"))) {
+            assertEquals(206, content.getStatus());
+            assertEquals("bytes 2-4/7", content.getHeaders().get("Content-Range"));
+            assertEquals("nte", new String(toByteArray(content.getContent()), UTF_8));
+        }
+
+        final ArgumentCaptor<HttpGet> request = ArgumentCaptor.forClass(HttpGet.class);
+        verify(mockClient).execute(request.capture());
+        assertEquals("bytes=2-4", request.getValue().getFirstHeader("Range").getValue());
+    }
+
+    @Test
+    public void testProxyExternalHeaders() throws Exception {
+        when(mockClient.execute(any(HttpHead.class))).thenReturn(mockResponse);
+        when(mockResponse.getFirstHeader("Content-Type")).thenReturn(new BasicHeader("Content-Type", "text/plain"));
+
+        try (final ExternalContent content = testObj.proxyExternalContent(sourceUri, true, emptyMap())) {
+            assertEquals(200, content.getStatus());
+            assertEquals("text/plain", content.getHeaders().get("Content-Type"));
+            assertNull(content.getContent());
+        }
+        verify(mockClient).execute(any(HttpHead.class));
+        verify(mockResponse).close();
+    }
+
+    @Test
+    public void testProxyRangeFromCache() throws Exception {
+        testObj.setCache(new ExternalContentCache(folder.getRoot().toPath(), 1024));
+        when(mockResponse.getFirstHeader("ETag")).thenReturn(new BasicHeader("ETag", "\"abc\""));
+        when(mockResponse.getFirstHeader("Content-Type")).thenReturn(new BasicHeader("Content-Type", "text/plain"));
+
+        try (final ExternalContent content = testObj.proxyExternalContent(sourceUri, false, emptyMap())) {
+            assertEquals(200, content.getStatus());
+            assertEquals("content", new String(toByteArray(content.getContent()), UTF_8));
+        }
+
+        when(mockResumedResponse.getStatusLine())
+                .thenReturn(new BasicStatusLine(HttpVersion.HTTP_1_1, 304, "Not Modified"));
+        when(mockClient.execute(isA(HttpHead.class))).thenReturn(mockResumedResponse);
+        try (final ExternalContent content = testObj.proxyExternalContent(sourceUri, false,
+                singletonMap("Range", "bytes=2-4"))) {
+            assertEquals(206, content.getStatus());
+            assertEquals("bytes 2-4/7", content.getHeaders().get("Content-Range"));
+            assertEquals("3", content.getHeaders().get("Content-Length"));
+            assertEquals("text/plain", content.getHeaders().get("Content-Type"));
+            assertEquals("nte", new String(toByteArray(content.getContent()), UTF_8));
+        }
+        try (final ExternalContent content = testObj.proxyExternalContent(sourceUri, false,
+                singletonMap("Range", "bytes=-3"))) {
+            assertEquals(206, content.getStatus());
+            assertEquals("ent", new String(toByteArray(content.getContent()), UTF_8));
+        }
+        try (final ExternalContent content = testObj.proxyExternalContent(sourceUri, false,
+                singletonMap("Range", "bytes=9-"))) {
+            assertEquals(416, content.getStatus());
+            assertEquals("bytes */7", content.getHeaders().get("Content-Range"));
+        }
+
+        verify(mockClient).execute(isA(HttpGet.class));
+        verify(mockClient, times(3)).execute(isA(HttpHead.class));
+        final ArgumentCaptor<HttpHead> requests = ArgumentCaptor.forClass(HttpHead.class);
+        verify(mockClient, times(4)).execute(requests.capture());
+        assertEquals("\"abc\"", requests.getValue().getFirstHeader("If-None-Match").getValue());
+    }
+
+    @Test
+    public void testProxyRangeMissIsPassedOn() throws Exception {
+        final ExternalContentCache cache = new ExternalContentCache(folder.getRoot().toPath(), 1024);
+        testObj.setCache(cache);
+        when(mockResponse.getStatusLine())
+                .thenReturn(new BasicStatusLine(HttpVersion.HTTP_1_1, 206, "Partial Content"));
+        when(mockResponse.getFirstHeader("ETag")).thenReturn(new BasicHeader("ETag", "\"abc\""));
+        when(mockResponse.getFirstHeader("Content-Range")).thenReturn(new BasicHeader("Content-Range", "bytes 0-0/7"));
+        when(mockEntity.getContent()).thenReturn(new ByteArrayInputStream("c".getBytes(UTF_8)));
+
+        try (final ExternalContent content = testObj.proxyExternalContent(sourceUri, false,
+                singletonMap("Range", "bytes=0-0"))) {
+            assertEquals(206, content.getStatus());
+            assertEquals("c", new String(toByteArray(content.getContent()), UTF_8));
+        }
+
+        final ArgumentCaptor<HttpGet> request = ArgumentCaptor.forClass(HttpGet.class);
+        verify(mockClient).execute(request.capture());
+        assertEquals("bytes=0-0", request.getValue().getFirstHeader("Range").getValue());
+        assertNull(cache.get(sourceUri));
+    }
+
+    @Test
+    public void testProxyHeadMissIsPassedOn() throws Exception {
+        final ExternalContentCache cache = new ExternalContentCache(folder.getRoot().toPath(), 1024);
+        testObj.setCache(cache);
+        when(mockResponse.getFirstHeader("ETag")).thenReturn(new BasicHeader("ETag", "\"abc\""));
+
+        try (final ExternalContent content = testObj.proxyExternalContent(sourceUri, true, emptyMap())) {
+            assertEquals(200, content.getStatus());
+            assertNull(content.getContent());
+        }
+
+        verify(mockClient).execute(isA(HttpHead.class));
+        verify(mockClient, never()).execute(isA(HttpGet.class));
+        assertNull(cache.get(sourceUri));
+    }
+
+    @Test
+    public void testConcurrentProxiedMissesFetchOnce() throws Exception {
+        testObj.setCache(new ExternalContentCache(folder.getRoot().toPath(), 1024));
+        when(mockResponse.getFirstHeader("ETag")).thenReturn(new BasicHeader("ETag", "\"abc\""));
+        final CountDownLatch release = new CountDownLatch(1);
+        when(mockEntity.getContent()).thenReturn(new BlockingInputStream("content", release));
+
+        final FutureTask<String> first = new FutureTask<>(this::proxiedContent);
+        new Thread(first).start();
+        verify(mockClient, timeout(5000)).execute(isA(HttpGet.class));
+
+        // a second request for the content while the first is still downloading it
+        final FutureTask<String> second = new FutureTask<>(this::proxiedContent);
+        final Thread waiting = new Thread(second);
+        waiting.start();
+        while (waiting.getState() != Thread.State.WAITING && !second.isDone()) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        assertEquals("content", first.get(5, SECONDS));
+        assertEquals("content", second.get(5, SECONDS));
+        verify(mockClient).execute(isA(HttpGet.class));
+    }
+
+    @Test
+    public void testProxyUncacheableContent() throws Exception {
+        final ExternalContentCache cache = new ExternalContentCache(folder.getRoot().toPath(), 1024);
+        testObj.setCache(cache);
+
+        try (final ExternalContent content = testObj.proxyExternalContent(sourceUri, false, emptyMap())) {
+            assertEquals(200, content.getStatus());
+            assertEquals("content", new String(toByteArray(content.getContent()), UTF_8));
+        }
+        verify(mockClient).execute(any(HttpGet.class));
+        assertNull(cache.get(sourceUri));
+    }
+
+    @Test
+    public void testProxyConditionalFromCache() throws Exception {
+        testObj.setCache(new ExternalContentCache(folder.getRoot().toPath(), 1024));
+        when(mockResponse.getFirstHeader("ETag")).thenReturn(new BasicHeader("ETag", "\"abc\""));
+
+        try (final ExternalContent content = testObj.proxyExternalContent(sourceUri, false,
+                singletonMap("If-None-Match", "\"abc\""))) {
+            assertEquals(304, content.getStatus());
+            assertEquals("\"abc\"", content.getHeaders().get("ETag"));
+            assertNull(content.getContent());
+        }
+
+        when(mockResumedResponse.getStatusLine())
+                .thenReturn(new BasicStatusLine(HttpVersion.HTTP_1_1, 304, "Not Modified"));
+        when(mockClient.execute(any(HttpGet.class))).thenReturn(mockResumedResponse);
+        try (final ExternalContent content = testObj.proxyExternalContent(sourceUri, false,
+                singletonMap("If-Match", "\"xyz\""))) {
+            assertEquals(412, content.getStatus());
+        }
+        try (final ExternalContent content = testObj.proxyExternalContent(sourceUri, false,
+                singletonMap("If-None-Match", "\"xyz\""))) {
+            assertEquals(200, content.getStatus());
+            assertEquals("content", new String(toByteArray(content.getContent()), UTF_8));
+        }
+    }
+
+    private String proxiedContent() throws IOException {
+        try (final ExternalContent content = testObj.proxyExternalContent(sourceUri, false, emptyMap())) {
+            return new String(toByteArray(content.getContent()), UTF_8);
+        }
+    }
+
+    /**
+     * Returns its content only once released, like a slow remote server
+     */
+    private static class BlockingInputStream extends InputStream {
+
+        private final InputStream content;
+
+        private final CountDownLatch release;
+
+        private BlockingInputStream(final String content, final CountDownLatch release) {
+            this.content = new ByteArrayInputStream(content.getBytes(UTF_8));
+            this.release = release;
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                throw new IOException(e);
+            }
+            return content.read();
+        }
+    }
+
+    /**
+     * Returns some content and then fails, like a dropped connection
+     */
+    private static class InterruptedInputStream extends InputStream {
+
+        private final InputStream content;
+
+        private InterruptedInputStream(final String content) {
+            this.content = new ByteArrayInputStream(content.getBytes(UTF_8));
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = content.read();
+            if (b < 0) {
+                throw new IOException("Connection reset");
+            }
+            return b;
         }
     }
 }
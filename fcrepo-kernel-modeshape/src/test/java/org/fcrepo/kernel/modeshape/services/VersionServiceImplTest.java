@@ -97,6 +97,8 @@ public class VersionServiceImplTest {
         final Version mockPreRevertVersion = mock(Version.class);
         when(mockVersionManager.checkin(EXAMPLE_VERSIONED_PATH)).thenReturn(mockPreRevertVersion);
         when(mockPreRevertVersion.getContainingHistory()).thenReturn(mockHistory);
+        when(mockHistory.getIdentifier()).thenReturn("testRevertToVersionByLabel");
+        when(mockHistory.getVersionLabels(mockPreRevertVersion)).thenReturn(new String[0]);
         when(mockHistory.hasVersionLabel(versionLabel)).thenReturn(true);
         when(mockHistory.getVersionByLabel(versionLabel)).thenReturn(mockVersion1);
         when(mockWorkspace.getVersionManager()).thenReturn(mockVersionManager);
@@ -138,6 +140,7 @@ public class VersionServiceImplTest {
         when(mockHistory.hasVersionLabel(versionLabel)).thenReturn(true);
         when(mockHistory.getVersionByLabel(versionLabel)).thenReturn(mockVersion1);
         when(mockHistory.getVersionLabels(mockVersion1)).thenReturn(versionLabels);
+        when(mockHistory.getIdentifier()).thenReturn("testRemoveVersionByLabel");
         when(mockWorkspace.getVersionManager()).thenReturn(mockVersionManager);
         when(mockVersionManager.getVersionHistory("/example")).thenReturn(mockHistory);
         when(mockVersionManager.getBaseVersion("/example")).thenReturn(mockVersion2);
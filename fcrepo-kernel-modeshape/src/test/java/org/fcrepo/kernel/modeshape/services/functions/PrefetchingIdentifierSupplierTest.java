@@ -0,0 +1,103 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.kernel.modeshape.services.functions;
+
+import static java.lang.System.currentTimeMillis;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class PrefetchingIdentifierSupplierTest {
+
+    private final AtomicInteger minted = new AtomicInteger();
+
+    private PrefetchingIdentifierSupplier testObj;
+
+    @After
+    public void tearDown() {
+        testObj.close();
+    }
+
+    @Test
+    public void testServesPrefetchedIdentifiers() throws InterruptedException {
+        testObj = new PrefetchingIdentifierSupplier(() -> Integer.toString(minted.getAndIncrement()), 10);
+        awaitBuffered(10);
+
+        assertEquals("0", testObj.get());
+        assertEquals("1", testObj.get());
+        assertEquals(8, testObj.getBuffered());
+        assertEquals(10, minted.get());
+    }
+
+    @Test
+    public void testDropsDuplicates() throws InterruptedException {
+        testObj = new PrefetchingIdentifierSupplier(() -> Integer.toString(minted.getAndIncrement() / 2), 4);
+        awaitBuffered(4);
+
+        final Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            ids.add(testObj.get());
+        }
+        assertEquals(4, ids.size());
+    }
+
+    @Test
+    public void testMintsOnDemandWhileFetching() throws InterruptedException {
+        final CountDownLatch fetching = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        testObj = new PrefetchingIdentifierSupplier(() -> {
+            if (currentThread().getName().startsWith("fcrepo-pid-prefetch")) {
+                fetching.countDown();
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    currentThread().interrupt();
+                }
+                return "prefetched-" + minted.getAndIncrement();
+            }
+            return "direct";
+        }, 2);
+        assertTrue(fetching.await(5, SECONDS));
+
+        assertEquals("direct", testObj.get());
+        release.countDown();
+        awaitBuffered(2);
+        assertTrue(testObj.get().startsWith("prefetched-"));
+    }
+
+    private void awaitBuffered(final int count) throws InterruptedException {
+        final long deadline = currentTimeMillis() + 5000;
+        while (testObj.getBuffered() < count && currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, testObj.getBuffered());
+    }
+}
@@ -17,14 +17,20 @@
  */
 package org.fcrepo.kernel.modeshape.spring;
 
+import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.RDF_TYPE_MIGRATION;
+import static org.fcrepo.kernel.modeshape.FedoraJcrConstants.RDF_TYPE_STORAGE_MODE;
 import static org.fcrepo.kernel.modeshape.FedoraRepositoryImpl.getJcrRepository;
 import static org.fcrepo.kernel.modeshape.utils.TestHelpers.setField;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 import org.fcrepo.kernel.api.FedoraRepository;
+import org.fcrepo.kernel.api.exception.RepositoryRuntimeException;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -37,6 +43,8 @@ import org.springframework.core.io.Resource;
 
 import java.util.ArrayList;
 
+import javax.jcr.RepositoryException;
+
 /**
  * <p>ModeShapeRepositoryFactoryBeanTest class.</p>
  *
@@ -80,6 +88,34 @@ public class ModeShapeRepositoryFactoryBeanTest {
         assertEquals(mockRepo, getJcrRepository(testObj.getObject()));
     }
 
+    @Test
+    public void testRdfTypeMigration() throws RepositoryException {
+        when(mockSession.getNode("/")).thenThrow(new RepositoryException("expected"));
+        System.setProperty(RDF_TYPE_STORAGE_MODE, "property");
+        System.setProperty(RDF_TYPE_MIGRATION, "true");
+        try {
+            testObj.buildRepository();
+            fail("Expected the failed migration to stop the repository from starting");
+        } catch (final RepositoryRuntimeException e) {
+            verify(mockSession).getNode("/");
+            verify(mockSession).logout();
+        } finally {
+            System.clearProperty(RDF_TYPE_STORAGE_MODE);
+            System.clearProperty(RDF_TYPE_MIGRATION);
+        }
+    }
+
+    @Test
+    public void testNoRdfTypeMigrationByDefault() throws RepositoryException {
+        System.setProperty(RDF_TYPE_STORAGE_MODE, "property");
+        try {
+            testObj.buildRepository();
+        } finally {
+            System.clearProperty(RDF_TYPE_STORAGE_MODE);
+        }
+        verify(mockRepo, never()).login();
+    }
+
     @Test
     public void testFactoryMetadata() {
         assertEquals(FedoraRepository.class, testObj.getObjectType());
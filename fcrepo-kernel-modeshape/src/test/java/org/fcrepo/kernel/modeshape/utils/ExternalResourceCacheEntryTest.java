@@ -17,10 +17,13 @@
  */
 package org.fcrepo.kernel.modeshape.utils;
 
+import static org.fcrepo.kernel.modeshape.utils.ExternalResourceCacheEntry.setContentService;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
 
 import javax.jcr.Property;
 import javax.jcr.RepositoryException;
@@ -28,6 +31,8 @@ import javax.jcr.Value;
 import javax.jcr.ValueFormatException;
 
 import org.apache.jena.datatypes.xsd.impl.XSDBaseStringType;
+import org.fcrepo.kernel.api.services.ExternalContentService;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -51,6 +56,9 @@ public class ExternalResourceCacheEntryTest {
     @Mock
     private InputStream mockInputStream;
 
+    @Mock
+    private ExternalContentService mockContentService;
+
     @Mock
     private XSDBaseStringType modXSDBaseStringType;
 
@@ -67,8 +75,20 @@ public class ExternalResourceCacheEntryTest {
         testObj = new ExternalResourceCacheEntry(mockProperty);
     }
 
+    @After
+    public void tearDown() {
+        setContentService(null);
+    }
+
     @Test
     public void testGetExternalIdentifier() throws ValueFormatException, RepositoryException {
         assertEquals(RESOURCE_URL, testObj.getExternalIdentifier());
     }
+
+    @Test
+    public void testGetInputStream() throws IOException {
+        when(mockContentService.retrieveCachedContent(URI.create(RESOURCE_URL))).thenReturn(mockInputStream);
+        setContentService(mockContentService);
+        assertEquals(mockInputStream, testObj.getInputStream());
+    }
 }
@@ -17,12 +17,26 @@
  */
 package org.fcrepo.kernel.modeshape.utils;
 
+import static org.fcrepo.kernel.modeshape.utils.NamespaceTools.getNamespacePrefix;
+import static org.fcrepo.kernel.modeshape.utils.NamespaceTools.getNamespaceSnapshot;
+import static org.fcrepo.kernel.modeshape.utils.NamespaceTools.getNamespaceURI;
+import static org.fcrepo.kernel.modeshape.utils.NamespaceTools.getNamespaces;
+import static org.fcrepo.kernel.modeshape.utils.NamespaceTools.registerNamespace;
 import static org.fcrepo.kernel.modeshape.utils.NamespaceTools.validatePath;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
 import javax.jcr.NamespaceException;
 import javax.jcr.Node;
+import javax.jcr.Repository;
 import javax.jcr.RepositoryException;
 import javax.jcr.Session;
 import javax.jcr.Workspace;
@@ -53,6 +67,9 @@ public class NamespaceToolsTest {
     @Mock
     private NamespaceRegistry mockNamespaceRegistry;
 
+    @Mock
+    private Repository mockRepository;
+
     @Before
     public void setUp() throws RepositoryException {
         initMocks(this);
@@ -74,6 +91,7 @@ public class NamespaceToolsTest {
     @Test
     public void testValidatePathWithValidNamespace() throws RepositoryException {
         when(mockWork.getNamespaceRegistry()).thenReturn(mockNamespaceRegistry);
+        when(mockNamespaceRegistry.getURI("valid")).thenReturn("info:valid#");
         validatePath(mockSession, "easy/valid:test");
     }
 
@@ -97,4 +115,74 @@ public class NamespaceToolsTest {
         validatePath(mockSession, "test/a/broken:namespace-registry");
     }
 
+    @Test
+    public void testNamespaceSnapshotIsShared() throws RepositoryException {
+        when(mockSession.getRepository()).thenReturn(mockRepository);
+        when(mockWork.getNamespaceRegistry()).thenReturn(mockNamespaceRegistry);
+        when(mockNamespaceRegistry.getPrefixes()).thenReturn(new String[] { "jcr", "test" });
+        when(mockNamespaceRegistry.getURI("jcr")).thenReturn("http://www.jcp.org/jcr/1.0");
+        when(mockNamespaceRegistry.getURI("test")).thenReturn("info:test#");
+
+        final NamespaceSnapshot snapshot = getNamespaceSnapshot(mockSession);
+        assertSame(snapshot, getNamespaceSnapshot(mockSession));
+        assertEquals("info:test#", getNamespaces(mockSession).get("test"));
+        assertFalse(getNamespaces(mockSession).containsKey("jcr"));
+        assertEquals("test", snapshot.getPrefix("info:test#"));
+
+        validatePath(mockSession, "easy/test:valid");
+        verify(mockNamespaceRegistry, never()).getURI("easy");
+        verify(mockNamespaceRegistry, times(1)).getURI("test");
+    }
+
+    @Test
+    public void testNamespaceSnapshotIsInvalidatedByRegistration() throws RepositoryException {
+        when(mockSession.getRepository()).thenReturn(mockRepository);
+        when(mockWork.getNamespaceRegistry()).thenReturn(mockNamespaceRegistry);
+        when(mockNamespaceRegistry.getPrefixes()).thenReturn(new String[] { "test" });
+        when(mockNamespaceRegistry.getURI("test")).thenReturn("info:test#");
+
+        final NamespaceSnapshot snapshot = getNamespaceSnapshot(mockSession);
+        when(mockNamespaceRegistry.getPrefixes()).thenReturn(new String[] { "test", "other" });
+        when(mockNamespaceRegistry.getURI("other")).thenReturn("info:other#");
+        registerNamespace(mockNamespaceRegistry, "other", "info:other#");
+
+        final NamespaceSnapshot updated = getNamespaceSnapshot(mockSession);
+        assertNotSame(snapshot, updated);
+        assertEquals("info:other#", updated.getURI("other"));
+        verify(mockNamespaceRegistry).registerNamespace("other", "info:other#");
+    }
+
+    @Test
+    public void testNamespaceLookupFallsBackToRegistry() throws RepositoryException {
+        when(mockSession.getRepository()).thenReturn(mockRepository);
+        when(mockWork.getNamespaceRegistry()).thenReturn(mockNamespaceRegistry);
+        when(mockNamespaceRegistry.getPrefixes()).thenReturn(new String[] { "test" });
+        when(mockNamespaceRegistry.getURI("test")).thenReturn("info:test#");
+        final NamespaceSnapshot snapshot = getNamespaceSnapshot(mockSession);
+
+        // registered elsewhere, e.g. on another cluster node
+        when(mockNamespaceRegistry.getPrefixes()).thenReturn(new String[] { "test", "other" });
+        when(mockNamespaceRegistry.getURI("other")).thenReturn("info:other#");
+        when(mockNamespaceRegistry.getPrefix("info:other#")).thenReturn("other");
+        assertNull(snapshot.getURI("other"));
+        assertEquals("info:other#", getNamespaceURI(mockSession, "other"));
+        assertEquals("other", getNamespacePrefix(mockSession, "info:other#"));
+
+        final NamespaceSnapshot refreshed = getNamespaceSnapshot(mockSession);
+        assertNotSame(snapshot, refreshed);
+        assertEquals("info:other#", refreshed.getURI("other"));
+        assertEquals("info:other#", getNamespaces(mockSession).get("other"));
+    }
+
+    @Test
+    public void testNamespaceLookupOfUnregisteredNamespace() throws RepositoryException {
+        when(mockSession.getRepository()).thenReturn(mockRepository);
+        when(mockWork.getNamespaceRegistry()).thenReturn(mockNamespaceRegistry);
+        when(mockNamespaceRegistry.getPrefixes()).thenReturn(new String[] { "test" });
+        when(mockNamespaceRegistry.getURI("test")).thenReturn("info:test#");
+        when(mockNamespaceRegistry.getURI("missing")).thenThrow(new NamespaceException());
+        when(mockNamespaceRegistry.getPrefix("info:missing#")).thenThrow(new NamespaceException());
+        assertNull(getNamespaceURI(mockSession, "missing"));
+        assertNull(getNamespacePrefix(mockSession, "info:missing#"));
+    }
 }
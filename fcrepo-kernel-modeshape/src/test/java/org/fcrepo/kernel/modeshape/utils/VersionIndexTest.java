@@ -0,0 +1,199 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.kernel.modeshape.utils;
+
+import static java.util.UUID.randomUUID;
+import static java.util.stream.Collectors.toList;
+import static javax.jcr.PropertyType.REFERENCE;
+import static org.fcrepo.kernel.modeshape.utils.VersionIndex.getVersions;
+import static org.fcrepo.kernel.modeshape.utils.VersionIndex.versionAdded;
+import static org.fcrepo.kernel.modeshape.utils.VersionIndex.versionRemoved;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.jcr.Node;
+import javax.jcr.Property;
+import javax.jcr.PropertyIterator;
+import javax.jcr.RepositoryException;
+import javax.jcr.version.Version;
+import javax.jcr.version.VersionHistory;
+import javax.jcr.version.VersionIterator;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+/**
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class VersionIndexTest {
+
+    @Mock
+    private VersionHistory mockHistory;
+
+    @Mock
+    private Version mockRootVersion;
+
+    @Mock
+    private Node mockLabelsNode;
+
+    private final List<Version> versions = new ArrayList<>();
+
+    private final Map<String, Version> labels = new LinkedHashMap<>();
+
+    @Before
+    public void setUp() throws RepositoryException {
+        initMocks(this);
+        when(mockHistory.getNode("jcr:versionLabels")).thenReturn(mockLabelsNode);
+        when(mockLabelsNode.getProperties()).then(i -> labelProperties());
+        when(mockHistory.getIdentifier()).thenReturn(randomUUID().toString());
+        when(mockHistory.getRootVersion()).thenReturn(mockRootVersion);
+        when(mockRootVersion.getName()).thenReturn("jcr:rootVersion");
+        when(mockHistory.getVersionLabels()).then(i -> labels.keySet().toArray(new String[0]));
+        when(mockHistory.getAllVersions()).then(i -> iterator(versions));
+        versions.add(mockRootVersion);
+        addVersion("1.0", "v1");
+        addVersion("1.1", "v2", "second");
+        addVersion("1.2");
+    }
+
+    private Version addVersion(final String name, final String... versionLabels) throws RepositoryException {
+        final Version version = mock(Version.class);
+        final Node frozenNode = mock(Node.class);
+        when(version.getName()).thenReturn(name);
+        when(version.getIdentifier()).thenReturn("version-" + name);
+        when(version.getFrozenNode()).thenReturn(frozenNode);
+        when(frozenNode.getIdentifier()).thenReturn("frozen-" + name);
+        when(version.getCreated()).thenReturn(Calendar.getInstance());
+        when(mockHistory.getVersionLabels(version)).thenReturn(versionLabels);
+        for (final String label : versionLabels) {
+            when(mockHistory.getVersionByLabel(label)).thenReturn(version);
+            labels.put(label, version);
+        }
+        versions.add(version);
+        return version;
+    }
+
+    private PropertyIterator labelProperties() throws RepositoryException {
+        final List<Property> properties = new ArrayList<>();
+        for (final Map.Entry<String, Version> label : labels.entrySet()) {
+            final Property property = mock(Property.class);
+            final String identifier = label.getValue().getIdentifier();
+            when(property.getName()).thenReturn(label.getKey());
+            when(property.getType()).thenReturn(REFERENCE);
+            when(property.getString()).thenReturn(identifier);
+            properties.add(property);
+        }
+        final Iterator<Property> it = properties.iterator();
+        final PropertyIterator mockIterator = mock(PropertyIterator.class);
+        when(mockIterator.hasNext()).then(i -> it.hasNext());
+        when(mockIterator.nextProperty()).then(i -> it.next());
+        return mockIterator;
+    }
+
+    private static VersionIterator iterator(final List<Version> versions) {
+        final Iterator<Version> it = new ArrayList<>(versions).iterator();
+        final VersionIterator mockIterator = mock(VersionIterator.class);
+        when(mockIterator.hasNext()).then(i -> it.hasNext());
+        when(mockIterator.nextVersion()).then(i -> it.next());
+        return mockIterator;
+    }
+
+    @Test
+    public void testGetVersions() throws RepositoryException {
+        final VersionIndex.Versions indexed = getVersions(mockHistory);
+        assertEquals(2, indexed.stream().count());
+        assertEquals("v2", indexed.byLabel("second").label);
+        assertEquals("frozen-1.0", indexed.byLabel("v1").frozenNodeId);
+        assertEquals("v2", indexed.byFrozenNode("frozen-1.1").label);
+        assertNull(indexed.byLabel("1.2"));
+        assertNull(indexed.byFrozenNode("frozen-1.2"));
+    }
+
+    @Test
+    public void testReadOnce() throws RepositoryException {
+        getVersions(mockHistory);
+        getVersions(mockHistory);
+        verify(mockHistory, times(1)).getAllVersions();
+        verify(mockHistory, times(0)).getVersionLabels(any(Version.class));
+    }
+
+    @Test
+    public void testVersionAdded() throws RepositoryException {
+        getVersions(mockHistory);
+        versionAdded(mockHistory, addVersion("1.3", "v3"));
+        assertEquals(asList("v1", "v2", "v3"), labelsOf(getVersions(mockHistory)));
+        verify(mockHistory, times(1)).getAllVersions();
+    }
+
+    @Test
+    public void testVersionRemoved() throws RepositoryException {
+        getVersions(mockHistory);
+        versionRemoved(mockHistory, "1.0");
+        assertEquals(asList("v2"), labelsOf(getVersions(mockHistory)));
+        assertNull(getVersions(mockHistory).byLabel("v1"));
+    }
+
+    @Test
+    public void testVersionAddedElsewhere() throws RepositoryException {
+        getVersions(mockHistory);
+        // added through another node of the cluster, so this index was not told
+        addVersion("1.3", "v3");
+        assertEquals(asList("v1", "v2", "v3"), labelsOf(getVersions(mockHistory)));
+        verify(mockHistory, times(2)).getAllVersions();
+    }
+
+    @Test
+    public void testLabelMovedElsewhere() throws RepositoryException {
+        getVersions(mockHistory);
+        final Version version = versions.get(versions.size() - 1);
+        when(mockHistory.getVersionByLabel("second")).thenReturn(version);
+        when(mockHistory.getVersionLabels(version)).thenReturn(new String[] {"second"});
+        labels.put("second", version);
+        assertEquals("frozen-1.2", getVersions(mockHistory).byLabel("second").frozenNodeId);
+    }
+
+    @Test
+    public void testVersionAddedBeforeIndexing() throws RepositoryException {
+        versionAdded(mockHistory, addVersion("1.3", "v3"));
+        assertEquals(asList("v1", "v2", "v3"), labelsOf(getVersions(mockHistory)));
+    }
+
+    private static List<String> asList(final String... labels) {
+        return Arrays.asList(labels);
+    }
+
+    private static List<String> labelsOf(final VersionIndex.Versions indexed) {
+        return indexed.stream().map(v -> v.label).collect(toList());
+    }
+}
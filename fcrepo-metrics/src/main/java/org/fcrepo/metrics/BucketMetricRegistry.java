@@ -0,0 +1,128 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.metrics;
+
+import static org.fcrepo.metrics.BucketReservoir.LATENCY_BOUNDS;
+import static org.fcrepo.metrics.BucketReservoir.VALUE_BOUNDS;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+/**
+ * A registry whose timers and histograms count into {@link BucketReservoir}s, so recording is lock-free and
+ * allocation-free on hot paths and the exposition endpoint can publish true histogram buckets.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class BucketMetricRegistry extends MetricRegistry {
+
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    @Override
+    public Timer timer(final String name) {
+        final Timer timer = timers.get(name);
+        if (timer != null) {
+            return timer;
+        }
+        return timers.computeIfAbsent(name, n -> {
+            final Metric existing = getMetrics().get(n);
+            return existing instanceof Timer ? (Timer) existing : register(n, new BucketTimer());
+        });
+    }
+
+    @Override
+    public Histogram histogram(final String name) {
+        final Histogram histogram = histograms.get(name);
+        if (histogram != null) {
+            return histogram;
+        }
+        return histograms.computeIfAbsent(name, n -> {
+            final Metric existing = getMetrics().get(n);
+            return existing instanceof Histogram ? (Histogram) existing : register(n, new BucketHistogram());
+        });
+    }
+
+    @Override
+    public boolean remove(final String name) {
+        timers.remove(name);
+        histograms.remove(name);
+        return super.remove(name);
+    }
+
+    /**
+     * A timer counting durations into latency buckets
+     */
+    public static class BucketTimer extends Timer {
+
+        private final BucketReservoir reservoir;
+
+        /**
+         * Create a timer with the default latency buckets
+         */
+        public BucketTimer() {
+            this(new BucketReservoir(LATENCY_BOUNDS));
+        }
+
+        private BucketTimer(final BucketReservoir reservoir) {
+            super(reservoir);
+            this.reservoir = reservoir;
+        }
+
+        /**
+         * @return the buckets of the timer, in nanoseconds
+         */
+        public BucketReservoir getReservoir() {
+            return reservoir;
+        }
+    }
+
+    /**
+     * A histogram counting values into buckets of counts and sizes
+     */
+    public static class BucketHistogram extends Histogram {
+
+        private final BucketReservoir reservoir;
+
+        /**
+         * Create a histogram with the default value buckets
+         */
+        public BucketHistogram() {
+            this(new BucketReservoir(VALUE_BOUNDS));
+        }
+
+        private BucketHistogram(final BucketReservoir reservoir) {
+            super(reservoir);
+            this.reservoir = reservoir;
+        }
+
+        /**
+         * @return the buckets of the histogram
+         */
+        public BucketReservoir getReservoir() {
+            return reservoir;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.metrics;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+
+/**
+ * A reservoir counting values into fixed buckets, for the whole life of the reservoir. Recording a value is lock-free
+ * and allocates nothing, unlike the sampling reservoirs, whose percentiles also shift as bursts decay out of them.
+ * Percentiles are interpolated within the bucket they fall in.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class BucketReservoir implements Reservoir {
+
+    /**
+     * Upper bounds, in nanoseconds, suited to the latencies of repository operations: from a quarter of a
+     * millisecond for cached reads to a minute for large ingests and transactions
+     */
+    public static final long[] LATENCY_BOUNDS = {
+        MICROSECONDS.toNanos(250), MICROSECONDS.toNanos(500), MILLISECONDS.toNanos(1),
+        MICROSECONDS.toNanos(2500), MILLISECONDS.toNanos(5), MILLISECONDS.toNanos(10), MILLISECONDS.toNanos(25),
+        MILLISECONDS.toNanos(50), MILLISECONDS.toNanos(100), MILLISECONDS.toNanos(250), MILLISECONDS.toNanos(500),
+        SECONDS.toNanos(1), MILLISECONDS.toNanos(2500), SECONDS.toNanos(5), SECONDS.toNanos(10),
+        SECONDS.toNanos(30), SECONDS.toNanos(60)};
+
+    /**
+     * Upper bounds for counts and sizes, from 1 to ten million in steps of 1, 2 and 5
+     */
+    public static final long[] VALUE_BOUNDS = {
+        1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 20000, 50000, 100000, 200000, 500000,
+        1000000, 2000000, 5000000, 10000000};
+
+    private final long[] bounds;
+
+    private final LongAdder[] counts;
+
+    private final LongAdder sum = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+
+    /**
+     * Create a reservoir
+     *
+     * @param bounds the inclusive upper bounds of the buckets, in increasing order; larger values are counted in a
+     *        last, unbounded bucket
+     */
+    public BucketReservoir(final long[] bounds) {
+        this.bounds = bounds.clone();
+        this.counts = new LongAdder[bounds.length + 1];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(count(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void update(final long value) {
+        final int i = Arrays.binarySearch(bounds, value);
+        counts[i < 0 ? -i - 1 : i].increment();
+        sum.add(value);
+        max.accumulate(value);
+        min.accumulate(value);
+    }
+
+    /**
+     * @return the upper bounds of the buckets, without the last, unbounded one
+     */
+    public long[] getBounds() {
+        return bounds.clone();
+    }
+
+    /**
+     * @return the number of values counted in each bucket, the last one being unbounded
+     */
+    public long[] getCounts() {
+        final long[] values = new long[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            values[i] = counts[i].sum();
+        }
+        return values;
+    }
+
+    /**
+     * @return the sum of all values recorded
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    private long count() {
+        long count = 0;
+        for (final LongAdder bucket : counts) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        return new BucketSnapshot(getCounts(), getSum(), max.get(), min.get());
+    }
+
+    /**
+     * A snapshot of the buckets. It keeps no individual values, so {@link #getValues()} is empty.
+     */
+    private class BucketSnapshot extends Snapshot {
+
+        private final long[] snapshot;
+
+        private final long total;
+
+        private final long snapshotSum;
+
+        private final long snapshotMax;
+
+        private final long snapshotMin;
+
+        BucketSnapshot(final long[] snapshot, final long snapshotSum, final long snapshotMax,
+                final long snapshotMin) {
+            this.snapshot = snapshot;
+            this.total = Arrays.stream(snapshot).sum();
+            this.snapshotSum = snapshotSum;
+            this.snapshotMax = total == 0 ? 0 : snapshotMax;
+            this.snapshotMin = total == 0 ? 0 : snapshotMin;
+        }
+
+        @Override
+        public double getValue(final double quantile) {
+            if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+                throw new IllegalArgumentException(quantile + " is not in [0..1]");
+            }
+            if (total == 0) {
+                return 0.0;
+            }
+            final double rank = quantile * total;
+            long below = 0;
+            for (int i = 0; i < snapshot.length; i++) {
+                if (snapshot[i] > 0 && below + snapshot[i] >= rank) {
+                    final double lower = Math.max(i == 0 ? snapshotMin : bounds[i - 1], snapshotMin);
+                    final double upper = Math.min(i < bounds.length ? bounds[i] : snapshotMax, snapshotMax);
+                    return lower + (upper - lower) * Math.max(rank - below, 0) / snapshot[i];
+                }
+                below += snapshot[i];
+            }
+            return snapshotMax;
+        }
+
+        @Override
+        public long[] getValues() {
+            return new long[0];
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(total, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public long getMax() {
+            return snapshotMax;
+        }
+
+        @Override
+        public double getMean() {
+            return total == 0 ? 0.0 : (double) snapshotSum / total;
+        }
+
+        @Override
+        public long getMin() {
+            return snapshotMin;
+        }
+
+        @Override
+        public double getStdDev() {
+            if (total < 2) {
+                return 0.0;
+            }
+            final double mean = getMean();
+            double variance = 0;
+            for (int i = 0; i < snapshot.length; i++) {
+                final double lower = i == 0 ? snapshotMin : bounds[i - 1];
+                final double upper = i < bounds.length ? bounds[i] : snapshotMax;
+                final double deviation = (lower + upper) / 2 - mean;
+                variance += snapshot[i] * deviation * deviation;
+            }
+            return Math.sqrt(variance / (total - 1));
+        }
+
+        @Override
+        public void dump(final OutputStream output) {
+            try (final PrintWriter out = new PrintWriter(new OutputStreamWriter(output, UTF_8))) {
+                for (int i = 0; i < snapshot.length; i++) {
+                    out.printf("%s %d%n", i < bounds.length ? Long.toString(bounds[i]) : "+Inf", snapshot[i]);
+                }
+            }
+        }
+    }
+}
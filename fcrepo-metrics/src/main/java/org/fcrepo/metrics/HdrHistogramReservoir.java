@@ -0,0 +1,120 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.metrics;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+
+/**
+ * A reservoir recording every value in an HdrHistogram, for the whole life of the reservoir. Unlike the sampling
+ * reservoirs, no value is dropped, so the tail percentiles and the maximum are those of all the values recorded, to
+ * three significant digits.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class HdrHistogramReservoir implements Reservoir {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Histogram histogram = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+
+    @Override
+    public int size() {
+        return (int) Math.min(histogram.getTotalCount(), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void update(final long value) {
+        histogram.recordValue(Math.max(value, 0));
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        return new HdrSnapshot(histogram.copy());
+    }
+
+    /**
+     * A snapshot of the histogram. It keeps no individual values, so {@link #getValues()} is empty.
+     */
+    private static class HdrSnapshot extends Snapshot {
+
+        private final Histogram snapshot;
+
+        HdrSnapshot(final Histogram snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        public double getValue(final double quantile) {
+            if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+                throw new IllegalArgumentException(quantile + " is not in [0..1]");
+            }
+            return snapshot.getValueAtPercentile(quantile * 100);
+        }
+
+        @Override
+        public long[] getValues() {
+            return new long[0];
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(snapshot.getTotalCount(), Integer.MAX_VALUE);
+        }
+
+        @Override
+        public long getMax() {
+            return snapshot.getMaxValue();
+        }
+
+        @Override
+        public double getMean() {
+            return snapshot.getMean();
+        }
+
+        @Override
+        public long getMin() {
+            return snapshot.getMinValue();
+        }
+
+        @Override
+        public double getStdDev() {
+            return snapshot.getStdDeviation();
+        }
+
+        @Override
+        public void dump(final OutputStream output) {
+            try (final PrintWriter out = new PrintWriter(new OutputStreamWriter(output, UTF_8))) {
+                for (final HistogramIterationValue value : snapshot.recordedValues()) {
+                    out.printf("%d %d%n", value.getValueIteratedTo(), value.getCountAtValueIteratedTo());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.metrics;
+
+import static java.lang.management.ManagementFactory.getPlatformMBeanServer;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import com.codahale.metrics.jvm.BufferPoolMetricSet;
+import com.codahale.metrics.jvm.CachedThreadStatesGaugeSet;
+import com.codahale.metrics.jvm.ClassLoadingGaugeSet;
+import com.codahale.metrics.jvm.FileDescriptorRatioGauge;
+import com.codahale.metrics.jvm.GarbageCollectorMetricSet;
+import com.codahale.metrics.jvm.MemoryUsageGaugeSet;
+
+/**
+ * The memory, garbage collection, thread, class loading, buffer pool and file descriptor gauges of the JVM. All of
+ * them are read when scraped; thread states are cached for a few seconds, since reading them walks every thread.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class JvmMetricSet implements MetricSet {
+
+    @Override
+    public Map<String, Metric> getMetrics() {
+        final Map<String, Metric> metrics = new HashMap<>();
+        add(metrics, "memory", new MemoryUsageGaugeSet());
+        add(metrics, "gc", new GarbageCollectorMetricSet());
+        add(metrics, "threads", new CachedThreadStatesGaugeSet(5, SECONDS));
+        add(metrics, "classes", new ClassLoadingGaugeSet());
+        add(metrics, "buffers", new BufferPoolMetricSet(getPlatformMBeanServer()));
+        metrics.put("fd.usage", new FileDescriptorRatioGauge());
+        return metrics;
+    }
+
+    private static void add(final Map<String, Metric> metrics, final String prefix, final MetricSet set) {
+        set.getMetrics().forEach((name, metric) -> metrics.put(prefix + "." + name, metric));
+    }
+}
@@ -47,6 +47,10 @@ import com.codahale.metrics.graphite.GraphiteReporter;
  * be used instead of specifying both metrics.graphite and metrics.jmx, e.g.:
  * </p>
  * <blockquote><code>-Dspring.profiles.active="metrics"</code></blockquote>
+ * <p>
+ * Whatever the profile, the metrics of the JVM are registered and all metrics can be pulled in the Prometheus text
+ * format from the /metrics path of the webapp.
+ * </p>
  * 
  * @author Edwin Shin
  */
@@ -65,6 +69,18 @@ public class MetricsConfig {
         return new ReporterFactory();
     }
 
+    /**
+     * Register the metrics of the JVM under the "jvm" prefix
+     *
+     * @return the metrics of the JVM
+     */
+    @Bean
+    public JvmMetricSet jvmMetrics() {
+        final JvmMetricSet metrics = new JvmMetricSet();
+        RegistryService.getInstance().register("jvm", metrics);
+        return metrics;
+    }
+
     /**
      * <p>
      * Metrics configuration for Graphite reporting.
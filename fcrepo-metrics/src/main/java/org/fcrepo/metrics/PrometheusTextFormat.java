@@ -0,0 +1,176 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.metrics;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.fcrepo.metrics.BucketMetricRegistry.BucketHistogram;
+import org.fcrepo.metrics.BucketMetricRegistry.BucketTimer;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+
+/**
+ * Writes the metrics of a registry in the Prometheus text exposition format. Timers and histograms recording into
+ * {@link BucketReservoir}s are written as histograms, with their buckets; the others, whose samples cannot be
+ * aggregated, as summaries of their percentiles. Timers are in seconds, and counters, which may go down, are
+ * written as gauges.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public final class PrometheusTextFormat {
+
+    /**
+     * The content type of the format
+     */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double[] QUANTILES = {0.5, 0.75, 0.95, 0.98, 0.99, 0.999};
+
+    private static final double SECONDS_PER_NANO = 1.0 / SECONDS.toNanos(1);
+
+    private static final ConcurrentMap<String, String> NAMES = new ConcurrentHashMap<>();
+
+    private PrometheusTextFormat() {
+    }
+
+    /**
+     * Write the metrics of a registry
+     *
+     * @param registry the registry
+     * @param out where to write them
+     * @throws IOException if they could not be written
+     */
+    public static void write(final MetricRegistry registry, final Writer out) throws IOException {
+        for (final Map.Entry<String, Gauge> gauge : registry.getGauges().entrySet()) {
+            final Object value = gauge.getValue().getValue();
+            if (value instanceof Number || value instanceof Boolean) {
+                final String name = name(gauge.getKey());
+                type(out, name, "gauge");
+                sample(out, name, "", value instanceof Boolean ? ((Boolean) value ? 1 : 0) :
+                        ((Number) value).doubleValue());
+            }
+        }
+        for (final Map.Entry<String, Counter> counter : registry.getCounters().entrySet()) {
+            final String name = name(counter.getKey());
+            type(out, name, "gauge");
+            sample(out, name, "", counter.getValue().getCount());
+        }
+        for (final Map.Entry<String, Meter> meter : registry.getMeters().entrySet()) {
+            final String name = name(meter.getKey()) + "_total";
+            type(out, name, "counter");
+            sample(out, name, "", meter.getValue().getCount());
+        }
+        for (final Map.Entry<String, Histogram> histogram : registry.getHistograms().entrySet()) {
+            final String name = name(histogram.getKey());
+            final Histogram value = histogram.getValue();
+            if (value instanceof BucketHistogram) {
+                buckets(out, name, ((BucketHistogram) value).getReservoir(), 1.0);
+            } else {
+                summary(out, name, value.getSnapshot(), value.getCount(), 1.0);
+            }
+        }
+        for (final Map.Entry<String, Timer> timer : registry.getTimers().entrySet()) {
+            final String name = name(timer.getKey()) + "_seconds";
+            final Timer value = timer.getValue();
+            if (value instanceof BucketTimer) {
+                buckets(out, name, ((BucketTimer) value).getReservoir(), SECONDS_PER_NANO);
+            } else {
+                summary(out, name, value.getSnapshot(), value.getCount(), SECONDS_PER_NANO);
+            }
+        }
+    }
+
+    private static void buckets(final Writer out, final String name, final BucketReservoir reservoir,
+            final double scale) throws IOException {
+        final long[] bounds = reservoir.getBounds();
+        final long[] counts = reservoir.getCounts();
+        type(out, name, "histogram");
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            sample(out, name + "_bucket", "le=\"" + (i < bounds.length ? format(bounds[i] * scale) : "+Inf") + "\"",
+                    cumulative);
+        }
+        sample(out, name + "_sum", "", reservoir.getSum() * scale);
+        sample(out, name + "_count", "", cumulative);
+    }
+
+    private static void summary(final Writer out, final String name, final Snapshot snapshot, final long count,
+            final double scale) throws IOException {
+        type(out, name, "summary");
+        for (final double quantile : QUANTILES) {
+            sample(out, name, "quantile=\"" + quantile + "\"", snapshot.getValue(quantile) * scale);
+        }
+        sample(out, name + "_count", "", count);
+    }
+
+    private static void type(final Writer out, final String name, final String type) throws IOException {
+        out.write("# TYPE ");
+        out.write(name);
+        out.write(' ');
+        out.write(type);
+        out.write('\n');
+    }
+
+    private static void sample(final Writer out, final String name, final String labels, final double value)
+            throws IOException {
+        out.write(name);
+        if (!labels.isEmpty()) {
+            out.write('{');
+            out.write(labels);
+            out.write('}');
+        }
+        out.write(' ');
+        out.write(format(value));
+        out.write('\n');
+    }
+
+    private static String format(final double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        } else if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    /**
+     * Metric names may only hold letters, digits, underscores and colons, and may not start with a digit
+     */
+    private static String name(final String name) {
+        return NAMES.computeIfAbsent(name, n -> {
+            final String sanitized = n.replaceAll("[^a-zA-Z0-9_:]", "_");
+            return Character.isDigit(sanitized.charAt(0)) ? "_" + sanitized : sanitized;
+        });
+    }
+}
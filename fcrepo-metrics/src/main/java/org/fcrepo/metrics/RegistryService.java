@@ -18,8 +18,14 @@
 package org.fcrepo.metrics;
 
 import static com.codahale.metrics.SharedMetricRegistries.getOrCreate;
+import static java.lang.System.getProperty;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.slf4j.Logger;
 
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricSet;
+import com.codahale.metrics.SharedMetricRegistries;
 
 /**
  * Provide helpers for working with the Metrics registry
@@ -29,10 +35,31 @@ import com.codahale.metrics.MetricRegistry;
  */
 public final class RegistryService {
 
-    private static final MetricRegistry METRICS = getOrCreate("fcrepo-metrics");
+    /**
+     * System property choosing how timers and histograms record values: "buckets" counts them into fixed
+     * {@link BucketReservoir}s, anything else keeps the default exponentially decaying samples
+     */
+    public static final String RESERVOIR = "fcrepo.metrics.reservoir";
+
+    private static final Logger LOGGER = getLogger(RegistryService.class);
+
+    private static final String REGISTRY = "fcrepo-metrics";
+
+    private static final MetricRegistry METRICS = createRegistry();
 
     private static volatile RegistryService instance = null;
 
+    private static MetricRegistry createRegistry() {
+        if ("buckets".equals(getProperty(RESERVOIR))) {
+            final MetricRegistry existing = SharedMetricRegistries.add(REGISTRY, new BucketMetricRegistry());
+            if (existing != null && !(existing instanceof BucketMetricRegistry)) {
+                LOGGER.warn("The shared registry {} already existed, so {}=buckets is ignored and its timers and " +
+                        "histograms keep sampling", REGISTRY, RESERVOIR);
+            }
+        }
+        return getOrCreate(REGISTRY);
+    }
+
     private RegistryService() {
       // New instances should come from the singleton
     }
@@ -60,4 +87,16 @@ public final class RegistryService {
         return METRICS;
     }
 
+    /**
+     * Register a set of metrics under a prefix, replacing any already registered under it
+     *
+     * @param prefix the prefix of the metrics' names
+     * @param metrics the metrics
+     */
+    @SuppressWarnings("static-method")
+    public void register(final String prefix, final MetricSet metrics) {
+        METRICS.removeMatching((name, metric) -> name.startsWith(prefix + "."));
+        METRICS.register(prefix, metrics);
+    }
+
 }
@@ -0,0 +1,317 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.metrics;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.lang.System.nanoTime;
+import static java.util.Spliterator.ORDERED;
+import static java.util.Spliterators.spliteratorUnknownSize;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+/**
+ * Breaks the time spent serving a request down into phases: waiting for path locks, authorization, generating
+ * each category of triples, serializing and committing. A request is timed from {@link #begin()} to {@link #end()}
+ * on the thread serving it; each phase adds up its time over the request, and when the request ends that total is
+ * recorded in a timer of the registry named after the phase. The timers record every value in an
+ * {@link HdrHistogramReservoir}. Phases recorded outside of a timed request go to the timers directly.
+ *
+ * Phases may nest (authorization happens while triples are generated, triples are generated while serializing), so
+ * the phases of a request can add up to more than its duration.
+ *
+ * Requests are only timed when asked for, e.g. by a Server-Timing header or a slow request log; phases outside of a
+ * timed request are only recorded when {@link #PHASES} is set. Otherwise, recording a phase does nothing.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public final class RequestTimings {
+
+    /**
+     * Waiting for and acquiring path locks
+     */
+    public static final String LOCK = "lock";
+
+    /**
+     * Authorizing access to nodes
+     */
+    public static final String AUTHORIZATION = "authz";
+
+    /**
+     * Generating triples; each category of triples is its own phase, prefixed with this
+     */
+    public static final String TRIPLES = "triples";
+
+    /**
+     * Writing the response entity
+     */
+    public static final String SERIALIZATION = "serialize";
+
+    /**
+     * Saving a session
+     */
+    public static final String COMMIT = "commit";
+
+    /**
+     * System property which, set to true, records the phases of every request in the timers of the registry
+     */
+    public static final String PHASES = "fcrepo.timing.phases";
+
+    private static volatile boolean recording = Boolean.getBoolean(PHASES);
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private static final ConcurrentMap<String, Timer> TIMERS = new ConcurrentHashMap<>();
+
+    private final long start = nanoTime();
+
+    private final Map<String, long[]> phases = new LinkedHashMap<>();
+
+    private final List<TimedIterator<?>> streams = new ArrayList<>();
+
+    private RequestTimings() {
+        // timings are created by begin()
+    }
+
+    /**
+     * @return whether the phases of every request are recorded, as set by {@link #PHASES}
+     */
+    public static boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * @param recording whether to record the phases of every request
+     */
+    public static void setRecording(final boolean recording) {
+        RequestTimings.recording = recording;
+    }
+
+    /**
+     * Start timing a request on the current thread
+     *
+     * @return the timings of the request
+     */
+    public static RequestTimings begin() {
+        final RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    /**
+     * @return the timings of the request served by the current thread, or null if it is not being timed
+     */
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stop timing the request served by the current thread, recording the time it spent in each phase. The streams
+     * of the request that were not exhausted or closed, e.g. because the response was aborted, are counted with the
+     * time spent in them so far.
+     *
+     * @return the timings of the request, or null if it was not being timed
+     */
+    public static RequestTimings end() {
+        final RequestTimings timings = CURRENT.get();
+        CURRENT.remove();
+        if (timings != null) {
+            timings.finishStreams();
+            timings.forEach((phase, nanos) -> timer(phase).update(nanos, NANOSECONDS));
+        }
+        return timings;
+    }
+
+    /**
+     * Record the time spent in a phase
+     *
+     * @param phase the phase
+     * @param start the value of {@link System#nanoTime()} when the phase started
+     */
+    public static void record(final String phase, final long start) {
+        record(CURRENT.get(), phase, nanoTime() - start);
+    }
+
+    /**
+     * Time the work done producing the elements of a lazy stream, not counting the work done by its consumer, as a
+     * phase of the current request. The time is added up over the stream and added to the request once, when the
+     * stream is exhausted or closed, or when the request ends. Streams produced outside of a timed request are left
+     * as they are.
+     *
+     * @param phase the phase
+     * @param start the value of {@link System#nanoTime()} when the stream started being built
+     * @param stream the stream
+     * @param <T> the type of the elements
+     * @return the timed stream
+     */
+    public static <T> Stream<T> timed(final String phase, final long start, final Stream<T> stream) {
+        final RequestTimings timings = CURRENT.get();
+        if (timings == null) {
+            return stream;
+        }
+        final TimedIterator<T> timed = new TimedIterator<>(timings, phase, start, stream.iterator());
+        timings.open(timed);
+        return StreamSupport.stream(spliteratorUnknownSize(timed, ORDERED), false).onClose(() -> {
+            timed.finish();
+            stream.close();
+        });
+    }
+
+    private static void record(final RequestTimings timings, final String phase, final long nanos) {
+        if (timings != null) {
+            timings.add(phase, nanos);
+        } else if (recording) {
+            timer(phase).update(nanos, NANOSECONDS);
+        }
+    }
+
+    private static Timer timer(final String phase) {
+        return TIMERS.computeIfAbsent(phase, p -> {
+            final MetricRegistry registry = RegistryService.getInstance().getMetrics();
+            final String name = name(RequestTimings.class, p);
+            final Metric existing = registry.getMetrics().get(name);
+            return existing instanceof Timer ? (Timer) existing : registry.register(name,
+                    new Timer(new HdrHistogramReservoir()));
+        });
+    }
+
+    private synchronized void open(final TimedIterator<?> stream) {
+        streams.add(stream);
+    }
+
+    private void finishStreams() {
+        final List<TimedIterator<?>> open;
+        synchronized (this) {
+            open = new ArrayList<>(streams);
+            streams.clear();
+        }
+        open.forEach(TimedIterator::finish);
+    }
+
+    /**
+     * Streams may be consumed by another thread than the one that built them
+     */
+    private synchronized void add(final String phase, final long nanos) {
+        final long[] total = phases.get(phase);
+        if (total == null) {
+            phases.put(phase, new long[] {nanos});
+        } else {
+            total[0] += nanos;
+        }
+    }
+
+    /**
+     * The iterator of a timed stream. The elements of a stream are produced by the hasNext() of its iterator, so only
+     * that is timed.
+     */
+    private static class TimedIterator<T> implements Iterator<T> {
+
+        private final RequestTimings timings;
+
+        private final String phase;
+
+        private final Iterator<T> iterator;
+
+        private volatile long nanos;
+
+        private boolean finished = false;
+
+        private TimedIterator(final RequestTimings timings, final String phase, final long start,
+                final Iterator<T> iterator) {
+            this.timings = timings;
+            this.phase = phase;
+            this.nanos = nanoTime() - start;
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            final long before = nanoTime();
+            final boolean hasNext = iterator.hasNext();
+            nanos += nanoTime() - before;
+            if (!hasNext) {
+                finish();
+            }
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            return iterator.next();
+        }
+
+        private synchronized void finish() {
+            if (!finished) {
+                finished = true;
+                timings.add(phase, nanos);
+            }
+        }
+    }
+
+    /**
+     * @return the time elapsed since the request started, in nanoseconds
+     */
+    public long elapsed() {
+        return nanoTime() - start;
+    }
+
+    /**
+     * Visit the phases of the request, in the order they were first entered
+     *
+     * @param action receives each phase and the nanoseconds spent in it
+     */
+    public synchronized void forEach(final BiConsumer<String, Long> action) {
+        phases.forEach((phase, total) -> action.accept(phase, total[0]));
+    }
+
+    /**
+     * @return the phases of the request as the value of a Server-Timing header, with durations in milliseconds
+     */
+    public String toServerTiming() {
+        final StringBuilder header = new StringBuilder();
+        forEach((phase, nanos) -> {
+            if (header.length() > 0) {
+                header.append(", ");
+            }
+            header.append(phase).append(";dur=").append(nanos / 1000 / 1000.0);
+        });
+        return header.toString();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder breakdown = new StringBuilder();
+        forEach((phase, nanos) -> breakdown.append(breakdown.length() > 0 ? ", " : "").append(phase).append('=')
+                .append(nanos / 1000 / 1000.0).append("ms"));
+        return breakdown.toString();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+
+/**
+ * Gauges reading the state of a thread pool when scraped, so that the pool's tasks pay nothing for them.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class ThreadPoolGaugeSet implements MetricSet {
+
+    private final ThreadPoolExecutor pool;
+
+    /**
+     * Create the gauges of a pool
+     *
+     * @param pool the pool
+     */
+    public ThreadPoolGaugeSet(final ThreadPoolExecutor pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public Map<String, Metric> getMetrics() {
+        final Map<String, Metric> metrics = new HashMap<>();
+        metrics.put("active", (Gauge<Integer>) pool::getActiveCount);
+        metrics.put("size", (Gauge<Integer>) pool::getPoolSize);
+        metrics.put("max", (Gauge<Integer>) pool::getMaximumPoolSize);
+        metrics.put("queued", (Gauge<Integer>) () -> pool.getQueue().size());
+        metrics.put("completed", (Gauge<Long>) pool::getCompletedTaskCount);
+        return metrics;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.services;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.fcrepo.metrics.BucketReservoir.LATENCY_BOUNDS;
+import static org.fcrepo.metrics.BucketReservoir.VALUE_BOUNDS;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.fcrepo.metrics.BucketMetricRegistry;
+import org.fcrepo.metrics.BucketMetricRegistry.BucketTimer;
+import org.fcrepo.metrics.BucketReservoir;
+import org.junit.Test;
+
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+
+/**
+ * BucketReservoirTest class.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class BucketReservoirTest {
+
+    @Test
+    public void testCounts() {
+        final BucketReservoir reservoir = new BucketReservoir(new long[] {10, 100});
+        reservoir.update(1);
+        reservoir.update(10);
+        reservoir.update(11);
+        reservoir.update(1000);
+        assertArrayEquals(new long[] {2, 1, 1}, reservoir.getCounts());
+        assertEquals(1022, reservoir.getSum());
+        assertEquals(4, reservoir.size());
+    }
+
+    @Test
+    public void testSnapshot() {
+        final BucketReservoir reservoir = new BucketReservoir(VALUE_BOUNDS);
+        for (int i = 1; i <= 1000; i++) {
+            reservoir.update(i);
+        }
+        final Snapshot snapshot = reservoir.getSnapshot();
+        assertEquals(1, snapshot.getMin());
+        assertEquals(1000, snapshot.getMax());
+        assertEquals(500.5, snapshot.getMean(), 0.001);
+        assertEquals(500, snapshot.getMedian(), 10);
+        assertEquals(990, snapshot.get99thPercentile(), 10);
+        assertEquals(1000, snapshot.getValue(1.0), 0.001);
+        assertTrue(snapshot.getStdDev() > 0);
+    }
+
+    @Test
+    public void testEmptySnapshot() {
+        final Snapshot snapshot = new BucketReservoir(LATENCY_BOUNDS).getSnapshot();
+        assertEquals(0, snapshot.size());
+        assertEquals(0, snapshot.getMax());
+        assertEquals(0.0, snapshot.get99thPercentile(), 0.0);
+    }
+
+    @Test
+    public void testRegistryTimers() {
+        final BucketMetricRegistry registry = new BucketMetricRegistry();
+        final Timer timer = registry.timer("timer");
+        assertTrue(timer instanceof BucketTimer);
+        assertSame(timer, registry.timer("timer"));
+
+        timer.update(3, MILLISECONDS);
+        assertEquals(1, timer.getCount());
+        assertEquals(1, registry.getTimers().get("timer").getCount());
+
+        registry.remove("timer");
+        assertEquals(0, registry.timer("timer").getCount());
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.services;
+
+import static org.junit.Assert.assertEquals;
+
+import org.fcrepo.metrics.HdrHistogramReservoir;
+import org.junit.Test;
+
+import com.codahale.metrics.Snapshot;
+
+/**
+ * HdrHistogramReservoirTest class.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class HdrHistogramReservoirTest {
+
+    @Test
+    public void testSnapshot() {
+        final HdrHistogramReservoir reservoir = new HdrHistogramReservoir();
+        for (int i = 1; i <= 100000; i++) {
+            reservoir.update(i);
+        }
+        assertEquals(100000, reservoir.size());
+
+        final Snapshot snapshot = reservoir.getSnapshot();
+        assertEquals(100000, snapshot.size());
+        assertEquals(1, snapshot.getMin());
+        assertEquals(100000, snapshot.getMax(), 100);
+        assertEquals(50000, snapshot.getMedian(), 50);
+        assertEquals(99900, snapshot.get999thPercentile(), 100);
+        assertEquals(50000, snapshot.getMean(), 50);
+    }
+
+    @Test
+    public void testEmptySnapshot() {
+        final Snapshot snapshot = new HdrHistogramReservoir().getSnapshot();
+        assertEquals(0, snapshot.size());
+        assertEquals(0, snapshot.getMax());
+        assertEquals(0.0, snapshot.getValue(0.99), 0.0);
+    }
+}
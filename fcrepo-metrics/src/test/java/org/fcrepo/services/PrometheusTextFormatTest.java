@@ -0,0 +1,83 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.services;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.fcrepo.metrics.BucketMetricRegistry;
+import org.fcrepo.metrics.PrometheusTextFormat;
+import org.junit.Test;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+
+/**
+ * PrometheusTextFormatTest class.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class PrometheusTextFormatTest {
+
+    @Test
+    public void testBucketedMetrics() throws IOException {
+        final MetricRegistry registry = new BucketMetricRegistry();
+        registry.timer("org.fcrepo.request").update(3, MILLISECONDS);
+        registry.timer("org.fcrepo.request").update(2, MILLISECONDS);
+        registry.histogram("org.fcrepo.size").update(7);
+        registry.counter("org.fcrepo.count").inc(3);
+        registry.meter("org.fcrepo.events").mark(2);
+        registry.register("org.fcrepo.enabled", (Gauge<Boolean>) () -> true);
+        registry.register("org.fcrepo.name", (Gauge<String>) () -> "ignored");
+
+        final String text = write(registry);
+        assertTrue(text, text.contains("# TYPE org_fcrepo_request_seconds histogram\n"));
+        assertTrue(text, text.contains("org_fcrepo_request_seconds_bucket{le=\"0.001\"} 0\n"));
+        assertTrue(text, text.contains("org_fcrepo_request_seconds_bucket{le=\"0.0025\"} 1\n"));
+        assertTrue(text, text.contains("org_fcrepo_request_seconds_bucket{le=\"0.005\"} 2\n"));
+        assertTrue(text, text.contains("org_fcrepo_request_seconds_bucket{le=\"+Inf\"} 2\n"));
+        assertTrue(text, text.contains("org_fcrepo_request_seconds_sum 0.005\n"));
+        assertTrue(text, text.contains("org_fcrepo_request_seconds_count 2\n"));
+        assertTrue(text, text.contains("org_fcrepo_size_bucket{le=\"10\"} 1\n"));
+        assertTrue(text, text.contains("# TYPE org_fcrepo_count gauge\norg_fcrepo_count 3\n"));
+        assertTrue(text, text.contains("# TYPE org_fcrepo_events_total counter\norg_fcrepo_events_total 2\n"));
+        assertTrue(text, text.contains("org_fcrepo_enabled 1\n"));
+        assertTrue(text, !text.contains("org_fcrepo_name"));
+    }
+
+    @Test
+    public void testSampledMetrics() throws IOException {
+        final MetricRegistry registry = new MetricRegistry();
+        registry.timer("1.request").update(3, MILLISECONDS);
+
+        final String text = write(registry);
+        assertTrue(text, text.contains("# TYPE _1_request_seconds summary\n"));
+        assertTrue(text, text.contains("_1_request_seconds{quantile=\"0.99\"} 0.003\n"));
+        assertTrue(text, text.contains("_1_request_seconds_count 1\n"));
+    }
+
+    private static String write(final MetricRegistry registry) throws IOException {
+        final StringWriter out = new StringWriter();
+        PrometheusTextFormat.write(registry, out);
+        return out.toString();
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.services;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.fcrepo.metrics.RequestTimings.begin;
+import static org.fcrepo.metrics.RequestTimings.current;
+import static org.fcrepo.metrics.RequestTimings.end;
+import static org.fcrepo.metrics.RequestTimings.record;
+import static org.fcrepo.metrics.RequestTimings.timed;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import org.fcrepo.metrics.RegistryService;
+import org.fcrepo.metrics.RequestTimings;
+import org.junit.After;
+import org.junit.Test;
+
+import com.codahale.metrics.Timer;
+
+/**
+ * RequestTimingsTest class.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public class RequestTimingsTest {
+
+    @After
+    public void tearDown() {
+        end();
+    }
+
+    @Test
+    public void testRecordOutsideOfRequest() {
+        final long before = timer("outside").getCount();
+        RequestTimings.setRecording(true);
+        try {
+            record("outside", nanoTime());
+        } finally {
+            RequestTimings.setRecording(false);
+        }
+        assertEquals(before + 1, timer("outside").getCount());
+        assertNull(current());
+    }
+
+    @Test
+    public void testNoRecordingOutsideOfRequestByDefault() {
+        final long before = timer("ignored").getCount();
+        record("ignored", nanoTime());
+        assertEquals(before, timer("ignored").getCount());
+    }
+
+    @Test
+    public void testPhasesAddUpOverRequest() {
+        final long before = timer("inside").getCount();
+        final RequestTimings timings = begin();
+        assertSame(timings, current());
+        record("inside", nanoTime());
+        record("inside", nanoTime());
+        record("other", nanoTime());
+        assertEquals("The timer is only updated when the request ends", before, timer("inside").getCount());
+
+        assertSame(timings, end());
+        assertEquals(before + 1, timer("inside").getCount());
+        assertNull(current());
+
+        final Map<String, Long> phases = new HashMap<>();
+        timings.forEach(phases::put);
+        assertEquals(2, phases.size());
+        assertTrue(timings.toServerTiming().matches("inside;dur=[0-9.]+, other;dur=[0-9.]+"));
+    }
+
+    @Test
+    public void testTimedStreamExcludesConsumer() {
+        final RequestTimings timings = begin();
+        final List<Integer> elements = timed("produce", nanoTime(), Stream.of(1, 2, 3).peek(i -> pause(5)))
+                .peek(i -> pause(50)).collect(toList());
+        assertEquals(3, elements.size());
+
+        final Map<String, Long> phases = new HashMap<>();
+        timings.forEach(phases::put);
+        final long millis = phases.get("produce") / 1000 / 1000;
+        assertTrue("Producing took " + millis + " ms", millis >= 15 && millis < 150);
+    }
+
+    @Test
+    public void testTimedStreamIsRecordedOnce() {
+        final RequestTimings timings = begin();
+        final long start = nanoTime();
+        try (final Stream<Integer> stream = timed("produce", start, Stream.of(1, 2, 3))) {
+            assertEquals(1, stream.limit(1).count());
+            assertEquals("Nothing is recorded before the stream is done", 0, phases(timings).size());
+        }
+        assertTrue(phases(timings).get("produce") > 0);
+    }
+
+    @Test
+    public void testUnfinishedStreamIsRecordedWhenRequestEnds() {
+        final long before = timer("partial").getCount();
+        final RequestTimings timings = begin();
+        final Stream<Integer> stream = timed("partial", nanoTime(), Stream.of(1, 2, 3));
+        assertEquals(1, stream.iterator().next().intValue());
+        assertEquals(0, phases(timings).size());
+
+        end();
+        assertTrue(phases(timings).get("partial") > 0);
+        assertEquals(before + 1, timer("partial").getCount());
+
+        stream.close();
+        assertEquals("The stream is only counted once", before + 1, timer("partial").getCount());
+    }
+
+    @Test
+    public void testTimersRecordEveryValue() {
+        begin();
+        record("every", nanoTime());
+        end();
+        final Timer timer = timer("every");
+        for (int i = 0; i < 10000; i++) {
+            timer.update(1, MILLISECONDS);
+        }
+        timer.update(1, SECONDS);
+        assertEquals("No value is sampled out", timer.getCount(), timer.getSnapshot().size());
+        assertEquals(1000, timer.getSnapshot().getMax() / 1000 / 1000);
+    }
+
+    @Test
+    public void testUntimedStreamIsUnchanged() {
+        final Stream<Integer> stream = Stream.of(1, 2, 3);
+        assertSame(stream, timed("produce", nanoTime(), stream));
+    }
+
+    private static Map<String, Long> phases(final RequestTimings timings) {
+        final Map<String, Long> phases = new HashMap<>();
+        timings.forEach(phases::put);
+        return phases;
+    }
+
+    private static void pause(final long millis) {
+        final long until = nanoTime() + millis * 1000 * 1000;
+        while (nanoTime() < until) {
+            LockSupport.parkNanos(until - nanoTime());
+        }
+    }
+
+    private static Timer timer(final String phase) {
+        return RegistryService.getInstance().getMetrics().timer(name(RequestTimings.class, phase));
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.load;
+
+import static java.lang.management.ManagementFactory.getThreadMXBean;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.function.ObjLongConsumer;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jetty.security.HashLoginService;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+import org.eclipse.jetty.webapp.WebAppContext;
+import org.slf4j.Logger;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Runs the webapp from its sources in an embedded Jetty, with the file-simple repository configuration and all of
+ * its data under a single directory.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+class EmbeddedServer {
+
+    private static final Logger LOGGER = getLogger(EmbeddedServer.class);
+
+    /**
+     * The request header naming the operation a request belongs to, so the server can attribute its allocations
+     */
+    static final String OPERATION_HEADER = "X-Load-Operation";
+
+    private static final ThreadMXBean THREADS = (ThreadMXBean) getThreadMXBean();
+
+    private final Server server;
+
+    private final int port;
+
+    /**
+     * Configure the server
+     *
+     * @param webapp the webapp sources
+     * @param data the directory holding the repository, its binaries and the message broker
+     * @param allocations receives the bytes allocated serving each request, by operation
+     * @throws IOException if no free port could be found
+     * @throws URISyntaxException if the users of the server could not be found
+     */
+    EmbeddedServer(final String webapp, final Path data, final ObjLongConsumer<String> allocations)
+            throws IOException, URISyntaxException {
+        setDefault("fcrepo.modeshape.configuration", "classpath:/config/file-simple/repository.json");
+        setDefault("fcrepo.object.directory", data.resolve("objects").toString());
+        setDefault("fcrepo.binary.directory", data.resolve("binaries").toString());
+        setDefault("fcrepo.activemq.directory", data.resolve("activemq").toString());
+        setDefault("com.arjuna.ats.arjuna.objectstore.objectStoreDir", data.resolve("object-store").toString());
+        setDefault("com.arjuna.ats.arjuna.common.ObjectStoreEnvironmentBean.default.objectStoreDir",
+                data.resolve("object-store-default").toString());
+        setDefault("fcrepo.dynamic.jms.port", Integer.toString(freePort()));
+        setDefault("fcrepo.dynamic.stomp.port", Integer.toString(freePort()));
+
+        port = freePort();
+        server = new Server();
+        final ServerConnector connector = new ServerConnector(server);
+        connector.setPort(port);
+        server.addConnector(connector);
+
+        final HashLoginService users = new HashLoginService("fcrepo");
+        // this version of Jetty only reads the users from a plain path, not from a file: URL
+        users.setConfig(Paths.get(getClass().getResource("/jetty-users.properties").toURI()).toString());
+        server.addBean(users);
+
+        final WebAppContext context = new WebAppContext(webapp, "/");
+        context.setOverrideDescriptor(getClass().getResource("/load/override-web.xml").toString());
+        context.setParentLoaderPriority(true);
+
+        final HandlerWrapper allocationHandler = new HandlerWrapper() {
+
+            @Override
+            public void handle(final String target, final Request baseRequest, final HttpServletRequest request,
+                    final HttpServletResponse response) throws IOException, ServletException {
+                final String operation = request.getHeader(OPERATION_HEADER);
+                final long thread = Thread.currentThread().getId();
+                final long before = THREADS.getThreadAllocatedBytes(thread);
+                try {
+                    super.handle(target, baseRequest, request, response);
+                } finally {
+                    if (operation != null) {
+                        allocations.accept(operation, THREADS.getThreadAllocatedBytes(thread) - before);
+                    }
+                }
+            }
+        };
+        allocationHandler.setHandler(context);
+        server.setHandler(allocationHandler);
+    }
+
+    /**
+     * Start the server
+     *
+     * @throws Exception if the server could not be started
+     */
+    void start() throws Exception {
+        server.start();
+        LOGGER.info("Started the repository at {}", getBaseUrl());
+    }
+
+    /**
+     * Stop the server
+     *
+     * @throws Exception if the server could not be stopped
+     */
+    void stop() throws Exception {
+        server.stop();
+    }
+
+    /**
+     * @return the URL of the repository's REST API, ending with a slash
+     */
+    String getBaseUrl() {
+        return "http://localhost:" + port + "/rest/";
+    }
+
+    private static void setDefault(final String property, final String value) {
+        if (System.getProperty(property) == null) {
+            System.setProperty(property, value);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (final ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.load;
+
+import static com.sun.management.GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION;
+import static java.lang.System.nanoTime;
+import static java.lang.management.ManagementFactory.getGarbageCollectorMXBeans;
+import static java.nio.file.Files.createDirectories;
+import static java.nio.file.Files.createTempDirectory;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.fcrepo.load.EmbeddedServer.OPERATION_HEADER;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+import org.fcrepo.load.Workload.Client;
+import org.fcrepo.load.Workload.Operation;
+import org.slf4j.Logger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+/**
+ * Drives a {@link Workload} against the webapp running in an embedded server, then reports the throughput,
+ * latency percentiles, server-side allocation rate and garbage collection pauses of each type of request. The
+ * report is printed and written as JSON, so that runs of different builds can be compared.
+ *
+ * The harness is not run by the test suite; build the module's test classes and run its main method from the
+ * test classpath in the module directory, optionally giving the path of a workload to run instead of
+ * {@code /load/production.properties}. The system properties {@code load.webapp}, {@code load.directory} and
+ * {@code load.results} set where the webapp sources are, where the repository's data is kept and where the
+ * report is written. A collection is counted against each type of request that had requests in flight when it
+ * was reported.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+public final class LoadHarness {
+
+    private static final Logger LOGGER = getLogger(LoadHarness.class);
+
+    private final Workload workload;
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+
+    private final LongAdder gcPauses = new LongAdder();
+
+    private final LongAdder gcPauseMillis = new LongAdder();
+
+    private volatile boolean measuring = false;
+
+    private LoadHarness(final Workload workload) {
+        this.workload = workload;
+        for (final Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    /**
+     * Run a workload
+     *
+     * @param args the path of the workload, if not the default one
+     * @throws Exception if the run failed
+     */
+    public static void main(final String[] args) throws Exception {
+        final Workload workload;
+        try (final InputStream in = args.length > 0 ? new FileInputStream(args[0]) :
+                LoadHarness.class.getResourceAsStream("/load/production.properties")) {
+            workload = new Workload(in);
+        }
+        final Path directory = createDirectories(Paths.get(System.getProperty("load.directory", "target")));
+        final Path data = createTempDirectory(directory, "load").toAbsolutePath();
+        final Map<String, Object> report = new LoadHarness(workload).run(data);
+
+        final File results = new File(System.getProperty("load.results", "target/load-results.json"));
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(results, report);
+        LOGGER.info("Wrote the results to {}", results);
+        System.exit(0);
+    }
+
+    private Map<String, Object> run(final Path data) throws Exception {
+        final EmbeddedServer server = new EmbeddedServer(System.getProperty("load.webapp", "src/main/webapp"), data,
+                (operation, bytes) -> {
+                    if (measuring) {
+                        stats.get(Operation.valueOf(operation)).allocated(bytes);
+                    }
+                });
+        server.start();
+        final ExecutorService workers = newFixedThreadPool(workload.threads);
+        try (final CloseableHttpClient http = HttpClients.custom().setMaxConnPerRoute(workload.threads)
+                .setMaxConnTotal(workload.threads).build()) {
+            final Client client = (operation, request) -> send(http, operation, request);
+
+            LOGGER.info("Creating the resources of the workload");
+            workload.setUp(server.getBaseUrl(), client);
+            await(submit(workers, worker -> workload.populate(client, worker)));
+
+            listenForCollections();
+            final long measureStart = nanoTime() + SECONDS.toNanos(workload.warmupSeconds);
+            final long end = measureStart + SECONDS.toNanos(workload.durationSeconds);
+            LOGGER.info("Running the workload with {} clients", workload.threads);
+            final List<Future<?>> running = submit(workers, worker -> {
+                final Random random = new Random(workload.seed + worker);
+                while (nanoTime() < end) {
+                    workload.step(client, random);
+                }
+            });
+            SECONDS.sleep(workload.warmupSeconds);
+            measuring = true;
+            SECONDS.sleep(workload.durationSeconds);
+            measuring = false;
+            await(running);
+        } finally {
+            workers.shutdownNow();
+            server.stop();
+        }
+        return report();
+    }
+
+    private boolean send(final CloseableHttpClient http, final Operation operation,
+            final HttpUriRequest request) throws IOException {
+        if (operation == null) {
+            try (final CloseableHttpResponse response = http.execute(request)) {
+                EntityUtils.consume(response.getEntity());
+                return response.getStatusLine().getStatusCode() < 400;
+            }
+        }
+        request.setHeader(OPERATION_HEADER, operation.name());
+        final OperationStats operationStats = stats.get(operation);
+        final boolean measured = measuring;
+        final long start = nanoTime();
+        operationStats.started();
+        boolean ok = false;
+        try (final CloseableHttpResponse response = http.execute(request)) {
+            EntityUtils.consume(response.getEntity());
+            ok = response.getStatusLine().getStatusCode() < 400;
+            return ok;
+        } finally {
+            operationStats.completed(nanoTime() - start, ok, measured);
+        }
+    }
+
+    private void listenForCollections() {
+        final NotificationListener listener = (notification, handback) -> {
+            if (measuring && notification.getType().equals(GARBAGE_COLLECTION_NOTIFICATION)) {
+                final long millis = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData())
+                        .getGcInfo().getDuration();
+                gcPauses.increment();
+                gcPauseMillis.add(millis);
+                stats.values().forEach(s -> s.paused(millis));
+            }
+        };
+        for (final GarbageCollectorMXBean collector : getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) collector).addNotificationListener(listener, null, null);
+        }
+    }
+
+    private Map<String, Object> report() {
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("seed", workload.seed);
+        report.put("threads", workload.threads);
+        report.put("durationSeconds", workload.durationSeconds);
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("gcPauses", gcPauses.sum());
+        report.put("gcPauseMs", gcPauseMillis.sum());
+        final Map<String, Object> operations = new LinkedHashMap<>();
+        stats.forEach((operation, s) -> operations.put(operation.name(), s.summarize(workload.durationSeconds)));
+        report.put("operations", operations);
+
+        final StringBuilder table = new StringBuilder(String.format("%n%-14s %9s %7s %9s %9s %9s %9s %9s %9s %11s %9s",
+                "operation", "requests", "errors", "ops/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms",
+                "alloc MB/s", "gc ms"));
+        operations.forEach((operation, summary) -> {
+            final Map<?, ?> s = (Map<?, ?>) summary;
+            table.append(String.format("%n%-14s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %11.1f %9d", operation,
+                    s.get("requests"), s.get("errors"), s.get("throughput"), s.get("latencyP50Ms"),
+                    s.get("latencyP90Ms"), s.get("latencyP99Ms"), s.get("latencyP999Ms"), s.get("latencyMaxMs"),
+                    s.get("allocatedMBPerSecond"), s.get("gcPauseMs")));
+        });
+        LOGGER.info("{}", table);
+        return report;
+    }
+
+    /**
+     * A task run by each worker
+     */
+    @FunctionalInterface
+    private interface Task {
+
+        void run(int worker) throws IOException;
+    }
+
+    private List<Future<?>> submit(final ExecutorService workers, final Task task) {
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < workload.threads; i++) {
+            final int worker = i;
+            futures.add(workers.submit(() -> {
+                task.run(worker);
+                return null;
+            }));
+        }
+        return futures;
+    }
+
+    private static void await(final List<Future<?>> futures) throws Exception {
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+    }
+}
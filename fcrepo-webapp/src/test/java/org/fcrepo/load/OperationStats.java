@@ -0,0 +1,128 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.load;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * The measurements of one type of operation during a load run.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+class OperationStats {
+
+    // every latency is recorded, to three significant digits, so that the tail and maximum are exact
+    private final Histogram latencies = new ConcurrentHistogram(3);
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LongAdder allocated = new LongAdder();
+
+    private final LongAdder allocations = new LongAdder();
+
+    private final LongAdder gcPauses = new LongAdder();
+
+    private final LongAdder gcPauseMillis = new LongAdder();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Note that a request has been sent
+     */
+    void started() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Record a completed request
+     *
+     * @param nanos the time from sending the request to consuming its response
+     * @param ok whether the request succeeded
+     * @param measured whether the request was made during the measured part of the run
+     */
+    void completed(final long nanos, final boolean ok, final boolean measured) {
+        inFlight.decrementAndGet();
+        if (measured) {
+            latencies.recordValue(nanos);
+            if (!ok) {
+                errors.increment();
+            }
+        }
+    }
+
+    /**
+     * Record the bytes allocated by the server handling a request
+     *
+     * @param bytes the bytes allocated
+     */
+    void allocated(final long bytes) {
+        allocated.add(bytes);
+        allocations.increment();
+    }
+
+    /**
+     * Record a collection during which requests of this type were in flight
+     *
+     * @param millis the duration of the collection
+     */
+    void paused(final long millis) {
+        if (inFlight.get() > 0) {
+            gcPauses.increment();
+            gcPauseMillis.add(millis);
+        }
+    }
+
+    /**
+     * Summarize the measurements
+     *
+     * @param seconds the length of the measured part of the run
+     * @return the summary, by name
+     */
+    Map<String, Object> summarize(final double seconds) {
+        final Histogram snapshot = latencies.copy();
+        final Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", snapshot.getTotalCount());
+        summary.put("errors", errors.sum());
+        summary.put("throughput", snapshot.getTotalCount() / seconds);
+        summary.put("latencyMeanMs", millis(snapshot.getMean()));
+        summary.put("latencyP50Ms", millis(snapshot.getValueAtPercentile(50)));
+        summary.put("latencyP90Ms", millis(snapshot.getValueAtPercentile(90)));
+        summary.put("latencyP99Ms", millis(snapshot.getValueAtPercentile(99)));
+        summary.put("latencyP999Ms", millis(snapshot.getValueAtPercentile(99.9)));
+        summary.put("latencyMaxMs", millis(snapshot.getMaxValue()));
+        summary.put("allocatedMBPerSecond", allocated.sum() / seconds / (1 << 20));
+        summary.put("allocatedKBPerRequest", allocations.sum() == 0 ? 0.0 :
+                (double) allocated.sum() / allocations.sum() / (1 << 10));
+        summary.put("gcPauses", gcPauses.sum());
+        summary.put("gcPauseMs", gcPauseMillis.sum());
+        return summary;
+    }
+
+    private static double millis(final double nanos) {
+        return nanos / MILLISECONDS.toNanos(1);
+    }
+}
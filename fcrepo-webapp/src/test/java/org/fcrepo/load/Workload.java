@@ -0,0 +1,241 @@
+/*
+ * Licensed to DuraSpace under one or more contributor license agreements.
+ * See the NOTICE file distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * DuraSpace licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fcrepo.load;
+
+import static java.lang.Integer.parseInt;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.http.entity.ContentType.APPLICATION_OCTET_STREAM;
+import static org.apache.http.entity.ContentType.create;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+import java.util.Properties;
+import java.util.Random;
+
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPatch;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.StringEntity;
+
+/**
+ * A scripted mix of requests, read from a properties file such as {@code /load/production.properties}. Every
+ * worker draws its operations and their targets from a random generator seeded from the workload's seed, so a
+ * workload issues the same sequence of requests on every run.
+ *
+ * @author agent
+ * @since Oct 19, 2026
+ */
+class Workload {
+
+    /**
+     * The types of request measured
+     */
+    enum Operation { GET, INGEST_BINARY, INGEST_RDF, PATCH, LIST }
+
+    /**
+     * Sends the requests of a workload
+     */
+    interface Client {
+
+        /**
+         * Send a request
+         *
+         * @param operation the type of the request
+         * @param request the request
+         * @return whether the request succeeded
+         * @throws IOException if the request could not be sent
+         */
+        boolean send(Operation operation, HttpUriRequest request) throws IOException;
+    }
+
+    private static final String[] PREFERS = {
+        null,
+        "return=minimal",
+        "return=representation; omit=\"http://www.w3.org/ns/ldp#PreferContainment " +
+                "http://www.w3.org/ns/ldp#PreferMembership\"",
+        "return=representation; include=\"http://fedora.info/definitions/v4/repository#EmbedResources\"",
+        "return=representation; include=\"http://fedora.info/definitions/v4/repository#InboundReferences\""
+    };
+
+    private static final String DC = "http://purl.org/dc/elements/1.1/";
+
+    final long seed;
+
+    final int threads;
+
+    final int warmupSeconds;
+
+    final int durationSeconds;
+
+    private final int items;
+
+    private final int triples;
+
+    private final int deepChildren;
+
+    private final int[] weights;
+
+    private final int ingestBurst;
+
+    private final int binaryBytes;
+
+    private final int ingestTriples;
+
+    private final int patchBurst;
+
+    private final String authorization =
+            "Basic " + Base64.getEncoder().encodeToString("fedoraAdmin:fedoraAdmin".getBytes(UTF_8));
+
+    private String base;
+
+    /**
+     * Read a workload
+     *
+     * @param in the properties
+     * @throws IOException if the properties could not be read
+     */
+    Workload(final InputStream in) throws IOException {
+        final Properties properties = new Properties();
+        properties.load(in);
+        seed = Long.parseLong(properties.getProperty("seed", "0"));
+        threads = get(properties, "threads", 16);
+        warmupSeconds = get(properties, "warmup.seconds", 30);
+        durationSeconds = get(properties, "duration.seconds", 120);
+        items = get(properties, "setup.items", 500);
+        triples = get(properties, "setup.triples", 20);
+        deepChildren = get(properties, "setup.deepChildren", 2000);
+        weights = new int[] {get(properties, "weight.get", 80), get(properties, "weight.ingest", 8),
+            get(properties, "weight.patch", 7), get(properties, "weight.list", 5)};
+        ingestBurst = get(properties, "ingest.burst", 10);
+        binaryBytes = get(properties, "ingest.binaryBytes", 65536);
+        ingestTriples = get(properties, "ingest.triples", 20);
+        patchBurst = get(properties, "patch.burst", 10);
+    }
+
+    /**
+     * Create the containers the workload uses
+     *
+     * @param baseUrl the URL of the repository's REST API, ending with a slash
+     * @param client the client
+     * @throws IOException if a request could not be sent
+     */
+    void setUp(final String baseUrl, final Client client) throws IOException {
+        this.base = baseUrl;
+        for (final String container : new String[] {"load", "load/items", "load/deep", "load/ingest"}) {
+            check(client.send(null, authorize(new HttpPut(base + container))), container);
+        }
+    }
+
+    /**
+     * Create this worker's share of the resources the workload reads and updates
+     *
+     * @param client the client
+     * @param worker the index of this worker
+     * @throws IOException if a request could not be sent
+     */
+    void populate(final Client client, final int worker) throws IOException {
+        for (int i = worker; i < items; i += threads) {
+            final HttpPut put = authorize(new HttpPut(base + "load/items/item-" + i));
+            put.setEntity(new StringEntity(turtle(triples, i), create("text/turtle", UTF_8)));
+            check(client.send(null, put), "item-" + i);
+        }
+        for (int i = worker; i < deepChildren; i += threads) {
+            check(client.send(null, authorize(new HttpPut(base + "load/deep/child-" + i))), "child-" + i);
+        }
+    }
+
+    /**
+     * Run one step of the workload: a single read or a burst of writes
+     *
+     * @param client the client
+     * @param random this worker's random generator
+     * @throws IOException if a request could not be sent
+     */
+    void step(final Client client, final Random random) throws IOException {
+        int choice = random.nextInt(weights[0] + weights[1] + weights[2] + weights[3]);
+        if ((choice -= weights[0]) < 0) {
+            final HttpGet get = authorize(new HttpGet(item(random)));
+            final String prefer = PREFERS[random.nextInt(PREFERS.length)];
+            if (prefer != null) {
+                get.setHeader("Prefer", prefer);
+            }
+            get.setHeader("Accept", "text/turtle");
+            client.send(Operation.GET, get);
+        } else if ((choice -= weights[1]) < 0) {
+            for (int i = 0; i < ingestBurst; i++) {
+                final HttpPost post = authorize(new HttpPost(base + "load/ingest"));
+                if (i % 2 == 0) {
+                    final byte[] content = new byte[binaryBytes];
+                    random.nextBytes(content);
+                    post.setEntity(new ByteArrayEntity(content, APPLICATION_OCTET_STREAM));
+                    client.send(Operation.INGEST_BINARY, post);
+                } else {
+                    post.setEntity(new StringEntity(turtle(ingestTriples, random.nextInt()),
+                            create("text/turtle", UTF_8)));
+                    client.send(Operation.INGEST_RDF, post);
+                }
+            }
+        } else if ((choice -= weights[2]) < 0) {
+            final String item = item(random);
+            for (int i = 0; i < patchBurst; i++) {
+                final HttpPatch patch = authorize(new HttpPatch(item));
+                patch.setEntity(new StringEntity("PREFIX dc: <" + DC + "> DELETE { <> dc:description ?d } " +
+                        "INSERT { <> dc:description \"update " + random.nextInt() + "\" } " +
+                        "WHERE { OPTIONAL { <> dc:description ?d } }", create("application/sparql-update", UTF_8)));
+                client.send(Operation.PATCH, patch);
+            }
+        } else {
+            final HttpGet get = authorize(new HttpGet(base + "load/deep"));
+            get.setHeader("Prefer", "return=representation; include=\"http://www.w3.org/ns/ldp#PreferContainment\"");
+            get.setHeader("Accept", "text/turtle");
+            client.send(Operation.LIST, get);
+        }
+    }
+
+    private String item(final Random random) {
+        return base + "load/items/item-" + random.nextInt(items);
+    }
+
+    private <T extends HttpUriRequest> T authorize(final T request) {
+        request.setHeader("Authorization", authorization);
+        return request;
+    }
+
+    private static String turtle(final int count, final int id) {
+        final StringBuilder turtle = new StringBuilder("PREFIX dc: <" + DC + ">\n<> dc:title \"Resource " + id + "\"");
+        for (int i = 1; i < count; i++) {
+            turtle.append(" ;\n  dc:subject \"subject ").append(id).append('-').append(i).append('"');
+        }
+        return turtle.append(" .\n").toString();
+    }
+
+    private static void check(final boolean ok, final String resource) {
+        if (!ok) {
+            throw new IllegalStateException("Unable to create " + resource);
+        }
+    }
+
+    private static int get(final Properties properties, final String name, final int defaultValue) {
+        final String value = properties.getProperty(name);
+        return value == null ? defaultValue : parseInt(value.trim());
+    }
+}